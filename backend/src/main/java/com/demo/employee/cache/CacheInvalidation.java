@@ -0,0 +1,18 @@
+package com.demo.employee.cache;
+
+/**
+ * An (entity, id) pair whose cached copies are out of date. A null id means every
+ * cached entry of that entity type.
+ */
+public record CacheInvalidation(String entity, Long id) {
+
+    public static final String EMPLOYEE = "employee";
+
+    public static CacheInvalidation all(String entity) {
+        return new CacheInvalidation(entity, null);
+    }
+
+    public boolean isAll() {
+        return id == null;
+    }
+}
@@ -0,0 +1,21 @@
+package com.demo.employee.cache;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+
+/**
+ * Carries cache invalidations between backend replicas so a write handled by one
+ * pod does not leave stale entries in the caches of the others.
+ */
+public interface CacheInvalidationBus {
+
+    /**
+     * Announces invalidations for data that has already been committed.
+     */
+    void publish(Collection<CacheInvalidation> invalidations);
+
+    /**
+     * Registers a listener for invalidations published by other replicas.
+     */
+    void subscribe(Consumer<CacheInvalidation> listener);
+}
@@ -0,0 +1,76 @@
+package com.demo.employee.cache;
+
+import com.demo.employee.event.EmployeeChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Collects the employees touched by a transaction and hands them to the
+ * {@link CacheInvalidationBus} once, after the transaction commits. Rolled back
+ * writes publish nothing.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CacheInvalidationPublisher {
+
+    /**
+     * Above this many ids a single invalidate-all is cheaper than one row per id.
+     */
+    static final int MAX_IDS_PER_TRANSACTION = 1000;
+
+    private final CacheInvalidationBus bus;
+
+    @EventListener
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        CacheInvalidation invalidation = new CacheInvalidation(CacheInvalidation.EMPLOYEE, event.employeeId());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(List.of(invalidation));
+            return;
+        }
+        pendingInvalidations().add(invalidation);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<CacheInvalidation> pendingInvalidations() {
+        Set<CacheInvalidation> pending = (Set<CacheInvalidation>) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            return pending;
+        }
+        Set<CacheInvalidation> created = new LinkedHashSet<>();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publish(created);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(CacheInvalidationPublisher.this);
+            }
+        });
+        return created;
+    }
+
+    private void publish(Collection<CacheInvalidation> invalidations) {
+        Collection<CacheInvalidation> toPublish = invalidations.size() > MAX_IDS_PER_TRANSACTION
+                ? List.of(CacheInvalidation.all(CacheInvalidation.EMPLOYEE))
+                : invalidations;
+        try {
+            bus.publish(toPublish);
+        } catch (RuntimeException ex) {
+            // The write is already committed; peers fall back to the cache TTL
+            log.warn("Failed to publish {} cache invalidation(s)", toPublish.size(), ex);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.demo.employee.cache;
+
+import com.demo.employee.config.ReadYourWrites;
+import com.demo.employee.event.EmployeeChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * Keeps the data_version counter that HTTP ETags are derived from. A transaction
+ * that changes employees bumps it once, just before it commits, so the row lock
+ * is only held for the commit itself and a batch of a thousand rows costs one
+ * update, not a thousand. With read-your-writes on, the bumped version becomes the
+ * floor replicas must reach before they serve this instance's reads again.
+ */
+@Component
+@RequiredArgsConstructor
+public class DataVersionTracker {
+
+    private static final String BUMP_SQL = """
+            INSERT INTO data_version (id, version) VALUES (1, 1)
+            ON DUPLICATE KEY UPDATE version = version + 1""";
+
+    private static final String CURRENT_SQL = "SELECT version FROM data_version WHERE id = 1";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReadYourWrites readYourWrites;
+
+    @EventListener
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            bump();
+            if (readYourWrites.isEnabled()) {
+                readYourWrites.advanceTo(currentVersion());
+            }
+            return;
+        }
+        if (TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private long committedVersion;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                bump();
+                if (readYourWrites.isEnabled()) {
+                    committedVersion = currentVersion();
+                }
+            }
+
+            @Override
+            public void afterCommit() {
+                readYourWrites.advanceTo(committedVersion);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(DataVersionTracker.this);
+            }
+        });
+    }
+
+    /**
+     * The committed version, or 0 before the first write.
+     */
+    public long currentVersion() {
+        List<Long> versions = jdbcTemplate.queryForList(CURRENT_SQL, Long.class);
+        return versions.isEmpty() ? 0 : versions.getFirst();
+    }
+
+    private void bump() {
+        jdbcTemplate.update(BUMP_SQL);
+    }
+}
@@ -0,0 +1,47 @@
+package com.demo.employee.cache;
+
+import com.demo.employee.config.CacheConfig;
+import com.demo.employee.config.ReadYourWrites;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies invalidations received from other replicas to the local employee caches.
+ * Uses evictIfPresent/invalidate, which take effect immediately even when called
+ * from a transaction callback. With read-your-writes on, reads then stay on the
+ * primary until a replica has caught up, so the evicted entries are not refilled
+ * from a replica that has not seen the write yet.
+ */
+@Component
+@RequiredArgsConstructor
+public class EmployeeCacheInvalidator {
+
+    private final CacheInvalidationBus bus;
+    private final CacheManager cacheManager;
+    private final DataVersionTracker dataVersionTracker;
+    private final ReadYourWrites readYourWrites;
+
+    @PostConstruct
+    void subscribe() {
+        bus.subscribe(this::apply);
+    }
+
+    void apply(CacheInvalidation invalidation) {
+        if (!CacheInvalidation.EMPLOYEE.equals(invalidation.entity())) {
+            return;
+        }
+        if (readYourWrites.isEnabled()) {
+            readYourWrites.advanceTo(dataVersionTracker.currentVersion());
+        }
+        Cache employees = cacheManager.getCache(CacheConfig.EMPLOYEES);
+        if (invalidation.isAll()) {
+            employees.invalidate();
+        } else {
+            employees.evictIfPresent(invalidation.id());
+        }
+        cacheManager.getCache(CacheConfig.EMPLOYEES_BY_DEPARTMENT).invalidate();
+    }
+}
@@ -0,0 +1,30 @@
+package com.demo.employee.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Delivers invalidations to listeners in the same JVM. Meant for tests and
+ * single-replica deployments.
+ */
+@Component
+@ConditionalOnProperty(prefix = "employee.cache.invalidation", name = "transport", havingValue = "in-memory")
+public class InMemoryCacheInvalidationBus implements CacheInvalidationBus {
+
+    private final List<Consumer<CacheInvalidation>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(Collection<CacheInvalidation> invalidations) {
+        invalidations.forEach(invalidation -> listeners.forEach(listener -> listener.accept(invalidation)));
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> listener) {
+        listeners.add(listener);
+    }
+}
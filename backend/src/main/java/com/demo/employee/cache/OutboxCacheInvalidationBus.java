@@ -0,0 +1,160 @@
+package com.demo.employee.cache;
+
+import com.demo.employee.config.EmployeeCacheProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Default bus: invalidations are appended to the cache_invalidation_outbox table
+ * in MySQL and every replica polls it for rows written by its peers.
+ *
+ * <p>Ids come from AUTO_INCREMENT, and a transaction that took a lower id can
+ * commit after one with a higher id. The poll cursor therefore only moves past
+ * rows older than the settle window. Newer rows are applied right away but
+ * remembered, so they are not applied twice.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "employee.cache.invalidation", name = "transport", havingValue = "outbox",
+        matchIfMissing = true)
+public class OutboxCacheInvalidationBus implements CacheInvalidationBus {
+
+    static final int POLL_BATCH_SIZE = 1000;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO cache_invalidation_outbox (entity, entity_id, origin) VALUES (?, ?, ?)";
+
+    private static final String POLL_SQL = """
+            SELECT id, entity, entity_id, origin,
+                   created_at < NOW(3) - INTERVAL ? MICROSECOND AS settled
+            FROM cache_invalidation_outbox
+            WHERE id > ?
+            ORDER BY id
+            LIMIT ?""";
+
+    private static final String PRUNE_SQL =
+            "DELETE FROM cache_invalidation_outbox WHERE created_at < NOW(3) - INTERVAL ? MICROSECOND";
+
+    private final String origin = UUID.randomUUID().toString();
+    private final List<Consumer<CacheInvalidation>> listeners = new CopyOnWriteArrayList<>();
+    private final Set<Long> appliedAboveCursor = new HashSet<>();
+    private final Lock pollLock = new ReentrantLock();
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate requiresNew;
+    private final EmployeeCacheProperties.Invalidation properties;
+
+    private long cursor = -1;
+
+    public OutboxCacheInvalidationBus(JdbcTemplate jdbcTemplate,
+                                      PlatformTransactionManager transactionManager,
+                                      EmployeeCacheProperties cacheProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Publishing happens after the caller's commit, so it needs its own transaction
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.properties = cacheProperties.getInvalidation();
+    }
+
+    @Override
+    public void publish(Collection<CacheInvalidation> invalidations) {
+        if (invalidations.isEmpty()) {
+            return;
+        }
+        List<CacheInvalidation> rows = new ArrayList<>(invalidations);
+        requiresNew.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (ps, invalidation) -> {
+                    ps.setString(1, invalidation.entity());
+                    ps.setObject(2, invalidation.id());
+                    ps.setString(3, origin);
+                }));
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> listener) {
+        listeners.add(listener);
+    }
+
+    @Scheduled(fixedDelayString = "${employee.cache.invalidation.poll-interval:1s}")
+    public void poll() {
+        // A lock rather than synchronized: on virtual threads, JDBC I/O inside a monitor pins the carrier
+        pollLock.lock();
+        try {
+            if (cursor < 0) {
+                // Caches start empty, so history from before startup is irrelevant
+                cursor = jdbcTemplate.queryForObject(
+                        "SELECT COALESCE(MAX(id), 0) FROM cache_invalidation_outbox", Long.class);
+                return;
+            }
+            List<OutboxRow> rows = jdbcTemplate.query(POLL_SQL,
+                    (rs, rowNum) -> new OutboxRow(
+                            rs.getLong("id"),
+                            new CacheInvalidation(rs.getString("entity"), rs.getObject("entity_id", Long.class)),
+                            rs.getString("origin"),
+                            rs.getBoolean("settled")),
+                    properties.getSettleWindow().toNanos() / 1000, cursor, POLL_BATCH_SIZE);
+            apply(rows);
+        } catch (RuntimeException ex) {
+            log.warn("Polling cache invalidation outbox failed", ex);
+        } finally {
+            pollLock.unlock();
+        }
+    }
+
+    void apply(List<OutboxRow> rows) {
+        long settledUpTo = cursor;
+        boolean contiguous = true;
+        for (OutboxRow row : rows) {
+            if (appliedAboveCursor.add(row.id()) && !origin.equals(row.origin())) {
+                listeners.forEach(listener -> listener.accept(row.invalidation()));
+            }
+            contiguous &= row.settled();
+            if (contiguous) {
+                settledUpTo = row.id();
+            }
+        }
+        cursor = settledUpTo;
+        long newCursor = cursor;
+        appliedAboveCursor.removeIf(id -> id <= newCursor);
+    }
+
+    @Scheduled(fixedDelayString = "${employee.cache.invalidation.prune-interval:1m}")
+    public void prune() {
+        try {
+            jdbcTemplate.update(PRUNE_SQL, properties.getRetention().toNanos() / 1000);
+        } catch (RuntimeException ex) {
+            log.warn("Pruning cache invalidation outbox failed", ex);
+        }
+    }
+
+    String origin() {
+        return origin;
+    }
+
+    long cursor() {
+        return cursor;
+    }
+
+    void resetCursor(long cursor) {
+        this.cursor = cursor;
+    }
+
+    record OutboxRow(long id, CacheInvalidation invalidation, String origin, boolean settled) {
+    }
+}
@@ -0,0 +1,44 @@
+package com.demo.employee.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Collection;
+
+/**
+ * In-process Caffeine caches (W-TinyLFU eviction) for employee reads. The cache
+ * manager is transaction-aware, so puts and evictions issued inside a write
+ * transaction are only applied once it commits. Hit, miss and eviction counts are
+ * published to the actuator as cache.gets / cache.evictions.
+ */
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(EmployeeCacheProperties.class)
+public class CacheConfig {
+
+    public static final String EMPLOYEES = "employees";
+    public static final String EMPLOYEES_BY_DEPARTMENT = "employeesByDepartment";
+
+    @Bean
+    public CacheManager cacheManager(EmployeeCacheProperties properties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(EMPLOYEES, Caffeine.newBuilder()
+                .maximumSize(properties.getMaxEmployees())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(EMPLOYEES_BY_DEPARTMENT, Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxDepartmentRows())
+                .weigher((Object department, Object employees) -> Math.max(1, ((Collection<?>) employees).size()))
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build());
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
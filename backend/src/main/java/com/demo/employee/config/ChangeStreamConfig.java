@@ -0,0 +1,31 @@
+package com.demo.employee.config;
+
+import com.demo.employee.stream.SseBroadcaster;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * SSE fan-out for the employee change stream. Writes to subscribers run on the
+ * broadcaster's own senders rather than applicationTaskExecutor, so a burst of
+ * events to many clients cannot crowd out or be rejected by other async work.
+ */
+@Configuration
+public class ChangeStreamConfig {
+
+    @Bean
+    public SseBroadcaster employeeChangeBroadcaster(EmployeeChangesProperties properties, Environment environment,
+                                                    MeterRegistry meterRegistry) {
+        EmployeeChangesProperties.Stream stream = properties.getStream();
+        ExecutorService senders = Threading.VIRTUAL.isActive(environment)
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("sse-employee-", 0).factory())
+                : Executors.newFixedThreadPool(stream.getSenderThreads(),
+                        Thread.ofPlatform().name("sse-employee-", 0).daemon().factory());
+        return new SseBroadcaster("employee-changes", senders, stream.getQueueCapacity(), meterRegistry);
+    }
+}
@@ -0,0 +1,47 @@
+package com.demo.employee.config;
+
+import com.demo.employee.cache.DataVersionTracker;
+import com.demo.employee.controller.ConditionalGetInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Strong ETags and If-None-Match handling for the employee reads that query the
+ * database, derived from the data_version row. A single employee is tagged by the
+ * controller with its own version instead, so the ETag it serves is also the one
+ * PUT and PATCH take as If-Match.
+ *
+ * <p>The version is read on the primary, while read-only finders may run on a
+ * replica that has not applied it yet. With read replicas on, the tag is lowered
+ * to the least version a replica that could serve the handler has applied.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class ConditionalGetConfig implements WebMvcConfigurer {
+
+    private final DataVersionTracker dataVersionTracker;
+    private final ObjectProvider<ReplicaRoutingDataSource> replicaRouter;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Exports stream a fresh snapshot and are not worth revalidating, and the SSE stream
+        // never ends. The change feed and the search index catch up with a write after it
+        // commits, so their responses can change without a new version. Single employees
+        // are tagged by the controller. Departments are served from this instance's cache,
+        // which only drops a peer's write when the invalidation outbox is next polled, so
+        // the version could already count a write the cached list does not show.
+        registry.addInterceptor(new ConditionalGetInterceptor(this::versionTag))
+                .addPathPatterns("/api/employees", "/api/employees/**")
+                .excludePathPatterns("/api/employees/export", "/api/employees/changes", "/api/employees/stream",
+                        "/api/employees/search", "/api/employees/department/**", "/api/employees/{id:\\d+}");
+    }
+
+    private String versionTag() {
+        long version = dataVersionTracker.currentVersion();
+        ReplicaRoutingDataSource router = replicaRouter.getIfAvailable();
+        return Long.toString(router == null ? version : Math.min(version, router.leastServableVersion()));
+    }
+}
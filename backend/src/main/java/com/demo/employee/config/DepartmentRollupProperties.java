@@ -0,0 +1,18 @@
+package com.demo.employee.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "employee.rollup")
+public class DepartmentRollupProperties {
+
+    /**
+     * How often the department rollup is compared with the employees table and
+     * repaired. Writers to the rollup wait while it runs, for about as long as a
+     * GROUP BY over employees takes.
+     */
+    private Duration reconcileInterval = Duration.ofMinutes(15);
+}
@@ -0,0 +1,53 @@
+package com.demo.employee.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "employee.cache")
+public class EmployeeCacheProperties {
+
+    /**
+     * Maximum number of employees cached by id.
+     */
+    private long maxEmployees = 10_000;
+
+    /**
+     * Maximum number of employee rows held across all cached department lists.
+     */
+    private long maxDepartmentRows = 50_000;
+
+    /**
+     * Time after which a cached entry is reloaded from the database.
+     */
+    private Duration ttl = Duration.ofMinutes(10);
+
+    private Invalidation invalidation = new Invalidation();
+
+    @Data
+    public static class Invalidation {
+
+        /**
+         * How invalidations reach the other replicas: "outbox" (MySQL table polled by
+         * every replica) or "in-memory" (single JVM, for tests).
+         */
+        private String transport = "outbox";
+
+        /**
+         * How often each replica polls the outbox.
+         */
+        private Duration pollInterval = Duration.ofSeconds(1);
+
+        /**
+         * Age after which an outbox row is assumed to have no uncommitted predecessors.
+         */
+        private Duration settleWindow = Duration.ofSeconds(5);
+
+        /**
+         * How long outbox rows are kept before being pruned.
+         */
+        private Duration retention = Duration.ofMinutes(10);
+    }
+}
@@ -0,0 +1,70 @@
+package com.demo.employee.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "employee.changes")
+public class EmployeeChangesProperties {
+
+    /**
+     * Changes are only served once they are this old. Sequence numbers come from
+     * AUTO_INCREMENT and a transaction can commit after one that took a higher
+     * number; waiting out the window keeps a reader's checkpoint from skipping it.
+     */
+    private Duration settleWindow = Duration.ofSeconds(5);
+
+    /**
+     * How long changes are kept. Clients whose checkpoint is older than the log get
+     * 410 Gone and must re-sync from the export.
+     */
+    private Duration retention = Duration.ofDays(30);
+
+    /**
+     * How often changes past the retention are deleted.
+     */
+    private Duration pruneInterval = Duration.ofHours(1);
+
+    private Stream stream = new Stream();
+
+    @Data
+    public static class Stream {
+
+        /**
+         * How often the shared poller reads new changes for the SSE subscribers of
+         * this replica. Nothing is read while there are no subscribers.
+         */
+        private Duration pollInterval = Duration.ofSeconds(1);
+
+        /**
+         * Idle subscribers are sent a comment this often so proxies keep the
+         * connection open and dead clients are noticed.
+         */
+        private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+        /**
+         * How long one SSE connection is held before it is closed; clients reconnect
+         * with Last-Event-ID and continue where they left off.
+         */
+        private Duration timeout = Duration.ofMinutes(30);
+
+        /**
+         * Reconnect delay suggested to clients in the stream's retry field.
+         */
+        private Duration reconnectDelay = Duration.ofSeconds(3);
+
+        /**
+         * Events buffered per subscriber. A subscriber that falls this far behind is
+         * disconnected and replays from its Last-Event-ID when it reconnects.
+         */
+        private int queueCapacity = 256;
+
+        /**
+         * Platform threads writing events to subscribers. Virtual-thread mode uses a
+         * virtual thread per write instead.
+         */
+        private int senderThreads = 4;
+    }
+}
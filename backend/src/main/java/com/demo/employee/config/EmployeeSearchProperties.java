@@ -0,0 +1,22 @@
+package com.demo.employee.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "employee.search")
+public class EmployeeSearchProperties {
+
+    /**
+     * Most results a search may ask for.
+     */
+    private int maxResults = 50;
+
+    /**
+     * How often the index is rebuilt from the table. Writes are applied as they
+     * commit; the rebuild only repairs changes whose invalidation was lost.
+     */
+    private Duration rebuildInterval = Duration.ofHours(1);
+}
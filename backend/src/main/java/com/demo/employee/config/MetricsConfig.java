@@ -0,0 +1,14 @@
+package com.demo.employee.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Service and repository timers are recorded by
+ * {@link com.demo.employee.metrics.HotPathMetricsAspect}; their histogram, percentile
+ * and SLO buckets are configured under management.metrics.distribution.
+ */
+@Configuration
+@EnableConfigurationProperties(MetricsProperties.class)
+public class MetricsConfig {
+}
@@ -0,0 +1,22 @@
+package com.demo.employee.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "employee.metrics")
+public class MetricsProperties {
+
+    /**
+     * Repository calls slower than this are logged as slow queries.
+     */
+    private Duration slowQueryThreshold = Duration.ofMillis(500);
+
+    /**
+     * Whether slow-query log lines include the call's bound parameters (which can
+     * contain personal data such as emails).
+     */
+    private boolean logQueryParameters;
+}
@@ -0,0 +1,219 @@
+package com.demo.employee.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs MySQL's EXPLAIN for the SQL behind each repository query at startup, logs
+ * the plans, and reports full scans of large tables. Queries that look employees
+ * up by a filter must not scan the table; queries that read every employee by
+ * design must read an index that covers them rather than the table rows. Plans
+ * are only checked against the row estimates EXPLAIN gives, so a table below
+ * {@code employee.query-plans.max-full-scan-rows} never fails the check.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QueryPlanCheck implements ApplicationRunner {
+
+    /**
+     * What a query's plan is allowed to do once the table is large.
+     */
+    enum Access {
+        /** Must use an index to find its rows. */
+        SELECTIVE,
+        /** Reads every row, but only from an index that holds every column it needs. */
+        COVERING,
+        /** Reads every row by design, such as an export; the plan is only logged. */
+        FULL
+    }
+
+    record ExplainedQuery(String name, Access access, String sql, Map<String, ?> parameters) {
+    }
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final QueryPlanCheckProperties properties;
+
+    /**
+     * The SQL each repository method runs, as Hibernate generates it for the JPQL
+     * ones, with representative parameters. These are copies kept in step with the
+     * repositories by hand, not the statements themselves, which is why a violation
+     * only warns unless {@code employee.query-plans.fail-on-violation} is set.
+     */
+    static List<ExplainedQuery> queries() {
+        return List.of(
+                new ExplainedQuery("EmployeeRepository.findByDepartment", Access.SELECTIVE,
+                        "SELECT * FROM employees WHERE department = :department",
+                        Map.of("department", "ENGINEERING")),
+                new ExplainedQuery("EmployeeRepository.findByEmail", Access.SELECTIVE,
+                        "SELECT * FROM employees WHERE email = :email",
+                        Map.of("email", "someone@example.com")),
+                new ExplainedQuery("EmployeeRepository.existsByEmail", Access.SELECTIVE,
+                        "SELECT id FROM employees WHERE email = :email LIMIT 1",
+                        Map.of("email", "someone@example.com")),
+                new ExplainedQuery("EmployeeRepository.patch", Access.SELECTIVE, """
+                        UPDATE employees
+                        SET first_name = COALESCE(:firstName, first_name),
+                            last_name = COALESCE(:lastName, last_name),
+                            email = COALESCE(:email, email),
+                            department = COALESCE(:department, department),
+                            salary = COALESCE(:salary, salary),
+                            hire_date = COALESCE(:hireDate, hire_date),
+                            version = version + 1
+                        WHERE id = :id AND (:version IS NULL OR version = :version)""",
+                        parameters("id", 1L, "version", 3L, "firstName", "Jane", "lastName", null, "email", null,
+                                "department", null, "salary", null, "hireDate", null)),
+                new ExplainedQuery("EmployeeRepository.findPageOrderById", Access.SELECTIVE, """
+                        SELECT * FROM employees
+                        WHERE (:afterId IS NULL OR id > :afterId)
+                          AND (:department IS NULL OR department = :department)
+                          AND (:hiredFrom IS NULL OR hire_date >= :hiredFrom)
+                          AND (:hiredTo IS NULL OR hire_date <= :hiredTo)
+                          AND (:minSalary IS NULL OR salary >= :minSalary)
+                          AND (:maxSalary IS NULL OR salary <= :maxSalary)
+                        ORDER BY id LIMIT 50""",
+                        filters("afterId", 0L, "department", "ENGINEERING")),
+                new ExplainedQuery("EmployeeRepository.findPageOrderByLastName", Access.SELECTIVE, """
+                        SELECT * FROM employees
+                        WHERE (:afterLastName IS NULL
+                               OR last_name > :afterLastName
+                               OR (last_name = :afterLastName AND id > :afterId))
+                          AND (:department IS NULL OR department = :department)
+                          AND (:hiredFrom IS NULL OR hire_date >= :hiredFrom)
+                          AND (:hiredTo IS NULL OR hire_date <= :hiredTo)
+                          AND (:minSalary IS NULL OR salary >= :minSalary)
+                          AND (:maxSalary IS NULL OR salary <= :maxSalary)
+                        ORDER BY last_name, id LIMIT 50""",
+                        filters("afterLastName", "M", "afterId", 0L, "department", null)),
+                new ExplainedQuery("EmployeeRepository.streamAll", Access.FULL, """
+                        SELECT * FROM employees
+                        WHERE (:department IS NULL OR department = :department)
+                          AND (:hiredFrom IS NULL OR hire_date >= :hiredFrom)
+                          AND (:hiredTo IS NULL OR hire_date <= :hiredTo)
+                          AND (:minSalary IS NULL OR salary >= :minSalary)
+                          AND (:maxSalary IS NULL OR salary <= :maxSalary)
+                        ORDER BY id""",
+                        filters("department", null)),
+                new ExplainedQuery("EmployeeBatchRepository.findIdsByEmail", Access.SELECTIVE,
+                        "SELECT id, email FROM employees WHERE email IN (:emails)",
+                        Map.of("emails", List.of("a@example.com", "b@example.com"))),
+                new ExplainedQuery("EmployeeChangeRepository.findAfter", Access.SELECTIVE, """
+                        SELECT * FROM employee_changes
+                        WHERE seq > :since AND changed_at < NOW(3) - INTERVAL :settleMicros MICROSECOND
+                        ORDER BY seq LIMIT 500""",
+                        Map.of("since", 0L, "settleMicros", 5_000_000L)),
+                new ExplainedQuery("EmployeeChangeRepository.deleteOlderThan", Access.SELECTIVE, """
+                        DELETE FROM employee_changes
+                        WHERE changed_at < NOW(3) - INTERVAL :retentionMicros MICROSECOND AND seq < :newest""",
+                        Map.of("retentionMicros", Duration.ofDays(7).toNanos() / 1000, "newest", Long.MAX_VALUE)),
+                new ExplainedQuery("DepartmentRollupRepository.findFiguresForUpdate", Access.SELECTIVE,
+                        "SELECT id, department, salary, hire_date, version FROM employees WHERE id = :id FOR UPDATE",
+                        Map.of("id", 1L)),
+                new ExplainedQuery("DepartmentRollupRepository.recomputeExtremes", Access.COVERING, """
+                        SELECT MIN(ROUND(salary * 100)), MAX(ROUND(salary * 100))
+                        FROM employees WHERE department = :department""",
+                        Map.of("department", "ENGINEERING")),
+                new ExplainedQuery("DepartmentRollupRepository.aggregateEmployees", Access.COVERING, """
+                        SELECT department, COUNT(*), SUM(ROUND(salary * 100)), MIN(ROUND(salary * 100)),
+                               MAX(ROUND(salary * 100))
+                        FROM employees GROUP BY department""",
+                        Map.of()),
+                new ExplainedQuery("DepartmentRollupRepository.countEmployeesByHireMonth", Access.COVERING, """
+                        SELECT department, YEAR(hire_date), MONTH(hire_date), COUNT(*)
+                        FROM employees GROUP BY department, YEAR(hire_date), MONTH(hire_date)""",
+                        Map.of())
+        );
+    }
+
+    /**
+     * The employee filter parameters, all unset, with the given ones overridden.
+     */
+    private static Map<String, Object> filters(Object... namesAndValues) {
+        Map<String, Object> parameters = parameters("department", null, "hiredFrom", null, "hiredTo", null,
+                "minSalary", null, "maxSalary", null);
+        parameters.putAll(parameters(namesAndValues));
+        return parameters;
+    }
+
+    // Map.of rejects the nulls the optional filters are bound to
+    private static Map<String, Object> parameters(Object... namesAndValues) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            parameters.put((String) namesAndValues[i], namesAndValues[i + 1]);
+        }
+        return parameters;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!properties.isCheckOnStartup()) {
+            return;
+        }
+        String product = jdbcTemplate.getJdbcTemplate().execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!"MySQL".equals(product)) {
+            log.info("Skipping the query plan check on {}", product);
+            return;
+        }
+
+        List<String> violations = new ArrayList<>();
+        for (ExplainedQuery query : queries()) {
+            List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + query.sql(),
+                    new MapSqlParameterSource(query.parameters()));
+            violations.addAll(check(query, plan, properties.getMaxFullScanRows()));
+        }
+        if (violations.isEmpty()) {
+            return;
+        }
+        String message = "Queries scan more than " + properties.getMaxFullScanRows() + " rows without a suitable index: "
+                + String.join("; ", violations);
+        if (properties.isFailOnViolation()) {
+            throw new IllegalStateException(message);
+        }
+        log.warn(message);
+    }
+
+    /**
+     * Logs each row of the plan and returns a description of every one that breaks
+     * the query's {@link Access}.
+     */
+    static List<String> check(ExplainedQuery query, List<Map<String, Object>> plan, long maxFullScanRows) {
+        List<String> violations = new ArrayList<>();
+        for (Map<String, Object> row : plan) {
+            String table = (String) row.get("table");
+            String type = (String) row.get("type");
+            String key = (String) row.get("key");
+            String extra = row.get("Extra") == null ? "" : (String) row.get("Extra");
+            long rows = row.get("rows") == null ? 0 : ((Number) row.get("rows")).longValue();
+            log.info("Plan for {}: table={} type={} key={} rows={} extra={}", query.name(), table, type, key, rows, extra);
+
+            if (rows <= maxFullScanRows || query.access() == Access.FULL) {
+                continue;
+            }
+            boolean coveredByIndex = Arrays.stream(extra.split(";\\s*"))
+                    .anyMatch(note -> note.startsWith("Using index") && !note.equals("Using index condition"));
+            if ("ALL".equals(type)) {
+                violations.add(query.name() + " scans " + rows + " rows of " + table);
+            } else if (query.access() == Access.SELECTIVE && "index".equals(type)) {
+                violations.add(query.name() + " scans " + rows + " rows of index " + key + " on " + table);
+            } else if (query.access() == Access.COVERING && !coveredByIndex) {
+                violations.add(query.name() + " reads " + rows + " rows of " + table + " through " + key
+                        + " without an index covering it");
+            }
+        }
+        return violations;
+    }
+}
@@ -0,0 +1,65 @@
+package com.demo.employee.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "employee.read-replicas")
+public class ReadReplicaProperties {
+
+    /**
+     * Send read-only transactions to the replicas below. Off, every connection comes
+     * from spring.datasource.
+     */
+    private boolean enabled = false;
+
+    private List<Instance> instances = new ArrayList<>();
+
+    /**
+     * Most a replica may trail the primary and still serve reads; lagging replicas
+     * are skipped, and with none left reads go to the primary.
+     */
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    /**
+     * Delay between checks of each replica's lag and health.
+     */
+    private Duration probeInterval = Duration.ofSeconds(1);
+
+    /**
+     * Keep reads on the primary until a replica has applied the last write this
+     * instance committed, or learned of from another instance's cache invalidation.
+     * Only this instance's writes are covered at once: another instance's count once
+     * their invalidation arrives, so a client needs sticky sessions to read its
+     * writes back on every instance.
+     */
+    private boolean readYourWrites = true;
+
+    @Data
+    public static class Instance {
+
+        private String url;
+
+        /**
+         * Defaults to spring.datasource.username.
+         */
+        private String username;
+
+        /**
+         * Defaults to spring.datasource.password.
+         */
+        private String password;
+
+        private int maximumPoolSize = 10;
+
+        /**
+         * How long a read waits for a replica connection; kept short so an unreachable
+         * replica is marked down quickly.
+         */
+        private Duration connectionTimeout = Duration.ofSeconds(2);
+    }
+}
@@ -0,0 +1,44 @@
+package com.demo.employee.config;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The lowest data version reads on this instance must see: the version its own
+ * last committed write produced, or the one current when it last applied another
+ * instance's cache invalidation. Replica routing only reads from a replica that has
+ * applied it, so a client never reads back something older than what it just wrote
+ * and the caches are never refilled from before an invalidation.
+ * <p>
+ * The floor is held in memory, per instance. A client whose next request lands on
+ * another instance is only covered once that instance has received the write's
+ * cache invalidation, up to a transport poll interval later; until then it may
+ * read from a replica up to {@code employee.read-replicas.max-lag} behind. Clients
+ * that need their own writes everywhere must stick to one instance.
+ */
+@Component
+public class ReadYourWrites {
+
+    private final boolean enabled;
+    private final AtomicLong requiredVersion = new AtomicLong();
+
+    public ReadYourWrites(ReadReplicaProperties properties) {
+        this.enabled = properties.isEnabled() && properties.isReadYourWrites();
+    }
+
+    /**
+     * Whether versions need recording at all; false without replicas.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void advanceTo(long version) {
+        requiredVersion.accumulateAndGet(version, Math::max);
+    }
+
+    public long requiredVersion() {
+        return requiredVersion.get();
+    }
+}
@@ -0,0 +1,295 @@
+package com.demo.employee.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Hands out connections from read replicas in turn, skipping any replica that is
+ * unreachable, trails the primary by more than {@code maxLag}, or has not applied
+ * the data version the caller must see. With no replica eligible, connections come
+ * from the primary.
+ * <p>
+ * Lag is measured with the data_version counter every write bumps, so it needs no
+ * replication privileges or heartbeat table: each {@link #probe()} reads the
+ * primary's version and notes when it first saw it, and a replica's lag is the time
+ * since the primary first showed a version the replica has not applied. It is
+ * accurate to the probe interval. A replica already behind at the first probe
+ * counts as lagging until it catches up, since how far behind is unknown.
+ * <p>
+ * First-seen times are dropped once every reachable replica has applied the
+ * version, and beyond {@link #MAX_TRACKED_VERSIONS} whatever the replicas have
+ * applied, so a replica that is down or has stopped replicating cannot grow them
+ * without bound. A replica missing a version whose time was dropped is likewise
+ * lagging until it catches up.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements MeterBinder, AutoCloseable {
+
+    static final String PRIMARY = "primary";
+    // An hour of versions at the default one-second probe interval, far past any useful max lag
+    static final int MAX_TRACKED_VERSIONS = 3_600;
+
+    private static final String VERSION_SQL = "SELECT version FROM data_version WHERE id = 1";
+    private static final long UNKNOWN = Long.MIN_VALUE;
+
+    private final JdbcTemplate primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final long maxLagNanos;
+    private final LongSupplier requiredVersion;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    // Primary data version -> System.nanoTime() it was first seen, or UNKNOWN if already there at the first probe
+    private final NavigableMap<Long, Long> firstSeen = new ConcurrentSkipListMap<>();
+    // Highest version whose first-seen time has been dropped
+    private volatile long forgottenThrough = UNKNOWN;
+    // Not a monitor: a probe holds it across JDBC calls, which would pin a virtual thread's carrier
+    private final Lock probeLock = new ReentrantLock();
+    private boolean primed;
+    private volatile Counter primaryReads;
+    private volatile Counter replicaReads;
+
+    /**
+     * @param replicas        replica data sources by name, tried in this order
+     * @param requiredVersion the lowest data version a replica must have applied to
+     *                        serve the current caller
+     */
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, Duration maxLag,
+                                    LongSupplier requiredVersion) {
+        this.primary = versionReader(primary);
+        this.maxLagNanos = maxLag.toNanos();
+        this.requiredVersion = requiredVersion;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        replicas.forEach((name, dataSource) -> {
+            this.replicas.add(new Replica(name, dataSource));
+            targets.put(name, dataSource);
+        });
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        long required = requiredVersion.getAsLong();
+        int first = nextReplica.getAndIncrement();
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(Math.floorMod(first + i, replicas.size()));
+            if (replica.canServe(required)) {
+                count(replicaReads);
+                return replica.name;
+            }
+        }
+        count(primaryReads);
+        return PRIMARY;
+    }
+
+    /**
+     * Re-reads the primary's and every replica's data version and recomputes each
+     * replica's lag and health. Runs every probe interval; concurrent calls are
+     * serialised.
+     */
+    public void probe() {
+        probeLock.lock();
+        try {
+            long head = readVersion(primary);
+            if (head == UNKNOWN) {
+                // Lag cannot be measured without the primary; replicas keep their last state
+                return;
+            }
+            long now = System.nanoTime();
+            // When the first version seen was written is unknown, so it is never a measure of lag
+            firstSeen.putIfAbsent(head, primed ? now : UNKNOWN);
+            primed = true;
+            long leastApplied = Long.MAX_VALUE;
+            for (Replica replica : replicas) {
+                long version = readVersion(replica.reader);
+                replica.up = version != UNKNOWN;
+                if (replica.up) {
+                    replica.version = version;
+                    replica.lagNanos = lagNanos(version, head, now);
+                    leastApplied = Math.min(leastApplied, version);
+                }
+            }
+            // Versions every reachable replica has applied are never needed for a lag again
+            if (leastApplied != Long.MAX_VALUE) {
+                NavigableMap<Long, Long> applied = firstSeen.headMap(leastApplied, true);
+                forget(applied.lastEntry());
+                applied.clear();
+            }
+            while (firstSeen.size() > MAX_TRACKED_VERSIONS) {
+                forget(firstSeen.pollFirstEntry());
+            }
+        } finally {
+            probeLock.unlock();
+        }
+    }
+
+    /**
+     * The lowest data version a connection handed out now could see: the least any
+     * replica eligible to serve the current caller is known to have applied, or
+     * {@link Long#MAX_VALUE} when the primary would serve it. Replicas only move
+     * forward, so data read afterwards is at least this new; a tag taken from it
+     * before the read is never newer than what was read.
+     */
+    public long leastServableVersion() {
+        long required = requiredVersion.getAsLong();
+        long least = Long.MAX_VALUE;
+        for (Replica replica : replicas) {
+            if (replica.up && replica.lagNanos <= maxLagNanos) {
+                // One behind the caller only serves it once re-read as caught up
+                least = Math.min(least, Math.max(replica.version, required));
+            }
+        }
+        return least;
+    }
+
+    /**
+     * Closes the replica pools; the primary belongs to whoever created it.
+     */
+    @Override
+    public void close() throws SQLException {
+        for (Replica replica : replicas) {
+            if (replica.dataSource.isWrapperFor(AutoCloseable.class)) {
+                try {
+                    replica.dataSource.unwrap(AutoCloseable.class).close();
+                } catch (Exception e) {
+                    log.warn("Could not close replica {}", replica.name, e);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Replica replica : replicas) {
+            Gauge.builder("jdbc.replica.lag", replica, r -> !r.up || r.lagNanos == Long.MAX_VALUE
+                            ? Double.NaN : r.lagNanos / 1e9)
+                    .description("How far the replica trails the primary, NaN while unreachable or unknown")
+                    .baseUnit("seconds")
+                    .tag("replica", replica.name)
+                    .register(registry);
+        }
+        primaryReads = routedConnections(registry, "primary");
+        replicaReads = routedConnections(registry, "replica");
+    }
+
+    /**
+     * Versions tracked for lag, for tests.
+     */
+    int trackedVersions() {
+        return firstSeen.size();
+    }
+
+    private void forget(Map.Entry<Long, Long> entry) {
+        if (entry != null) {
+            forgottenThrough = Math.max(forgottenThrough, entry.getKey());
+        }
+    }
+
+    private long lagNanos(long replicaVersion, long head, long now) {
+        if (replicaVersion >= head) {
+            return 0;
+        }
+        if (replicaVersion < forgottenThrough) {
+            // When the first version it is missing appeared is no longer known
+            return Long.MAX_VALUE;
+        }
+        Map.Entry<Long, Long> oldestMissing = firstSeen.ceilingEntry(replicaVersion + 1);
+        if (oldestMissing == null) {
+            return 0;
+        }
+        return oldestMissing.getValue() == UNKNOWN ? Long.MAX_VALUE : now - oldestMissing.getValue();
+    }
+
+    /**
+     * The data version, 0 before the first write or while the table does not exist,
+     * or UNKNOWN when the database cannot be reached.
+     */
+    private static long readVersion(JdbcTemplate reader) {
+        try {
+            List<Long> versions = reader.queryForList(VERSION_SQL, Long.class);
+            return versions.isEmpty() ? 0 : versions.getFirst();
+        } catch (BadSqlGrammarException e) {
+            return 0;
+        } catch (DataAccessException e) {
+            log.debug("Could not read the data version: {}", e.getMessage());
+            return UNKNOWN;
+        }
+    }
+
+    private static JdbcTemplate versionReader(DataSource dataSource) {
+        JdbcTemplate reader = new JdbcTemplate(dataSource);
+        reader.setQueryTimeout(2);
+        return reader;
+    }
+
+    private static Counter routedConnections(MeterRegistry registry, String target) {
+        return Counter.builder("jdbc.routed.connections")
+                .description("Read-only connections by the database that served them")
+                .tag("target", target)
+                .register(registry);
+    }
+
+    private static void count(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    private final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private final JdbcTemplate reader;
+        private volatile boolean up;
+        private volatile long version = UNKNOWN;
+        private volatile long lagNanos = Long.MAX_VALUE;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.reader = versionReader(dataSource);
+        }
+
+        /**
+         * Up, within the lag tolerance and, if the caller needs a newer version than
+         * the last probe saw, caught up to it now.
+         */
+        private boolean canServe(long required) {
+            if (!up || lagNanos > maxLagNanos) {
+                return false;
+            }
+            if (version >= required) {
+                return true;
+            }
+            long current = readVersion(reader);
+            if (current == UNKNOWN) {
+                up = false;
+                return false;
+            }
+            version = Math.max(version, current);
+            return version >= required;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.demo.employee.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The schema is created and changed by the Flyway migrations under db/migration;
+ * Hibernate does not touch it. Once the application has started,
+ * {@link QueryPlanCheck} verifies the repository queries use the indexes those
+ * migrations create.
+ */
+@Configuration
+@EnableConfigurationProperties(QueryPlanCheckProperties.class)
+public class SchemaConfig {
+}
@@ -0,0 +1,15 @@
+package com.demo.employee.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The search index is held in memory by
+ * {@link com.demo.employee.service.EmployeeSearchService}, built when the
+ * application starts and kept current from committed writes and the cache
+ * invalidation bus.
+ */
+@Configuration
+@EnableConfigurationProperties(EmployeeSearchProperties.class)
+public class SearchConfig {
+}
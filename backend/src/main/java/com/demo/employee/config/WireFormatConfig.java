@@ -0,0 +1,32 @@
+package com.demo.employee.config;
+
+import org.springframework.boot.http.converter.autoconfigure.ServerHttpMessageConvertersCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.util.List;
+
+/**
+ * JSON stays the default representation; clients that send
+ * {@code Accept: application/cbor} get the same documents as CBOR, and list
+ * endpoints additionally offer a column-oriented layout under the
+ * {@value #COLUMNAR_JSON_VALUE} and {@value #COLUMNAR_CBOR_VALUE} media types.
+ */
+@Configuration
+public class WireFormatConfig {
+
+    public static final String COLUMNAR_JSON_VALUE = "application/vnd.employees.columnar+json";
+    public static final String COLUMNAR_CBOR_VALUE = "application/vnd.employees.columnar+cbor";
+
+    // Replaces Spring's default CBOR converter so it uses Boot's configured mapper and
+    // also writes structured-syntax types such as the columnar one
+    @Bean
+    public ServerHttpMessageConvertersCustomizer cborMessageConverterCustomizer(CBORMapper cborMapper) {
+        JacksonCborHttpMessageConverter converter = new JacksonCborHttpMessageConverter(cborMapper);
+        converter.setSupportedMediaTypes(List.of(MediaType.APPLICATION_CBOR, new MediaType("application", "*+cbor")));
+        return builder -> builder.withCborConverter(converter);
+    }
+}
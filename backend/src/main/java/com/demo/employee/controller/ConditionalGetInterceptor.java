@@ -0,0 +1,86 @@
+package com.demo.employee.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * Answers conditional GETs before the handler runs. The ETag is the current data
+ * version plus a hash of the URL, query and the headers that select the
+ * representation, so a client whose If-None-Match still matches gets a 304 at the
+ * cost of reading the version.
+ *
+ * <p>The version is read before the handler queries the data. A write that lands
+ * in between gives a response newer than its ETag, which only costs the client
+ * one extra download later; the ETag is never newer than the body. That only holds
+ * for handlers that read data at least as new as the version, so responses served
+ * from a cache that catches up with other instances' writes later must not go
+ * through this interceptor.
+ */
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    private static final Pattern ETAG_PATTERN = Pattern.compile("\"(\\d+)(?:-[0-9a-f]+)?\"");
+
+    private final Supplier<String> versionTag;
+
+    public ConditionalGetInterceptor(Supplier<String> versionTag) {
+        this.versionTag = versionTag;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod())) {
+            return true;
+        }
+        return !checkNotModified(request, response, versionTag.get());
+    }
+
+    /**
+     * Sets the ETag header for the given version, and the 304 status when
+     * If-None-Match matches.
+     */
+    static boolean checkNotModified(HttpServletRequest request, HttpServletResponse response, String versionTag) {
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        return new ServletWebRequest(request, response).checkNotModified(etag(request, versionTag));
+    }
+
+    /**
+     * The version an {@link #etag} was built from, or null if the tag is weak or not
+     * one of ours.
+     */
+    static Long version(String etag) {
+        Matcher matcher = ETAG_PATTERN.matcher(etag);
+        if (!matcher.matches()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(matcher.group(1));
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    static String etag(HttpServletRequest request, String versionTag) {
+        CRC32 representation = new CRC32();
+        update(representation, request.getRequestURI());
+        update(representation, request.getQueryString());
+        update(representation, request.getHeader(HttpHeaders.ACCEPT));
+        update(representation, request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        return "\"" + versionTag + "-" + Long.toHexString(representation.getValue()) + "\"";
+    }
+
+    private static void update(CRC32 crc, String value) {
+        if (value != null) {
+            crc.update(value.getBytes(StandardCharsets.UTF_8));
+        }
+        crc.update(0);
+    }
+}
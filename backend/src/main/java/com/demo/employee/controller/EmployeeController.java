@@ -1,16 +1,40 @@
 package com.demo.employee.controller;
 
+import com.demo.employee.config.WireFormatConfig;
+import com.demo.employee.dto.BatchMode;
+import com.demo.employee.dto.BatchResultDTO;
+import com.demo.employee.dto.EmployeeChangesDTO;
+import com.demo.employee.dto.EmployeeColumnsDTO;
 import com.demo.employee.dto.EmployeeDTO;
+import com.demo.employee.dto.EmployeeFilter;
+import com.demo.employee.dto.EmployeePageDTO;
+import com.demo.employee.dto.EmployeePatchDTO;
+import com.demo.employee.dto.EmployeeSort;
+import com.demo.employee.dto.ExportFormat;
+import com.demo.employee.exception.EmployeeVersionMismatchException;
 import com.demo.employee.model.Department;
+import com.demo.employee.service.EmployeeBatchService;
+import com.demo.employee.service.EmployeeChangeFeedService;
+import com.demo.employee.service.EmployeeExportService;
+import com.demo.employee.service.EmployeeSearchService;
 import com.demo.employee.service.EmployeeService;
+import com.demo.employee.stream.EmployeeChangeStream;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -20,18 +44,111 @@ import java.util.List;
 @CrossOrigin(origins = "*")
 public class EmployeeController {
 
+    /**
+     * Sent with exports: the change feed checkpoint to follow from after loading them.
+     */
+    public static final String CHANGES_SINCE_HEADER = "X-Changes-Since";
+
     private final EmployeeService employeeService;
+    private final EmployeeExportService employeeExportService;
+    private final EmployeeBatchService employeeBatchService;
+    private final EmployeeChangeFeedService changeFeedService;
+    private final EmployeeChangeStream changeStream;
+    private final EmployeeSearchService searchService;
 
     @GetMapping
-    @Operation(summary = "Get all employees", description = "Retrieves a list of all employees")
-    public ResponseEntity<List<EmployeeDTO>> getAllEmployees() {
-        return ResponseEntity.ok(employeeService.getAllEmployees());
+    @Operation(summary = "Get employees",
+            description = "Retrieves a page of employees using keyset pagination. "
+                    + "Pass nextCursor back as cursor to fetch the following page.")
+    public ResponseEntity<EmployeePageDTO> getEmployees(
+            @ModelAttribute EmployeeFilter filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(defaultValue = "id") String sort) {
+        return ResponseEntity.ok(employeeService.getEmployeePage(filter, EmployeeSort.fromParam(sort), cursor, limit));
+    }
+
+    @GetMapping(produces = {WireFormatConfig.COLUMNAR_JSON_VALUE, WireFormatConfig.COLUMNAR_CBOR_VALUE})
+    @Operation(summary = "Get employees as columns",
+            description = "Same page as the default representation, laid out as one array per field")
+    public ResponseEntity<EmployeeColumnsDTO> getEmployeeColumns(
+            @ModelAttribute EmployeeFilter filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(defaultValue = "id") String sort) {
+        return ResponseEntity.ok(EmployeeColumnsDTO.of(
+                employeeService.getEmployeePage(filter, EmployeeSort.fromParam(sort), cursor, limit)));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export employees",
+            description = "Streams every employee matching the filters as NDJSON (default), CSV or a CBOR sequence")
+    public ResponseEntity<StreamingResponseBody> exportEmployees(
+            @ModelAttribute EmployeeFilter filter,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.fromParam(format);
+        // Read before the export starts, so every change the export misses is after it
+        long changesSince = changeFeedService.getHeadSeq();
+        StreamingResponseBody body = out -> employeeExportService.export(filter, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(CHANGES_SINCE_HEADER, Long.toString(changesSince))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("employees." + exportFormat.getExtension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search employees",
+            description = "Typeahead search over first name, last name and email. Every word must match the start "
+                    + "of a name or email word, or for words of three or more characters any part of one. Exact "
+                    + "matches rank first, then prefixes, then matches inside a word.")
+    public ResponseEntity<List<EmployeeDTO>> searchEmployees(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(searchService.search(q, limit));
+    }
+
+    @GetMapping("/changes")
+    @Operation(summary = "Get employee changes",
+            description = "Returns creates, updates and delete tombstones after the given sequence number, oldest "
+                    + "first. Pass nextSince back as since to continue; 410 means the checkpoint is older than the "
+                    + "retained log and the client must re-sync from the export.")
+    public ResponseEntity<EmployeeChangesDTO> getChanges(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(defaultValue = "500") int limit) {
+        return ResponseEntity.ok(changeFeedService.getChanges(since, limit));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream employee changes",
+            description = "Server-Sent Events: one employee-change event per change, with the change's seq as the "
+                    + "event id. Reconnect with Last-Event-ID (or lastEventId, for clients that cannot set headers) "
+                    + "to replay what was missed; a resync event means the checkpoint was pruned.")
+    public ResponseEntity<SseEmitter> streamChanges(
+            @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventIdHeader,
+            @RequestParam(name = "lastEventId", required = false) Long lastEventIdParam) {
+        // Tells nginx (and ingress-nginx) not to buffer the stream
+        return ResponseEntity.ok()
+                .header("X-Accel-Buffering", "no")
+                .body(changeStream.subscribe(lastEventIdHeader != null ? lastEventIdHeader : lastEventIdParam));
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "Get employee by ID", description = "Retrieves an employee by their ID")
-    public ResponseEntity<EmployeeDTO> getEmployeeById(@PathVariable Long id) {
-        return ResponseEntity.ok(employeeService.getEmployeeById(id));
+    @Operation(summary = "Get employee by ID",
+            description = "Retrieves an employee by their ID. The ETag carries the employee's version; send it "
+                    + "back as If-Match on PUT or PATCH to update only if nobody else has since.")
+    public ResponseEntity<EmployeeDTO> getEmployeeById(
+            @PathVariable Long id,
+            HttpServletRequest request,
+            HttpServletResponse response) {
+        EmployeeDTO employee = employeeService.getEmployeeById(id);
+        if (ConditionalGetInterceptor.checkNotModified(request, response, Long.toString(employee.getVersion()))) {
+            return null;
+        }
+        return ResponseEntity.ok(employee);
     }
 
     @GetMapping("/department/{department}")
@@ -40,6 +157,14 @@ public class EmployeeController {
         return ResponseEntity.ok(employeeService.getEmployeesByDepartment(department));
     }
 
+    @GetMapping(value = "/department/{department}",
+            produces = {WireFormatConfig.COLUMNAR_JSON_VALUE, WireFormatConfig.COLUMNAR_CBOR_VALUE})
+    @Operation(summary = "Get employees by department as columns",
+            description = "Same list as the default representation, laid out as one array per field")
+    public ResponseEntity<EmployeeColumnsDTO> getEmployeeColumnsByDepartment(@PathVariable Department department) {
+        return ResponseEntity.ok(EmployeeColumnsDTO.of(employeeService.getEmployeesByDepartment(department), null, false));
+    }
+
     @PostMapping
     @Operation(summary = "Create employee", description = "Creates a new employee")
     public ResponseEntity<EmployeeDTO> createEmployee(@Valid @RequestBody EmployeeDTO employeeDTO) {
@@ -47,12 +172,56 @@ public class EmployeeController {
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Create employees in bulk",
+            description = "Creates (mode=create) or upserts by email (mode=upsert) a JSON array of employees "
+                    + "and returns a per-row result report")
+    public ResponseEntity<BatchResultDTO> createEmployeesBatch(
+            @RequestBody List<EmployeeDTO> employees,
+            @RequestParam(defaultValue = "create") String mode) {
+        return ResponseEntity.ok(employeeBatchService.importEmployees(employees, BatchMode.fromParam(mode)));
+    }
+
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Create employees in bulk from NDJSON",
+            description = "Same as the JSON variant, but reads one employee per line so large imports are streamed")
+    public ResponseEntity<BatchResultDTO> createEmployeesBatchNdjson(
+            InputStream body,
+            @RequestParam(defaultValue = "create") String mode) {
+        return ResponseEntity.ok(employeeBatchService.importNdjson(body, BatchMode.fromParam(mode)));
+    }
+
     @PutMapping("/{id}")
-    @Operation(summary = "Update employee", description = "Updates an existing employee")
+    @Operation(summary = "Update employee",
+            description = "Updates an existing employee. With If-Match, only if it is still at the version of "
+                    + "that ETag; 412 means it has changed since.")
     public ResponseEntity<EmployeeDTO> updateEmployee(
             @PathVariable Long id,
-            @Valid @RequestBody EmployeeDTO employeeDTO) {
-        return ResponseEntity.ok(employeeService.updateEmployee(id, employeeDTO));
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody EmployeeDTO employeeDTO,
+            HttpServletRequest request) {
+        EmployeeDTO updated = employeeService.updateEmployee(id, employeeDTO, expectedVersion(id, ifMatch));
+        return ResponseEntity.ok()
+                .eTag(ConditionalGetInterceptor.etag(request, Long.toString(updated.getVersion())))
+                .body(updated);
+    }
+
+    @PatchMapping("/{id}")
+    @Operation(summary = "Patch employee",
+            description = "Updates only the fields present in the body, in a single conditional UPDATE. With "
+                    + "If-Match, only if the employee is still at the version of that ETag; 412 means it has "
+                    + "changed since. The new ETag is returned when the new version is known.")
+    public ResponseEntity<Void> patchEmployee(
+            @PathVariable Long id,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody EmployeePatchDTO patch,
+            HttpServletRequest request) {
+        Long version = employeeService.patchEmployee(id, patch, expectedVersion(id, ifMatch));
+        ResponseEntity.HeadersBuilder<?> response = ResponseEntity.noContent();
+        if (version != null) {
+            response.eTag(ConditionalGetInterceptor.etag(request, Long.toString(version)));
+        }
+        return response.build();
     }
 
     @DeleteMapping("/{id}")
@@ -67,4 +236,19 @@ public class EmployeeController {
     public ResponseEntity<Department[]> getAllDepartments() {
         return ResponseEntity.ok(Department.values());
     }
+
+    /**
+     * The version a write must apply to: null without If-Match or with "*", otherwise
+     * the one in the ETag. A tag this server did not issue can never match.
+     */
+    private static Long expectedVersion(Long id, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        Long version = ConditionalGetInterceptor.version(ifMatch.trim());
+        if (version == null) {
+            throw new EmployeeVersionMismatchException(id);
+        }
+        return version;
+    }
 }
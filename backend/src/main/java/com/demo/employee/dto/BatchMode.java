@@ -0,0 +1,17 @@
+package com.demo.employee.dto;
+
+import com.demo.employee.exception.InvalidBatchRequestException;
+
+import java.util.Arrays;
+
+public enum BatchMode {
+    CREATE,
+    UPSERT;
+
+    public static BatchMode fromParam(String param) {
+        return Arrays.stream(values())
+                .filter(mode -> mode.name().equalsIgnoreCase(param))
+                .findFirst()
+                .orElseThrow(() -> new InvalidBatchRequestException("Unsupported batch mode: " + param));
+    }
+}
@@ -0,0 +1,23 @@
+package com.demo.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResultDTO {
+
+    private int total;
+
+    private int created;
+
+    private int updated;
+
+    private int rejected;
+
+    private List<BatchRowResultDTO> rows;
+}
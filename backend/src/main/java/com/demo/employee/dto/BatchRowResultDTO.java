@@ -0,0 +1,21 @@
+package com.demo.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchRowResultDTO {
+
+    private int index;
+
+    private BatchRowStatus status;
+
+    private Long id;
+
+    private String email;
+
+    private String message;
+}
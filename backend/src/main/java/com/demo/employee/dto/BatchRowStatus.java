@@ -0,0 +1,8 @@
+package com.demo.employee.dto;
+
+public enum BatchRowStatus {
+    CREATED,
+    UPDATED,
+    DUPLICATE,
+    INVALID
+}
@@ -0,0 +1,27 @@
+package com.demo.employee.dto;
+
+import com.demo.employee.event.ChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeChangeDTO {
+
+    private long seq;
+
+    private ChangeType operation;
+
+    private Long employeeId;
+
+    private LocalDateTime changedAt;
+
+    /**
+     * The employee as of this change; null for DELETED tombstones.
+     */
+    private EmployeeDTO employee;
+}
@@ -0,0 +1,19 @@
+package com.demo.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeChangesDTO {
+
+    private List<EmployeeChangeDTO> changes;
+
+    private long nextSince;
+
+    private boolean hasMore;
+}
@@ -0,0 +1,65 @@
+package com.demo.employee.dto;
+
+import com.demo.employee.model.Department;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.RoundingMode;
+import java.util.List;
+
+/**
+ * A list of employees laid out column by column: one array per field, each
+ * {@link #count} long. Field names are written once instead of once per row,
+ * departments are dictionary-encoded as indexes into {@link #departmentNames},
+ * salaries are whole cents and hire dates are days since 1970-01-01.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeColumnsDTO {
+
+    private int count;
+
+    private long[] ids;
+
+    private String[] firstNames;
+
+    private String[] lastNames;
+
+    private String[] emails;
+
+    private List<Department> departmentNames;
+
+    private int[] departments;
+
+    private long[] salaryCents;
+
+    private long[] hireDateEpochDays;
+
+    private String nextCursor;
+
+    private boolean hasMore;
+
+    public static EmployeeColumnsDTO of(EmployeePageDTO page) {
+        return of(page.getContent(), page.getNextCursor(), page.isHasMore());
+    }
+
+    public static EmployeeColumnsDTO of(List<EmployeeDTO> rows, String nextCursor, boolean hasMore) {
+        int count = rows.size();
+        EmployeeColumnsDTO columns = new EmployeeColumnsDTO(count, new long[count], new String[count],
+                new String[count], new String[count], List.of(Department.values()), new int[count],
+                new long[count], new long[count], nextCursor, hasMore);
+        for (int i = 0; i < count; i++) {
+            EmployeeDTO row = rows.get(i);
+            columns.ids[i] = row.getId();
+            columns.firstNames[i] = row.getFirstName();
+            columns.lastNames[i] = row.getLastName();
+            columns.emails[i] = row.getEmail();
+            columns.departments[i] = row.getDepartment().ordinal();
+            columns.salaryCents[i] = row.getSalary().movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+            columns.hireDateEpochDays[i] = row.getHireDate().toEpochDay();
+        }
+        return columns;
+    }
+}
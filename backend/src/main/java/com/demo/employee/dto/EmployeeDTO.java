@@ -38,4 +38,9 @@ public class EmployeeDTO {
 
     @NotNull(message = "Hire date is required")
     private LocalDate hireDate;
+
+    /**
+     * Ignored on create and update; send it back as If-Match to make an update conditional.
+     */
+    private Long version;
 }
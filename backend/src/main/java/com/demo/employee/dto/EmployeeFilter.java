@@ -0,0 +1,28 @@
+package com.demo.employee.dto;
+
+import com.demo.employee.model.Department;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeFilter {
+
+    private Department department;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate hiredFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate hiredTo;
+
+    private BigDecimal minSalary;
+
+    private BigDecimal maxSalary;
+}
@@ -0,0 +1,19 @@
+package com.demo.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeePageDTO {
+
+    private List<EmployeeDTO> content;
+
+    private String nextCursor;
+
+    private boolean hasMore;
+}
@@ -0,0 +1,38 @@
+package com.demo.employee.dto;
+
+import com.demo.employee.model.Department;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Partial update of an employee: null (or absent) fields are left as they are.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeePatchDTO {
+
+    @Pattern(regexp = ".*\\S.*", message = "First name must not be blank")
+    private String firstName;
+
+    @Pattern(regexp = ".*\\S.*", message = "Last name must not be blank")
+    private String lastName;
+
+    @Pattern(regexp = ".*\\S.*", message = "Email must not be blank")
+    @Email(message = "Email should be valid")
+    private String email;
+
+    private Department department;
+
+    @Positive(message = "Salary must be positive")
+    private BigDecimal salary;
+
+    private LocalDate hireDate;
+}
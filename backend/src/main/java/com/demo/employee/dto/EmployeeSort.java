@@ -0,0 +1,27 @@
+package com.demo.employee.dto;
+
+import com.demo.employee.exception.InvalidPageRequestException;
+
+import java.util.Arrays;
+
+public enum EmployeeSort {
+    ID("id"),
+    LAST_NAME("lastName");
+
+    private final String param;
+
+    EmployeeSort(String param) {
+        this.param = param;
+    }
+
+    public String getParam() {
+        return param;
+    }
+
+    public static EmployeeSort fromParam(String param) {
+        return Arrays.stream(values())
+                .filter(sort -> sort.param.equalsIgnoreCase(param))
+                .findFirst()
+                .orElseThrow(() -> new InvalidPageRequestException("Unsupported sort: " + param));
+    }
+}
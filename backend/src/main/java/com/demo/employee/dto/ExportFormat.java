@@ -0,0 +1,36 @@
+package com.demo.employee.dto;
+
+import com.demo.employee.exception.InvalidPageRequestException;
+import org.springframework.http.MediaType;
+
+import java.util.Arrays;
+
+public enum ExportFormat {
+    NDJSON("ndjson", MediaType.APPLICATION_NDJSON),
+    CSV("csv", new MediaType("text", "csv")),
+    // RFC 8742 CBOR sequence: one self-delimiting CBOR item per employee
+    CBOR("cbor", new MediaType("application", "cbor-seq"));
+
+    private final String extension;
+    private final MediaType mediaType;
+
+    ExportFormat(String extension, MediaType mediaType) {
+        this.extension = extension;
+        this.mediaType = mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public static ExportFormat fromParam(String param) {
+        return Arrays.stream(values())
+                .filter(format -> format.extension.equalsIgnoreCase(param))
+                .findFirst()
+                .orElseThrow(() -> new InvalidPageRequestException("Unsupported export format: " + param));
+    }
+}
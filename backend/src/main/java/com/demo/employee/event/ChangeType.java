@@ -0,0 +1,7 @@
+package com.demo.employee.event;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
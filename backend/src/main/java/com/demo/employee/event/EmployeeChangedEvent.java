@@ -0,0 +1,8 @@
+package com.demo.employee.event;
+
+/**
+ * Published synchronously by the write paths, inside the write transaction, for
+ * every employee row that is created, updated or deleted.
+ */
+public record EmployeeChangedEvent(ChangeType type, Long employeeId) {
+}
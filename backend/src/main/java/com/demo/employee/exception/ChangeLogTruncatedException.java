@@ -0,0 +1,8 @@
+package com.demo.employee.exception;
+
+public class ChangeLogTruncatedException extends RuntimeException {
+
+    public ChangeLogTruncatedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.demo.employee.exception;
+
+public class EmployeeVersionMismatchException extends RuntimeException {
+
+    public EmployeeVersionMismatchException(Long id) {
+        super("Employee with id " + id + " has changed since it was read");
+    }
+}
@@ -1,5 +1,6 @@
 package com.demo.employee.exception;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -24,6 +25,30 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(ex.getMessage(), HttpStatus.CONFLICT);
     }
 
+    // A write that lost a race reports 412, as if the client had sent the version it read
+    @ExceptionHandler({EmployeeVersionMismatchException.class, OptimisticLockingFailureException.class})
+    public ResponseEntity<Map<String, Object>> handleVersionMismatch(RuntimeException ex) {
+        String message = ex instanceof EmployeeVersionMismatchException
+                ? ex.getMessage()
+                : "Employee has changed since it was read";
+        return buildErrorResponse(message, HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @ExceptionHandler(InvalidPageRequestException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidPageRequestException(InvalidPageRequestException ex) {
+        return buildErrorResponse(ex.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidBatchRequestException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidBatchRequestException(InvalidBatchRequestException ex) {
+        return buildErrorResponse(ex.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(ChangeLogTruncatedException.class)
+    public ResponseEntity<Map<String, Object>> handleChangeLogTruncatedException(ChangeLogTruncatedException ex) {
+        return buildErrorResponse(ex.getMessage(), HttpStatus.GONE);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, Object>> handleValidationExceptions(MethodArgumentNotValidException ex) {
         Map<String, Object> response = new HashMap<>();
@@ -0,0 +1,70 @@
+package com.demo.employee.metrics;
+
+import com.demo.employee.dto.EmployeeDTO;
+import com.demo.employee.dto.EmployeeFilter;
+import com.demo.employee.dto.EmployeePageDTO;
+import com.demo.employee.model.Department;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.BaseStream;
+
+/**
+ * Low-cardinality tag values derived from a call's arguments and result.
+ */
+final class MetricTags {
+
+    static final String NONE = "none";
+
+    private MetricTags() {
+    }
+
+    /**
+     * The department a call is scoped to, taken from a Department, filter or DTO
+     * argument.
+     */
+    static String department(Object[] args) {
+        for (Object arg : args) {
+            Department department = switch (arg) {
+                case Department d -> d;
+                case EmployeeFilter filter -> filter.getDepartment();
+                case EmployeeDTO dto -> dto.getDepartment();
+                case null, default -> null;
+            };
+            if (department != null) {
+                return department.name();
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * Result size bucketed by order of magnitude: 0, 1, 2-10, 11-100, 101-1000 or
+     * 1000+ (streams are "stream", void or null results "none").
+     */
+    static String resultSize(Object result) {
+        return switch (result) {
+            case null -> NONE;
+            case BaseStream<?, ?> stream -> "stream";
+            case Collection<?> collection -> bucket(collection.size());
+            case Map<?, ?> map -> bucket(map.size());
+            case Optional<?> optional -> bucket(optional.isPresent() ? 1 : 0);
+            case EmployeePageDTO page -> bucket(page.getContent().size());
+            default -> bucket(1);
+        };
+    }
+
+    private static String bucket(long size) {
+        if (size <= 1) {
+            return Long.toString(size);
+        }
+        if (size <= 10) {
+            return "2-10";
+        }
+        if (size <= 100) {
+            return "11-100";
+        }
+        return size <= 1000 ? "101-1000" : "1000+";
+    }
+}
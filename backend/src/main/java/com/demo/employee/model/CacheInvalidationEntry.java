@@ -0,0 +1,38 @@
+package com.demo.employee.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row of the cache invalidation outbox. Mapped so the table is managed with the
+ * rest of the schema; rows are written and polled through JDBC by
+ * {@link com.demo.employee.cache.OutboxCacheInvalidationBus}.
+ */
+@Entity
+@Table(name = "cache_invalidation_outbox", indexes = {
+        @Index(name = "idx_cache_invalidation_created_at", columnList = "created_at")
+})
+@Data
+@NoArgsConstructor
+public class CacheInvalidationEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String entity;
+
+    @Column(name = "entity_id")
+    private Long entityId;
+
+    @Column(nullable = false, length = 36)
+    private String origin;
+
+    @Column(name = "created_at", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "DATETIME(3) DEFAULT CURRENT_TIMESTAMP(3)")
+    private LocalDateTime createdAt;
+}
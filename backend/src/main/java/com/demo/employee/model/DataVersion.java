@@ -0,0 +1,27 @@
+package com.demo.employee.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The single row of the data_version table: a counter bumped by every transaction
+ * that writes employees. Mapped so the table is managed with the rest of the
+ * schema; it is read and bumped through JDBC by
+ * {@link com.demo.employee.cache.DataVersionTracker}, and read by reports-service.
+ */
+@Entity
+@Table(name = "data_version")
+@Data
+@NoArgsConstructor
+public class DataVersion {
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false)
+    private long version;
+}
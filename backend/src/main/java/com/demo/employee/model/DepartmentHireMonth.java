@@ -0,0 +1,50 @@
+package com.demo.employee.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Row of the department_hire_months table: how many current employees of a
+ * department were hired in one calendar month, kept alongside
+ * {@link DepartmentRollup} so hires since a date are a sum over a few rows.
+ */
+@Entity
+@Table(name = "department_hire_months")
+@IdClass(DepartmentHireMonth.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepartmentHireMonth {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private Department department;
+
+    /**
+     * First day of the month.
+     */
+    @Id
+    @Column(name = "hire_month")
+    private LocalDate hireMonth;
+
+    @Column(name = "employee_count", nullable = false)
+    private long employeeCount;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        private Department department;
+        private LocalDate hireMonth;
+
+        public static Key of(Department department, LocalDate hireDate) {
+            return new Key(department, hireDate.withDayOfMonth(1));
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.demo.employee.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigInteger;
+
+/**
+ * Row of the department_rollup table: headcount and salary figures for one
+ * department, kept current by every employee write in the writing transaction.
+ * Salaries are in whole cents. The minimum and maximum are only re-read from the
+ * employees when a write removes the current extreme. Mapped so the table is
+ * managed with the rest of the schema; maintained through JDBC by
+ * {@link com.demo.employee.service.DepartmentRollupService}, and read by
+ * reports-service.
+ */
+@Entity
+@Table(name = "department_rollup")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepartmentRollup {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private Department department;
+
+    @Column(name = "employee_count", nullable = false)
+    private long employeeCount;
+
+    @Column(name = "salary_total_cents", nullable = false)
+    private long salaryTotalCents;
+
+    @Column(name = "salary_squares_cents", nullable = false, precision = 38, scale = 0)
+    private BigInteger salarySquaresCents;
+
+    /**
+     * Null while the department has no employees.
+     */
+    @Column(name = "min_salary_cents")
+    private Long minSalaryCents;
+
+    @Column(name = "max_salary_cents")
+    private Long maxSalaryCents;
+
+    public static DepartmentRollup empty(Department department) {
+        return new DepartmentRollup(department, 0, 0, BigInteger.ZERO, null, null);
+    }
+}
@@ -13,7 +13,13 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "employees")
+// Indexes are created by the db/migration scripts; listed here to keep the mapping in step with them
+@Table(name = "employees", indexes = {
+        @Index(name = "idx_employees_last_name_id", columnList = "last_name, id"),
+        @Index(name = "idx_employees_department_salary_hire_date", columnList = "department, salary, hire_date"),
+        @Index(name = "idx_employees_department_hire_date", columnList = "department, hire_date"),
+        @Index(name = "idx_employees_hire_date", columnList = "hire_date")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -49,4 +55,9 @@ public class Employee {
     @NotNull(message = "Hire date is required")
     @Column(name = "hire_date", nullable = false)
     private LocalDate hireDate;
+
+    // Bumped by every write; conditional updates compare it instead of locking the row
+    @Version
+    @Column(nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long version;
 }
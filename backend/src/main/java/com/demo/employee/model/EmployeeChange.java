@@ -0,0 +1,60 @@
+package com.demo.employee.model;
+
+import com.demo.employee.event.ChangeType;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Row of the employee change log: the state of one employee as of a committed
+ * write, or a tombstone (operation DELETED, no employee columns) once the row is
+ * gone. Mapped so the table is managed with the rest of the schema; rows are
+ * appended and read through JDBC by
+ * {@link com.demo.employee.repository.EmployeeChangeRepository}.
+ */
+@Entity
+@Table(name = "employee_changes", indexes = {
+        @Index(name = "idx_employee_changes_changed_at", columnList = "changed_at")
+})
+@Data
+@NoArgsConstructor
+public class EmployeeChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long seq;
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private ChangeType operation;
+
+    @Column(name = "first_name")
+    private String firstName;
+
+    @Column(name = "last_name")
+    private String lastName;
+
+    private String email;
+
+    @Enumerated(EnumType.STRING)
+    private Department department;
+
+    @Column(precision = 10, scale = 2)
+    private BigDecimal salary;
+
+    @Column(name = "hire_date")
+    private LocalDate hireDate;
+
+    private Long version;
+
+    @Column(name = "changed_at", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "DATETIME(3) DEFAULT CURRENT_TIMESTAMP(3)")
+    private LocalDateTime changedAt;
+}
@@ -0,0 +1,246 @@
+package com.demo.employee.repository;
+
+import com.demo.employee.model.Department;
+import com.demo.employee.model.DepartmentHireMonth;
+import com.demo.employee.model.DepartmentRollup;
+import com.demo.employee.model.Employee;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC access to the department_rollup and department_hire_months tables, and the
+ * GROUP BY queries over employees they are reconciled against. Salaries are
+ * converted to cents in SQL with ROUND(salary * 100), exactly as the rollup is
+ * maintained.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DepartmentRollupRepository {
+
+    private static final String ADD_SQL = """
+            UPDATE department_rollup
+            SET employee_count = employee_count + :count,
+                salary_total_cents = salary_total_cents + :totalCents,
+                salary_squares_cents = salary_squares_cents + :squaresCents,
+                min_salary_cents = :minCents,
+                max_salary_cents = :maxCents
+            WHERE department = :department""";
+
+    // Subqueries of an UPDATE are locking reads in InnoDB, so they see the latest
+    // committed salaries rather than this transaction's snapshot
+    private static final String RECOMPUTE_EXTREMES_SQL = """
+            UPDATE department_rollup
+            SET min_salary_cents = (SELECT ROUND(MIN(salary) * 100) FROM employees WHERE department = :department),
+                max_salary_cents = (SELECT ROUND(MAX(salary) * 100) FROM employees WHERE department = :department)
+            WHERE department = :department""";
+
+    private static final String ADD_HIRE_MONTH_SQL = """
+            INSERT INTO department_hire_months (department, hire_month, employee_count)
+            VALUES (:department, :hireMonth, :count)
+            ON DUPLICATE KEY UPDATE employee_count = employee_count + VALUES(employee_count)""";
+
+    private static final String SAVE_SQL = """
+            INSERT INTO department_rollup
+                (department, employee_count, salary_total_cents, salary_squares_cents, min_salary_cents, max_salary_cents)
+            VALUES (:department, :count, :totalCents, :squaresCents, :minCents, :maxCents)
+            ON DUPLICATE KEY UPDATE
+                employee_count = VALUES(employee_count),
+                salary_total_cents = VALUES(salary_total_cents),
+                salary_squares_cents = VALUES(salary_squares_cents),
+                min_salary_cents = VALUES(min_salary_cents),
+                max_salary_cents = VALUES(max_salary_cents)""";
+
+    private static final String SAVE_HIRE_MONTH_SQL = """
+            INSERT INTO department_hire_months (department, hire_month, employee_count)
+            VALUES (:department, :hireMonth, :count)
+            ON DUPLICATE KEY UPDATE employee_count = VALUES(employee_count)""";
+
+    private static final String AGGREGATE_EMPLOYEES_SQL = """
+            SELECT department, COUNT(*), SUM(ROUND(salary * 100)), SUM(ROUND(salary * 100) * ROUND(salary * 100)),
+                   MIN(ROUND(salary * 100)), MAX(ROUND(salary * 100))
+            FROM employees
+            GROUP BY department""";
+
+    private static final RowMapper<DepartmentRollup> ROW_MAPPER = (rs, rowNum) -> new DepartmentRollup(
+            Department.valueOf(rs.getString(1)),
+            rs.getLong(2),
+            rs.getLong(3),
+            rs.getBigDecimal(4).toBigIntegerExact(),
+            nullableLong(rs, 5),
+            nullableLong(rs, 6));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Department, salary and hire date of the given employees, as currently stored.
+     */
+    public List<Employee> findFigures(Collection<Long> employeeIds) {
+        if (employeeIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query("SELECT id, department, salary, hire_date FROM employees WHERE id IN (:ids)",
+                new MapSqlParameterSource("ids", employeeIds), (rs, rowNum) -> {
+                    Employee employee = new Employee();
+                    employee.setId(rs.getLong(1));
+                    employee.setDepartment(Department.valueOf(rs.getString(2)));
+                    employee.setSalary(rs.getBigDecimal(3));
+                    employee.setHireDate(rs.getDate(4).toLocalDate());
+                    return employee;
+                });
+    }
+
+    /**
+     * Stored values and version of one employee, locked until the transaction ends,
+     * or null if there is no such employee.
+     */
+    public Employee findFiguresForUpdate(Long employeeId) {
+        List<Employee> figures = jdbcTemplate.query(
+                "SELECT id, department, salary, hire_date, version FROM employees WHERE id = :id FOR UPDATE",
+                new MapSqlParameterSource("id", employeeId), (rs, rowNum) -> {
+                    Employee employee = new Employee();
+                    employee.setId(rs.getLong(1));
+                    employee.setDepartment(Department.valueOf(rs.getString(2)));
+                    employee.setSalary(rs.getBigDecimal(3));
+                    employee.setHireDate(rs.getDate(4).toLocalDate());
+                    employee.setVersion(rs.getLong(5));
+                    return employee;
+                });
+        return figures.isEmpty() ? null : figures.get(0);
+    }
+
+    /**
+     * Rollup rows of the given departments, locked until the transaction ends.
+     */
+    public List<DepartmentRollup> findForUpdate(Collection<Department> departments) {
+        return jdbcTemplate.query("""
+                        SELECT department, employee_count, salary_total_cents, salary_squares_cents,
+                               min_salary_cents, max_salary_cents
+                        FROM department_rollup
+                        WHERE department IN (:departments)
+                        ORDER BY department
+                        FOR UPDATE""",
+                new MapSqlParameterSource("departments", departments.stream().map(Department::name).toList()),
+                ROW_MAPPER);
+    }
+
+    /**
+     * Every rollup row, locked until the transaction ends. Writers update their
+     * departments' rows before their hire months, so holding these keeps both tables
+     * still.
+     */
+    public List<DepartmentRollup> findAllForUpdate() {
+        return jdbcTemplate.query("""
+                        SELECT department, employee_count, salary_total_cents, salary_squares_cents,
+                               min_salary_cents, max_salary_cents
+                        FROM department_rollup
+                        ORDER BY department
+                        FOR UPDATE""",
+                ROW_MAPPER);
+    }
+
+    /**
+     * Adds to a department's counters and replaces its extremes.
+     *
+     * @return false if the department has no rollup row yet
+     */
+    public boolean add(Department department, long count, long totalCents, BigInteger squaresCents,
+                       Long minCents, Long maxCents) {
+        return jdbcTemplate.update(ADD_SQL, new MapSqlParameterSource()
+                .addValue("department", department.name())
+                .addValue("count", count)
+                .addValue("totalCents", totalCents)
+                .addValue("squaresCents", new BigDecimal(squaresCents))
+                .addValue("minCents", minCents)
+                .addValue("maxCents", maxCents)) > 0;
+    }
+
+    public void recomputeExtremes(Collection<Department> departments) {
+        jdbcTemplate.batchUpdate(RECOMPUTE_EXTREMES_SQL, departments.stream()
+                .map(department -> new MapSqlParameterSource("department", department.name()))
+                .toArray(SqlParameterSource[]::new));
+    }
+
+    /**
+     * Adds to the hire-month counts, creating missing months. Callers pass the
+     * months in a fixed order so concurrent writers lock them in the same order.
+     */
+    public void addHireMonths(Map<DepartmentHireMonth.Key, Long> counts) {
+        jdbcTemplate.batchUpdate(ADD_HIRE_MONTH_SQL, hireMonthParameters(counts));
+    }
+
+    public void save(DepartmentRollup rollup) {
+        jdbcTemplate.update(SAVE_SQL, new MapSqlParameterSource()
+                .addValue("department", rollup.getDepartment().name())
+                .addValue("count", rollup.getEmployeeCount())
+                .addValue("totalCents", rollup.getSalaryTotalCents())
+                .addValue("squaresCents", new BigDecimal(rollup.getSalarySquaresCents()))
+                .addValue("minCents", rollup.getMinSalaryCents())
+                .addValue("maxCents", rollup.getMaxSalaryCents()));
+    }
+
+    public void saveHireMonths(Map<DepartmentHireMonth.Key, Long> counts) {
+        jdbcTemplate.batchUpdate(SAVE_HIRE_MONTH_SQL, hireMonthParameters(counts));
+    }
+
+    public Map<DepartmentHireMonth.Key, Long> findHireMonths() {
+        Map<DepartmentHireMonth.Key, Long> counts = new HashMap<>();
+        jdbcTemplate.query("SELECT department, hire_month, employee_count FROM department_hire_months",
+                rs -> {
+                    counts.put(new DepartmentHireMonth.Key(Department.valueOf(rs.getString(1)),
+                            rs.getDate(2).toLocalDate()), rs.getLong(3));
+                });
+        return counts;
+    }
+
+    /**
+     * What the rollup rows should hold, computed from the employees table.
+     */
+    public List<DepartmentRollup> aggregateEmployees() {
+        return jdbcTemplate.query(AGGREGATE_EMPLOYEES_SQL, ROW_MAPPER);
+    }
+
+    /**
+     * What the hire-month rows should hold, computed from the employees table.
+     */
+    public Map<DepartmentHireMonth.Key, Long> countEmployeesByHireMonth() {
+        Map<DepartmentHireMonth.Key, Long> counts = new HashMap<>();
+        jdbcTemplate.query("""
+                        SELECT department, YEAR(hire_date), MONTH(hire_date), COUNT(*)
+                        FROM employees
+                        GROUP BY department, YEAR(hire_date), MONTH(hire_date)""",
+                rs -> {
+                    counts.put(new DepartmentHireMonth.Key(Department.valueOf(rs.getString(1)),
+                            LocalDate.of(rs.getInt(2), rs.getInt(3), 1)), rs.getLong(4));
+                });
+        return counts;
+    }
+
+    private static SqlParameterSource[] hireMonthParameters(Map<DepartmentHireMonth.Key, Long> counts) {
+        return counts.entrySet().stream()
+                .map(entry -> new MapSqlParameterSource()
+                        .addValue("department", entry.getKey().getDepartment().name())
+                        .addValue("hireMonth", Date.valueOf(entry.getKey().getHireMonth()))
+                        .addValue("count", entry.getValue()))
+                .toArray(SqlParameterSource[]::new);
+    }
+
+    private static Long nullableLong(ResultSet rs, int column) throws SQLException {
+        long value = rs.getLong(column);
+        return rs.wasNull() ? null : value;
+    }
+}
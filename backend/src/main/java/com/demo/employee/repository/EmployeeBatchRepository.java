@@ -0,0 +1,72 @@
+package com.demo.employee.repository;
+
+import com.demo.employee.model.Employee;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Set-based JDBC access for bulk imports. Employee ids use IDENTITY generation,
+ * which stops Hibernate from batching inserts, so bulk writes bypass JPA and go
+ * through JDBC batches that Connector/J rewrites into multi-row INSERTs
+ * (rewriteBatchedStatements=true on the datasource URL).
+ */
+@Repository
+@RequiredArgsConstructor
+public class EmployeeBatchRepository {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO employees (first_name, last_name, email, department, salary, hire_date)
+            VALUES (?, ?, ?, ?, ?, ?)""";
+
+    private static final String UPSERT_SQL = INSERT_SQL + """
+
+            ON DUPLICATE KEY UPDATE
+                first_name = VALUES(first_name),
+                last_name = VALUES(last_name),
+                department = VALUES(department),
+                salary = VALUES(salary),
+                hire_date = VALUES(hire_date),
+                version = version + 1""";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Looks up ids for the given emails in a single IN (...) query.
+     * Keys are lower-cased to match the column's case-insensitive collation.
+     */
+    public Map<String, Long> findIdsByEmail(Collection<String> emails) {
+        Map<String, Long> ids = new HashMap<>();
+        if (emails.isEmpty()) {
+            return ids;
+        }
+        jdbcTemplate.query("SELECT id, email FROM employees WHERE email IN (:emails)",
+                new MapSqlParameterSource("emails", emails),
+                rs -> {
+                    ids.put(rs.getString("email").toLowerCase(), rs.getLong("id"));
+                });
+        return ids;
+    }
+
+    public void insertAll(List<Employee> employees, boolean upsert) {
+        if (employees.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.getJdbcTemplate().batchUpdate(upsert ? UPSERT_SQL : INSERT_SQL, employees, employees.size(),
+                (ps, employee) -> {
+                    ps.setString(1, employee.getFirstName());
+                    ps.setString(2, employee.getLastName());
+                    ps.setString(3, employee.getEmail());
+                    ps.setString(4, employee.getDepartment().name());
+                    ps.setBigDecimal(5, employee.getSalary());
+                    ps.setDate(6, Date.valueOf(employee.getHireDate()));
+                });
+    }
+}
@@ -0,0 +1,146 @@
+package com.demo.employee.repository;
+
+import com.demo.employee.event.ChangeType;
+import com.demo.employee.model.Department;
+import com.demo.employee.model.EmployeeChange;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * JDBC access to the employee_changes log. Appends copy the employee columns with
+ * INSERT ... SELECT, so recording a batch of changes costs a few statements
+ * whatever its size.
+ */
+@Repository
+@RequiredArgsConstructor
+public class EmployeeChangeRepository {
+
+    private static final String APPEND_SQL = """
+            INSERT INTO employee_changes
+                (employee_id, operation, first_name, last_name, email, department, salary, hire_date, version)
+            SELECT id, :operation, first_name, last_name, email, department, salary, hire_date, version
+            FROM employees
+            WHERE id IN (:ids)
+            ORDER BY id""";
+
+    private static final String TOMBSTONE_SQL =
+            "INSERT INTO employee_changes (employee_id, operation) VALUES (:id, 'DELETED')";
+
+    private static final String FIND_AFTER_SQL = """
+            SELECT seq, employee_id, operation, first_name, last_name, email, department, salary, hire_date, version,
+                   changed_at
+            FROM employee_changes
+            WHERE seq > :since AND changed_at < NOW(3) - INTERVAL :settleMicros MICROSECOND
+            ORDER BY seq
+            LIMIT :limit""";
+
+    private static final RowMapper<EmployeeChange> ROW_MAPPER = (rs, rowNum) -> {
+        EmployeeChange change = new EmployeeChange();
+        change.setSeq(rs.getLong("seq"));
+        change.setEmployeeId(rs.getLong("employee_id"));
+        change.setOperation(ChangeType.valueOf(rs.getString("operation")));
+        change.setFirstName(rs.getString("first_name"));
+        change.setLastName(rs.getString("last_name"));
+        change.setEmail(rs.getString("email"));
+        String department = rs.getString("department");
+        change.setDepartment(department == null ? null : Department.valueOf(department));
+        change.setSalary(rs.getBigDecimal("salary"));
+        Date hireDate = rs.getDate("hire_date");
+        change.setHireDate(hireDate == null ? null : hireDate.toLocalDate());
+        long version = rs.getLong("version");
+        change.setVersion(rs.wasNull() ? null : version);
+        Timestamp changedAt = rs.getTimestamp("changed_at");
+        change.setChangedAt(changedAt.toLocalDateTime());
+        return change;
+    };
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public Set<Long> findExistingEmployeeIds(Collection<Long> ids) {
+        Set<Long> existing = new HashSet<>();
+        if (ids.isEmpty()) {
+            return existing;
+        }
+        jdbcTemplate.query("SELECT id FROM employees WHERE id IN (:ids)", new MapSqlParameterSource("ids", ids),
+                rs -> {
+                    existing.add(rs.getLong(1));
+                });
+        return existing;
+    }
+
+    /**
+     * Records the current state of the given employees under one operation.
+     */
+    public void append(ChangeType operation, Collection<Long> employeeIds) {
+        if (employeeIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(APPEND_SQL, new MapSqlParameterSource()
+                .addValue("operation", operation.name())
+                .addValue("ids", employeeIds));
+    }
+
+    public void appendTombstones(Collection<Long> employeeIds) {
+        if (employeeIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(TOMBSTONE_SQL, employeeIds.stream()
+                .map(id -> new MapSqlParameterSource("id", id))
+                .toArray(SqlParameterSource[]::new));
+    }
+
+    /**
+     * Changes after {@code since} in sequence order, leaving out any written within
+     * the settle window.
+     */
+    public List<EmployeeChange> findAfter(long since, Duration settleWindow, int limit) {
+        return jdbcTemplate.query(FIND_AFTER_SQL, new MapSqlParameterSource()
+                .addValue("since", since)
+                .addValue("settleMicros", settleWindow.toNanos() / 1000)
+                .addValue("limit", limit), ROW_MAPPER);
+    }
+
+    public Long findOldestSeq() {
+        return jdbcTemplate.queryForObject("SELECT MIN(seq) FROM employee_changes", new MapSqlParameterSource(),
+                Long.class);
+    }
+
+    /**
+     * The highest sequence number outside the settle window, or null if there is none.
+     */
+    public Long findSettledHeadSeq(Duration settleWindow) {
+        return jdbcTemplate.queryForObject(
+                "SELECT MAX(seq) FROM employee_changes WHERE changed_at < NOW(3) - INTERVAL :settleMicros MICROSECOND",
+                new MapSqlParameterSource("settleMicros", settleWindow.toNanos() / 1000), Long.class);
+    }
+
+    /**
+     * Deletes changes older than the retention. The newest change is always kept, so
+     * the log never looks empty to a client whose checkpoint it no longer covers.
+     */
+    public int deleteOlderThan(Duration retention) {
+        Long newest = jdbcTemplate.queryForObject("SELECT MAX(seq) FROM employee_changes",
+                new MapSqlParameterSource(), Long.class);
+        if (newest == null) {
+            return 0;
+        }
+        return jdbcTemplate.update("""
+                        DELETE FROM employee_changes
+                        WHERE changed_at < NOW(3) - INTERVAL :retentionMicros MICROSECOND AND seq < :newest""",
+                new MapSqlParameterSource()
+                        .addValue("retentionMicros", retention.toNanos() / 1000)
+                        .addValue("newest", newest));
+    }
+}
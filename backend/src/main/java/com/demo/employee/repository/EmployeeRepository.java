@@ -2,11 +2,21 @@ package com.demo.employee.repository;
 
 import com.demo.employee.model.Department;
 import com.demo.employee.model.Employee;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
@@ -16,4 +26,91 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     Optional<Employee> findByEmail(String email);
 
     boolean existsByEmail(String email);
+
+    /**
+     * Applies the non-null values in one statement without loading the entity,
+     * bumping the version. With a non-null {@code version} the row is only updated
+     * if it is still at that version. Returns the number of rows updated.
+     */
+    @Modifying
+    @Query("""
+            UPDATE Employee e
+            SET e.firstName = COALESCE(:firstName, e.firstName),
+                e.lastName = COALESCE(:lastName, e.lastName),
+                e.email = COALESCE(:email, e.email),
+                e.department = COALESCE(:department, e.department),
+                e.salary = COALESCE(:salary, e.salary),
+                e.hireDate = COALESCE(:hireDate, e.hireDate),
+                e.version = e.version + 1
+            WHERE e.id = :id AND (:version IS NULL OR e.version = :version)""")
+    int patch(@Param("id") Long id,
+              @Param("version") Long version,
+              @Param("firstName") String firstName,
+              @Param("lastName") String lastName,
+              @Param("email") String email,
+              @Param("department") Department department,
+              @Param("salary") BigDecimal salary,
+              @Param("hireDate") LocalDate hireDate);
+
+    @Query("""
+            SELECT e FROM Employee e
+            WHERE (:afterId IS NULL OR e.id > :afterId)
+              AND (:department IS NULL OR e.department = :department)
+              AND (:hiredFrom IS NULL OR e.hireDate >= :hiredFrom)
+              AND (:hiredTo IS NULL OR e.hireDate <= :hiredTo)
+              AND (:minSalary IS NULL OR e.salary >= :minSalary)
+              AND (:maxSalary IS NULL OR e.salary <= :maxSalary)
+            ORDER BY e.id""")
+    List<Employee> findPageOrderById(@Param("afterId") Long afterId,
+                                     @Param("department") Department department,
+                                     @Param("hiredFrom") LocalDate hiredFrom,
+                                     @Param("hiredTo") LocalDate hiredTo,
+                                     @Param("minSalary") BigDecimal minSalary,
+                                     @Param("maxSalary") BigDecimal maxSalary,
+                                     Limit limit);
+
+    @Query("""
+            SELECT e FROM Employee e
+            WHERE (:afterLastName IS NULL
+                   OR e.lastName > :afterLastName
+                   OR (e.lastName = :afterLastName AND e.id > :afterId))
+              AND (:department IS NULL OR e.department = :department)
+              AND (:hiredFrom IS NULL OR e.hireDate >= :hiredFrom)
+              AND (:hiredTo IS NULL OR e.hireDate <= :hiredTo)
+              AND (:minSalary IS NULL OR e.salary >= :minSalary)
+              AND (:maxSalary IS NULL OR e.salary <= :maxSalary)
+            ORDER BY e.lastName, e.id""")
+    List<Employee> findPageOrderByLastName(@Param("afterLastName") String afterLastName,
+                                           @Param("afterId") Long afterId,
+                                           @Param("department") Department department,
+                                           @Param("hiredFrom") LocalDate hiredFrom,
+                                           @Param("hiredTo") LocalDate hiredTo,
+                                           @Param("minSalary") BigDecimal minSalary,
+                                           @Param("maxSalary") BigDecimal maxSalary,
+                                           Limit limit);
+
+    /**
+     * Forward-only cursor over the table for bulk exports. A fetch size of
+     * Integer.MIN_VALUE makes MySQL Connector/J stream rows one at a time instead
+     * of buffering the whole result set; callers must consume it inside a
+     * transaction and close the stream.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("""
+            SELECT e FROM Employee e
+            WHERE (:department IS NULL OR e.department = :department)
+              AND (:hiredFrom IS NULL OR e.hireDate >= :hiredFrom)
+              AND (:hiredTo IS NULL OR e.hireDate <= :hiredTo)
+              AND (:minSalary IS NULL OR e.salary >= :minSalary)
+              AND (:maxSalary IS NULL OR e.salary <= :maxSalary)
+            ORDER BY e.id""")
+    Stream<Employee> streamAll(@Param("department") Department department,
+                               @Param("hiredFrom") LocalDate hiredFrom,
+                               @Param("hiredTo") LocalDate hiredTo,
+                               @Param("minSalary") BigDecimal minSalary,
+                               @Param("maxSalary") BigDecimal maxSalary);
 }
@@ -0,0 +1,329 @@
+package com.demo.employee.service;
+
+import com.demo.employee.model.Department;
+import com.demo.employee.model.DepartmentHireMonth;
+import com.demo.employee.model.DepartmentRollup;
+import com.demo.employee.model.Employee;
+import com.demo.employee.repository.DepartmentRollupRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the department_rollup and department_hire_months tables, so reports
+ * can read headcount and salary figures from a handful of rows instead of
+ * scanning employees. The write paths report each employee row they add or
+ * remove (an update is both); the net change is applied once per transaction,
+ * just before it commits, like the data_version bump. Count, total and sum of
+ * squares are adjusted in place. The minimum and maximum are only re-read from
+ * the employees table when the transaction removed the current extreme without
+ * adding a new one past it.
+ * <p>
+ * Writes that bypass these paths, or race with the read of an updated row, leave
+ * the tables drifted; {@link #reconcile()} compares them with the employees table
+ * every {@code employee.rollup.reconcile-interval} and repairs any difference.
+ */
+@Slf4j
+@Service
+public class DepartmentRollupService {
+
+    private static final Comparator<DepartmentHireMonth.Key> HIRE_MONTH_ORDER =
+            Comparator.comparing(DepartmentHireMonth.Key::getDepartment).thenComparing(DepartmentHireMonth.Key::getHireMonth);
+
+    private final DepartmentRollupRepository rollupRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter extremeRecomputes;
+    private final Counter repairedDepartments;
+    private final Counter repairedHireMonths;
+
+    public DepartmentRollupService(DepartmentRollupRepository rollupRepository,
+                                   EntityManager entityManager,
+                                   PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry) {
+        this.rollupRepository = rollupRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.extremeRecomputes = Counter.builder("employee.rollup.extremes.recomputed")
+                .description("Departments whose salary minimum or maximum was re-read after the extreme was removed")
+                .register(meterRegistry);
+        this.repairedDepartments = repairs(meterRegistry, "department_rollup");
+        this.repairedHireMonths = repairs(meterRegistry, "department_hire_months");
+    }
+
+    public void employeeAdded(Employee employee) {
+        record(employee, 1);
+    }
+
+    /**
+     * Call before the row is changed or deleted, with its stored values.
+     */
+    public void employeeRemoved(Employee employee) {
+        record(employee, -1);
+    }
+
+    /**
+     * Reads the stored values of employees about to be changed or deleted.
+     */
+    public void employeesRemoved(Collection<Long> employeeIds) {
+        rollupRepository.findFigures(employeeIds).forEach(this::employeeRemoved);
+    }
+
+    /**
+     * Reads and locks the stored values of an employee about to be updated in place,
+     * or returns null if there is none. The lock makes the update that follows
+     * replace exactly these values; report them with {@link #employeeRemoved}.
+     */
+    public Employee lockFigures(Long employeeId) {
+        return rollupRepository.findFiguresForUpdate(employeeId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        reconcileInBackground();
+    }
+
+    @Scheduled(initialDelayString = "${employee.rollup.reconcile-interval:15m}",
+            fixedDelayString = "${employee.rollup.reconcile-interval:15m}")
+    public void reconcileInBackground() {
+        try {
+            reconcile();
+        } catch (RuntimeException ex) {
+            log.warn("Department rollup reconciliation failed", ex);
+        }
+    }
+
+    /**
+     * Recomputes both tables from the employees table and rewrites the rows that
+     * differ. The rollup rows are locked first, so writers wait for the repair
+     * instead of applying their change to a row it is about to overwrite. Fills the
+     * tables from scratch on first run.
+     *
+     * @return the number of rows repaired
+     */
+    public int reconcile() {
+        return transactionTemplate.execute(status -> {
+            Map<Department, DepartmentRollup> stored = byDepartment(rollupRepository.findAllForUpdate());
+            Map<Department, DepartmentRollup> actual = byDepartment(rollupRepository.aggregateEmployees());
+            boolean initialising = stored.isEmpty();
+
+            int repaired = 0;
+            for (Department department : Department.values()) {
+                DepartmentRollup expected = actual.getOrDefault(department, DepartmentRollup.empty(department));
+                DepartmentRollup current = stored.get(department);
+                if (!expected.equals(current)) {
+                    if (current != null) {
+                        log.warn("Department rollup drifted for {}: stored {}, actual {}", department, current, expected);
+                        repairedDepartments.increment();
+                        repaired++;
+                    }
+                    rollupRepository.save(expected);
+                }
+            }
+
+            Map<DepartmentHireMonth.Key, Long> storedMonths = rollupRepository.findHireMonths();
+            Map<DepartmentHireMonth.Key, Long> actualMonths = rollupRepository.countEmployeesByHireMonth();
+            Map<DepartmentHireMonth.Key, Long> correctedMonths = new TreeMap<>(HIRE_MONTH_ORDER);
+            Set<DepartmentHireMonth.Key> months = new HashSet<>(storedMonths.keySet());
+            months.addAll(actualMonths.keySet());
+            for (DepartmentHireMonth.Key month : months) {
+                long expected = actualMonths.getOrDefault(month, 0L);
+                if (expected != storedMonths.getOrDefault(month, 0L)) {
+                    correctedMonths.put(month, expected);
+                }
+            }
+            if (!correctedMonths.isEmpty()) {
+                rollupRepository.saveHireMonths(correctedMonths);
+                if (!initialising) {
+                    log.warn("Department hire-month counts drifted for {} month(s)", correctedMonths.size());
+                    repairedHireMonths.increment(correctedMonths.size());
+                    repaired += correctedMonths.size();
+                }
+            }
+            if (initialising) {
+                log.info("Initialised the department rollup from the employees table");
+            }
+            return repaired;
+        });
+    }
+
+    private void record(Employee employee, int sign) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            Pending pending = new Pending();
+            pending.add(employee, sign);
+            apply(pending);
+            return;
+        }
+        pending().add(employee, sign);
+    }
+
+    private Pending pending() {
+        Pending pending = (Pending) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            return pending;
+        }
+        Pending created = new Pending();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                // Recomputed extremes are read from employees, so pending JPA writes must be visible
+                entityManager.flush();
+                apply(created);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(DepartmentRollupService.this);
+            }
+        });
+        return created;
+    }
+
+    private void apply(Pending pending) {
+        pending.salaries.values().removeIf(Map::isEmpty);
+        if (pending.salaries.isEmpty() && pending.hireMonths.isEmpty()) {
+            return;
+        }
+        // A hire-date-only change cancels out in the salaries but still moves a hire month
+        Set<Department> departments = EnumSet.noneOf(Department.class);
+        departments.addAll(pending.salaries.keySet());
+        pending.hireMonths.keySet().forEach(month -> departments.add(month.getDepartment()));
+        Map<Department, DepartmentRollup> rows = byDepartment(rollupRepository.findForUpdate(departments));
+        List<Department> recompute = new ArrayList<>();
+        pending.salaries.forEach((department, salaries) -> {
+            DepartmentRollup row = rows.get(department);
+            if (row == null) {
+                // Not initialised yet; the first reconciliation counts this write
+                return;
+            }
+            long count = 0;
+            long totalCents = 0;
+            BigInteger squaresCents = BigInteger.ZERO;
+            Long addedMin = null;
+            Long addedMax = null;
+            Long removedMin = null;
+            Long removedMax = null;
+            for (Map.Entry<Long, Integer> entry : salaries.entrySet()) {
+                long cents = entry.getKey();
+                int times = entry.getValue();
+                count += times;
+                totalCents = Math.addExact(totalCents, Math.multiplyExact(cents, times));
+                squaresCents = squaresCents.add(BigInteger.valueOf(cents).pow(2).multiply(BigInteger.valueOf(times)));
+                if (times > 0) {
+                    addedMin = addedMin == null ? cents : addedMin;
+                    addedMax = cents;
+                } else {
+                    removedMin = removedMin == null ? cents : removedMin;
+                    removedMax = cents;
+                }
+            }
+            Long min = extreme(row.getMinSalaryCents(), addedMin, removedMin, row.getEmployeeCount(),
+                    row.getEmployeeCount() + count, Comparator.naturalOrder());
+            Long max = extreme(row.getMaxSalaryCents(), addedMax, removedMax, row.getEmployeeCount(),
+                    row.getEmployeeCount() + count, Comparator.reverseOrder());
+            if (row.getEmployeeCount() + count > 0 && (min == null || max == null)) {
+                recompute.add(department);
+            }
+            rollupRepository.add(department, count, totalCents, squaresCents, min, max);
+        });
+        if (!recompute.isEmpty()) {
+            rollupRepository.recomputeExtremes(recompute);
+            extremeRecomputes.increment(recompute.size());
+        }
+
+        Map<DepartmentHireMonth.Key, Long> hireMonths = new TreeMap<>(HIRE_MONTH_ORDER);
+        pending.hireMonths.forEach((month, count) -> {
+            if (rows.containsKey(month.getDepartment())) {
+                hireMonths.put(month, count);
+            }
+        });
+        if (!hireMonths.isEmpty()) {
+            rollupRepository.addHireMonths(hireMonths);
+        }
+    }
+
+    /**
+     * The new minimum (or, with the reversed order, maximum) after the change, or
+     * null when it has to be re-read: the stored extreme was removed and nothing
+     * added reaches it, or it is not known.
+     *
+     * @param added   the lowest salary added, or null
+     * @param removed the lowest salary removed, or null
+     */
+    private static Long extreme(Long stored, Long added, Long removed, long countBefore, long countAfter,
+                                Comparator<Long> order) {
+        if (countAfter <= 0) {
+            return null;
+        }
+        if (countBefore <= 0) {
+            return added;
+        }
+        if (stored == null) {
+            return null;
+        }
+        if (added != null && order.compare(added, stored) <= 0) {
+            return added;
+        }
+        if (removed != null && order.compare(removed, stored) <= 0) {
+            return null;
+        }
+        return stored;
+    }
+
+    private static Map<Department, DepartmentRollup> byDepartment(List<DepartmentRollup> rows) {
+        return rows.stream().collect(Collectors.toMap(DepartmentRollup::getDepartment, Function.identity(),
+                (a, b) -> a, () -> new EnumMap<>(Department.class)));
+    }
+
+    private static Counter repairs(MeterRegistry meterRegistry, String table) {
+        return Counter.builder("employee.rollup.repairs")
+                .description("Rollup rows found out of step with the employees table and rewritten")
+                .tag("table", table)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Net change of one transaction: salaries in cents added (positive) or removed
+     * (negative) per department, and hires per month. An employee updated twice
+     * cancels out its intermediate values.
+     */
+    private static final class Pending {
+
+        private final Map<Department, TreeMap<Long, Integer>> salaries = new EnumMap<>(Department.class);
+        private final Map<DepartmentHireMonth.Key, Long> hireMonths = new HashMap<>();
+
+        private void add(Employee employee, int sign) {
+            long cents = employee.getSalary().setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+            salaries.computeIfAbsent(employee.getDepartment(), department -> new TreeMap<>())
+                    .merge(cents, sign, (a, b) -> a + b == 0 ? null : a + b);
+            hireMonths.merge(DepartmentHireMonth.Key.of(employee.getDepartment(), employee.getHireDate()),
+                    (long) sign, (a, b) -> a + b == 0 ? null : a + b);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.demo.employee.service;
+
+import com.demo.employee.config.CacheConfig;
+import com.demo.employee.dto.BatchMode;
+import com.demo.employee.dto.BatchResultDTO;
+import com.demo.employee.dto.BatchRowResultDTO;
+import com.demo.employee.dto.BatchRowStatus;
+import com.demo.employee.dto.EmployeeDTO;
+import com.demo.employee.event.ChangeType;
+import com.demo.employee.event.EmployeeChangedEvent;
+import com.demo.employee.exception.InvalidBatchRequestException;
+import com.demo.employee.model.Employee;
+import com.demo.employee.repository.EmployeeBatchRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk create/upsert of employees. Rows are processed in chunks: each chunk is
+ * validated in memory, checked for existing emails with one IN (...) query and
+ * written with one JDBC batch, all inside its own transaction.
+ */
+@Service
+@RequiredArgsConstructor
+public class EmployeeBatchService {
+
+    static final int CHUNK_SIZE = 500;
+
+    private final EmployeeBatchRepository batchRepository;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final JsonMapper jsonMapper;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DepartmentRollupService departmentRollup;
+
+    public BatchResultDTO importEmployees(List<EmployeeDTO> employees, BatchMode mode) {
+        return importEmployees(employees.iterator(), mode);
+    }
+
+    public BatchResultDTO importNdjson(InputStream body, BatchMode mode) {
+        try (MappingIterator<EmployeeDTO> rows = jsonMapper.readerFor(EmployeeDTO.class).readValues(body)) {
+            return importEmployees(rows, mode);
+        } catch (JacksonException ex) {
+            throw new InvalidBatchRequestException("Malformed NDJSON: " + ex.getOriginalMessage());
+        }
+    }
+
+    private BatchResultDTO importEmployees(Iterator<EmployeeDTO> employees, BatchMode mode) {
+        List<BatchRowResultDTO> results = new ArrayList<>();
+        Set<String> seenEmails = new HashSet<>();
+        List<PendingRow> chunk = new ArrayList<>(CHUNK_SIZE);
+        int index = 0;
+
+        while (employees.hasNext()) {
+            EmployeeDTO dto = employees.next();
+            String violations = validate(dto);
+            if (violations != null) {
+                results.add(new BatchRowResultDTO(index, BatchRowStatus.INVALID, null, dto.getEmail(), violations));
+            } else if (!seenEmails.add(dto.getEmail().toLowerCase())) {
+                results.add(new BatchRowResultDTO(index, BatchRowStatus.DUPLICATE, null, dto.getEmail(),
+                        "Email appears more than once in this batch"));
+            } else {
+                chunk.add(new PendingRow(index, EmployeeService.toEntity(dto)));
+            }
+            index++;
+
+            if (chunk.size() == CHUNK_SIZE) {
+                results.addAll(writeChunk(chunk, mode));
+                chunk.clear();
+            }
+        }
+        results.addAll(writeChunk(chunk, mode));
+
+        results.sort(Comparator.comparingInt(BatchRowResultDTO::getIndex));
+        return new BatchResultDTO(
+                index,
+                count(results, BatchRowStatus.CREATED),
+                count(results, BatchRowStatus.UPDATED),
+                index - count(results, BatchRowStatus.CREATED) - count(results, BatchRowStatus.UPDATED),
+                results
+        );
+    }
+
+    private List<BatchRowResultDTO> writeChunk(List<PendingRow> chunk, BatchMode mode) {
+        if (chunk.isEmpty()) {
+            return List.of();
+        }
+        return transactionTemplate.execute(status -> {
+            Set<String> emails = chunk.stream()
+                    .map(row -> row.employee().getEmail())
+                    .collect(Collectors.toSet());
+            Map<String, Long> existing = batchRepository.findIdsByEmail(emails);
+
+            List<BatchRowResultDTO> results = new ArrayList<>(chunk.size());
+            List<PendingRow> toWrite = new ArrayList<>(chunk.size());
+            for (PendingRow row : chunk) {
+                Long existingId = existing.get(row.employee().getEmail().toLowerCase());
+                if (existingId != null && mode == BatchMode.CREATE) {
+                    results.add(new BatchRowResultDTO(row.index(), BatchRowStatus.DUPLICATE, existingId,
+                            row.employee().getEmail(), "Employee with this email already exists"));
+                } else {
+                    toWrite.add(row);
+                }
+            }
+            if (toWrite.isEmpty()) {
+                return results;
+            }
+
+            // Upserted rows leave the rollup with their stored values and rejoin it with the new ones
+            departmentRollup.employeesRemoved(toWrite.stream()
+                    .map(row -> existing.get(row.employee().getEmail().toLowerCase()))
+                    .filter(Objects::nonNull)
+                    .toList());
+            batchRepository.insertAll(toWrite.stream().map(PendingRow::employee).toList(), mode == BatchMode.UPSERT);
+            toWrite.forEach(row -> departmentRollup.employeeAdded(row.employee()));
+
+            Map<String, Long> ids = batchRepository.findIdsByEmail(toWrite.stream()
+                    .map(row -> row.employee().getEmail())
+                    .collect(Collectors.toSet()));
+            for (PendingRow row : toWrite) {
+                String key = row.employee().getEmail().toLowerCase();
+                BatchRowStatus rowStatus = existing.containsKey(key) ? BatchRowStatus.UPDATED : BatchRowStatus.CREATED;
+                results.add(new BatchRowResultDTO(row.index(), rowStatus, ids.get(key), row.employee().getEmail(), null));
+                eventPublisher.publishEvent(new EmployeeChangedEvent(
+                        rowStatus == BatchRowStatus.UPDATED ? ChangeType.UPDATED : ChangeType.CREATED, ids.get(key)));
+            }
+            evictCachedEmployees(results);
+            return results;
+        });
+    }
+
+    // The cache is transaction-aware, so these evictions take effect when the chunk commits
+    private void evictCachedEmployees(List<BatchRowResultDTO> results) {
+        Cache employees = cacheManager.getCache(CacheConfig.EMPLOYEES);
+        Cache employeesByDepartment = cacheManager.getCache(CacheConfig.EMPLOYEES_BY_DEPARTMENT);
+        results.stream()
+                .filter(result -> result.getStatus() == BatchRowStatus.UPDATED)
+                .forEach(result -> employees.evict(result.getId()));
+        employeesByDepartment.clear();
+    }
+
+    private String validate(EmployeeDTO dto) {
+        Set<ConstraintViolation<EmployeeDTO>> violations = validator.validate(dto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private static int count(List<BatchRowResultDTO> results, BatchRowStatus status) {
+        return (int) results.stream().filter(result -> result.getStatus() == status).count();
+    }
+
+    private record PendingRow(int index, Employee employee) {
+    }
+}
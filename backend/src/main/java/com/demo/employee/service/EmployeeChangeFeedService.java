@@ -0,0 +1,155 @@
+package com.demo.employee.service;
+
+import com.demo.employee.config.EmployeeChangesProperties;
+import com.demo.employee.dto.EmployeeChangeDTO;
+import com.demo.employee.dto.EmployeeChangesDTO;
+import com.demo.employee.dto.EmployeeDTO;
+import com.demo.employee.event.ChangeType;
+import com.demo.employee.event.EmployeeChangedEvent;
+import com.demo.employee.exception.ChangeLogTruncatedException;
+import com.demo.employee.exception.InvalidPageRequestException;
+import com.demo.employee.model.EmployeeChange;
+import com.demo.employee.repository.EmployeeChangeRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Ordered log of employee changes for incremental sync. Each write transaction
+ * appends one entry per employee it touched, just before it commits: the
+ * employee's state at that point, or a DELETED tombstone if the row is gone.
+ * Clients page through the log with {@code since} set to the last sequence
+ * number they applied.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EmployeeChangeFeedService {
+
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private final EmployeeChangeRepository changeRepository;
+    private final EntityManager entityManager;
+    private final EmployeeChangesProperties properties;
+
+    @EventListener
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            append(Map.of(event.employeeId(), event.type()));
+            return;
+        }
+        // A row created and then updated in the same transaction is still a creation
+        pendingChanges().merge(event.employeeId(), event.type(),
+                (previous, next) -> previous == ChangeType.CREATED ? previous : next);
+    }
+
+    public EmployeeChangesDTO getChanges(long since, int limit) {
+        if (since < 0) {
+            throw new InvalidPageRequestException("since must not be negative");
+        }
+        int pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        Long oldest = changeRepository.findOldestSeq();
+        // Sequence gaps from rolled back writes can make this fire for a checkpoint
+        // that lost nothing; the client then re-syncs once, which is safe
+        if (oldest != null && since < oldest - 1) {
+            throw new ChangeLogTruncatedException("Changes up to seq " + (oldest - 1)
+                    + " have been pruned; re-sync from /api/employees/export");
+        }
+
+        List<EmployeeChange> rows = changeRepository.findAfter(since, properties.getSettleWindow(), pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        List<EmployeeChange> page = hasMore ? rows.subList(0, pageSize) : rows;
+        long nextSince = page.isEmpty() ? since : page.getLast().getSeq();
+        return new EmployeeChangesDTO(page.stream().map(EmployeeChangeFeedService::toDTO).toList(), nextSince, hasMore);
+    }
+
+    /**
+     * The checkpoint a client should start following from after a full export taken
+     * now. Changes between it and the export are replayed, which is harmless.
+     */
+    public long getHeadSeq() {
+        Long head = changeRepository.findSettledHeadSeq(properties.getSettleWindow());
+        return head == null ? 0 : head;
+    }
+
+    @Scheduled(fixedDelayString = "${employee.changes.prune-interval:1h}")
+    public void pruneExpiredChanges() {
+        try {
+            int deleted = changeRepository.deleteOlderThan(properties.getRetention());
+            if (deleted > 0) {
+                log.info("Pruned {} employee change(s) older than {}", deleted, properties.getRetention());
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Failed to prune the employee change log", ex);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, ChangeType> pendingChanges() {
+        Map<Long, ChangeType> pending = (Map<Long, ChangeType>) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            return pending;
+        }
+        Map<Long, ChangeType> created = new LinkedHashMap<>();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                // JPA writes are still pending in the persistence context; INSERT ... SELECT must see them
+                entityManager.flush();
+                append(created);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(EmployeeChangeFeedService.this);
+            }
+        });
+        return created;
+    }
+
+    private void append(Map<Long, ChangeType> changes) {
+        Set<Long> existing = changeRepository.findExistingEmployeeIds(changes.keySet());
+        List<Long> created = new ArrayList<>();
+        List<Long> updated = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        changes.forEach((id, type) -> {
+            if (!existing.contains(id)) {
+                deleted.add(id);
+            } else if (type == ChangeType.CREATED) {
+                created.add(id);
+            } else {
+                updated.add(id);
+            }
+        });
+        changeRepository.append(ChangeType.CREATED, created);
+        changeRepository.append(ChangeType.UPDATED, updated);
+        changeRepository.appendTombstones(deleted);
+    }
+
+    private static EmployeeChangeDTO toDTO(EmployeeChange change) {
+        EmployeeDTO employee = change.getOperation() == ChangeType.DELETED ? null : new EmployeeDTO(
+                change.getEmployeeId(),
+                change.getFirstName(),
+                change.getLastName(),
+                change.getEmail(),
+                change.getDepartment(),
+                change.getSalary(),
+                change.getHireDate(),
+                change.getVersion()
+        );
+        return new EmployeeChangeDTO(change.getSeq(), change.getOperation(), change.getEmployeeId(),
+                change.getChangedAt(), employee);
+    }
+}
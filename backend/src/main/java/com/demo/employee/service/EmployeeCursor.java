@@ -0,0 +1,41 @@
+package com.demo.employee.service;
+
+import com.demo.employee.dto.EmployeeSort;
+import com.demo.employee.exception.InvalidPageRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token for keyset pagination. Encodes the sort key of the
+ * last row returned so the next page can seek past it instead of using OFFSET.
+ */
+record EmployeeCursor(EmployeeSort sort, Long lastId, String lastName) {
+
+    private static final String SEPARATOR = "|";
+
+    static EmployeeCursor after(EmployeeSort sort, Long lastId, String lastName) {
+        return new EmployeeCursor(sort, lastId, sort == EmployeeSort.LAST_NAME ? lastName : null);
+    }
+
+    String encode() {
+        String raw = sort.name() + SEPARATOR + lastId + (lastName != null ? SEPARATOR + lastName : "");
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static EmployeeCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 3);
+            EmployeeSort sort = EmployeeSort.valueOf(parts[0]);
+            Long lastId = Long.valueOf(parts[1]);
+            if (sort == EmployeeSort.LAST_NAME && parts.length < 3) {
+                throw new IllegalArgumentException("Missing last name");
+            }
+            return new EmployeeCursor(sort, lastId, parts.length == 3 ? parts[2] : null);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException ex) {
+            throw new InvalidPageRequestException("Invalid cursor: " + token);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.demo.employee.service;
+
+import com.demo.employee.dto.EmployeeDTO;
+import com.demo.employee.dto.EmployeeFilter;
+import com.demo.employee.dto.ExportFormat;
+import com.demo.employee.model.Employee;
+import com.demo.employee.repository.EmployeeRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.core.StreamWriteFeature;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.SequenceWriter;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams the employees table straight to an output stream. Rows come from a
+ * forward-only cursor and are detached as soon as they are written, so heap use
+ * does not grow with the number of rows exported.
+ */
+@Service
+@RequiredArgsConstructor
+public class EmployeeExportService {
+
+    static final int FLUSH_EVERY_ROWS = 1000;
+
+    private static final String CSV_HEADER = "id,firstName,lastName,email,department,salary,hireDate";
+
+    private final EmployeeRepository employeeRepository;
+    private final EntityManager entityManager;
+    private final JsonMapper jsonMapper;
+    private final CBORMapper cborMapper;
+
+    @Transactional(readOnly = true)
+    public long export(EmployeeFilter filter, ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<Employee> employees = employeeRepository.streamAll(
+                filter.getDepartment(), filter.getHiredFrom(), filter.getHiredTo(),
+                filter.getMinSalary(), filter.getMaxSalary())) {
+            return switch (format) {
+                case CSV -> writeCsv(employees.iterator(), out);
+                case CBOR -> writeCborSequence(employees.iterator(), out);
+                case NDJSON -> writeNdjson(employees.iterator(), out);
+            };
+        }
+    }
+
+    private long writeNdjson(Iterator<Employee> employees, OutputStream out) throws IOException {
+        ObjectWriter writer = jsonMapper.writerFor(EmployeeDTO.class)
+                .without(StreamWriteFeature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n");
+        long rows = 0;
+        try (SequenceWriter sequence = writer.writeValues(out)) {
+            while (employees.hasNext()) {
+                sequence.write(detach(employees.next()));
+                if (shouldFlush(++rows)) {
+                    sequence.flush();
+                }
+            }
+        }
+        if (rows > 0) {
+            out.write('\n');
+        }
+        out.flush();
+        return rows;
+    }
+
+    // CBOR items delimit themselves, so the sequence needs no separators
+    private long writeCborSequence(Iterator<Employee> employees, OutputStream out) throws IOException {
+        ObjectWriter writer = cborMapper.writerFor(EmployeeDTO.class)
+                .without(StreamWriteFeature.AUTO_CLOSE_TARGET);
+        long rows = 0;
+        try (SequenceWriter sequence = writer.writeValues(out)) {
+            while (employees.hasNext()) {
+                sequence.write(detach(employees.next()));
+                if (shouldFlush(++rows)) {
+                    sequence.flush();
+                }
+            }
+        }
+        out.flush();
+        return rows;
+    }
+
+    private long writeCsv(Iterator<Employee> employees, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        long rows = 0;
+        while (employees.hasNext()) {
+            EmployeeDTO dto = detach(employees.next());
+            writer.write(String.valueOf(dto.getId()));
+            writer.write(',');
+            writer.write(csvField(dto.getFirstName()));
+            writer.write(',');
+            writer.write(csvField(dto.getLastName()));
+            writer.write(',');
+            writer.write(csvField(dto.getEmail()));
+            writer.write(',');
+            writer.write(dto.getDepartment().name());
+            writer.write(',');
+            writer.write(dto.getSalary().toPlainString());
+            writer.write(',');
+            writer.write(dto.getHireDate().toString());
+            writer.write('\n');
+            if (shouldFlush(++rows)) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return rows;
+    }
+
+    // Flush after the first row so the client gets bytes immediately, then in blocks
+    private static boolean shouldFlush(long rows) {
+        return rows % FLUSH_EVERY_ROWS == 1;
+    }
+
+    private EmployeeDTO detach(Employee employee) {
+        EmployeeDTO dto = EmployeeService.toDTO(employee);
+        entityManager.detach(employee);
+        return dto;
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,405 @@
+package com.demo.employee.service;
+
+import com.demo.employee.dto.EmployeeDTO;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over employee first names, last names and the local
+ * part of their email addresses. Text is lowercased, stripped of accents and split
+ * into alphanumeric tokens.
+ *
+ * <p>A sorted term dictionary answers prefix matches with a range scan, and a
+ * trigram index over the dictionary answers matches inside a token for query terms
+ * of three or more characters. A query matches an employee when every query term
+ * matches one of its tokens. Per term, an exact match outranks a prefix match,
+ * which outranks an infix match; closer length matches rank higher, and names
+ * count for more than email. Equal scores rank the lower id first.
+ *
+ * <p>Search walks the posting lists of the most selective query term, best
+ * matching dictionary terms first and ids in ascending order, and stops as soon as
+ * no remaining posting can reach the top results. A typeahead lookup therefore
+ * touches roughly {@code limit} postings however many employees match.
+ */
+public class EmployeeSearchIndex {
+
+    static final int MIN_INFIX_LENGTH = 3;
+
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final double EMAIL_WEIGHT = 0.75;
+
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final Field names = new Field(1);
+    private final Field emails = new Field(EMAIL_WEIGHT);
+    // Fair so a steady stream of typeahead reads cannot starve the writer applying changes
+    private final ReadWriteLock lock = new ReentrantReadWriteLock(true);
+
+    public void put(EmployeeDTO employee) {
+        Document document = Document.of(employee);
+        lock.writeLock().lock();
+        try {
+            Document previous = documents.put(document.id(), document);
+            if (previous != null) {
+                unindex(previous);
+            }
+            names.addAll(document.nameTokens(), document.id());
+            emails.addAll(document.emailTokens(), document.id());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Document previous = documents.remove(id);
+            if (previous != null) {
+                unindex(previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Best matches first. Anything from an {@code @} on is ignored, so a partly
+     * typed email address searches by its local part.
+     */
+    public List<EmployeeDTO> search(String query, int limit) {
+        int at = query.indexOf('@');
+        List<String> terms = List.copyOf(new LinkedHashSet<>(tokenize(at < 0 ? query : query.substring(0, at))));
+        if (terms.isEmpty() || limit < 1) {
+            return List.of();
+        }
+
+        Comparator<Hit> worstFirst = Comparator.comparingDouble(Hit::score)
+                .thenComparing(Comparator.comparingLong((Hit hit) -> hit.document().id()).reversed());
+        PriorityQueue<Hit> best = new PriorityQueue<>(limit + 1, worstFirst);
+        lock.readLock().lock();
+        try {
+            List<List<Group>> groupsByTerm = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                List<Group> groups = groups(term);
+                if (groups.isEmpty()) {
+                    return List.of();
+                }
+                groupsByTerm.add(groups);
+            }
+            int driver = mostSelective(groupsByTerm);
+            // The most the terms other than the driver can add to any employee's score
+            double othersBound = 0;
+            for (int i = 0; i < groupsByTerm.size(); i++) {
+                if (i != driver) {
+                    othersBound += groupsByTerm.get(i).getFirst().score();
+                }
+            }
+
+            List<Group> driverGroups = groupsByTerm.get(driver);
+            Set<Long> visited = driverGroups.size() > 1 ? new HashSet<>() : null;
+            int from = 0;
+            while (from < driverGroups.size()) {
+                // Groups scoring the same form one tier whose postings are walked together in id order
+                double tierScore = driverGroups.get(from).score();
+                int to = from + 1;
+                while (to < driverGroups.size() && driverGroups.get(to).score() == tierScore) {
+                    to++;
+                }
+                double bound = tierScore + othersBound;
+                Iterator<Long> ids = merge(driverGroups.subList(from, to));
+                while (ids.hasNext()) {
+                    long id = ids.next();
+                    if (best.size() == limit && !canEnter(bound, id, best.peek())) {
+                        break;
+                    }
+                    if (visited != null && !visited.add(id)) {
+                        continue;
+                    }
+                    Document document = documents.get(id);
+                    double score = terms.size() == 1 ? tierScore : document.score(terms);
+                    Hit hit = new Hit(document, score);
+                    if (score > 0 && (best.size() < limit || worstFirst.compare(hit, best.peek()) > 0)) {
+                        best.add(hit);
+                        if (best.size() > limit) {
+                            best.poll();
+                        }
+                    }
+                }
+                if (best.size() == limit && bound < best.peek().score()) {
+                    break;
+                }
+                from = to;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Hit> ranked = new ArrayList<>(best);
+        ranked.sort(worstFirst.reversed());
+        return ranked.stream().map(hit -> hit.document().employee()).toList();
+    }
+
+    /**
+     * Dictionary terms matching {@code term} in either field, best score first.
+     */
+    private List<Group> groups(String term) {
+        List<Group> groups = new ArrayList<>();
+        names.collect(term, groups);
+        emails.collect(term, groups);
+        groups.sort(Comparator.comparingDouble(Group::score).reversed());
+        return groups;
+    }
+
+    /**
+     * Whether an employee scoring at most {@code bound} could still displace the
+     * current worst result: ids only increase from here, so a tie is not enough once
+     * this id is past the worst result's.
+     */
+    private static boolean canEnter(double bound, long id, Hit worst) {
+        return bound > worst.score() || bound == worst.score() && id < worst.document().id();
+    }
+
+    /**
+     * The ids of every group in ascending order; an id in several groups comes up
+     * once per group.
+     */
+    private static Iterator<Long> merge(List<Group> groups) {
+        if (groups.size() == 1) {
+            return groups.getFirst().ids().iterator();
+        }
+        PriorityQueue<PeekingIterator> heads = new PriorityQueue<>(groups.size(),
+                Comparator.comparingLong(PeekingIterator::peek));
+        for (Group group : groups) {
+            heads.add(new PeekingIterator(group.ids().iterator()));
+        }
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return !heads.isEmpty();
+            }
+
+            @Override
+            public Long next() {
+                PeekingIterator head = heads.poll();
+                if (head == null) {
+                    throw new NoSuchElementException();
+                }
+                Long id = head.next();
+                if (head.hasNext()) {
+                    heads.add(head);
+                }
+                return id;
+            }
+        };
+    }
+
+    private static int mostSelective(List<List<Group>> groupsByTerm) {
+        int driver = 0;
+        long driverSize = Long.MAX_VALUE;
+        for (int i = 0; i < groupsByTerm.size(); i++) {
+            long size = groupsByTerm.get(i).stream().mapToLong(group -> group.ids().size()).sum();
+            if (size < driverSize) {
+                driver = i;
+                driverSize = size;
+            }
+        }
+        return driver;
+    }
+
+    private void unindex(Document document) {
+        names.removeAll(document.nameTokens(), document.id());
+        emails.removeAll(document.emailTokens(), document.id());
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : NON_ALPHANUMERIC.split(folded)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static Set<String> trigrams(String term) {
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + MIN_INFIX_LENGTH <= term.length(); i++) {
+            trigrams.add(term.substring(i, i + MIN_INFIX_LENGTH));
+        }
+        return trigrams;
+    }
+
+    /**
+     * 3 for an exact match, 2 to 3 for a prefix and 1 to 2 for an infix, higher the
+     * more of the token the query term covers; 0 for no match.
+     */
+    static double matchScore(String queryTerm, String token) {
+        if (token.equals(queryTerm)) {
+            return 3;
+        }
+        double coverage = (double) queryTerm.length() / token.length();
+        if (token.startsWith(queryTerm)) {
+            return 2 + coverage;
+        }
+        if (queryTerm.length() >= MIN_INFIX_LENGTH && token.contains(queryTerm)) {
+            return 1 + coverage;
+        }
+        return 0;
+    }
+
+    /**
+     * Term dictionary and posting lists for one kind of token.
+     */
+    private static final class Field {
+
+        private final double weight;
+        private final NavigableMap<String, NavigableSet<Long>> postings = new TreeMap<>();
+        private final Map<String, Set<String>> termsByTrigram = new HashMap<>();
+
+        Field(double weight) {
+            this.weight = weight;
+        }
+
+        void collect(String term, List<Group> groups) {
+            Set<String> matches = new TreeSet<>(postings.subMap(term, true, term + Character.MAX_VALUE, false).keySet());
+            if (term.length() >= MIN_INFIX_LENGTH) {
+                Set<String> smallest = null;
+                for (String trigram : trigrams(term)) {
+                    Set<String> containing = termsByTrigram.getOrDefault(trigram, Set.of());
+                    if (smallest == null || containing.size() < smallest.size()) {
+                        smallest = containing;
+                    }
+                }
+                smallest.stream().filter(candidate -> candidate.contains(term)).forEach(matches::add);
+            }
+            for (String match : matches) {
+                groups.add(new Group(weight * matchScore(term, match), postings.get(match)));
+            }
+        }
+
+        void addAll(String[] tokens, long id) {
+            for (String token : tokens) {
+                postings.computeIfAbsent(token, key -> {
+                    for (String trigram : trigrams(key)) {
+                        termsByTrigram.computeIfAbsent(trigram, unused -> new HashSet<>()).add(key);
+                    }
+                    return new TreeSet<>();
+                }).add(id);
+            }
+        }
+
+        void removeAll(String[] tokens, long id) {
+            for (String token : tokens) {
+                NavigableSet<Long> ids = postings.get(token);
+                if (ids == null || !ids.remove(id) || !ids.isEmpty()) {
+                    continue;
+                }
+                postings.remove(token);
+                for (String trigram : trigrams(token)) {
+                    Set<String> containing = termsByTrigram.get(trigram);
+                    containing.remove(token);
+                    if (containing.isEmpty()) {
+                        termsByTrigram.remove(trigram);
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class PeekingIterator {
+
+        private final Iterator<Long> ids;
+        private Long next;
+
+        PeekingIterator(Iterator<Long> ids) {
+            this.ids = ids;
+            this.next = ids.next();
+        }
+
+        long peek() {
+            return next;
+        }
+
+        boolean hasNext() {
+            return next != null;
+        }
+
+        Long next() {
+            Long current = next;
+            next = ids.hasNext() ? ids.next() : null;
+            return current;
+        }
+    }
+
+    private record Group(double score, NavigableSet<Long> ids) {
+    }
+
+    private record Hit(Document document, double score) {
+    }
+
+    private record Document(long id, EmployeeDTO employee, String[] nameTokens, String[] emailTokens) {
+
+        static Document of(EmployeeDTO employee) {
+            Set<String> names = new LinkedHashSet<>(tokenize(employee.getFirstName()));
+            names.addAll(tokenize(employee.getLastName()));
+            String email = employee.getEmail() == null ? "" : employee.getEmail();
+            int at = email.indexOf('@');
+            return new Document(employee.getId(), employee, names.toArray(String[]::new),
+                    new LinkedHashSet<>(tokenize(at < 0 ? email : email.substring(0, at))).toArray(String[]::new));
+        }
+
+        /**
+         * Sum of each query term's best match, or 0 if any term matches nothing.
+         */
+        double score(List<String> queryTerms) {
+            double total = 0;
+            for (String queryTerm : queryTerms) {
+                double best = 0;
+                for (String token : nameTokens) {
+                    best = Math.max(best, matchScore(queryTerm, token));
+                }
+                for (String token : emailTokens) {
+                    best = Math.max(best, EMAIL_WEIGHT * matchScore(queryTerm, token));
+                }
+                if (best == 0) {
+                    return 0;
+                }
+                total += best;
+            }
+            return total;
+        }
+    }
+}
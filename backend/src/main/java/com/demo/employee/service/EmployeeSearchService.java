@@ -0,0 +1,206 @@
+package com.demo.employee.service;
+
+import com.demo.employee.cache.CacheInvalidation;
+import com.demo.employee.cache.CacheInvalidationBus;
+import com.demo.employee.config.EmployeeSearchProperties;
+import com.demo.employee.dto.EmployeeDTO;
+import com.demo.employee.event.EmployeeChangedEvent;
+import com.demo.employee.exception.InvalidPageRequestException;
+import com.demo.employee.model.Employee;
+import com.demo.employee.repository.EmployeeRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Typeahead search over employee names and emails, answered from an in-memory
+ * {@link EmployeeSearchIndex} rather than the database. The index is built when
+ * the application starts, updated after each local write commits and for every
+ * invalidation peers publish on the cache invalidation bus, and rebuilt from the
+ * table every {@code employee.search.rebuild-interval} as a safety net.
+ */
+@Slf4j
+@Service
+public class EmployeeSearchService {
+
+    static final int MAX_QUERY_LENGTH = 100;
+
+    private final EmployeeRepository employeeRepository;
+    private final EntityManager entityManager;
+    private final CacheInvalidationBus bus;
+    private final EmployeeSearchProperties properties;
+    private final TransactionTemplate readOnly;
+    // Not a monitor: a rebuild holds it across JDBC calls, which would pin a virtual thread's carrier
+    private final Lock rebuildLock = new ReentrantLock();
+
+    private volatile EmployeeSearchIndex index = new EmployeeSearchIndex();
+    private volatile Set<Long> changedDuringRebuild;
+
+    public EmployeeSearchService(EmployeeRepository employeeRepository,
+                                 EntityManager entityManager,
+                                 CacheInvalidationBus bus,
+                                 EmployeeSearchProperties properties,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry) {
+        this.employeeRepository = employeeRepository;
+        this.entityManager = entityManager;
+        this.bus = bus;
+        this.properties = properties;
+        // Index updates run after the writer's commit, so they read in a transaction of their own
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.readOnly.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        Gauge.builder("employee.search.index.size", this, service -> service.index.size())
+                .description("Employees in the in-memory search index")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void subscribe() {
+        bus.subscribe(this::apply);
+    }
+
+    /**
+     * Employees matching every word of {@code query}, best match first.
+     */
+    public List<EmployeeDTO> search(String query, int limit) {
+        if (query.length() > MAX_QUERY_LENGTH) {
+            throw new InvalidPageRequestException("Search query must be at most " + MAX_QUERY_LENGTH + " characters");
+        }
+        return index.search(query, Math.clamp(limit, 1, properties.getMaxResults()));
+    }
+
+    @EventListener
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            refresh(List.of(event.employeeId()));
+            return;
+        }
+        pendingIds().add(event.employeeId());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuildInBackground();
+    }
+
+    @Scheduled(initialDelayString = "${employee.search.rebuild-interval:1h}",
+            fixedDelayString = "${employee.search.rebuild-interval:1h}")
+    public void rebuildInBackground() {
+        try {
+            rebuild();
+        } catch (RuntimeException ex) {
+            log.warn("Search index rebuild failed, still serving the previous index", ex);
+        }
+    }
+
+    /**
+     * Builds a fresh index from the table and swaps it in. Writes that commit while
+     * the table is being read are applied again afterwards, since the read may have
+     * missed them.
+     */
+    public void rebuild() {
+        if (!rebuildLock.tryLock()) {
+            return;
+        }
+        try {
+            changedDuringRebuild = ConcurrentHashMap.newKeySet();
+            long started = System.nanoTime();
+            EmployeeSearchIndex rebuilt = new EmployeeSearchIndex();
+            readOnly.executeWithoutResult(status -> {
+                try (Stream<Employee> employees = employeeRepository.streamAll(null, null, null, null, null)) {
+                    employees.forEach(employee -> {
+                        rebuilt.put(EmployeeService.toDTO(employee));
+                        entityManager.detach(employee);
+                    });
+                }
+            });
+            index = rebuilt;
+            Set<Long> changed = changedDuringRebuild;
+            changedDuringRebuild = null;
+            refresh(changed);
+            log.info("Built search index of {} employees in {} ms", rebuilt.size(),
+                    (System.nanoTime() - started) / 1_000_000);
+        } finally {
+            changedDuringRebuild = null;
+            rebuildLock.unlock();
+        }
+    }
+
+    void apply(CacheInvalidation invalidation) {
+        if (!CacheInvalidation.EMPLOYEE.equals(invalidation.entity())) {
+            return;
+        }
+        if (invalidation.isAll()) {
+            rebuildInBackground();
+        } else {
+            refresh(List.of(invalidation.id()));
+        }
+    }
+
+    private void refresh(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Set<Long> changed = changedDuringRebuild;
+        if (changed != null) {
+            changed.addAll(ids);
+        }
+        try {
+            List<Employee> employees = readOnly.execute(status -> employeeRepository.findAllById(ids));
+            EmployeeSearchIndex current = index;
+            Set<Long> missing = new HashSet<>(ids);
+            for (Employee employee : employees) {
+                current.put(EmployeeService.toDTO(employee));
+                missing.remove(employee.getId());
+            }
+            missing.forEach(current::remove);
+        } catch (RuntimeException ex) {
+            // The write itself succeeded; the next rebuild picks it up
+            log.warn("Failed to update the search index for {} employee(s)", ids.size(), ex);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<Long> pendingIds() {
+        Set<Long> pending = (Set<Long>) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            return pending;
+        }
+        Set<Long> created = new LinkedHashSet<>();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                refresh(created);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(EmployeeSearchService.this);
+            }
+        });
+        return created;
+    }
+}
@@ -1,64 +1,127 @@
 package com.demo.employee.service;
 
+import com.demo.employee.config.CacheConfig;
 import com.demo.employee.dto.EmployeeDTO;
+import com.demo.employee.event.ChangeType;
+import com.demo.employee.event.EmployeeChangedEvent;
+import com.demo.employee.dto.EmployeeFilter;
+import com.demo.employee.dto.EmployeePageDTO;
+import com.demo.employee.dto.EmployeePatchDTO;
+import com.demo.employee.dto.EmployeeSort;
 import com.demo.employee.exception.DuplicateEmailException;
 import com.demo.employee.exception.EmployeeNotFoundException;
+import com.demo.employee.exception.EmployeeVersionMismatchException;
+import com.demo.employee.exception.InvalidPageRequestException;
 import com.demo.employee.model.Department;
 import com.demo.employee.model.Employee;
 import com.demo.employee.repository.EmployeeRepository;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Locale;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class EmployeeService {
 
+    static final int MAX_PAGE_SIZE = 500;
+    private static final String EMAIL_UNIQUE_KEY = "uk_employees_email";
+
     private final EmployeeRepository employeeRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DepartmentRollupService departmentRollup;
 
-    public List<EmployeeDTO> getAllEmployees() {
-        return employeeRepository.findAll()
-                .stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+    public EmployeePageDTO getEmployeePage(EmployeeFilter filter, EmployeeSort sort, String cursor, int limit) {
+        EmployeeCursor after = cursor != null && !cursor.isBlank() ? EmployeeCursor.decode(cursor) : null;
+        if (after != null && after.sort() != sort) {
+            throw new InvalidPageRequestException("Cursor was issued for sort '" + after.sort().getParam() + "'");
+        }
+        int pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+
+        // Fetch one extra row to learn whether another page exists without a COUNT query
+        List<Employee> rows = fetchPage(filter, sort, after, Limit.of(pageSize + 1));
+        boolean hasMore = rows.size() > pageSize;
+        List<Employee> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            Employee last = page.get(page.size() - 1);
+            nextCursor = EmployeeCursor.after(sort, last.getId(), last.getLastName()).encode();
+        }
+        return new EmployeePageDTO(
+                page.stream().map(EmployeeService::toDTO).collect(Collectors.toList()),
+                nextCursor,
+                hasMore
+        );
     }
 
+    @Cacheable(cacheNames = CacheConfig.EMPLOYEES, key = "#id")
     public EmployeeDTO getEmployeeById(Long id) {
         Employee employee = employeeRepository.findById(id)
                 .orElseThrow(() -> new EmployeeNotFoundException(id));
         return toDTO(employee);
     }
 
+    @Cacheable(cacheNames = CacheConfig.EMPLOYEES_BY_DEPARTMENT, key = "#department")
     public List<EmployeeDTO> getEmployeesByDepartment(Department department) {
         return employeeRepository.findByDepartment(department)
                 .stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+                .map(EmployeeService::toDTO)
+                .toList();
     }
 
     @Transactional
+    @Caching(
+            put = @CachePut(cacheNames = CacheConfig.EMPLOYEES, key = "#result.id"),
+            evict = @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_BY_DEPARTMENT, key = "#dto.department")
+    )
     public EmployeeDTO createEmployee(EmployeeDTO dto) {
         if (employeeRepository.existsByEmail(dto.getEmail())) {
             throw new DuplicateEmailException(dto.getEmail());
         }
         Employee employee = toEntity(dto);
         Employee saved = employeeRepository.save(employee);
+        departmentRollup.employeeAdded(saved);
+        eventPublisher.publishEvent(new EmployeeChangedEvent(ChangeType.CREATED, saved.getId()));
         return toDTO(saved);
     }
 
+    /**
+     * Replaces an employee. With a non-null {@code expectedVersion} the update only
+     * applies if the employee is still at that version; either way a concurrent
+     * write between the read and the flush fails the update instead of being
+     * overwritten.
+     */
+    // The department may change, so every cached department list is dropped
     @Transactional
-    public EmployeeDTO updateEmployee(Long id, EmployeeDTO dto) {
+    @Caching(
+            put = @CachePut(cacheNames = CacheConfig.EMPLOYEES, key = "#id"),
+            evict = @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_BY_DEPARTMENT, allEntries = true)
+    )
+    public EmployeeDTO updateEmployee(Long id, EmployeeDTO dto, Long expectedVersion) {
         Employee existing = employeeRepository.findById(id)
                 .orElseThrow(() -> new EmployeeNotFoundException(id));
+        if (expectedVersion != null && !expectedVersion.equals(existing.getVersion())) {
+            throw new EmployeeVersionMismatchException(id);
+        }
 
         if (!existing.getEmail().equals(dto.getEmail()) &&
             employeeRepository.existsByEmail(dto.getEmail())) {
             throw new DuplicateEmailException(dto.getEmail());
         }
 
+        departmentRollup.employeeRemoved(existing);
         existing.setFirstName(capitalize(dto.getFirstName()));
         existing.setLastName(capitalize(dto.getLastName()));
         existing.setEmail(dto.getEmail());
@@ -66,19 +129,117 @@ public class EmployeeService {
         existing.setSalary(dto.getSalary());
         existing.setHireDate(dto.getHireDate());
 
-        Employee updated = employeeRepository.save(existing);
+        // Flushed here so the returned version is the one written
+        Employee updated = employeeRepository.saveAndFlush(existing);
+        departmentRollup.employeeAdded(updated);
+        eventPublisher.publishEvent(new EmployeeChangedEvent(ChangeType.UPDATED, id));
         return toDTO(updated);
     }
 
+    /**
+     * Applies the non-null fields of the patch with one conditional UPDATE, without
+     * loading the employee. A patch that moves rollup figures (department, salary or
+     * hire date) first locks and reads just those columns, so the rollup can be
+     * adjusted. Returns the new version, or null when it is not known because the
+     * patch was unconditional and did not need that read.
+     */
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.EMPLOYEES, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_BY_DEPARTMENT, allEntries = true)
+    })
+    public Long patchEmployee(Long id, EmployeePatchDTO patch, Long expectedVersion) {
+        Employee before = null;
+        Long version = expectedVersion;
+        if (changesRollup(patch)) {
+            before = departmentRollup.lockFigures(id);
+            if (before == null) {
+                throw new EmployeeNotFoundException(id);
+            }
+            if (expectedVersion != null && !expectedVersion.equals(before.getVersion())) {
+                throw new EmployeeVersionMismatchException(id);
+            }
+            version = before.getVersion();
+        }
+
+        int updated;
+        try {
+            updated = employeeRepository.patch(id, version, capitalize(patch.getFirstName()),
+                    capitalize(patch.getLastName()), patch.getEmail(), patch.getDepartment(), patch.getSalary(),
+                    patch.getHireDate());
+        } catch (DataIntegrityViolationException ex) {
+            if (patch.getEmail() != null && violatesEmailUniqueKey(ex)) {
+                throw new DuplicateEmailException(patch.getEmail());
+            }
+            throw ex;
+        }
+        if (updated == 0) {
+            if (!employeeRepository.existsById(id)) {
+                throw new EmployeeNotFoundException(id);
+            }
+            throw new EmployeeVersionMismatchException(id);
+        }
+
+        if (before != null) {
+            departmentRollup.employeeRemoved(before);
+            Employee after = new Employee();
+            after.setId(id);
+            after.setDepartment(patch.getDepartment() != null ? patch.getDepartment() : before.getDepartment());
+            after.setSalary(patch.getSalary() != null ? patch.getSalary() : before.getSalary());
+            after.setHireDate(patch.getHireDate() != null ? patch.getHireDate() : before.getHireDate());
+            departmentRollup.employeeAdded(after);
+        }
+        eventPublisher.publishEvent(new EmployeeChangedEvent(ChangeType.UPDATED, id));
+        return version != null ? version + 1 : null;
+    }
+
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.EMPLOYEES, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_BY_DEPARTMENT, allEntries = true)
+    })
     public void deleteEmployee(Long id) {
         if (!employeeRepository.existsById(id)) {
             throw new EmployeeNotFoundException(id);
         }
+        departmentRollup.employeesRemoved(List.of(id));
         employeeRepository.deleteById(id);
+        eventPublisher.publishEvent(new EmployeeChangedEvent(ChangeType.DELETED, id));
+    }
+
+    private List<Employee> fetchPage(EmployeeFilter filter, EmployeeSort sort, EmployeeCursor after, Limit limit) {
+        if (sort == EmployeeSort.LAST_NAME) {
+            return employeeRepository.findPageOrderByLastName(
+                    after != null ? after.lastName() : null,
+                    after != null ? after.lastId() : null,
+                    filter.getDepartment(), filter.getHiredFrom(), filter.getHiredTo(),
+                    filter.getMinSalary(), filter.getMaxSalary(), limit);
+        }
+        return employeeRepository.findPageOrderById(
+                after != null ? after.lastId() : null,
+                filter.getDepartment(), filter.getHiredFrom(), filter.getHiredTo(),
+                filter.getMinSalary(), filter.getMaxSalary(), limit);
+    }
+
+    /**
+     * Whether the violation is the email unique key, by the constraint name Hibernate
+     * extracted or, failing that, the driver's message.
+     */
+    private static boolean violatesEmailUniqueKey(DataIntegrityViolationException ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return violation.getConstraintName().toLowerCase(Locale.ROOT).contains(EMAIL_UNIQUE_KEY);
+            }
+        }
+        String message = ex.getMostSpecificCause().getMessage();
+        return message != null && message.toLowerCase(Locale.ROOT).contains(EMAIL_UNIQUE_KEY);
+    }
+
+    private static boolean changesRollup(EmployeePatchDTO patch) {
+        return patch.getDepartment() != null || patch.getSalary() != null || patch.getHireDate() != null;
     }
 
-    private EmployeeDTO toDTO(Employee employee) {
+    static EmployeeDTO toDTO(Employee employee) {
         return new EmployeeDTO(
                 employee.getId(),
                 employee.getFirstName(),
@@ -86,11 +247,12 @@ public class EmployeeService {
                 employee.getEmail(),
                 employee.getDepartment(),
                 employee.getSalary(),
-                employee.getHireDate()
+                employee.getHireDate(),
+                employee.getVersion()
         );
     }
 
-    private Employee toEntity(EmployeeDTO dto) {
+    static Employee toEntity(EmployeeDTO dto) {
         Employee employee = new Employee();
         employee.setFirstName(capitalize(dto.getFirstName()));
         employee.setLastName(capitalize(dto.getLastName()));
@@ -101,7 +263,7 @@ public class EmployeeService {
         return employee;
     }
 
-    private String capitalize(String str) {
+    static String capitalize(String str) {
         if (str == null || str.isEmpty()) {
             return str;
         }
@@ -0,0 +1,152 @@
+package com.demo.employee.stream;
+
+import com.demo.employee.config.EmployeeChangesProperties;
+import com.demo.employee.dto.EmployeeChangeDTO;
+import com.demo.employee.dto.EmployeeChangesDTO;
+import com.demo.employee.exception.ChangeLogTruncatedException;
+import com.demo.employee.service.EmployeeChangeFeedService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pushes the employee change log to SSE subscribers. One poller per replica reads
+ * the log and broadcasts each change once, however many clients are connected.
+ * Event ids are change log sequence numbers, so a reconnecting client's
+ * Last-Event-ID is a changes feed checkpoint: missed changes are replayed from the
+ * log before the client rejoins the live stream. A client whose checkpoint has
+ * been pruned from the log gets a {@code resync} event and should reload from the
+ * export.
+ */
+@Slf4j
+@Component
+public class EmployeeChangeStream {
+
+    static final String CHANGE_EVENT = "employee-change";
+    static final String RESYNC_EVENT = "resync";
+
+    private final EmployeeChangeFeedService changeFeedService;
+    private final SseBroadcaster broadcaster;
+    private final JsonMapper jsonMapper;
+    private final EmployeeChangesProperties.Stream properties;
+    // Replays and polls must not interleave, or a change could reach a joining client twice or not at all
+    private final Lock pollLock = new ReentrantLock();
+
+    private long cursor = -1;
+
+    public EmployeeChangeStream(EmployeeChangeFeedService changeFeedService,
+                                @Qualifier("employeeChangeBroadcaster") SseBroadcaster broadcaster,
+                                JsonMapper jsonMapper,
+                                EmployeeChangesProperties changesProperties) {
+        this.changeFeedService = changeFeedService;
+        this.broadcaster = broadcaster;
+        this.jsonMapper = jsonMapper;
+        this.properties = changesProperties.getStream();
+    }
+
+    /**
+     * @param lastEventId the last change the client applied, or null to start from now
+     */
+    public SseEmitter subscribe(Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        SseBroadcaster.Subscriber subscriber = broadcaster.open(emitter);
+        subscriber.send(SseEvent.retry(properties.getReconnectDelay()));
+
+        pollLock.lock();
+        try {
+            if (cursor < 0) {
+                cursor = changeFeedService.getHeadSeq();
+            }
+            if (lastEventId != null && !replay(subscriber, lastEventId)) {
+                return emitter;
+            }
+            broadcaster.join(subscriber);
+        } finally {
+            pollLock.unlock();
+        }
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${employee.changes.stream.poll-interval:1s}")
+    public void poll() {
+        pollLock.lock();
+        try {
+            if (!broadcaster.hasSubscribers()) {
+                // Nobody to send to; the next subscriber starts the cursor again from the head
+                cursor = -1;
+                return;
+            }
+            EmployeeChangesDTO page;
+            do {
+                page = changeFeedService.getChanges(cursor, EmployeeChangeFeedService.MAX_PAGE_SIZE);
+                page.getChanges().forEach(change -> broadcaster.broadcast(toEvent(change)));
+                cursor = page.getNextSince();
+            } while (page.isHasMore());
+        } catch (ChangeLogTruncatedException ex) {
+            log.warn("Change stream cursor {} fell behind the retained log; continuing from the head", cursor);
+            cursor = changeFeedService.getHeadSeq();
+        } catch (RuntimeException ex) {
+            log.warn("Polling the employee change log failed", ex);
+        } finally {
+            pollLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${employee.changes.stream.heartbeat-interval:15s}")
+    public void heartbeat() {
+        broadcaster.heartbeat();
+    }
+
+    /**
+     * Sends the subscriber everything after its checkpoint up to the cursor; the
+     * broadcasts that follow carry on from there.
+     *
+     * @return false if the subscriber was told to resync instead
+     */
+    private boolean replay(SseBroadcaster.Subscriber subscriber, long lastEventId) {
+        long since = lastEventId;
+        while (since < cursor) {
+            EmployeeChangesDTO page;
+            try {
+                page = changeFeedService.getChanges(since, EmployeeChangeFeedService.MAX_PAGE_SIZE);
+            } catch (ChangeLogTruncatedException ex) {
+                return resync(subscriber, lastEventId);
+            }
+            for (EmployeeChangeDTO change : page.getChanges()) {
+                if (change.getSeq() > cursor) {
+                    return true;
+                }
+                if (!subscriber.send(toEvent(change))) {
+                    // Overflowed the subscriber's queue; it reconnects and tries again from where it got to
+                    return false;
+                }
+            }
+            if (!page.isHasMore()) {
+                break;
+            }
+            since = page.getNextSince();
+        }
+        return true;
+    }
+
+    private boolean resync(SseBroadcaster.Subscriber subscriber, long lastEventId) {
+        subscriber.send(SseEvent.of(null, RESYNC_EVENT, jsonMapper.writeValueAsString(Map.of("since", lastEventId))));
+        subscriber.close();
+        return false;
+    }
+
+    private SseEvent toEvent(EmployeeChangeDTO change) {
+        return SseEvent.of(Long.toString(change.getSeq()), CHANGE_EVENT, jsonMapper.writeValueAsString(change));
+    }
+
+    long cursor() {
+        return cursor;
+    }
+}
@@ -0,0 +1,191 @@
+package com.demo.employee.stream;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fans events out to many SSE connections. Broadcasting never blocks: each
+ * subscriber has a bounded queue that a sender task drains onto its connection,
+ * so one slow client cannot hold up the others. A subscriber whose queue fills
+ * up is disconnected; it reconnects with Last-Event-ID and replays what it missed
+ * from the source instead of the server buffering for it indefinitely.
+ */
+@Slf4j
+public class SseBroadcaster implements AutoCloseable {
+
+    private final String name;
+    private final Executor senders;
+    private final int queueCapacity;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Counter overflows;
+
+    /**
+     * @param senders writes events to connections; at most one task per subscriber
+     *                is queued at a time, so it needs no queue bound of its own
+     */
+    public SseBroadcaster(String name, Executor senders, int queueCapacity, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.senders = senders;
+        this.queueCapacity = queueCapacity;
+        Gauge.builder("sse.subscribers", subscribers, Set::size)
+                .description("Open SSE connections")
+                .tag("stream", name)
+                .register(meterRegistry);
+        this.overflows = Counter.builder("sse.overflows")
+                .description("SSE subscribers disconnected for falling too far behind")
+                .tag("stream", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Wraps a connection. It receives only what is sent to it directly until it is
+     * passed to {@link #join}, so a caller can replay history first.
+     */
+    public Subscriber open(SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(subscriber::closed);
+        emitter.onTimeout(() -> {
+            subscriber.closed();
+            emitter.complete();
+        });
+        emitter.onError(error -> subscriber.closed());
+        return subscriber;
+    }
+
+    public void join(Subscriber subscriber) {
+        if (!subscriber.isClosed()) {
+            subscribers.add(subscriber);
+        }
+    }
+
+    public void broadcast(SseEvent event) {
+        subscribers.forEach(subscriber -> subscriber.send(event));
+    }
+
+    /**
+     * Sends a comment to every subscriber with nothing queued.
+     */
+    public void heartbeat() {
+        subscribers.stream()
+                .filter(Subscriber::isIdle)
+                .forEach(subscriber -> subscriber.send(SseEvent.HEARTBEAT));
+    }
+
+    public boolean hasSubscribers() {
+        return !subscribers.isEmpty();
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @Override
+    public void close() {
+        subscribers.forEach(Subscriber::close);
+        if (senders instanceof ExecutorService executorService) {
+            executorService.shutdown();
+        }
+    }
+
+    public final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEvent> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean completing;
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        /**
+         * Queues an event, disconnecting the subscriber if its queue is full.
+         *
+         * @return false if the subscriber is closed or was just disconnected
+         */
+        public boolean send(SseEvent event) {
+            if (closed || completing) {
+                return false;
+            }
+            if (!queue.offer(event)) {
+                overflows.increment();
+                log.debug("Disconnecting a slow {} subscriber with {} events queued", name, queueCapacity);
+                closed();
+                emitter.complete();
+                return false;
+            }
+            scheduleDrain();
+            return true;
+        }
+
+        /**
+         * Ends the connection once everything already queued has been written.
+         */
+        public void close() {
+            completing = true;
+            scheduleDrain();
+        }
+
+        boolean isClosed() {
+            return closed;
+        }
+
+        boolean isIdle() {
+            return queue.isEmpty() && !draining.get();
+        }
+
+        private void closed() {
+            closed = true;
+            queue.clear();
+            subscribers.remove(this);
+        }
+
+        private void scheduleDrain() {
+            if (!draining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                senders.execute(this::drain);
+            } catch (RejectedExecutionException ex) {
+                draining.set(false);
+                closed();
+                emitter.complete();
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEvent event;
+                while (!closed && (event = queue.poll()) != null) {
+                    emitter.send(event.frame());
+                }
+                if (completing && !closed) {
+                    closed();
+                    emitter.complete();
+                }
+            } catch (IOException | IllegalStateException ex) {
+                // The client went away; the container completes the request itself
+                closed();
+            } finally {
+                draining.set(false);
+            }
+            if (!closed && (completing || !queue.isEmpty())) {
+                scheduleDrain();
+            }
+        }
+    }
+}
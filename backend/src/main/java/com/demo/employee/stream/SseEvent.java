@@ -0,0 +1,31 @@
+package com.demo.employee.stream;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * One SSE frame, rendered once and written unchanged to every subscriber.
+ */
+public record SseEvent(Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+
+    static final SseEvent HEARTBEAT = new SseEvent(SseEmitter.event().comment("heartbeat").build());
+
+    /**
+     * @param json the event payload, already serialized
+     */
+    public static SseEvent of(String id, String name, String json) {
+        SseEmitter.SseEventBuilder builder = SseEmitter.event();
+        if (id != null) {
+            builder.id(id);
+        }
+        return new SseEvent(builder.name(name).data(json, MediaType.APPLICATION_JSON).build());
+    }
+
+    public static SseEvent retry(Duration reconnectDelay) {
+        return new SseEvent(SseEmitter.event().reconnectTime(reconnectDelay.toMillis()).comment("connected").build());
+    }
+}
@@ -0,0 +1,63 @@
+-- Tables as Hibernate's ddl-auto created them, so databases it already manages
+-- and new ones end up with the same schema. IF NOT EXISTS lets this run against
+-- a database that already has some or all of them.
+
+CREATE TABLE IF NOT EXISTS employees (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    first_name VARCHAR(255) NOT NULL,
+    last_name VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    department ENUM ('ENGINEERING','FINANCE','HUMAN_RESOURCES','IT','LEGAL','MARKETING','OPERATIONS','SALES') NOT NULL,
+    salary DECIMAL(10,2) NOT NULL,
+    hire_date DATE NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_employees_email UNIQUE (email)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS data_version (
+    id INTEGER NOT NULL,
+    version BIGINT NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS employee_changes (
+    seq BIGINT NOT NULL AUTO_INCREMENT,
+    employee_id BIGINT NOT NULL,
+    operation ENUM ('CREATED','DELETED','UPDATED') NOT NULL,
+    first_name VARCHAR(255),
+    last_name VARCHAR(255),
+    email VARCHAR(255),
+    department ENUM ('ENGINEERING','FINANCE','HUMAN_RESOURCES','IT','LEGAL','MARKETING','OPERATIONS','SALES'),
+    salary DECIMAL(10,2),
+    hire_date DATE,
+    changed_at DATETIME(3) DEFAULT CURRENT_TIMESTAMP(3) NOT NULL,
+    PRIMARY KEY (seq),
+    INDEX idx_employee_changes_changed_at (changed_at)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS cache_invalidation_outbox (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    entity VARCHAR(64) NOT NULL,
+    entity_id BIGINT,
+    origin VARCHAR(36) NOT NULL,
+    created_at DATETIME(3) DEFAULT CURRENT_TIMESTAMP(3) NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_cache_invalidation_created_at (created_at)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS department_rollup (
+    department ENUM ('ENGINEERING','FINANCE','HUMAN_RESOURCES','IT','LEGAL','MARKETING','OPERATIONS','SALES') NOT NULL,
+    employee_count BIGINT NOT NULL,
+    salary_total_cents BIGINT NOT NULL,
+    salary_squares_cents DECIMAL(38,0) NOT NULL,
+    min_salary_cents BIGINT,
+    max_salary_cents BIGINT,
+    PRIMARY KEY (department)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS department_hire_months (
+    hire_month DATE NOT NULL,
+    department ENUM ('ENGINEERING','FINANCE','HUMAN_RESOURCES','IT','LEGAL','MARKETING','OPERATIONS','SALES') NOT NULL,
+    employee_count BIGINT NOT NULL,
+    PRIMARY KEY (hire_month, department)
+) ENGINE=InnoDB;
@@ -0,0 +1,6 @@
+-- Version column for optimistic concurrency. Existing rows start at 0; the change
+-- log records the version each change produced, and is null for older entries.
+
+ALTER TABLE employees ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+
+ALTER TABLE employee_changes ADD COLUMN version BIGINT;
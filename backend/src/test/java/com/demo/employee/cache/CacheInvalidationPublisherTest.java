@@ -0,0 +1,100 @@
+package com.demo.employee.cache;
+
+import com.demo.employee.event.ChangeType;
+import com.demo.employee.event.EmployeeChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheInvalidationPublisherTest {
+
+    private final List<List<CacheInvalidation>> published = new ArrayList<>();
+
+    private CacheInvalidationPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        publisher = new CacheInvalidationPublisher(new CacheInvalidationBus() {
+            @Override
+            public void publish(Collection<CacheInvalidation> invalidations) {
+                published.add(List.copyOf(invalidations));
+            }
+
+            @Override
+            public void subscribe(Consumer<CacheInvalidation> listener) {
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void onEmployeeChanged_WithoutTransaction_PublishesImmediately() {
+        publisher.onEmployeeChanged(new EmployeeChangedEvent(ChangeType.UPDATED, 7L));
+
+        assertThat(published).containsExactly(List.of(new CacheInvalidation(CacheInvalidation.EMPLOYEE, 7L)));
+    }
+
+    @Test
+    void onEmployeeChanged_InTransaction_PublishesOnceAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        publisher.onEmployeeChanged(new EmployeeChangedEvent(ChangeType.CREATED, 1L));
+        publisher.onEmployeeChanged(new EmployeeChangedEvent(ChangeType.UPDATED, 2L));
+        publisher.onEmployeeChanged(new EmployeeChangedEvent(ChangeType.UPDATED, 1L));
+        assertThat(published).isEmpty();
+
+        completeTransaction(true);
+
+        assertThat(published).containsExactly(List.of(
+                new CacheInvalidation(CacheInvalidation.EMPLOYEE, 1L),
+                new CacheInvalidation(CacheInvalidation.EMPLOYEE, 2L)));
+        assertThat(TransactionSynchronizationManager.getResource(publisher)).isNull();
+    }
+
+    @Test
+    void onEmployeeChanged_WhenTransactionRollsBack_PublishesNothing() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        publisher.onEmployeeChanged(new EmployeeChangedEvent(ChangeType.DELETED, 1L));
+        completeTransaction(false);
+
+        assertThat(published).isEmpty();
+    }
+
+    @Test
+    void onEmployeeChanged_WithManyIds_CollapsesToInvalidateAll() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        LongStream.rangeClosed(1, CacheInvalidationPublisher.MAX_IDS_PER_TRANSACTION + 1)
+                .forEach(id -> publisher.onEmployeeChanged(new EmployeeChangedEvent(ChangeType.CREATED, id)));
+        completeTransaction(true);
+
+        assertThat(published).containsExactly(List.of(CacheInvalidation.all(CacheInvalidation.EMPLOYEE)));
+    }
+
+    private void completeTransaction(boolean committed) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        if (committed) {
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        }
+        synchronizations.forEach(sync -> sync.afterCompletion(committed
+                ? TransactionSynchronization.STATUS_COMMITTED
+                : TransactionSynchronization.STATUS_ROLLED_BACK));
+    }
+}
@@ -0,0 +1,98 @@
+package com.demo.employee.cache;
+
+import com.demo.employee.config.ReadReplicaProperties;
+import com.demo.employee.config.ReadYourWrites;
+import com.demo.employee.event.ChangeType;
+import com.demo.employee.event.EmployeeChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class DataVersionTrackerTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private DataVersionTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        tracker = new DataVersionTracker(jdbcTemplate, new ReadYourWrites(new ReadReplicaProperties()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void onEmployeeChanged_WithoutTransaction_BumpsImmediately() {
+        tracker.onEmployeeChanged(new EmployeeChangedEvent(ChangeType.UPDATED, 1L));
+
+        verify(jdbcTemplate).update(anyString());
+    }
+
+    @Test
+    void onEmployeeChanged_InTransaction_BumpsOnceBeforeCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        tracker.onEmployeeChanged(new EmployeeChangedEvent(ChangeType.CREATED, 1L));
+        tracker.onEmployeeChanged(new EmployeeChangedEvent(ChangeType.UPDATED, 2L));
+        verifyNoInteractions(jdbcTemplate);
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(sync -> sync.beforeCommit(false));
+        synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        verify(jdbcTemplate, times(1)).update(anyString());
+        assertThat(TransactionSynchronizationManager.getResource(tracker)).isNull();
+    }
+
+    @Test
+    void onEmployeeChanged_RolledBack_DoesNotBump() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        tracker.onEmployeeChanged(new EmployeeChangedEvent(ChangeType.DELETED, 1L));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verifyNoInteractions(jdbcTemplate);
+        assertThat(TransactionSynchronizationManager.getResource(tracker)).isNull();
+    }
+
+    @Test
+    void onEmployeeChanged_WithReadYourWrites_RaisesFloorOnlyAfterCommit() {
+        ReadReplicaProperties properties = new ReadReplicaProperties();
+        properties.setEnabled(true);
+        ReadYourWrites readYourWrites = new ReadYourWrites(properties);
+        tracker = new DataVersionTracker(jdbcTemplate, readYourWrites);
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class))).thenReturn(List.of(7L));
+        TransactionSynchronizationManager.initSynchronization();
+
+        tracker.onEmployeeChanged(new EmployeeChangedEvent(ChangeType.UPDATED, 1L));
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(sync -> sync.beforeCommit(false));
+        assertThat(readYourWrites.requiredVersion()).isZero();
+
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        assertThat(readYourWrites.requiredVersion()).isEqualTo(7L);
+    }
+
+    @Test
+    void currentVersion_BeforeFirstWrite_IsZero() {
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class))).thenReturn(List.of());
+
+        assertThat(tracker.currentVersion()).isZero();
+    }
+}
@@ -0,0 +1,61 @@
+package com.demo.employee.cache;
+
+import com.demo.employee.config.CacheConfig;
+import com.demo.employee.config.EmployeeCacheProperties;
+import com.demo.employee.config.ReadReplicaProperties;
+import com.demo.employee.config.ReadYourWrites;
+import com.demo.employee.model.Department;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class EmployeeCacheInvalidatorTest {
+
+    private InMemoryCacheInvalidationBus bus;
+    private Cache employees;
+    private Cache employeesByDepartment;
+
+    @BeforeEach
+    void setUp() {
+        CacheManager cacheManager = new CacheConfig().cacheManager(new EmployeeCacheProperties());
+        bus = new InMemoryCacheInvalidationBus();
+        new EmployeeCacheInvalidator(bus, cacheManager, mock(DataVersionTracker.class),
+                new ReadYourWrites(new ReadReplicaProperties())).subscribe();
+
+        employees = cacheManager.getCache(CacheConfig.EMPLOYEES);
+        employeesByDepartment = cacheManager.getCache(CacheConfig.EMPLOYEES_BY_DEPARTMENT);
+        employees.put(1L, "one");
+        employees.put(2L, "two");
+        employeesByDepartment.put(Department.SALES, List.of("one"));
+    }
+
+    @Test
+    void invalidation_EvictsEmployeeAndDepartmentLists() {
+        bus.publish(List.of(new CacheInvalidation(CacheInvalidation.EMPLOYEE, 1L)));
+
+        assertThat(employees.get(1L)).isNull();
+        assertThat(employees.get(2L)).isNotNull();
+        assertThat(employeesByDepartment.get(Department.SALES)).isNull();
+    }
+
+    @Test
+    void invalidateAll_ClearsEveryEmployee() {
+        bus.publish(List.of(CacheInvalidation.all(CacheInvalidation.EMPLOYEE)));
+
+        assertThat(employees.get(1L)).isNull();
+        assertThat(employees.get(2L)).isNull();
+    }
+
+    @Test
+    void invalidationForOtherEntity_IsIgnored() {
+        bus.publish(List.of(new CacheInvalidation("department", 1L)));
+
+        assertThat(employees.get(1L)).isNotNull();
+    }
+}
@@ -0,0 +1,67 @@
+package com.demo.employee.cache;
+
+import com.demo.employee.cache.OutboxCacheInvalidationBus.OutboxRow;
+import com.demo.employee.config.EmployeeCacheProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxCacheInvalidationBusTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OutboxCacheInvalidationBus bus;
+
+    private final List<CacheInvalidation> received = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        bus = new OutboxCacheInvalidationBus(jdbcTemplate, transactionManager, new EmployeeCacheProperties());
+        bus.subscribe(received::add);
+        bus.resetCursor(10);
+    }
+
+    @Test
+    void apply_SkipsRowsPublishedByThisReplica() {
+        bus.apply(List.of(row(11, 1L, "peer", true), row(12, 2L, bus.origin(), true)));
+
+        assertThat(received).containsExactly(invalidation(1L));
+        assertThat(bus.cursor()).isEqualTo(12);
+    }
+
+    @Test
+    void apply_HoldsCursorBeforeUnsettledRowsWithoutReapplyingThem() {
+        bus.apply(List.of(row(11, 1L, "peer", true), row(12, 2L, "peer", false), row(13, 3L, "peer", true)));
+
+        assertThat(received).containsExactly(invalidation(1L), invalidation(2L), invalidation(3L));
+        assertThat(bus.cursor()).isEqualTo(11);
+
+        // A slower transaction commits id 14 below the settle horizon; 12 and 13 come back again
+        bus.apply(List.of(row(12, 2L, "peer", true), row(13, 3L, "peer", true), row(14, 4L, "peer", false)));
+
+        assertThat(received).containsExactly(invalidation(1L), invalidation(2L), invalidation(3L), invalidation(4L));
+        assertThat(bus.cursor()).isEqualTo(13);
+    }
+
+    private OutboxRow row(long id, Long employeeId, String origin, boolean settled) {
+        return new OutboxRow(id, invalidation(employeeId), origin, settled);
+    }
+
+    private CacheInvalidation invalidation(Long employeeId) {
+        return new CacheInvalidation(CacheInvalidation.EMPLOYEE, employeeId);
+    }
+}
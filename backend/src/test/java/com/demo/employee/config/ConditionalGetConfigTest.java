@@ -0,0 +1,148 @@
+package com.demo.employee.config;
+
+import com.demo.employee.cache.DataVersionTracker;
+import com.demo.employee.controller.EmployeeController;
+import com.demo.employee.dto.EmployeeDTO;
+import com.demo.employee.dto.EmployeeFilter;
+import com.demo.employee.dto.EmployeePageDTO;
+import com.demo.employee.model.Department;
+import com.demo.employee.service.EmployeeBatchService;
+import com.demo.employee.service.EmployeeChangeFeedService;
+import com.demo.employee.service.EmployeeExportService;
+import com.demo.employee.service.EmployeeSearchService;
+import com.demo.employee.service.EmployeeService;
+import com.demo.employee.stream.EmployeeChangeStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.handler.MappedInterceptor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class ConditionalGetConfigTest {
+
+    @Mock
+    private EmployeeService employeeService;
+
+    @Mock
+    private DataVersionTracker dataVersionTracker;
+
+    private final AtomicLong dataVersion = new AtomicLong(7);
+
+    private final StaticListableBeanFactory beans = new StaticListableBeanFactory();
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(dataVersionTracker.currentVersion()).thenAnswer(invocation -> dataVersion.get());
+        EmployeeController controller = new EmployeeController(employeeService, mock(EmployeeExportService.class),
+                mock(EmployeeBatchService.class), mock(EmployeeChangeFeedService.class), mock(EmployeeChangeStream.class),
+                mock(EmployeeSearchService.class));
+        // The standalone builder drops exclude patterns, so the registered interceptor is applied as the registry maps it
+        MappedInterceptor mapped = registeredInterceptor(new ConditionalGetConfig(dataVersionTracker,
+                beans.getBeanProvider(ReplicaRoutingDataSource.class)));
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .addInterceptors(new HandlerInterceptor() {
+                    @Override
+                    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+                            throws Exception {
+                        return !mapped.matches(request) || mapped.preHandle(request, response, handler);
+                    }
+                })
+                .build();
+    }
+
+    @Test
+    void department_WriteFromAnotherInstance_NeverAnswers304FromTheStaleCache() throws Exception {
+        EmployeeDTO cached = new EmployeeDTO(1L, "John", "Doe", "john.doe@example.com", Department.ENGINEERING,
+                new BigDecimal("75000.00"), LocalDate.of(2023, 1, 15), 0L);
+        when(employeeService.getEmployeesByDepartment(Department.ENGINEERING)).thenReturn(List.of(cached));
+
+        mockMvc.perform(get("/api/employees/department/ENGINEERING"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+        // A peer commits a write; this instance has not polled its invalidation yet, so the cache still holds the list
+        dataVersion.incrementAndGet();
+        mockMvc.perform(get("/api/employees/department/ENGINEERING").header(HttpHeaders.IF_NONE_MATCH, "\"8-0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+
+        verify(employeeService, times(2)).getEmployeesByDepartment(Department.ENGINEERING);
+        verifyNoInteractions(dataVersionTracker);
+    }
+
+    @Test
+    void page_IsTaggedWithTheDataVersion() throws Exception {
+        when(employeeService.getEmployeePage(any(EmployeeFilter.class), any(), isNull(), anyInt()))
+                .thenReturn(new EmployeePageDTO(List.of(), null, false));
+
+        String etag = mockMvc.perform(get("/api/employees"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(etag).startsWith("\"7-");
+        mockMvc.perform(get("/api/employees").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void page_WithReadReplicas_IsTaggedWithTheVersionTheReplicasHaveApplied() throws Exception {
+        ReplicaRoutingDataSource router = mock(ReplicaRoutingDataSource.class);
+        beans.addBean("replicaRoutingDataSource", router);
+        when(router.leastServableVersion()).thenReturn(5L);
+        when(employeeService.getEmployeePage(any(EmployeeFilter.class), any(), isNull(), anyInt()))
+                .thenReturn(new EmployeePageDTO(List.of(), null, false));
+
+        String etag = mockMvc.perform(get("/api/employees"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("\"5-");
+
+        // Caught up, and with no replica able to serve the page is read from the primary
+        when(router.leastServableVersion()).thenReturn(7L, Long.MAX_VALUE);
+        mockMvc.perform(get("/api/employees").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, startsWith("\"7-")));
+        mockMvc.perform(get("/api/employees"))
+                .andExpect(header().string(HttpHeaders.ETAG, startsWith("\"7-")));
+    }
+
+    private static MappedInterceptor registeredInterceptor(ConditionalGetConfig config) {
+        CapturingRegistry registry = new CapturingRegistry();
+        config.addInterceptors(registry);
+        List<Object> interceptors = registry.interceptors();
+        assertThat(interceptors).hasSize(1);
+        return (MappedInterceptor) interceptors.getFirst();
+    }
+
+    private static class CapturingRegistry extends InterceptorRegistry {
+
+        List<Object> interceptors() {
+            return getInterceptors();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.demo.employee.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class ConnectionLimitingDataSourceTest {
+
+    private DataSource target;
+    private ConnectionLimitingDataSource dataSource;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        target = mock(DataSource.class);
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        dataSource = new ConnectionLimitingDataSource(target, 1, Duration.ofMillis(50));
+        registry = new SimpleMeterRegistry();
+        dataSource.bindTo(registry);
+    }
+
+    @Test
+    void getConnection_WhenAllPermitsHeld_TimesOut() throws SQLException {
+        dataSource.getConnection();
+
+        assertThatThrownBy(() -> dataSource.getConnection())
+                .isInstanceOf(SQLTransientConnectionException.class);
+        verify(target, times(1)).getConnection();
+    }
+
+    @Test
+    void close_ReturnsPermitOnlyOnce() throws SQLException {
+        Connection first = dataSource.getConnection();
+        first.close();
+        first.close();
+
+        Connection second = dataSource.getConnection();
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(registry.get("jdbc.connections.limit.available").gauge().value()).isZero();
+        assertThatThrownBy(() -> dataSource.getConnection())
+                .isInstanceOf(SQLTransientConnectionException.class);
+    }
+
+    @Test
+    void getConnection_WhenTargetFails_ReleasesPermit() throws SQLException {
+        when(target.getConnection()).thenThrow(new SQLException("down")).thenAnswer(invocation -> mock(Connection.class));
+
+        assertThatThrownBy(() -> dataSource.getConnection()).hasMessage("down");
+
+        assertThat(dataSource.getConnection()).isNotNull();
+        assertThat(registry.get("jdbc.connections.limit.acquire").timer().count()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,51 @@
+package com.demo.employee.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.env.MockEnvironment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExecutionModeConfigTest {
+
+    private final ExecutionModeConfig config = new ExecutionModeConfig();
+
+    @Test
+    void executionModeTag_FollowsTheVirtualThreadsSetting() {
+        SimpleMeterRegistry platform = new SimpleMeterRegistry();
+        config.executionModeTag(new MockEnvironment()).customize(platform);
+        SimpleMeterRegistry virtual = new SimpleMeterRegistry();
+        config.executionModeTag(new MockEnvironment().withProperty("spring.threads.virtual.enabled", "true"))
+                .customize(virtual);
+
+        assertThat(platform.counter("requests").getId().getTag("execution.mode")).isEqualTo("platform");
+        assertThat(virtual.counter("requests").getId().getTag("execution.mode")).isEqualTo("virtual");
+    }
+
+    @Test
+    void postProcessor_LimitsHikariPoolsToTheirSize() throws SQLException {
+        BeanPostProcessor postProcessor = ExecutionModeConfig.connectionLimitingDataSourcePostProcessor();
+        try (HikariDataSource hikari = new HikariDataSource()) {
+            hikari.setMaximumPoolSize(3);
+            Object other = new Object();
+
+            Object wrapped = postProcessor.postProcessAfterInitialization(hikari, "dataSource");
+
+            assertThat(wrapped).isInstanceOf(ConnectionLimitingDataSource.class);
+            assertThat(((DataSource) wrapped).isWrapperFor(HikariDataSource.class)).isTrue();
+            assertThat(postProcessor.postProcessAfterInitialization(other, "other")).isSameAs(other);
+
+            StaticListableBeanFactory beans = new StaticListableBeanFactory();
+            beans.addBean("dataSource", wrapped);
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            config.connectionLimitMetrics(beans.getBeanProvider(DataSource.class)).bindTo(registry);
+            assertThat(registry.get("jdbc.connections.limit.available").gauge().value()).isEqualTo(3);
+        }
+    }
+}
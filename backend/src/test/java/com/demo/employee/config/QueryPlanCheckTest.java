@@ -0,0 +1,95 @@
+package com.demo.employee.config;
+
+import com.demo.employee.config.QueryPlanCheck.Access;
+import com.demo.employee.config.QueryPlanCheck.ExplainedQuery;
+import com.demo.employee.repository.EmployeeRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryPlanCheckTest {
+
+    private static final long MAX_ROWS = 10_000;
+
+    @Test
+    void check_SelectiveQueryUsingIndex_Passes() {
+        assertThat(QueryPlanCheck.check(query(Access.SELECTIVE),
+                List.of(plan("ref", "idx_employees_department_hire_date", 40_000L, null)), MAX_ROWS)).isEmpty();
+    }
+
+    @Test
+    void check_FullScanOfLargeTable_IsViolation() {
+        assertThat(QueryPlanCheck.check(query(Access.SELECTIVE),
+                List.of(plan("ALL", null, 200_000L, "Using where; Using filesort")), MAX_ROWS))
+                .containsExactly("q scans 200000 rows of employees");
+    }
+
+    @Test
+    void check_FullScanOfSmallTable_Passes() {
+        assertThat(QueryPlanCheck.check(query(Access.SELECTIVE),
+                List.of(plan("ALL", null, 500L, "Using where")), MAX_ROWS)).isEmpty();
+    }
+
+    @Test
+    void check_SelectiveQueryScanningWholeIndex_IsViolation() {
+        assertThat(QueryPlanCheck.check(query(Access.SELECTIVE),
+                List.of(plan("index", "idx_employees_hire_date", 200_000L, "Using where")), MAX_ROWS))
+                .hasSize(1);
+    }
+
+    @Test
+    void check_CoveringQuery_NeedsIndexOnlyRead() {
+        assertThat(QueryPlanCheck.check(query(Access.COVERING),
+                List.of(plan("index", "idx_employees_department_salary_hire_date", 200_000L, "Using index")),
+                MAX_ROWS)).isEmpty();
+        assertThat(QueryPlanCheck.check(query(Access.COVERING),
+                List.of(plan("ref", "idx_employees_department_hire_date", 200_000L, "Using index condition")),
+                MAX_ROWS)).hasSize(1);
+    }
+
+    @Test
+    void check_FullQuery_IsOnlyLogged() {
+        assertThat(QueryPlanCheck.check(query(Access.FULL),
+                List.of(plan("ALL", null, 200_000L, null)), MAX_ROWS)).isEmpty();
+    }
+
+    @Test
+    void queries_CoverEveryEmployeeRepositoryQuery() {
+        assertThat(QueryPlanCheck.queries())
+                .extracting(ExplainedQuery::name)
+                .containsAll(Arrays.stream(EmployeeRepository.class.getDeclaredMethods())
+                        .map(method -> "EmployeeRepository." + method.getName())
+                        .toList());
+    }
+
+    @Test
+    void queries_BindEveryNamedParameter() {
+        for (ExplainedQuery query : QueryPlanCheck.queries()) {
+            assertThat(query.parameters().keySet())
+                    .as(query.name())
+                    .containsAll(Pattern.compile(":(\\w+)").matcher(query.sql()).results()
+                            .map(match -> match.group(1))
+                            .toList());
+        }
+    }
+
+    private static ExplainedQuery query(Access access) {
+        return new ExplainedQuery("q", access, "SELECT 1", Map.of());
+    }
+
+    private static Map<String, Object> plan(String type, String key, Long rows, String extra) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("table", "employees");
+        row.put("type", type);
+        row.put("key", key);
+        row.put("rows", rows);
+        row.put("Extra", extra);
+        return row;
+    }
+}
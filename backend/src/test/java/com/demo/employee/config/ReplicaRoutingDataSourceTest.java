@@ -0,0 +1,264 @@
+package com.demo.employee.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaRoutingDataSourceTest {
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+    private DataSource primaryDataSource;
+    private DataSource replicaDataSource;
+    private final AtomicLong requiredVersion = new AtomicLong();
+    private ReplicaRoutingDataSource router;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        primaryDataSource = database("primary");
+        replicaDataSource = database("replica");
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        primary.execute("SHUTDOWN");
+        replica.execute("SHUTDOWN");
+    }
+
+    @Test
+    void readOnlyTransaction_WhenReplicaCaughtUp_ReadsFromReplica() {
+        route(replicaDataSource, Duration.ofMinutes(1));
+        router.probe();
+
+        assertThat(read(true)).isEqualTo("replica");
+        assertThat(read(false)).isEqualTo("primary");
+        assertThat(registry.get("jdbc.routed.connections").tag("target", "replica").counter().count()).isEqualTo(1);
+        assertThat(registry.get("jdbc.replica.lag").gauge().value()).isZero();
+    }
+
+    @Test
+    void readOnlyTransaction_BeforeFirstProbe_ReadsFromPrimary() {
+        route(replicaDataSource, Duration.ofMinutes(1));
+
+        assertThat(read(true)).isEqualTo("primary");
+    }
+
+    @Test
+    void readOnlyTransaction_WhenReplicaBehindAtFirstProbe_ReadsFromPrimaryUntilCaughtUp() {
+        setVersion(primary, 2);
+        route(replicaDataSource, Duration.ofMinutes(1));
+        router.probe();
+
+        assertThat(read(true)).isEqualTo("primary");
+        assertThat(registry.get("jdbc.replica.lag").gauge().value()).isNaN();
+
+        setVersion(replica, 2);
+        router.probe();
+
+        assertThat(read(true)).isEqualTo("replica");
+    }
+
+    @Test
+    void readOnlyTransaction_WhenReplicaLagsBeyondMaxLag_FallsBackToPrimary() throws InterruptedException {
+        route(replicaDataSource, Duration.ofMillis(50));
+        router.probe();
+        setVersion(primary, 2);
+        router.probe();
+        Thread.sleep(100);
+        router.probe();
+
+        assertThat(read(true)).isEqualTo("primary");
+        assertThat(registry.get("jdbc.replica.lag").gauge().value()).isGreaterThanOrEqualTo(0.05);
+
+        setVersion(replica, 2);
+        router.probe();
+
+        assertThat(read(true)).isEqualTo("replica");
+    }
+
+    @Test
+    void readOnlyTransaction_WhenReplicaDown_FallsBackToPrimary() throws SQLException {
+        DataSource down = mock(DataSource.class);
+        when(down.getConnection()).thenThrow(new SQLException("Connection refused"));
+        route(down, Duration.ofMinutes(1));
+        router.probe();
+
+        assertThat(read(true)).isEqualTo("primary");
+        assertThat(registry.get("jdbc.replica.lag").gauge().value()).isNaN();
+    }
+
+    @Test
+    void readOnlyTransaction_WhenReplicaBehindOwnWrite_ReadsFromPrimaryUntilApplied() {
+        route(replicaDataSource, Duration.ofMinutes(1));
+        router.probe();
+        setVersion(primary, 2);
+        requiredVersion.set(2);
+
+        assertThat(read(true)).isEqualTo("primary");
+
+        // Caught up between probes: the replica is re-checked rather than waiting for the next probe
+        setVersion(replica, 2);
+
+        assertThat(read(true)).isEqualTo("replica");
+    }
+
+    @Test
+    void probe_WhileReplicaIsDown_StillForgetsVersionsTheOthersApplied() {
+        AtomicBoolean down = new AtomicBoolean();
+        DataSource secondDataSource = database("replica2");
+        JdbcTemplate second = new JdbcTemplate(secondDataSource);
+        route(Map.of("replica-1", replicaDataSource, "replica-2", switchable(secondDataSource, down)),
+                Duration.ofMinutes(1));
+        router.probe();
+
+        down.set(true);
+        for (long version = 2; version <= 50; version++) {
+            setVersion(primary, version);
+            setVersion(replica, version);
+            router.probe();
+        }
+        assertThat(router.trackedVersions()).isLessThanOrEqualTo(1);
+
+        // Back, but missing versions whose first-seen time is gone: lagging until it catches up
+        down.set(false);
+        router.probe();
+        assertThat(List.of(read(true), read(true), read(true), read(true))).containsOnly("replica");
+
+        setVersion(second, 50);
+        router.probe();
+        assertThat(List.of(read(true), read(true), read(true), read(true))).contains("replica2");
+        second.execute("SHUTDOWN");
+    }
+
+    @Test
+    void probe_WhenReplicaStopsApplying_TracksBoundedVersions() {
+        route(replicaDataSource, Duration.ofMinutes(1));
+        router.probe();
+
+        long head = ReplicaRoutingDataSource.MAX_TRACKED_VERSIONS + 10;
+        for (long version = 2; version <= head; version++) {
+            setVersion(primary, version);
+            router.probe();
+        }
+
+        assertThat(router.trackedVersions()).isEqualTo(ReplicaRoutingDataSource.MAX_TRACKED_VERSIONS);
+        assertThat(read(true)).isEqualTo("primary");
+        assertThat(registry.get("jdbc.replica.lag").gauge().value()).isNaN();
+
+        setVersion(replica, head);
+        router.probe();
+
+        assertThat(read(true)).isEqualTo("replica");
+        assertThat(router.trackedVersions()).isLessThanOrEqualTo(1);
+    }
+
+    @Test
+    void leastServableVersion_IsTheLeastAnEligibleReplicaHasApplied() {
+        AtomicBoolean down = new AtomicBoolean();
+        DataSource secondDataSource = database("replica2");
+        JdbcTemplate second = new JdbcTemplate(secondDataSource);
+        route(Map.of("replica-1", replicaDataSource, "replica-2", switchable(secondDataSource, down)),
+                Duration.ofMinutes(1));
+
+        // Before the first probe every read goes to the primary
+        assertThat(router.leastServableVersion()).isEqualTo(Long.MAX_VALUE);
+
+        router.probe();
+        setVersion(primary, 2);
+        setVersion(replica, 2);
+        router.probe();
+        assertThat(router.leastServableVersion()).isEqualTo(1);
+
+        // A replica that cannot serve does not hold the version back
+        down.set(true);
+        router.probe();
+        assertThat(router.leastServableVersion()).isEqualTo(2);
+
+        // Behind the caller's own write: only chosen once caught up, so at least that new
+        setVersion(primary, 3);
+        requiredVersion.set(3);
+        assertThat(router.leastServableVersion()).isEqualTo(3);
+
+        down.set(false);
+        second.execute("SHUTDOWN");
+    }
+
+    private void route(DataSource replicaDataSource, Duration maxLag) {
+        route(Map.of("replica-1", replicaDataSource), maxLag);
+    }
+
+    private void route(Map<String, DataSource> replicas, Duration maxLag) {
+        router = new ReplicaRoutingDataSource(primaryDataSource, new TreeMap<>(replicas), maxLag,
+                requiredVersion::get);
+        registry = new SimpleMeterRegistry();
+        router.bindTo(registry);
+    }
+
+    /**
+     * Which database served a query, in a transaction run the way the application's
+     * DataSource runs it.
+     */
+    private String read(boolean readOnly) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(router);
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status ->
+                new JdbcTemplate(dataSource).queryForObject("SELECT name FROM origin", String.class));
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE origin (name VARCHAR(16))");
+        jdbcTemplate.update("INSERT INTO origin VALUES (?)", name);
+        jdbcTemplate.execute("CREATE TABLE data_version (id INT PRIMARY KEY, version BIGINT NOT NULL)");
+        jdbcTemplate.update("INSERT INTO data_version VALUES (1, 1)");
+        return dataSource;
+    }
+
+    /**
+     * A data source that refuses connections while {@code down} is set.
+     */
+    private static DataSource switchable(DataSource dataSource, AtomicBoolean down) {
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                if (down.get()) {
+                    throw new SQLException("Connection refused");
+                }
+                return super.getConnection();
+            }
+        };
+    }
+
+    private static void setVersion(JdbcTemplate database, long version) {
+        database.update("UPDATE data_version SET version = ? WHERE id = 1", version);
+    }
+}
@@ -0,0 +1,103 @@
+package com.demo.employee.config;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SchemaMigrationTest {
+
+    private DataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:schema-" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Test
+    void migrate_EmptyDatabase_CreatesTablesAndIndexes() {
+        migrate();
+
+        assertThat(tables()).contains("EMPLOYEES", "DATA_VERSION", "EMPLOYEE_CHANGES", "CACHE_INVALIDATION_OUTBOX",
+                "DEPARTMENT_ROLLUP", "DEPARTMENT_HIRE_MONTHS");
+        assertThat(employeeIndexes()).contains("IDX_EMPLOYEES_LAST_NAME_ID",
+                "IDX_EMPLOYEES_DEPARTMENT_SALARY_HIRE_DATE", "IDX_EMPLOYEES_DEPARTMENT_HIRE_DATE",
+                "IDX_EMPLOYEES_HIRE_DATE");
+    }
+
+    @Test
+    void migrate_DatabaseCreatedByDdlAuto_KeepsRowsAndReplacesSupersededIndex() {
+        jdbcTemplate.execute("""
+                CREATE TABLE employees (id BIGINT AUTO_INCREMENT PRIMARY KEY, first_name VARCHAR(255) NOT NULL,
+                    last_name VARCHAR(255) NOT NULL, email VARCHAR(255) NOT NULL UNIQUE,
+                    department VARCHAR(32) NOT NULL, salary DECIMAL(10, 2) NOT NULL, hire_date DATE NOT NULL)""");
+        jdbcTemplate.execute("CREATE INDEX idx_employees_last_name_id ON employees (last_name, id)");
+        jdbcTemplate.execute("CREATE INDEX idx_employees_department_salary ON employees (department, salary)");
+        jdbcTemplate.update("""
+                INSERT INTO employees (first_name, last_name, email, department, salary, hire_date)
+                VALUES ('John', 'Doe', 'john@example.com', 'ENGINEERING', 75000, DATE '2023-01-15')""");
+
+        migrate();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM employees", Long.class)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT version FROM employees", Long.class)).isZero();
+        assertThat(tables()).contains("DEPARTMENT_ROLLUP", "DEPARTMENT_HIRE_MONTHS");
+        assertThat(employeeIndexes())
+                .contains("IDX_EMPLOYEES_LAST_NAME_ID", "IDX_EMPLOYEES_DEPARTMENT_SALARY_HIRE_DATE",
+                        "IDX_EMPLOYEES_DEPARTMENT_HIRE_DATE", "IDX_EMPLOYEES_HIRE_DATE")
+                .doesNotContain("IDX_EMPLOYEES_DEPARTMENT_SALARY");
+    }
+
+    @Test
+    void migrate_DatabaseCreatedByDdlAuto_NamesTheEmailUniqueKey() {
+        jdbcTemplate.execute("""
+                CREATE TABLE employees (id BIGINT AUTO_INCREMENT PRIMARY KEY, first_name VARCHAR(255) NOT NULL,
+                    last_name VARCHAR(255) NOT NULL, email VARCHAR(255) NOT NULL,
+                    department VARCHAR(32) NOT NULL, salary DECIMAL(10, 2) NOT NULL, hire_date DATE NOT NULL)""");
+        jdbcTemplate.execute("CREATE UNIQUE INDEX UKj9xgmd0ya5jmus09o0b8pqrpb ON employees (email)");
+
+        migrate();
+
+        assertThat(employeeIndexes()).contains("UK_EMPLOYEES_EMAIL").doesNotContain("UKJ9XGMD0YA5JMUS09O0B8PQRPB");
+        jdbcTemplate.update("""
+                INSERT INTO employees (first_name, last_name, email, department, salary, hire_date)
+                VALUES ('John', 'Doe', 'john@example.com', 'ENGINEERING', 75000, DATE '2023-01-15')""");
+        assertThatThrownBy(() -> jdbcTemplate.update("""
+                INSERT INTO employees (first_name, last_name, email, department, salary, hire_date)
+                VALUES ('Jane', 'Doe', 'john@example.com', 'SALES', 80000, DATE '2023-02-01')"""))
+                .isInstanceOf(DuplicateKeyException.class)
+                .hasMessageContaining("UK_EMPLOYEES_EMAIL");
+    }
+
+    private void migrate() {
+        // Same settings as application.yml
+        Flyway.configure()
+                .dataSource(dataSource)
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load()
+                .migrate();
+    }
+
+    private List<String> tables() {
+        return jdbcTemplate.queryForList(
+                "SELECT table_name FROM information_schema.tables WHERE table_schema = 'PUBLIC'", String.class);
+    }
+
+    private List<String> employeeIndexes() {
+        return jdbcTemplate.queryForList(
+                "SELECT index_name FROM information_schema.indexes WHERE table_name = 'EMPLOYEES'", String.class);
+    }
+}
@@ -0,0 +1,119 @@
+package com.demo.employee.controller;
+
+import com.demo.employee.dto.EmployeeDTO;
+import com.demo.employee.model.Department;
+import com.demo.employee.service.EmployeeBatchService;
+import com.demo.employee.service.EmployeeChangeFeedService;
+import com.demo.employee.service.EmployeeExportService;
+import com.demo.employee.service.EmployeeSearchService;
+import com.demo.employee.service.EmployeeService;
+import com.demo.employee.stream.EmployeeChangeStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class ConditionalGetInterceptorTest {
+
+    @Mock
+    private EmployeeService employeeService;
+
+    @Mock
+    private EmployeeExportService employeeExportService;
+
+    @Mock
+    private EmployeeBatchService employeeBatchService;
+
+    @Mock
+    private EmployeeChangeFeedService changeFeedService;
+
+    @Mock
+    private EmployeeSearchService searchService;
+
+    @Mock
+    private EmployeeChangeStream changeStream;
+
+    private final AtomicLong dataVersion = new AtomicLong(7);
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        EmployeeController controller = new EmployeeController(employeeService, employeeExportService, employeeBatchService,
+                changeFeedService, changeStream, searchService);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .addMappedInterceptors(new String[]{"/api/employees/**"},
+                        new ConditionalGetInterceptor(() -> Long.toString(dataVersion.get())))
+                .build();
+        lenient().when(employeeService.getEmployeesByDepartment(any())).thenReturn(List.of(new EmployeeDTO(1L, "John",
+                "Doe", "john.doe@example.com", Department.ENGINEERING, new BigDecimal("75000.00"),
+                LocalDate.of(2023, 1, 15), 0L)));
+    }
+
+    @Test
+    void get_MatchingIfNoneMatch_Returns304WithoutCallingService() throws Exception {
+        String etag = mockMvc.perform(get("/api/employees/department/ENGINEERING"))
+                .andExpect(status().isOk())
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/employees/department/ENGINEERING").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+
+        assertThat(etag).startsWith("\"7-");
+        verify(employeeService, times(1)).getEmployeesByDepartment(Department.ENGINEERING);
+    }
+
+    @Test
+    void get_AfterVersionBump_ReturnsFreshBody() throws Exception {
+        String etag = mockMvc.perform(get("/api/employees/department/ENGINEERING"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        dataVersion.incrementAndGet();
+
+        mockMvc.perform(get("/api/employees/department/ENGINEERING").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, startsWith("\"8-")));
+    }
+
+    @Test
+    void get_EachRepresentationHasItsOwnETag() throws Exception {
+        String json = mockMvc.perform(get("/api/employees/department/ENGINEERING").accept(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String cbor = mockMvc.perform(get("/api/employees/department/ENGINEERING").accept(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String other = mockMvc.perform(get("/api/employees/department/SALES").accept(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(json).isNotEqualTo(cbor).isNotEqualTo(other);
+    }
+
+    @Test
+    void put_IsNotConditional() throws Exception {
+        mockMvc.perform(put("/api/employees/1")
+                        .header(HttpHeaders.IF_NONE_MATCH, "*")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+}
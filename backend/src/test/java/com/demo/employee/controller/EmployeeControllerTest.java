@@ -1,11 +1,31 @@
 package com.demo.employee.controller;
 
+import com.demo.employee.config.WireFormatConfig;
+import com.demo.employee.dto.BatchMode;
+import com.demo.employee.dto.BatchResultDTO;
+import com.demo.employee.dto.BatchRowResultDTO;
+import com.demo.employee.dto.BatchRowStatus;
+import com.demo.employee.dto.EmployeeChangeDTO;
+import com.demo.employee.dto.EmployeeChangesDTO;
 import com.demo.employee.dto.EmployeeDTO;
+import com.demo.employee.dto.EmployeeFilter;
+import com.demo.employee.dto.EmployeePageDTO;
+import com.demo.employee.dto.EmployeeSort;
+import com.demo.employee.dto.ExportFormat;
+import com.demo.employee.event.ChangeType;
+import com.demo.employee.exception.ChangeLogTruncatedException;
 import com.demo.employee.exception.DuplicateEmailException;
 import com.demo.employee.exception.EmployeeNotFoundException;
+import com.demo.employee.exception.EmployeeVersionMismatchException;
 import com.demo.employee.exception.GlobalExceptionHandler;
 import com.demo.employee.model.Department;
+import com.demo.employee.model.Employee;
+import com.demo.employee.service.EmployeeBatchService;
+import com.demo.employee.service.EmployeeChangeFeedService;
+import com.demo.employee.service.EmployeeExportService;
+import com.demo.employee.service.EmployeeSearchService;
 import com.demo.employee.service.EmployeeService;
+import com.demo.employee.stream.EmployeeChangeStream;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,19 +34,34 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import tools.jackson.dataformat.cbor.CBORMapper;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -39,6 +74,21 @@ class EmployeeControllerTest {
     @Mock
     private EmployeeService employeeService;
 
+    @Mock
+    private EmployeeExportService employeeExportService;
+
+    @Mock
+    private EmployeeBatchService employeeBatchService;
+
+    @Mock
+    private EmployeeChangeFeedService changeFeedService;
+
+    @Mock
+    private EmployeeChangeStream changeStream;
+
+    @Mock
+    private EmployeeSearchService searchService;
+
     @InjectMocks
     private EmployeeController employeeController;
 
@@ -61,21 +111,138 @@ class EmployeeControllerTest {
                 "john.doe@example.com",
                 Department.ENGINEERING,
                 new BigDecimal("75000.00"),
-                LocalDate.of(2023, 1, 15)
+                LocalDate.of(2023, 1, 15),
+                3L
         );
     }
 
     @Test
-    void getAllEmployees_ReturnsEmployeeList() throws Exception {
-        when(employeeService.getAllEmployees()).thenReturn(Arrays.asList(employeeDTO));
+    void getEmployees_ReturnsEmployeePage() throws Exception {
+        when(employeeService.getEmployeePage(any(EmployeeFilter.class), eq(EmployeeSort.ID), isNull(), eq(50)))
+                .thenReturn(new EmployeePageDTO(Arrays.asList(employeeDTO), "next-token", true));
 
         mockMvc.perform(get("/api/employees"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].email", is("john.doe@example.com")))
+                .andExpect(jsonPath("$.nextCursor", is("next-token")))
+                .andExpect(jsonPath("$.hasMore", is(true)));
+    }
+
+    @Test
+    void getEmployees_WithColumnarAccept_ReturnsOneArrayPerField() throws Exception {
+        when(employeeService.getEmployeePage(any(EmployeeFilter.class), eq(EmployeeSort.ID), isNull(), eq(50)))
+                .thenReturn(new EmployeePageDTO(Arrays.asList(employeeDTO), "next-token", true));
+
+        mockMvc.perform(get("/api/employees").accept(WireFormatConfig.COLUMNAR_JSON_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(WireFormatConfig.COLUMNAR_JSON_VALUE))
+                .andExpect(jsonPath("$.count", is(1)))
+                .andExpect(jsonPath("$.emails[0]", is("john.doe@example.com")))
+                .andExpect(jsonPath("$.departmentNames", hasSize(Department.values().length)))
+                .andExpect(jsonPath("$.departments[0]", is(Department.ENGINEERING.ordinal())))
+                .andExpect(jsonPath("$.salaryCents[0]", is(7500000)))
+                .andExpect(jsonPath("$.hireDateEpochDays[0]", is((int) LocalDate.of(2023, 1, 15).toEpochDay())))
+                .andExpect(jsonPath("$.nextCursor", is("next-token")));
+    }
+
+    @Test
+    void getEmployees_WithFiltersAndCursor_PassesThemToService() throws Exception {
+        when(employeeService.getEmployeePage(any(EmployeeFilter.class), eq(EmployeeSort.LAST_NAME), eq("abc"), eq(20)))
+                .thenReturn(new EmployeePageDTO(Arrays.asList(employeeDTO), null, false));
+
+        mockMvc.perform(get("/api/employees")
+                        .param("department", "ENGINEERING")
+                        .param("hiredFrom", "2023-01-01")
+                        .param("minSalary", "50000")
+                        .param("sort", "lastName")
+                        .param("cursor", "abc")
+                        .param("limit", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hasMore", is(false)));
+
+        verify(employeeService).getEmployeePage(
+                argThat(filter -> filter.getDepartment() == Department.ENGINEERING
+                        && LocalDate.of(2023, 1, 1).equals(filter.getHiredFrom())
+                        && new BigDecimal("50000").equals(filter.getMinSalary())),
+                eq(EmployeeSort.LAST_NAME), eq("abc"), eq(20));
+    }
+
+    @Test
+    void getEmployees_WithUnknownSort_Returns400() throws Exception {
+        mockMvc.perform(get("/api/employees").param("sort", "salary"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Unsupported sort: salary"));
+    }
+
+    @Test
+    void exportEmployees_StreamsNdjsonAttachment() throws Exception {
+        when(employeeExportService.export(any(EmployeeFilter.class), eq(ExportFormat.NDJSON), any()))
+                .thenAnswer(invocation -> {
+                    OutputStream out = invocation.getArgument(2);
+                    out.write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+                    return 1L;
+                });
+        when(changeFeedService.getHeadSeq()).thenReturn(42L);
+
+        MvcResult result = mockMvc.perform(get("/api/employees/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"employees.ndjson\""))
+                .andExpect(header().string(EmployeeController.CHANGES_SINCE_HEADER, "42"))
+                .andExpect(content().string("{\"id\":1}\n"));
+    }
+
+    @Test
+    void exportEmployees_WithUnknownFormat_Returns400() throws Exception {
+        mockMvc.perform(get("/api/employees/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void searchEmployees_ReturnsRankedMatches() throws Exception {
+        when(searchService.search("jo", 5)).thenReturn(List.of(employeeDTO));
+
+        mockMvc.perform(get("/api/employees/search").param("q", "jo").param("limit", "5"))
+                .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].email", is("john.doe@example.com")));
     }
 
+    @Test
+    void getChanges_ReturnsChangesAfterCheckpoint() throws Exception {
+        LocalDateTime changedAt = LocalDateTime.of(2024, 3, 1, 9, 30);
+        when(changeFeedService.getChanges(10L, 500)).thenReturn(new EmployeeChangesDTO(List.of(
+                new EmployeeChangeDTO(11L, ChangeType.UPDATED, 1L, changedAt, employeeDTO),
+                new EmployeeChangeDTO(12L, ChangeType.DELETED, 2L, changedAt, null)
+        ), 12L, false));
+
+        mockMvc.perform(get("/api/employees/changes").param("since", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes", hasSize(2)))
+                .andExpect(jsonPath("$.changes[0].operation", is("UPDATED")))
+                .andExpect(jsonPath("$.changes[0].employee.email", is("john.doe@example.com")))
+                .andExpect(jsonPath("$.changes[1].operation", is("DELETED")))
+                .andExpect(jsonPath("$.changes[1].employee").doesNotExist())
+                .andExpect(jsonPath("$.nextSince", is(12)))
+                .andExpect(jsonPath("$.hasMore", is(false)));
+    }
+
+    @Test
+    void getChanges_WhenCheckpointPruned_Returns410() throws Exception {
+        when(changeFeedService.getChanges(0L, 500))
+                .thenThrow(new ChangeLogTruncatedException("Changes up to seq 99 have been pruned"));
+
+        mockMvc.perform(get("/api/employees/changes"))
+                .andExpect(status().isGone())
+                .andExpect(jsonPath("$.message").value("Changes up to seq 99 have been pruned"));
+    }
+
     @Test
     void getEmployeeById_WhenExists_ReturnsEmployee() throws Exception {
         when(employeeService.getEmployeeById(1L)).thenReturn(employeeDTO);
@@ -86,6 +253,37 @@ class EmployeeControllerTest {
                 .andExpect(jsonPath("$.email", is("john.doe@example.com")));
     }
 
+    @Test
+    void getEmployeeById_MatchingIfNoneMatch_Returns304UntilVersionChanges() throws Exception {
+        when(employeeService.getEmployeeById(1L)).thenReturn(employeeDTO);
+        String etag = mockMvc.perform(get("/api/employees/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, startsWith("\"3-")))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/employees/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        employeeDTO.setVersion(4L);
+        mockMvc.perform(get("/api/employees/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, startsWith("\"4-")));
+    }
+
+    @Test
+    void getEmployeeById_WithCborAccept_ReturnsCbor() throws Exception {
+        when(employeeService.getEmployeeById(1L)).thenReturn(employeeDTO);
+
+        MvcResult result = mockMvc.perform(get("/api/employees/1").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn();
+
+        EmployeeDTO decoded = CBORMapper.builder().build()
+                .readValue(result.getResponse().getContentAsByteArray(), EmployeeDTO.class);
+        assertThat(decoded).isEqualTo(employeeDTO);
+    }
+
     @Test
     void getEmployeeById_WhenNotExists_Returns404() throws Exception {
         when(employeeService.getEmployeeById(99L)).thenThrow(new EmployeeNotFoundException(99L));
@@ -99,11 +297,11 @@ class EmployeeControllerTest {
     void createEmployee_WithValidData_Returns201() throws Exception {
         EmployeeDTO newEmployee = new EmployeeDTO(
                 null, "Jane", "Smith", "jane.smith@example.com",
-                Department.MARKETING, new BigDecimal("65000.00"), LocalDate.of(2023, 6, 1)
+                Department.MARKETING, new BigDecimal("65000.00"), LocalDate.of(2023, 6, 1), null
         );
         EmployeeDTO savedEmployee = new EmployeeDTO(
                 2L, "Jane", "Smith", "jane.smith@example.com",
-                Department.MARKETING, new BigDecimal("65000.00"), LocalDate.of(2023, 6, 1)
+                Department.MARKETING, new BigDecimal("65000.00"), LocalDate.of(2023, 6, 1), 0L
         );
 
         when(employeeService.createEmployee(any(EmployeeDTO.class))).thenReturn(savedEmployee);
@@ -128,17 +326,119 @@ class EmployeeControllerTest {
                 .andExpect(jsonPath("$.message").value("Employee with email 'john.doe@example.com' already exists"));
     }
 
+    @Test
+    void createEmployeesBatch_ReturnsPerRowReport() throws Exception {
+        BatchResultDTO report = new BatchResultDTO(1, 1, 0, 0,
+                List.of(new BatchRowResultDTO(0, BatchRowStatus.CREATED, 2L, "john.doe@example.com", null)));
+        when(employeeBatchService.importEmployees(anyList(), eq(BatchMode.UPSERT))).thenReturn(report);
+
+        mockMvc.perform(post("/api/employees/batch")
+                        .param("mode", "upsert")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(employeeDTO))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created", is(1)))
+                .andExpect(jsonPath("$.rows[0].status", is("CREATED")))
+                .andExpect(jsonPath("$.rows[0].id", is(2)));
+    }
+
+    @Test
+    void createEmployeesBatch_WithNdjsonBody_UsesStreamingImport() throws Exception {
+        when(employeeBatchService.importNdjson(any(), eq(BatchMode.CREATE)))
+                .thenReturn(new BatchResultDTO(0, 0, 0, 0, List.of()));
+
+        mockMvc.perform(post("/api/employees/batch")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(objectMapper.writeValueAsString(employeeDTO) + "\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", is(0)));
+    }
+
     @Test
     void updateEmployee_WhenExists_ReturnsUpdatedEmployee() throws Exception {
-        when(employeeService.updateEmployee(eq(1L), any(EmployeeDTO.class))).thenReturn(employeeDTO);
+        when(employeeService.updateEmployee(eq(1L), any(EmployeeDTO.class), isNull())).thenReturn(employeeDTO);
 
         mockMvc.perform(put("/api/employees/1")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(employeeDTO)))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, startsWith("\"3-")))
                 .andExpect(jsonPath("$.firstName", is("John")));
     }
 
+    @Test
+    void updateEmployee_WithIfMatch_UpdatesOnlyThatVersion() throws Exception {
+        when(employeeService.updateEmployee(eq(1L), any(EmployeeDTO.class), eq(2L))).thenReturn(employeeDTO);
+
+        mockMvc.perform(put("/api/employees/1")
+                        .header(HttpHeaders.IF_MATCH, "\"2-1a2b3c\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(employeeDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version", is(3)));
+    }
+
+    @Test
+    void updateEmployee_WhenVersionHasChanged_Returns412() throws Exception {
+        when(employeeService.updateEmployee(eq(1L), any(EmployeeDTO.class), eq(2L)))
+                .thenThrow(new EmployeeVersionMismatchException(1L));
+
+        mockMvc.perform(put("/api/employees/1")
+                        .header(HttpHeaders.IF_MATCH, "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(employeeDTO)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.message").value("Employee with id 1 has changed since it was read"));
+    }
+
+    @Test
+    void updateEmployee_WithWeakIfMatch_Returns412WithoutUpdating() throws Exception {
+        mockMvc.perform(put("/api/employees/1")
+                        .header(HttpHeaders.IF_MATCH, "W/\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(employeeDTO)))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(employeeService, never()).updateEmployee(any(), any(), any());
+    }
+
+    @Test
+    void updateEmployee_WhenConcurrentWriteWins_Returns412() throws Exception {
+        when(employeeService.updateEmployee(eq(1L), any(EmployeeDTO.class), isNull()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Employee.class, 1L));
+
+        mockMvc.perform(put("/api/employees/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(employeeDTO)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void patchEmployee_ReturnsNewETag() throws Exception {
+        when(employeeService.patchEmployee(eq(1L),
+                argThat(patch -> new BigDecimal("80000").equals(patch.getSalary()) && patch.getEmail() == null),
+                eq(3L))).thenReturn(4L);
+
+        mockMvc.perform(patch("/api/employees/1")
+                        .header(HttpHeaders.IF_MATCH, "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"salary\": 80000}"))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string(HttpHeaders.ETAG, startsWith("\"4-")));
+    }
+
+    @Test
+    void patchEmployee_WithInvalidField_Returns400() throws Exception {
+        mockMvc.perform(patch("/api/employees/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"salary\": -1, \"lastName\": \" \"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.salary").exists())
+                .andExpect(jsonPath("$.errors.lastName").exists());
+
+        verify(employeeService, never()).patchEmployee(any(), any(), any());
+    }
+
     @Test
     void deleteEmployee_WhenExists_Returns204() throws Exception {
         mockMvc.perform(delete("/api/employees/1"))
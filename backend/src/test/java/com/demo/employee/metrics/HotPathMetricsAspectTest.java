@@ -0,0 +1,134 @@
+package com.demo.employee.metrics;
+
+import com.demo.employee.config.CacheConfig;
+import com.demo.employee.config.MetricsConfig;
+import com.demo.employee.model.Department;
+import com.demo.employee.model.Employee;
+import com.demo.employee.repository.EmployeeRepository;
+import com.demo.employee.service.DepartmentRollupService;
+import com.demo.employee.service.EmployeeService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.test.util.AopTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.when;
+
+@SpringJUnitConfig({HotPathMetricsAspectTest.AopConfig.class, CacheConfig.class, MetricsConfig.class,
+        HotPathMetricsAspect.class, EmployeeService.class})
+class HotPathMetricsAspectTest {
+
+    @Configuration
+    @EnableAspectJAutoProxy
+    static class AopConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        // A plain bean rather than @MockitoBean so the aspect proxies it like a Spring Data repository
+        @Bean
+        EmployeeRepository employeeRepository() {
+            return mock(EmployeeRepository.class);
+        }
+    }
+
+    @MockitoBean
+    private DepartmentRollupService departmentRollup;
+
+    @Autowired
+    private EmployeeRepository repositoryProxy;
+
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        employeeRepository = AopTestUtils.getUltimateTargetObject(repositoryProxy);
+        reset(employeeRepository);
+        meterRegistry.clear();
+        employee = new Employee(1L, "John", "Doe", "john.doe@example.com",
+                Department.ENGINEERING, new BigDecimal("75000.00"), LocalDate.of(2023, 1, 15), 0L);
+    }
+
+    @Test
+    void cacheableCall_IsTaggedMissThenHit() {
+        when(employeeRepository.findByDepartment(Department.ENGINEERING)).thenReturn(List.of(employee));
+
+        employeeService.getEmployeesByDepartment(Department.ENGINEERING);
+        employeeService.getEmployeesByDepartment(Department.ENGINEERING);
+
+        assertThat(serviceTimer("getEmployeesByDepartment", "miss").count()).isEqualTo(1);
+        assertThat(serviceTimer("getEmployeesByDepartment", "hit").count()).isEqualTo(1);
+        assertThat(serviceTimer("getEmployeesByDepartment", "hit").getId().getTag("department"))
+                .isEqualTo("ENGINEERING");
+        assertThat(serviceTimer("getEmployeesByDepartment", "hit").getId().getTag("result.size")).isEqualTo("1");
+    }
+
+    @Test
+    void repositoryCall_IsTimedWithInterfaceName() {
+        when(employeeRepository.findByDepartment(Department.SALES)).thenReturn(List.of());
+
+        employeeService.getEmployeesByDepartment(Department.SALES);
+
+        Timer timer = meterRegistry.get(HotPathMetricsAspect.REPOSITORY_TIMER)
+                .tag("repository", "EmployeeRepository")
+                .tag("method", "findByDepartment")
+                .tag("department", "SALES")
+                .timer();
+        assertThat(timer.getId().getTag("result.size")).isNull();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+
+    @Test
+    void failedCall_IsTaggedError() {
+        when(employeeRepository.findById(42L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> employeeService.getEmployeeById(42L)).isInstanceOf(RuntimeException.class);
+
+        Timer timer = meterRegistry.get(HotPathMetricsAspect.SERVICE_TIMER)
+                .tag("method", "getEmployeeById")
+                .tag("outcome", "error")
+                .tag("cache", "miss")
+                .timer();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+
+    private Timer serviceTimer(String method, String cache) {
+        return meterRegistry.get(HotPathMetricsAspect.SERVICE_TIMER)
+                .tag("class", "EmployeeService")
+                .tag("method", method)
+                .tag("cache", cache)
+                .timer();
+    }
+}
@@ -0,0 +1,215 @@
+package com.demo.employee.service;
+
+import com.demo.employee.model.Department;
+import com.demo.employee.model.DepartmentRollup;
+import com.demo.employee.model.Employee;
+import com.demo.employee.repository.DepartmentRollupRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class DepartmentRollupServiceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private DepartmentRollupRepository rollupRepository;
+    private DepartmentRollupService rollupService;
+    private TransactionTemplate transaction;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:rollup-" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("""
+                CREATE TABLE employees (id BIGINT AUTO_INCREMENT PRIMARY KEY, department VARCHAR(32) NOT NULL,
+                    salary DECIMAL(10, 2) NOT NULL, hire_date DATE NOT NULL)""");
+        jdbcTemplate.execute("""
+                CREATE TABLE department_rollup (department VARCHAR(32) PRIMARY KEY, employee_count BIGINT NOT NULL,
+                    salary_total_cents BIGINT NOT NULL, salary_squares_cents DECIMAL(38, 0) NOT NULL,
+                    min_salary_cents BIGINT, max_salary_cents BIGINT)""");
+        jdbcTemplate.execute("""
+                CREATE TABLE department_hire_months (department VARCHAR(32), hire_month DATE,
+                    employee_count BIGINT NOT NULL, PRIMARY KEY (department, hire_month))""");
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        transaction = new TransactionTemplate(transactionManager);
+        registry = new SimpleMeterRegistry();
+        rollupRepository = new DepartmentRollupRepository(new NamedParameterJdbcTemplate(jdbcTemplate));
+        rollupService = new DepartmentRollupService(rollupRepository, mock(EntityManager.class), transactionManager,
+                registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("SHUTDOWN");
+    }
+
+    @Test
+    void reconcile_OnFirstRun_FillsTablesFromEmployees() {
+        insert(Department.SALES, "100.00", LocalDate.of(2024, 3, 5));
+        insert(Department.SALES, "300.50", LocalDate.of(2024, 3, 20));
+
+        assertThat(rollupService.reconcile()).isZero();
+
+        assertThat(rollup(Department.SALES)).isEqualTo(new DepartmentRollup(Department.SALES, 2, 40050,
+                BigInteger.valueOf(10000L * 10000 + 30050L * 30050), 10000L, 30050L));
+        assertThat(rollup(Department.HUMAN_RESOURCES)).isEqualTo(DepartmentRollup.empty(Department.HUMAN_RESOURCES));
+        assertThat(rollupRepository.findHireMonths()).hasSize(1).containsValue(2L);
+    }
+
+    @Test
+    void writes_WhenCurrentMinimumRemoved_RecomputeItFromEmployees() {
+        long cheapest = insert(Department.SALES, "100.00", LocalDate.of(2024, 3, 5));
+        insert(Department.SALES, "100.00", LocalDate.of(2024, 3, 6));
+        insert(Department.SALES, "250.00", LocalDate.of(2024, 4, 1));
+        rollupService.reconcile();
+
+        transaction.executeWithoutResult(status -> delete(cheapest));
+        assertThat(rollup(Department.SALES).getMinSalaryCents()).isEqualTo(10000L);
+        assertThat(registry.get("employee.rollup.extremes.recomputed").counter().count()).isEqualTo(1);
+
+        transaction.executeWithoutResult(status -> delete(jdbcTemplate.queryForObject(
+                "SELECT id FROM employees WHERE salary = 100", Long.class)));
+        assertThat(rollup(Department.SALES).getMinSalaryCents()).isEqualTo(25000L);
+        assertThat(rollup(Department.SALES).getEmployeeCount()).isEqualTo(1);
+    }
+
+    @Test
+    void writes_WhenRolledBack_LeaveRollupAlone() {
+        insert(Department.HUMAN_RESOURCES, "500.00", LocalDate.of(2023, 1, 1));
+        rollupService.reconcile();
+        DepartmentRollup before = rollup(Department.HUMAN_RESOURCES);
+
+        transaction.executeWithoutResult(status -> {
+            add(Department.HUMAN_RESOURCES, "900.00", LocalDate.of(2023, 2, 1));
+            status.setRollbackOnly();
+        });
+
+        assertThat(rollup(Department.HUMAN_RESOURCES)).isEqualTo(before);
+    }
+
+    @Test
+    void writes_HireDateOnlyChange_MovesTheHireMonth() {
+        long id = insert(Department.SALES, "100.00", LocalDate.of(2024, 3, 5));
+        rollupService.reconcile();
+        DepartmentRollup before = rollup(Department.SALES);
+
+        transaction.executeWithoutResult(status -> update(id, Department.SALES, "100.00", LocalDate.of(2024, 5, 1)));
+
+        assertThat(rollup(Department.SALES)).isEqualTo(before);
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT hire_month FROM department_hire_months WHERE employee_count > 0", LocalDate.class))
+                .containsExactly(LocalDate.of(2024, 5, 1));
+        assertThat(rollupService.reconcile()).isZero();
+    }
+
+    @Test
+    void writes_RandomCreatesUpdatesAndDeletes_MatchRecomputation() {
+        rollupService.reconcile();
+        Random random = new Random(42);
+        List<Long> ids = new ArrayList<>();
+        Department[] departments = Department.values();
+        for (int round = 0; round < 200; round++) {
+            transaction.executeWithoutResult(status -> {
+                for (int op = random.nextInt(3) + 1; op > 0; op--) {
+                    int choice = random.nextInt(3);
+                    Department department = departments[random.nextInt(departments.length)];
+                    String salary = (random.nextInt(20) + 1) * 50 + "." + random.nextInt(10) + "5";
+                    LocalDate hireDate = LocalDate.of(2020 + random.nextInt(3), random.nextInt(12) + 1, 1);
+                    if (choice == 0 || ids.isEmpty()) {
+                        ids.add(add(department, salary, hireDate));
+                    } else if (choice == 1) {
+                        update(ids.get(random.nextInt(ids.size())), department, salary, hireDate);
+                    } else {
+                        delete(ids.remove(random.nextInt(ids.size())));
+                    }
+                }
+            });
+        }
+
+        assertThat(rollupService.reconcile()).isZero();
+        assertThat(registry.get("employee.rollup.repairs").tag("table", "department_rollup").counter().count())
+                .isZero();
+    }
+
+    @Test
+    void reconcile_WhenRowsDrifted_RepairsThem() {
+        insert(Department.FINANCE, "1000.00", LocalDate.of(2022, 6, 15));
+        rollupService.reconcile();
+        jdbcTemplate.update("UPDATE department_rollup SET employee_count = 7 WHERE department = 'FINANCE'");
+        jdbcTemplate.update("UPDATE department_hire_months SET employee_count = 3");
+
+        assertThat(rollupService.reconcile()).isEqualTo(2);
+
+        assertThat(rollup(Department.FINANCE).getEmployeeCount()).isEqualTo(1);
+        assertThat(rollupRepository.findHireMonths()).containsValue(1L);
+        assertThat(registry.get("employee.rollup.repairs").tag("table", "department_rollup").counter().count())
+                .isEqualTo(1);
+    }
+
+    private long add(Department department, String salary, LocalDate hireDate) {
+        long id = insert(department, salary, hireDate);
+        rollupService.employeeAdded(employee(department, salary, hireDate));
+        return id;
+    }
+
+    private void update(long id, Department department, String salary, LocalDate hireDate) {
+        rollupService.employeesRemoved(List.of(id));
+        jdbcTemplate.update("UPDATE employees SET department = ?, salary = ?, hire_date = ? WHERE id = ?",
+                department.name(), new BigDecimal(salary), Date.valueOf(hireDate), id);
+        rollupService.employeeAdded(employee(department, salary, hireDate));
+    }
+
+    private void delete(long id) {
+        rollupService.employeesRemoved(List.of(id));
+        jdbcTemplate.update("DELETE FROM employees WHERE id = ?", id);
+    }
+
+    private long insert(Department department, String salary, LocalDate hireDate) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO employees (department, salary, hire_date) VALUES (?, ?, ?)", new String[]{"id"});
+            statement.setString(1, department.name());
+            statement.setBigDecimal(2, new BigDecimal(salary));
+            statement.setDate(3, Date.valueOf(hireDate));
+            return statement;
+        }, keys);
+        return keys.getKey().longValue();
+    }
+
+    private DepartmentRollup rollup(Department department) {
+        return rollupRepository.findForUpdate(List.of(department)).getFirst();
+    }
+
+    private static Employee employee(Department department, String salary, LocalDate hireDate) {
+        Employee employee = new Employee();
+        employee.setDepartment(department);
+        employee.setSalary(new BigDecimal(salary));
+        employee.setHireDate(hireDate);
+        return employee;
+    }
+}
@@ -0,0 +1,176 @@
+package com.demo.employee.service;
+
+import com.demo.employee.config.CacheConfig;
+import com.demo.employee.dto.BatchMode;
+import com.demo.employee.dto.BatchResultDTO;
+import com.demo.employee.dto.BatchRowStatus;
+import com.demo.employee.dto.EmployeeDTO;
+import com.demo.employee.event.ChangeType;
+import com.demo.employee.event.EmployeeChangedEvent;
+import com.demo.employee.exception.InvalidBatchRequestException;
+import com.demo.employee.model.Department;
+import com.demo.employee.model.Employee;
+import com.demo.employee.repository.EmployeeBatchRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeBatchServiceTest {
+
+    @Mock
+    private EmployeeBatchRepository batchRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private DepartmentRollupService departmentRollup;
+
+    private EmployeeBatchService batchService;
+
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager(CacheConfig.EMPLOYEES, CacheConfig.EMPLOYEES_BY_DEPARTMENT);
+        batchService = new EmployeeBatchService(
+                batchRepository,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new TransactionTemplate(transactionManager),
+                JsonMapper.builder().build(),
+                cacheManager,
+                eventPublisher,
+                departmentRollup);
+    }
+
+    @Test
+    void importEmployees_ReportsCreatedInvalidAndDuplicateRows() {
+        when(batchRepository.findIdsByEmail(any()))
+                .thenReturn(Map.of("taken@example.com", 5L))
+                .thenReturn(Map.of("new@example.com", 10L));
+
+        EmployeeDTO invalid = employee("bad@example.com");
+        invalid.setSalary(new BigDecimal("-1"));
+
+        BatchResultDTO result = batchService.importEmployees(List.of(
+                employee("new@example.com"),
+                invalid,
+                employee("NEW@example.com"),
+                employee("taken@example.com")
+        ), BatchMode.CREATE);
+
+        assertThat(result.getTotal()).isEqualTo(4);
+        assertThat(result.getCreated()).isEqualTo(1);
+        assertThat(result.getRejected()).isEqualTo(3);
+        assertThat(result.getRows()).extracting("status").containsExactly(
+                BatchRowStatus.CREATED, BatchRowStatus.INVALID, BatchRowStatus.DUPLICATE, BatchRowStatus.DUPLICATE);
+        assertThat(result.getRows().get(0).getId()).isEqualTo(10L);
+        assertThat(result.getRows().get(1).getMessage()).isEqualTo("salary: Salary must be positive");
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Employee>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(batchRepository).insertAll(inserted.capture(), eq(false));
+        assertThat(inserted.getValue()).extracting(Employee::getEmail).containsExactly("new@example.com");
+        assertThat(inserted.getValue().get(0).getFirstName()).isEqualTo("Jane");
+    }
+
+    @Test
+    void importEmployees_InUpsertMode_ReportsExistingEmailsAsUpdated() {
+        when(batchRepository.findIdsByEmail(any())).thenReturn(Map.of("taken@example.com", 5L));
+
+        cacheManager.getCache(CacheConfig.EMPLOYEES).put(5L, employee("taken@example.com"));
+        cacheManager.getCache(CacheConfig.EMPLOYEES_BY_DEPARTMENT).put(Department.MARKETING, List.of());
+
+        BatchResultDTO result = batchService.importEmployees(
+                List.of(employee("taken@example.com")), BatchMode.UPSERT);
+
+        assertThat(cacheManager.getCache(CacheConfig.EMPLOYEES).get(5L)).isNull();
+        assertThat(cacheManager.getCache(CacheConfig.EMPLOYEES_BY_DEPARTMENT).get(Department.MARKETING)).isNull();
+        assertThat(result.getUpdated()).isEqualTo(1);
+        verify(eventPublisher).publishEvent(new EmployeeChangedEvent(ChangeType.UPDATED, 5L));
+        assertThat(result.getRows().get(0).getStatus()).isEqualTo(BatchRowStatus.UPDATED);
+        assertThat(result.getRows().get(0).getId()).isEqualTo(5L);
+        verify(batchRepository).insertAll(any(), eq(true));
+        verify(departmentRollup).employeesRemoved(List.of(5L));
+        verify(departmentRollup).employeeAdded(any(Employee.class));
+    }
+
+    @Test
+    void importEmployees_SplitsLargeBatchesIntoChunks() {
+        List<Collection<String>> lookups = new ArrayList<>();
+        when(batchRepository.findIdsByEmail(any())).thenAnswer(invocation -> {
+            lookups.add(new ArrayList<>(invocation.<Collection<String>>getArgument(0)));
+            return Map.of();
+        });
+        List<EmployeeDTO> employees = IntStream.range(0, EmployeeBatchService.CHUNK_SIZE + 1)
+                .mapToObj(i -> employee("user" + i + "@example.com"))
+                .toList();
+
+        BatchResultDTO result = batchService.importEmployees(employees, BatchMode.CREATE);
+
+        assertThat(result.getCreated()).isEqualTo(EmployeeBatchService.CHUNK_SIZE + 1);
+        verify(batchRepository, times(2)).insertAll(any(), anyBoolean());
+        // one duplicate check and one id lookup per chunk
+        assertThat(lookups).hasSize(4);
+        assertThat(lookups.get(0)).hasSize(EmployeeBatchService.CHUNK_SIZE);
+    }
+
+    @Test
+    void importNdjson_ReadsOneEmployeePerLine() {
+        when(batchRepository.findIdsByEmail(any())).thenReturn(Map.of());
+        String body = """
+                {"firstName":"jane","lastName":"doe","email":"a@example.com","department":"SALES","salary":1000,"hireDate":"2024-01-02"}
+                {"firstName":"john","lastName":"doe","email":"b@example.com","department":"IT","salary":2000,"hireDate":"2024-01-03"}
+                """;
+
+        BatchResultDTO result = batchService.importNdjson(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), BatchMode.CREATE);
+
+        assertThat(result.getTotal()).isEqualTo(2);
+        assertThat(result.getCreated()).isEqualTo(2);
+    }
+
+    @Test
+    void importNdjson_WhenMalformed_ThrowsException() {
+        assertThatThrownBy(() -> batchService.importNdjson(
+                new ByteArrayInputStream("{not json".getBytes(StandardCharsets.UTF_8)), BatchMode.CREATE))
+                .isInstanceOf(InvalidBatchRequestException.class);
+        verifyNoInteractions(batchRepository);
+    }
+
+    private EmployeeDTO employee(String email) {
+        return new EmployeeDTO(null, "jane", "smith", email, Department.MARKETING,
+                new BigDecimal("65000.00"), LocalDate.of(2023, 6, 1), null);
+    }
+}
@@ -0,0 +1,179 @@
+package com.demo.employee.service;
+
+import com.demo.employee.config.EmployeeChangesProperties;
+import com.demo.employee.dto.EmployeeChangesDTO;
+import com.demo.employee.event.ChangeType;
+import com.demo.employee.event.EmployeeChangedEvent;
+import com.demo.employee.exception.ChangeLogTruncatedException;
+import com.demo.employee.exception.InvalidPageRequestException;
+import com.demo.employee.model.Department;
+import com.demo.employee.model.EmployeeChange;
+import com.demo.employee.repository.EmployeeChangeRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeChangeFeedServiceTest {
+
+    @Mock
+    private EmployeeChangeRepository changeRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private final EmployeeChangesProperties properties = new EmployeeChangesProperties();
+
+    private EmployeeChangeFeedService changeFeedService;
+
+    @BeforeEach
+    void setUp() {
+        changeFeedService = new EmployeeChangeFeedService(changeRepository, entityManager, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void onEmployeeChanged_InTransaction_AppendsOncePerEmployeeBeforeCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        when(changeRepository.findExistingEmployeeIds(Set.of(1L, 2L, 3L))).thenReturn(Set.of(1L, 2L));
+
+        changeFeedService.onEmployeeChanged(new EmployeeChangedEvent(ChangeType.CREATED, 1L));
+        changeFeedService.onEmployeeChanged(new EmployeeChangedEvent(ChangeType.UPDATED, 2L));
+        changeFeedService.onEmployeeChanged(new EmployeeChangedEvent(ChangeType.UPDATED, 1L));
+        changeFeedService.onEmployeeChanged(new EmployeeChangedEvent(ChangeType.DELETED, 3L));
+        verifyNoInteractions(changeRepository);
+
+        commitTransaction();
+
+        InOrder order = inOrder(entityManager, changeRepository);
+        order.verify(entityManager).flush();
+        order.verify(changeRepository).findExistingEmployeeIds(Set.of(1L, 2L, 3L));
+        verify(changeRepository).append(ChangeType.CREATED, List.of(1L));
+        verify(changeRepository).append(ChangeType.UPDATED, List.of(2L));
+        verify(changeRepository).appendTombstones(List.of(3L));
+        assertThat(TransactionSynchronizationManager.getResource(changeFeedService)).isNull();
+    }
+
+    @Test
+    void onEmployeeChanged_CreatedThenDeletedInTransaction_AppendsTombstone() {
+        TransactionSynchronizationManager.initSynchronization();
+        when(changeRepository.findExistingEmployeeIds(Set.of(5L))).thenReturn(Set.of());
+
+        changeFeedService.onEmployeeChanged(new EmployeeChangedEvent(ChangeType.CREATED, 5L));
+        changeFeedService.onEmployeeChanged(new EmployeeChangedEvent(ChangeType.DELETED, 5L));
+        commitTransaction();
+
+        verify(changeRepository).append(ChangeType.CREATED, List.of());
+        verify(changeRepository).appendTombstones(List.of(5L));
+    }
+
+    @Test
+    void onEmployeeChanged_WithoutTransaction_AppendsImmediately() {
+        when(changeRepository.findExistingEmployeeIds(Set.of(7L))).thenReturn(Set.of(7L));
+
+        changeFeedService.onEmployeeChanged(new EmployeeChangedEvent(ChangeType.UPDATED, 7L));
+
+        verify(changeRepository).append(ChangeType.UPDATED, List.of(7L));
+        verify(entityManager, never()).flush();
+    }
+
+    @Test
+    void getChanges_ReturnsPageWithNextCheckpoint() {
+        when(changeRepository.findOldestSeq()).thenReturn(1L);
+        when(changeRepository.findAfter(10L, properties.getSettleWindow(), 3))
+                .thenReturn(List.of(change(11L, ChangeType.CREATED), change(12L, ChangeType.DELETED),
+                        change(13L, ChangeType.UPDATED)));
+
+        EmployeeChangesDTO page = changeFeedService.getChanges(10L, 2);
+
+        assertThat(page.getChanges()).extracting("seq").containsExactly(11L, 12L);
+        assertThat(page.getChanges().get(0).getEmployee().getEmail()).isEqualTo("john.doe@example.com");
+        assertThat(page.getChanges().get(1).getEmployee()).isNull();
+        assertThat(page.getNextSince()).isEqualTo(12L);
+        assertThat(page.isHasMore()).isTrue();
+    }
+
+    @Test
+    void getChanges_WhenNothingNew_KeepsCheckpoint() {
+        when(changeRepository.findOldestSeq()).thenReturn(null);
+        when(changeRepository.findAfter(eq(40L), any(), eq(501))).thenReturn(List.of());
+
+        EmployeeChangesDTO page = changeFeedService.getChanges(40L, 500);
+
+        assertThat(page.getChanges()).isEmpty();
+        assertThat(page.getNextSince()).isEqualTo(40L);
+        assertThat(page.isHasMore()).isFalse();
+    }
+
+    @Test
+    void getChanges_WhenCheckpointPruned_ThrowsTruncated() {
+        when(changeRepository.findOldestSeq()).thenReturn(100L);
+
+        assertThat(changeFeedService.getChanges(99L, 10)).isNotNull();
+        assertThatThrownBy(() -> changeFeedService.getChanges(98L, 10))
+                .isInstanceOf(ChangeLogTruncatedException.class);
+    }
+
+    @Test
+    void getChanges_WithNegativeSince_ThrowsInvalidPage() {
+        assertThatThrownBy(() -> changeFeedService.getChanges(-1L, 10))
+                .isInstanceOf(InvalidPageRequestException.class);
+        verify(changeRepository, never()).findAfter(anyLong(), any(), anyInt());
+    }
+
+    private static EmployeeChange change(long seq, ChangeType operation) {
+        EmployeeChange change = new EmployeeChange();
+        change.setSeq(seq);
+        change.setEmployeeId(seq * 10);
+        change.setOperation(operation);
+        change.setChangedAt(LocalDateTime.of(2024, 3, 1, 9, 30));
+        if (operation != ChangeType.DELETED) {
+            change.setFirstName("John");
+            change.setLastName("Doe");
+            change.setEmail("john.doe@example.com");
+            change.setDepartment(Department.ENGINEERING);
+            change.setSalary(new BigDecimal("75000.00"));
+            change.setHireDate(LocalDate.of(2023, 1, 15));
+        }
+        return change;
+    }
+
+    private void commitTransaction() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(sync -> sync.beforeCommit(false));
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    }
+}
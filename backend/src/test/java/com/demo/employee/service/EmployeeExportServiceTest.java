@@ -0,0 +1,115 @@
+package com.demo.employee.service;
+
+import com.demo.employee.dto.EmployeeDTO;
+import com.demo.employee.dto.EmployeeFilter;
+import com.demo.employee.dto.ExportFormat;
+import com.demo.employee.model.Department;
+import com.demo.employee.model.Employee;
+import com.demo.employee.repository.EmployeeRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeExportServiceTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private EmployeeExportService exportService;
+
+    private Employee john;
+    private Employee jane;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new EmployeeExportService(employeeRepository, entityManager,
+                JsonMapper.builder().build(), CBORMapper.builder().build());
+
+        john = new Employee(1L, "John", "Doe", "john.doe@example.com",
+                Department.ENGINEERING, new BigDecimal("75000.00"), LocalDate.of(2023, 1, 15), 0L);
+        jane = new Employee(2L, "Jane", "O\"Neil, Jr", "jane@example.com",
+                Department.SALES, new BigDecimal("65000.50"), LocalDate.of(2022, 6, 1), 0L);
+    }
+
+    @Test
+    void export_AsNdjson_WritesOneObjectPerLineAndDetachesRows() throws Exception {
+        when(employeeRepository.streamAll(isNull(), isNull(), isNull(), isNull(), isNull()))
+                .thenReturn(Stream.of(john, jane));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = exportService.export(new EmployeeFilter(), ExportFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(rows).isEqualTo(2);
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).startsWith("{\"id\":1,").contains("\"hireDate\":\"2023-01-15\"");
+        assertThat(lines[1]).startsWith("{\"id\":2,").contains("\"department\":\"SALES\"");
+        assertThat(out.toString(StandardCharsets.UTF_8)).endsWith("}\n");
+        verify(entityManager).detach(john);
+        verify(entityManager).detach(jane);
+    }
+
+    @Test
+    void export_AsCborSequence_WritesOneItemPerEmployee() throws Exception {
+        when(employeeRepository.streamAll(isNull(), isNull(), isNull(), isNull(), isNull()))
+                .thenReturn(Stream.of(john, jane));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = exportService.export(new EmployeeFilter(), ExportFormat.CBOR, out);
+
+        List<EmployeeDTO> decoded;
+        try (MappingIterator<EmployeeDTO> items = CBORMapper.builder().build()
+                .readerFor(EmployeeDTO.class).readValues(out.toByteArray())) {
+            decoded = items.readAll();
+        }
+        assertThat(rows).isEqualTo(2);
+        assertThat(decoded).containsExactly(EmployeeService.toDTO(john), EmployeeService.toDTO(jane));
+    }
+
+    @Test
+    void export_AsCsv_WritesHeaderAndQuotesSpecialCharacters() throws Exception {
+        when(employeeRepository.streamAll(eq(Department.SALES), any(), any(), any(), any()))
+                .thenReturn(Stream.of(jane));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        EmployeeFilter filter = new EmployeeFilter(Department.SALES, null, null, null, null);
+
+        exportService.export(filter, ExportFormat.CSV, out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "id,firstName,lastName,email,department,salary,hireDate\n"
+                        + "2,Jane,\"O\"\"Neil, Jr\",jane@example.com,SALES,65000.50,2022-06-01\n");
+    }
+
+    @Test
+    void export_WhenTableEmpty_WritesNothing() throws Exception {
+        when(employeeRepository.streamAll(any(), any(), any(), any(), any())).thenReturn(Stream.empty());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = exportService.export(new EmployeeFilter(), ExportFormat.NDJSON, out);
+
+        assertThat(rows).isZero();
+        assertThat(out.size()).isZero();
+    }
+}
@@ -0,0 +1,83 @@
+package com.demo.employee.service;
+
+import com.demo.employee.dto.EmployeeDTO;
+import com.demo.employee.model.Department;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmployeeSearchIndexTest {
+
+    private EmployeeSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new EmployeeSearchIndex();
+        index.put(employee(1L, "John", "Doe", "john.doe@example.com"));
+        index.put(employee(2L, "Johnny", "Smith", "jsmith@example.com"));
+        index.put(employee(3L, "Alice", "Johnson", "alice.j@example.com"));
+        index.put(employee(4L, "Zoë", "Müller", "zoe.mueller@example.com"));
+    }
+
+    @Test
+    void search_RanksExactThenPrefixThenInfix() {
+        assertThat(ids(index.search("john", 10))).containsExactly(1L, 2L, 3L);
+        assertThat(ids(index.search("ohn", 10))).containsExactly(1L, 2L, 3L);
+        assertThat(ids(index.search("son", 10))).containsExactly(3L);
+    }
+
+    @Test
+    void search_RequiresEveryTermToMatch() {
+        assertThat(ids(index.search("jo do", 10))).containsExactly(1L);
+        assertThat(ids(index.search("john smith", 10))).containsExactly(2L);
+        assertThat(index.search("john zzz", 10)).isEmpty();
+    }
+
+    @Test
+    void search_MatchesEmailLocalPartAndIgnoresDomain() {
+        assertThat(ids(index.search("jsmith@exam", 10))).containsExactly(2L);
+        assertThat(index.search("example", 10)).isEmpty();
+    }
+
+    @Test
+    void search_FoldsCaseAndAccents() {
+        assertThat(ids(index.search("ZOE mull", 10))).containsExactly(4L);
+    }
+
+    @Test
+    void search_ShortTermsOnlyMatchPrefixes() {
+        assertThat(index.search("oh", 10)).isEmpty();
+    }
+
+    @Test
+    void search_AppliesLimit() {
+        assertThat(ids(index.search("jo", 2))).containsExactly(1L, 2L);
+        assertThat(index.search("jo", 0)).isEmpty();
+        assertThat(index.search("  @ ", 10)).isEmpty();
+    }
+
+    @Test
+    void put_ReplacesPreviousTokensAndRemoveDropsEmployee() {
+        index.put(employee(1L, "Jane", "Doe", "jane.doe@example.com"));
+        index.remove(3L);
+
+        assertThat(ids(index.search("john", 10))).containsExactly(2L);
+        assertThat(ids(index.search("jane", 10))).containsExactly(1L);
+        assertThat(index.search("alice", 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    private static List<Long> ids(List<EmployeeDTO> employees) {
+        return employees.stream().map(EmployeeDTO::getId).toList();
+    }
+
+    private static EmployeeDTO employee(Long id, String firstName, String lastName, String email) {
+        return new EmployeeDTO(id, firstName, lastName, email, Department.ENGINEERING,
+                new BigDecimal("75000.00"), LocalDate.of(2023, 1, 15), 0L);
+    }
+}
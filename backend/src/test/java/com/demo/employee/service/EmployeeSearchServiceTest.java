@@ -0,0 +1,137 @@
+package com.demo.employee.service;
+
+import com.demo.employee.cache.CacheInvalidation;
+import com.demo.employee.cache.CacheInvalidationBus;
+import com.demo.employee.config.EmployeeSearchProperties;
+import com.demo.employee.dto.EmployeeDTO;
+import com.demo.employee.event.ChangeType;
+import com.demo.employee.event.EmployeeChangedEvent;
+import com.demo.employee.exception.InvalidPageRequestException;
+import com.demo.employee.model.Department;
+import com.demo.employee.model.Employee;
+import com.demo.employee.repository.EmployeeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeSearchServiceTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private CacheInvalidationBus bus;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private EmployeeSearchService searchService;
+
+    @BeforeEach
+    void setUp() {
+        searchService = new EmployeeSearchService(employeeRepository, entityManager, bus,
+                new EmployeeSearchProperties(), transactionManager, new SimpleMeterRegistry());
+        when(employeeRepository.streamAll(null, null, null, null, null))
+                .thenReturn(Stream.of(employee(1L, "John", "Doe"), employee(2L, "Jane", "Roe")));
+        searchService.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void rebuild_IndexesEveryEmployee() {
+        assertThat(ids(searchService.search("j", 10))).containsExactly(1L, 2L);
+        verify(entityManager, times(2)).detach(any(Employee.class));
+    }
+
+    @Test
+    void onEmployeeChanged_InTransaction_UpdatesIndexAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        when(employeeRepository.findAllById(Set.of(1L, 3L))).thenReturn(List.of(employee(3L, "Johan", "Berg")));
+
+        searchService.onEmployeeChanged(new EmployeeChangedEvent(ChangeType.DELETED, 1L));
+        searchService.onEmployeeChanged(new EmployeeChangedEvent(ChangeType.CREATED, 3L));
+        assertThat(ids(searchService.search("jo", 10))).containsExactly(1L);
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertThat(ids(searchService.search("jo", 10))).containsExactly(3L);
+    }
+
+    @Test
+    void onEmployeeChanged_WhenTransactionRollsBack_LeavesIndexAlone() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        searchService.onEmployeeChanged(new EmployeeChangedEvent(ChangeType.DELETED, 1L));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verify(employeeRepository, never()).findAllById(anyCollection());
+        assertThat(ids(searchService.search("john", 10))).containsExactly(1L);
+    }
+
+    @Test
+    void apply_PeerInvalidation_ReloadsThatEmployee() {
+        when(employeeRepository.findAllById(List.of(2L))).thenReturn(List.of(employee(2L, "Janet", "Roe")));
+
+        searchService.apply(new CacheInvalidation(CacheInvalidation.EMPLOYEE, 2L));
+
+        assertThat(ids(searchService.search("janet", 10))).containsExactly(2L);
+    }
+
+    @Test
+    void search_WithOverlongQuery_ThrowsInvalidPage() {
+        assertThatThrownBy(() -> searchService.search("x".repeat(EmployeeSearchService.MAX_QUERY_LENGTH + 1), 10))
+                .isInstanceOf(InvalidPageRequestException.class);
+    }
+
+    private static List<Long> ids(List<EmployeeDTO> employees) {
+        return employees.stream().map(EmployeeDTO::getId).toList();
+    }
+
+    private static Employee employee(Long id, String firstName, String lastName) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setFirstName(firstName);
+        employee.setLastName(lastName);
+        employee.setEmail(firstName.toLowerCase() + "@example.com");
+        employee.setDepartment(Department.ENGINEERING);
+        employee.setSalary(new BigDecimal("75000.00"));
+        employee.setHireDate(LocalDate.of(2023, 1, 15));
+        return employee;
+    }
+}
@@ -0,0 +1,96 @@
+package com.demo.employee.service;
+
+import com.demo.employee.config.CacheConfig;
+import com.demo.employee.dto.EmployeeDTO;
+import com.demo.employee.model.Department;
+import com.demo.employee.model.Employee;
+import com.demo.employee.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig({CacheConfig.class, EmployeeService.class})
+class EmployeeServiceCachingTest {
+
+    @MockitoBean
+    private EmployeeRepository employeeRepository;
+
+    @MockitoBean
+    private DepartmentRollupService departmentRollup;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        employee = new Employee(1L, "John", "Doe", "john.doe@example.com",
+                Department.ENGINEERING, new BigDecimal("75000.00"), LocalDate.of(2023, 1, 15), 0L);
+    }
+
+    @Test
+    void getEmployeeById_SecondCallIsServedFromCache() {
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee));
+
+        employeeService.getEmployeeById(1L);
+        EmployeeDTO cached = employeeService.getEmployeeById(1L);
+
+        assertThat(cached.getEmail()).isEqualTo("john.doe@example.com");
+        verify(employeeRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void getEmployeesByDepartment_SecondCallIsServedFromCache() {
+        when(employeeRepository.findByDepartment(Department.ENGINEERING)).thenReturn(List.of(employee));
+
+        employeeService.getEmployeesByDepartment(Department.ENGINEERING);
+        employeeService.getEmployeesByDepartment(Department.ENGINEERING);
+
+        verify(employeeRepository, times(1)).findByDepartment(Department.ENGINEERING);
+    }
+
+    @Test
+    void updateEmployee_RefreshesCachedEmployeeAndDropsDepartmentLists() {
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee));
+        when(employeeRepository.findByDepartment(any())).thenReturn(List.of(employee));
+        when(employeeRepository.saveAndFlush(any(Employee.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        employeeService.getEmployeeById(1L);
+        employeeService.getEmployeesByDepartment(Department.ENGINEERING);
+
+        employeeService.updateEmployee(1L, new EmployeeDTO(1L, "John", "Doe", "john.doe@example.com",
+                Department.SALES, new BigDecimal("80000.00"), LocalDate.of(2023, 1, 15), null), null);
+
+        assertThat(employeeService.getEmployeeById(1L).getDepartment()).isEqualTo(Department.SALES);
+        employeeService.getEmployeesByDepartment(Department.ENGINEERING);
+        verify(employeeRepository, times(2)).findById(1L);
+        verify(employeeRepository, times(2)).findByDepartment(Department.ENGINEERING);
+    }
+
+    @Test
+    void deleteEmployee_EvictsCachedEmployee() {
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee));
+        when(employeeRepository.existsById(1L)).thenReturn(true);
+        employeeService.getEmployeeById(1L);
+
+        employeeService.deleteEmployee(1L);
+
+        assertThat(cacheManager.getCache(CacheConfig.EMPLOYEES).get(1L)).isNull();
+    }
+}
@@ -1,20 +1,34 @@
 package com.demo.employee.service;
 
 import com.demo.employee.dto.EmployeeDTO;
+import com.demo.employee.dto.EmployeeFilter;
+import com.demo.employee.dto.EmployeePageDTO;
+import com.demo.employee.dto.EmployeePatchDTO;
+import com.demo.employee.dto.EmployeeSort;
+import com.demo.employee.event.ChangeType;
+import com.demo.employee.event.EmployeeChangedEvent;
 import com.demo.employee.exception.DuplicateEmailException;
 import com.demo.employee.exception.EmployeeNotFoundException;
+import com.demo.employee.exception.EmployeeVersionMismatchException;
+import com.demo.employee.exception.InvalidPageRequestException;
 import com.demo.employee.model.Department;
 import com.demo.employee.model.Employee;
 import com.demo.employee.repository.EmployeeRepository;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -22,6 +36,8 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +46,12 @@ class EmployeeServiceTest {
     @Mock
     private EmployeeRepository employeeRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private DepartmentRollupService departmentRollup;
+
     @InjectMocks
     private EmployeeService employeeService;
 
@@ -46,6 +68,7 @@ class EmployeeServiceTest {
         employee.setDepartment(Department.ENGINEERING);
         employee.setSalary(new BigDecimal("75000.00"));
         employee.setHireDate(LocalDate.of(2023, 1, 15));
+        employee.setVersion(3L);
 
         employeeDTO = new EmployeeDTO(
                 null,
@@ -54,19 +77,63 @@ class EmployeeServiceTest {
                 "john.doe@example.com",
                 Department.ENGINEERING,
                 new BigDecimal("75000.00"),
-                LocalDate.of(2023, 1, 15)
+                LocalDate.of(2023, 1, 15),
+                null
         );
     }
 
     @Test
-    void getAllEmployees_ReturnsListOfEmployees() {
-        when(employeeRepository.findAll()).thenReturn(Arrays.asList(employee));
+    void getEmployeePage_WhenMoreRowsExist_ReturnsCursorForNextPage() {
+        Employee second = copyOf(employee, 2L, "Smith");
+        Employee third = copyOf(employee, 3L, "Young");
+        when(employeeRepository.findPageOrderById(isNull(), any(), any(), any(), any(), any(), eq(Limit.of(3))))
+                .thenReturn(List.of(employee, second, third));
 
-        List<EmployeeDTO> result = employeeService.getAllEmployees();
+        EmployeePageDTO page = employeeService.getEmployeePage(new EmployeeFilter(), EmployeeSort.ID, null, 2);
 
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).getEmail()).isEqualTo("john.doe@example.com");
-        verify(employeeRepository).findAll();
+        assertThat(page.getContent()).extracting(EmployeeDTO::getId).containsExactly(1L, 2L);
+        assertThat(page.isHasMore()).isTrue();
+        assertThat(page.getNextCursor()).isNotBlank();
+
+        when(employeeRepository.findPageOrderById(eq(2L), any(), any(), any(), any(), any(), eq(Limit.of(3))))
+                .thenReturn(List.of(third));
+
+        EmployeePageDTO next = employeeService.getEmployeePage(
+                new EmployeeFilter(), EmployeeSort.ID, page.getNextCursor(), 2);
+
+        assertThat(next.getContent()).extracting(EmployeeDTO::getId).containsExactly(3L);
+        assertThat(next.isHasMore()).isFalse();
+        assertThat(next.getNextCursor()).isNull();
+    }
+
+    @Test
+    void getEmployeePage_SortedByLastName_SeeksOnLastNameAndId() {
+        Employee second = copyOf(employee, 7L, "Smith");
+        when(employeeRepository.findPageOrderByLastName(isNull(), isNull(), eq(Department.ENGINEERING),
+                any(), any(), any(), any(), eq(Limit.of(2))))
+                .thenReturn(List.of(employee, second));
+        EmployeeFilter filter = new EmployeeFilter(Department.ENGINEERING, null, null, null, null);
+
+        EmployeePageDTO page = employeeService.getEmployeePage(filter, EmployeeSort.LAST_NAME, null, 1);
+        employeeService.getEmployeePage(filter, EmployeeSort.LAST_NAME, page.getNextCursor(), 1);
+
+        verify(employeeRepository).findPageOrderByLastName(eq("Doe"), eq(1L), eq(Department.ENGINEERING),
+                any(), any(), any(), any(), eq(Limit.of(2)));
+    }
+
+    @Test
+    void getEmployeePage_WithCursorFromOtherSort_ThrowsException() {
+        when(employeeRepository.findPageOrderById(isNull(), any(), any(), any(), any(), any(), any(Limit.class)))
+                .thenReturn(List.of(employee, copyOf(employee, 2L, "Smith")));
+        String idCursor = employeeService.getEmployeePage(new EmployeeFilter(), EmployeeSort.ID, null, 1)
+                .getNextCursor();
+
+        assertThatThrownBy(() -> employeeService.getEmployeePage(
+                new EmployeeFilter(), EmployeeSort.LAST_NAME, idCursor, 1))
+                .isInstanceOf(InvalidPageRequestException.class);
+        assertThatThrownBy(() -> employeeService.getEmployeePage(
+                new EmployeeFilter(), EmployeeSort.ID, "not-a-cursor", 1))
+                .isInstanceOf(InvalidPageRequestException.class);
     }
 
     @Test
@@ -97,6 +164,8 @@ class EmployeeServiceTest {
 
         assertThat(result.getEmail()).isEqualTo("john.doe@example.com");
         verify(employeeRepository).save(any(Employee.class));
+        verify(departmentRollup).employeeAdded(employee);
+        verify(eventPublisher).publishEvent(new EmployeeChangedEvent(ChangeType.CREATED, 1L));
     }
 
     @Test
@@ -113,27 +182,147 @@ class EmployeeServiceTest {
     @Test
     void updateEmployee_WhenExists_UpdatesEmployee() {
         when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee));
-        when(employeeRepository.save(any(Employee.class))).thenReturn(employee);
+        when(employeeRepository.saveAndFlush(any(Employee.class))).thenReturn(employee);
 
         EmployeeDTO updateDTO = new EmployeeDTO(
                 1L, "Jane", "Doe", "john.doe@example.com",
-                Department.MARKETING, new BigDecimal("80000.00"), LocalDate.of(2023, 1, 15)
+                Department.MARKETING, new BigDecimal("80000.00"), LocalDate.of(2023, 1, 15), null
         );
 
-        EmployeeDTO result = employeeService.updateEmployee(1L, updateDTO);
+        EmployeeDTO result = employeeService.updateEmployee(1L, updateDTO, null);
 
         assertThat(result).isNotNull();
-        verify(employeeRepository).save(any(Employee.class));
+        verify(employeeRepository).saveAndFlush(any(Employee.class));
+    }
+
+    @Test
+    void updateEmployee_MovesEmployeeBetweenDepartmentRollups() {
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee));
+        when(employeeRepository.saveAndFlush(any(Employee.class))).thenReturn(employee);
+        List<String> rollupCalls = new ArrayList<>();
+        doAnswer(invocation -> rollupCalls.add("-" + invocation.<Employee>getArgument(0).getDepartment()))
+                .when(departmentRollup).employeeRemoved(any());
+        doAnswer(invocation -> rollupCalls.add("+" + invocation.<Employee>getArgument(0).getDepartment()))
+                .when(departmentRollup).employeeAdded(any());
+
+        employeeService.updateEmployee(1L, new EmployeeDTO(1L, "John", "Doe", "john.doe@example.com",
+                Department.MARKETING, new BigDecimal("80000.00"), LocalDate.of(2023, 1, 15), null), null);
+
+        assertThat(rollupCalls).containsExactly("-ENGINEERING", "+MARKETING");
     }
 
     @Test
     void updateEmployee_WhenNotExists_ThrowsException() {
         when(employeeRepository.findById(99L)).thenReturn(Optional.empty());
 
-        assertThatThrownBy(() -> employeeService.updateEmployee(99L, employeeDTO))
+        assertThatThrownBy(() -> employeeService.updateEmployee(99L, employeeDTO, null))
                 .isInstanceOf(EmployeeNotFoundException.class);
     }
 
+    @Test
+    void updateEmployee_WithStaleVersion_ThrowsVersionMismatch() {
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee));
+
+        assertThatThrownBy(() -> employeeService.updateEmployee(1L, employeeDTO, 2L))
+                .isInstanceOf(EmployeeVersionMismatchException.class);
+
+        verify(employeeRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void patchEmployee_WithoutRollupFields_IssuesOneConditionalUpdate() {
+        when(employeeRepository.patch(1L, 3L, "Jane", null, null, null, null, null)).thenReturn(1);
+
+        Long version = employeeService.patchEmployee(1L, patch("jANE", null, null), 3L);
+
+        assertThat(version).isEqualTo(4L);
+        verify(departmentRollup, never()).lockFigures(any());
+        verify(employeeRepository, never()).findById(any());
+        verify(eventPublisher).publishEvent(new EmployeeChangedEvent(ChangeType.UPDATED, 1L));
+    }
+
+    @Test
+    void patchEmployee_WhenVersionHasMoved_ThrowsVersionMismatch() {
+        when(employeeRepository.patch(1L, 3L, "Jane", null, null, null, null, null)).thenReturn(0);
+        when(employeeRepository.existsById(1L)).thenReturn(true);
+
+        assertThatThrownBy(() -> employeeService.patchEmployee(1L, patch("jane", null, null), 3L))
+                .isInstanceOf(EmployeeVersionMismatchException.class);
+
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void patchEmployee_WhenNotExists_ThrowsNotFound() {
+        when(employeeRepository.existsById(99L)).thenReturn(false);
+
+        assertThatThrownBy(() -> employeeService.patchEmployee(99L, patch("jane", null, null), null))
+                .isInstanceOf(EmployeeNotFoundException.class);
+    }
+
+    @Test
+    void patchEmployee_MovingDepartment_AdjustsRollupFromLockedFigures() {
+        when(departmentRollup.lockFigures(1L)).thenReturn(employee);
+        when(employeeRepository.patch(1L, 3L, null, null, null, Department.SALES, null, null)).thenReturn(1);
+        List<String> rollupCalls = new ArrayList<>();
+        doAnswer(invocation -> rollupCalls.add("-" + invocation.<Employee>getArgument(0).getDepartment()))
+                .when(departmentRollup).employeeRemoved(any());
+        doAnswer(invocation -> rollupCalls.add("+" + invocation.<Employee>getArgument(0).getDepartment()))
+                .when(departmentRollup).employeeAdded(any());
+
+        Long version = employeeService.patchEmployee(1L, patch(null, Department.SALES, null), null);
+
+        assertThat(version).isEqualTo(4L);
+        assertThat(rollupCalls).containsExactly("-ENGINEERING", "+SALES");
+    }
+
+    @Test
+    void patchEmployee_MovingRollupFiguresAtStaleVersion_ThrowsBeforeUpdating() {
+        when(departmentRollup.lockFigures(1L)).thenReturn(employee);
+
+        assertThatThrownBy(() -> employeeService.patchEmployee(1L, patch(null, null, new BigDecimal("1.00")), 2L))
+                .isInstanceOf(EmployeeVersionMismatchException.class);
+
+        verify(employeeRepository, never()).patch(any(), any(), any(), any(), any(), any(), any(), any());
+        verify(departmentRollup, never()).employeeRemoved(any());
+    }
+
+    @Test
+    void patchEmployee_WithTakenEmail_ThrowsDuplicateEmail() {
+        EmployeePatchDTO patch = patch(null, null, null);
+        patch.setEmail("taken@example.com");
+        when(employeeRepository.patch(1L, 3L, null, null, "taken@example.com", null, null, null))
+                .thenThrow(integrityViolation("employees.uk_employees_email",
+                        "Duplicate entry 'taken@example.com' for key 'employees.uk_employees_email'"));
+
+        assertThatThrownBy(() -> employeeService.patchEmployee(1L, patch, 3L))
+                .isInstanceOf(DuplicateEmailException.class);
+
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void patchEmployee_WithEmailButOtherConstraintViolated_PropagatesTheViolation() {
+        EmployeePatchDTO patch = patch("jane", null, null);
+        patch.setEmail("jane@example.com");
+        DataIntegrityViolationException violation = integrityViolation(null,
+                "Data truncation: Data too long for column 'first_name' at row 1");
+        when(employeeRepository.patch(1L, 3L, "Jane", null, "jane@example.com", null, null, null))
+                .thenThrow(violation);
+
+        assertThatThrownBy(() -> employeeService.patchEmployee(1L, patch, 3L)).isSameAs(violation);
+    }
+
+    @Test
+    void patchEmployee_WithoutEmail_PropagatesTheViolation() {
+        DataIntegrityViolationException violation = integrityViolation("chk_employees_salary",
+                "Check constraint 'chk_employees_salary' is violated.");
+        when(employeeRepository.patch(1L, 3L, "Jane", null, null, null, null, null)).thenThrow(violation);
+
+        assertThatThrownBy(() -> employeeService.patchEmployee(1L, patch("jane", null, null), 3L))
+                .isSameAs(violation);
+    }
+
     @Test
     void deleteEmployee_WhenExists_DeletesEmployee() {
         when(employeeRepository.existsById(1L)).thenReturn(true);
@@ -141,6 +330,8 @@ class EmployeeServiceTest {
         employeeService.deleteEmployee(1L);
 
         verify(employeeRepository).deleteById(1L);
+        verify(departmentRollup).employeesRemoved(List.of(1L));
+        verify(eventPublisher).publishEvent(new EmployeeChangedEvent(ChangeType.DELETED, 1L));
     }
 
     @Test
@@ -163,4 +354,23 @@ class EmployeeServiceTest {
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getDepartment()).isEqualTo(Department.ENGINEERING);
     }
+
+    private static DataIntegrityViolationException integrityViolation(String constraintName, String driverMessage) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement",
+                        new SQLException(driverMessage, "23000"), constraintName));
+    }
+
+    private static EmployeePatchDTO patch(String firstName, Department department, BigDecimal salary) {
+        EmployeePatchDTO patch = new EmployeePatchDTO();
+        patch.setFirstName(firstName);
+        patch.setDepartment(department);
+        patch.setSalary(salary);
+        return patch;
+    }
+
+    private Employee copyOf(Employee source, Long id, String lastName) {
+        return new Employee(id, source.getFirstName(), lastName, id + "@example.com",
+                source.getDepartment(), source.getSalary(), source.getHireDate(), 0L);
+    }
 }
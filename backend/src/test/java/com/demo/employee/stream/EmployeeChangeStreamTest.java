@@ -0,0 +1,125 @@
+package com.demo.employee.stream;
+
+import com.demo.employee.config.EmployeeChangesProperties;
+import com.demo.employee.controller.EmployeeController;
+import com.demo.employee.dto.EmployeeChangeDTO;
+import com.demo.employee.dto.EmployeeChangesDTO;
+import com.demo.employee.event.ChangeType;
+import com.demo.employee.exception.ChangeLogTruncatedException;
+import com.demo.employee.service.EmployeeBatchService;
+import com.demo.employee.service.EmployeeChangeFeedService;
+import com.demo.employee.service.EmployeeExportService;
+import com.demo.employee.service.EmployeeSearchService;
+import com.demo.employee.service.EmployeeService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeChangeStreamTest {
+
+    @Mock
+    private EmployeeService employeeService;
+
+    @Mock
+    private EmployeeExportService employeeExportService;
+
+    @Mock
+    private EmployeeBatchService employeeBatchService;
+
+    @Mock
+    private EmployeeChangeFeedService changeFeedService;
+
+    @Mock
+    private EmployeeSearchService searchService;
+
+    private SseBroadcaster broadcaster;
+    private EmployeeChangeStream changeStream;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        broadcaster = new SseBroadcaster("employee-changes", Runnable::run, 16, new SimpleMeterRegistry());
+        changeStream = new EmployeeChangeStream(changeFeedService, broadcaster, JsonMapper.builder().build(),
+                new EmployeeChangesProperties());
+        mockMvc = MockMvcBuilders.standaloneSetup(new EmployeeController(employeeService, employeeExportService,
+                employeeBatchService, changeFeedService, changeStream, searchService)).build();
+    }
+
+    @Test
+    void subscribe_WithLastEventId_ReplaysMissedChangesThenStreamsNewOnes() throws Exception {
+        when(changeFeedService.getHeadSeq()).thenReturn(12L);
+        when(changeFeedService.getChanges(10L, EmployeeChangeFeedService.MAX_PAGE_SIZE))
+                .thenReturn(new EmployeeChangesDTO(List.of(change(11), change(12)), 12L, false));
+        when(changeFeedService.getChanges(12L, EmployeeChangeFeedService.MAX_PAGE_SIZE))
+                .thenReturn(new EmployeeChangesDTO(List.of(change(13)), 13L, false));
+
+        MvcResult result = mockMvc.perform(get("/api/employees/stream").header("Last-Event-ID", "10"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        changeStream.poll();
+
+        String body = result.getResponse().getContentAsString();
+        assertThat(result.getResponse().getContentType()).startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+        assertThat(result.getResponse().getHeader("X-Accel-Buffering")).isEqualTo("no");
+        assertThat(body).startsWith("retry:3000\n:connected\n\n");
+        assertThat(body).containsSubsequence("id:11\nevent:employee-change\n", "id:12\n", "id:13\n");
+        assertThat(body).contains("\"operation\":\"UPDATED\"");
+        assertThat(changeStream.cursor()).isEqualTo(13L);
+    }
+
+    @Test
+    void subscribe_WithoutLastEventId_StartsFromTheHead() throws Exception {
+        when(changeFeedService.getHeadSeq()).thenReturn(40L);
+
+        changeStream.subscribe(null);
+
+        verify(changeFeedService, never()).getChanges(40L, EmployeeChangeFeedService.MAX_PAGE_SIZE);
+        assertThat(changeStream.cursor()).isEqualTo(40L);
+        assertThat(broadcaster.subscriberCount()).isEqualTo(1);
+    }
+
+    @Test
+    void subscribe_WhenCheckpointPruned_SendsResyncAndCloses() throws Exception {
+        when(changeFeedService.getHeadSeq()).thenReturn(500L);
+        when(changeFeedService.getChanges(3L, EmployeeChangeFeedService.MAX_PAGE_SIZE))
+                .thenThrow(new ChangeLogTruncatedException("pruned"));
+
+        MvcResult result = mockMvc.perform(get("/api/employees/stream").param("lastEventId", "3"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertThat(result.getResponse().getContentAsString()).contains("event:resync\ndata:{\"since\":3}\n\n");
+        assertThat(broadcaster.subscriberCount()).isZero();
+    }
+
+    @Test
+    void poll_WithoutSubscribers_ReadsNothing() {
+        changeStream.poll();
+
+        verify(changeFeedService, never()).getHeadSeq();
+        assertThat(changeStream.cursor()).isEqualTo(-1L);
+    }
+
+    private static EmployeeChangeDTO change(long seq) {
+        return new EmployeeChangeDTO(seq, ChangeType.UPDATED, seq, LocalDateTime.of(2024, 3, 1, 9, 30), null);
+    }
+}
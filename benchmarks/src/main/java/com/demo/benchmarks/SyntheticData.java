@@ -0,0 +1,72 @@
+package com.demo.benchmarks;
+
+import com.demo.employee.model.Department;
+import com.demo.employee.model.Employee;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic employee datasets for the benchmarks. The same seed always yields
+ * the same rows, so results stay comparable between runs and releases.
+ */
+public final class SyntheticData {
+
+    private static final long SEED = 42;
+    private static final int INSERT_CHUNK = 10_000;
+    private static final String[] FIRST_NAMES = {"alice", "BOB", "Carol", "dAVID", "erin", "Frank", "grace", "HEIDI"};
+    private static final String[] LAST_NAMES = {"smith", "JOHNSON", "Williams", "bROWN", "jones", "Garcia", "miller", "DAVIS"};
+    private static final LocalDate FIRST_HIRE = LocalDate.of(2000, 1, 1);
+    private static final int HIRE_DAYS = 26 * 365;
+
+    private SyntheticData() {
+    }
+
+    /**
+     * Backend entities with ids, mixed-case names and salaries between 30,000 and
+     * 250,000.
+     */
+    public static List<Employee> employees(int count) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        Department[] departments = Department.values();
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Employee employee = new Employee();
+            employee.setId((long) i + 1);
+            employee.setFirstName(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]);
+            employee.setLastName(LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+            employee.setEmail("employee" + i + "@example.com");
+            employee.setDepartment(departments[random.nextInt(departments.length)]);
+            employee.setSalary(salary(random));
+            employee.setHireDate(FIRST_HIRE.plusDays(random.nextInt(HIRE_DAYS)));
+            employees.add(employee);
+        }
+        return employees;
+    }
+
+    /**
+     * Inserts {@code count} rows into an existing {@code employees} table in JDBC
+     * batches.
+     */
+    public static void insertEmployees(JdbcTemplate jdbcTemplate, int count) {
+        List<Employee> employees = employees(count);
+        for (int from = 0; from < count; from += INSERT_CHUNK) {
+            List<Object[]> rows = employees.subList(from, Math.min(count, from + INSERT_CHUNK)).stream()
+                    .map(e -> new Object[]{e.getFirstName(), e.getLastName(), e.getEmail(),
+                            e.getDepartment().name(), e.getSalary(), Date.valueOf(e.getHireDate())})
+                    .toList();
+            jdbcTemplate.batchUpdate("""
+                    INSERT INTO employees (first_name, last_name, email, department, salary, hire_date)
+                    VALUES (?, ?, ?, ?, ?, ?)""", rows);
+        }
+    }
+
+    private static BigDecimal salary(SplittableRandom random) {
+        return BigDecimal.valueOf(random.nextLong(3_000_000, 25_000_001), 2);
+    }
+}
@@ -0,0 +1,72 @@
+package com.demo.employee.service;
+
+import com.demo.benchmarks.SyntheticData;
+import com.demo.employee.dto.EmployeeColumnsDTO;
+import com.demo.employee.dto.EmployeeDTO;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of EmployeeDTO lists, the bulk of the CPU spent on list
+ * and export responses, as row-per-object JSON and CBOR and as the columnar CBOR
+ * layout.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmployeeJsonBenchmark {
+
+    private static final TypeReference<List<EmployeeDTO>> EMPLOYEE_LIST = new TypeReference<>() {
+    };
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private JsonMapper jsonMapper;
+    private CBORMapper cborMapper;
+    private List<EmployeeDTO> dtos;
+    private byte[] json;
+    private byte[] cbor;
+
+    @Setup
+    public void setUp() {
+        jsonMapper = JsonMapper.builder().build();
+        dtos = SyntheticData.employees(size).stream().map(EmployeeService::toDTO).toList();
+        json = jsonMapper.writeValueAsBytes(dtos);
+        cborMapper = CBORMapper.builder().build();
+        cbor = cborMapper.writeValueAsBytes(dtos);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return jsonMapper.writeValueAsBytes(dtos);
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> deserialize() {
+        return jsonMapper.readValue(json, EMPLOYEE_LIST);
+    }
+
+    @Benchmark
+    public byte[] serializeCbor() {
+        return cborMapper.writeValueAsBytes(dtos);
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> deserializeCbor() {
+        return cborMapper.readValue(cbor, EMPLOYEE_LIST);
+    }
+
+    @Benchmark
+    public byte[] serializeColumnarCbor() {
+        return cborMapper.writeValueAsBytes(EmployeeColumnsDTO.of(dtos, null, false));
+    }
+}
@@ -0,0 +1,58 @@
+package com.demo.employee.service;
+
+import com.demo.benchmarks.SyntheticData;
+import com.demo.employee.dto.EmployeeDTO;
+import com.demo.employee.model.Employee;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity/DTO mapping in EmployeeService, which runs once per row on every list,
+ * export and import. Lives in the service package to reach the package-private
+ * mappers directly.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmployeeMappingBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private List<Employee> employees;
+    private List<EmployeeDTO> dtos;
+
+    @Setup
+    public void setUp() {
+        employees = SyntheticData.employees(size);
+        dtos = employees.stream().map(EmployeeService::toDTO).toList();
+    }
+
+    @Benchmark
+    public void toDTO(Blackhole blackhole) {
+        for (Employee employee : employees) {
+            blackhole.consume(EmployeeService.toDTO(employee));
+        }
+    }
+
+    @Benchmark
+    public void toEntity(Blackhole blackhole) {
+        for (EmployeeDTO dto : dtos) {
+            blackhole.consume(EmployeeService.toEntity(dto));
+        }
+    }
+
+    @Benchmark
+    public void capitalize(Blackhole blackhole) {
+        for (EmployeeDTO dto : dtos) {
+            blackhole.consume(EmployeeService.capitalize(dto.getFirstName()));
+            blackhole.consume(EmployeeService.capitalize(dto.getLastName()));
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.demo.employee.service;
+
+import com.demo.benchmarks.SyntheticData;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Typeahead lookups against the in-memory search index. The synthetic data has
+ * only eight first and eight last names, so every name query matches an eighth
+ * of the rows or more: a worst case for the posting lists the search walks.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmployeeSearchBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    @Param({"s", "smi", "alice jo", "ohns", "employee4711"})
+    private String query;
+
+    private EmployeeSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        index = new EmployeeSearchIndex();
+        SyntheticData.employees(size).forEach(employee -> index.put(EmployeeService.toDTO(employee)));
+    }
+
+    @Benchmark
+    public List<?> search() {
+        return index.search(query, 10);
+    }
+}
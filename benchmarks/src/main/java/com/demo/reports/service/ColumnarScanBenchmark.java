@@ -0,0 +1,69 @@
+package com.demo.reports.service;
+
+import com.demo.reports.model.Department;
+import com.demo.reports.repository.DepartmentAggregate;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The columnar report engine's scans over {@link EmployeeColumns}, without the
+ * database: the per-department aggregates, the salary rows fed to the snapshot's
+ * index, the new-hire filter, and patching one changed row.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ColumnarScanBenchmark {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 6, 15);
+    private static final int FIRST_HIRE_DAY = (int) LocalDate.of(2000, 1, 1).toEpochDay();
+
+    @Param({"1000", "100000", "1000000"})
+    private int employees;
+
+    private EmployeeColumns columns;
+    private SplittableRandom random;
+
+    @Setup
+    public void setUp() {
+        random = new SplittableRandom(42);
+        columns = new EmployeeColumns(employees);
+        int hireDays = (int) TODAY.toEpochDay() - FIRST_HIRE_DAY;
+        for (int i = 0; i < employees; i++) {
+            columns.accept(i + 1, random.nextInt(Department.values().length),
+                    random.nextLong(3_000_000, 25_000_001), FIRST_HIRE_DAY + random.nextInt(hireDays));
+        }
+    }
+
+    @Benchmark
+    public List<DepartmentAggregate> aggregateByDepartment() {
+        return columns.aggregateByDepartment((int) TODAY.withDayOfMonth(1).toEpochDay(),
+                (int) TODAY.withDayOfYear(1).toEpochDay());
+    }
+
+    @Benchmark
+    public SalaryIndex buildSalaryIndex() {
+        SalaryIndex.Builder builder = SalaryIndex.builder();
+        columns.forEachSalary((department, hireYear, salaryCents) -> builder.accept(department, salaryCents));
+        return builder.build();
+    }
+
+    @Benchmark
+    public long[] newHires() {
+        return columns.hiredOnOrAfter((int) TODAY.minusDays(30).toEpochDay());
+    }
+
+    @Benchmark
+    public int updateRow() {
+        columns.accept(random.nextInt(employees) + 1, random.nextInt(Department.values().length),
+                random.nextLong(3_000_000, 25_000_001), FIRST_HIRE_DAY);
+        return columns.rows();
+    }
+}
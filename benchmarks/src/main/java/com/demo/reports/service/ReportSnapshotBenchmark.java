@@ -0,0 +1,96 @@
+package com.demo.reports.service;
+
+import com.demo.benchmarks.SyntheticData;
+import com.demo.reports.ReportsApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end report aggregation: the reports-service context is started against an
+ * in-memory H2 database seeded with synthetic employees, and each benchmark drives
+ * the real beans. {@code rebuildSnapshot} is what every background refresh costs
+ * with each snapshot engine (the columnar one with its columns already loaded);
+ * the others are what a request costs once a snapshot is in place.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReportSnapshotBenchmark {
+
+    private static final BigDecimal P90 = BigDecimal.valueOf(90);
+
+    @Param({"1000", "100000", "1000000"})
+    private int employees;
+
+    @Param({"sql", "columnar"})
+    private String engine;
+
+    private ConfigurableApplicationContext context;
+    private ReportSnapshotBuilder snapshotBuilder;
+    private ReportsService reportsService;
+    private ReportSnapshot snapshot;
+    private LocalDate today;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ReportsApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(Map.of(
+                        "spring.main.banner-mode", "off",
+                        "logging.level.root", "warn",
+                        "spring.datasource.url", "jdbc:h2:mem:reports-benchmark;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.username", "sa",
+                        "spring.datasource.password", "",
+                        "spring.jpa.hibernate.ddl-auto", "create",
+                        "reports.snapshot.engine", engine,
+                        "reports.snapshot.refresh-interval", "365d",
+                        "reports.snapshot.max-staleness", "365d"))
+                .run();
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        SyntheticData.insertEmployees(jdbcTemplate, employees);
+        // A known data version lets the columnar engine skip syncing between rebuilds, as it does in production
+        jdbcTemplate.execute("CREATE TABLE data_version (id INT PRIMARY KEY, version BIGINT NOT NULL)");
+        jdbcTemplate.update("INSERT INTO data_version (id, version) VALUES (1, 1)");
+
+        snapshotBuilder = context.getBean(ReportSnapshotBuilder.class);
+        reportsService = context.getBean(ReportsService.class);
+        today = LocalDate.now();
+        snapshot = reportsService.refreshSnapshot();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ReportSnapshot rebuildSnapshot() {
+        return snapshotBuilder.build(today);
+    }
+
+    @Benchmark
+    public Object servedDepartmentStats() {
+        return reportsService.getDepartmentStats();
+    }
+
+    @Benchmark
+    public BigDecimal salaryPercentile() {
+        return snapshot.salaryIndex().percentile(P90);
+    }
+
+    @Benchmark
+    public long mergedSalaryHistogram() {
+        return snapshot.salaryDistribution().sketch(null, null, null).quantile(0.9);
+    }
+}
@@ -0,0 +1,62 @@
+package com.demo.reports.service;
+
+import com.demo.reports.model.Department;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The in-memory salary structures built on every snapshot refresh, without the
+ * database: the exact cents index and the per-cohort KLL sketches.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SalaryKernelBenchmark {
+
+    private static final Department[] DEPARTMENTS = Department.values();
+
+    @Param({"1000", "100000", "1000000"})
+    private int employees;
+
+    private byte[] departments;
+    private short[] hireYears;
+    private long[] salaryCents;
+    private int k;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        departments = new byte[employees];
+        hireYears = new short[employees];
+        salaryCents = new long[employees];
+        for (int i = 0; i < employees; i++) {
+            departments[i] = (byte) random.nextInt(DEPARTMENTS.length);
+            hireYears[i] = (short) random.nextInt(2000, 2026);
+            salaryCents[i] = random.nextLong(3_000_000, 25_000_001);
+        }
+        k = KllSketch.kForRankError(0.01);
+    }
+
+    @Benchmark
+    public SalaryIndex buildSalaryIndex() {
+        SalaryIndex.Builder builder = SalaryIndex.builder();
+        for (int i = 0; i < employees; i++) {
+            builder.accept(DEPARTMENTS[departments[i]], salaryCents[i]);
+        }
+        return builder.build();
+    }
+
+    @Benchmark
+    public SalaryDistribution buildSalaryDistribution() {
+        SalaryDistribution.Builder builder = SalaryDistribution.builder(k);
+        for (int i = 0; i < employees; i++) {
+            builder.accept(DEPARTMENTS[departments[i]], hireYears[i], salaryCents[i]);
+        }
+        return builder.build();
+    }
+}
@@ -3,22 +3,29 @@ import Navbar, { ViewType } from './components/Navbar';
 import EmployeeList from './components/EmployeeList';
 import EmployeeForm from './components/EmployeeForm';
 import Reports from './components/Reports';
-import { Employee } from './types/Employee';
-import { employeeApi } from './services/api';
+import { Employee, EmployeeChange, EmployeePage } from './types/Employee';
+import { employeeApi, subscribeToEmployeeChanges } from './services/api';
+
+const PAGE_SIZE = 50;
 
 function App() {
   const [currentView, setCurrentView] = useState<ViewType>('employees');
-  const [employees, setEmployees] = useState<Employee[]>([]);
+  const [page, setPage] = useState<EmployeePage>({ content: [], nextCursor: null, hasMore: false });
+  // Cursor of every page visited so far; undefined is the first page
+  const [cursors, setCursors] = useState<(string | undefined)[]>([undefined]);
   const [loading, setLoading] = useState(true);
   const [showForm, setShowForm] = useState(false);
   const [editingEmployee, setEditingEmployee] = useState<Employee | null>(null);
   const [error, setError] = useState<string | null>(null);
+  const [streamGeneration, setStreamGeneration] = useState(0);
+
+  const currentCursor = cursors[cursors.length - 1];
 
   const fetchEmployees = async () => {
     try {
       setLoading(true);
-      const data = await employeeApi.getAll();
-      setEmployees(data);
+      const data = await employeeApi.getPage({ cursor: currentCursor, limit: PAGE_SIZE });
+      setPage(data);
       setError(null);
     } catch (err) {
       setError('Failed to fetch employees. Please try again.');
@@ -32,7 +39,49 @@ function App() {
     if (currentView === 'employees') {
       fetchEmployees();
     }
-  }, [currentView]);
+  }, [currentView, currentCursor]);
+
+  const applyChange = (change: EmployeeChange) => {
+    setPage((current) => {
+      const content = current.content;
+      if (change.operation === 'DELETED' || !change.employee) {
+        return { ...current, content: content.filter((employee) => employee.id !== change.employeeId) };
+      }
+      const index = content.findIndex((employee) => employee.id === change.employeeId);
+      if (index < 0) {
+        // Ids only grow, so a new employee belongs on this page only when it is the last one
+        if (current.hasMore) {
+          return current;
+        }
+        return { ...current, content: [...content, change.employee].sort((a, b) => (a.id ?? 0) - (b.id ?? 0)) };
+      }
+      const updated = [...content];
+      updated[index] = change.employee;
+      return { ...current, content: updated };
+    });
+  };
+
+  // Changes from any client are pushed, so the list stays current without refetching it
+  useEffect(() => {
+    if (currentView !== 'employees') {
+      return;
+    }
+    return subscribeToEmployeeChanges(applyChange, async () => {
+      await fetchEmployees();
+      setStreamGeneration((generation) => generation + 1);
+    });
+  }, [currentView, streamGeneration, currentCursor]);
+
+  const handleNextPage = () => {
+    const nextCursor = page.nextCursor;
+    if (nextCursor) {
+      setCursors((visited) => [...visited, nextCursor]);
+    }
+  };
+
+  const handlePreviousPage = () => {
+    setCursors((visited) => (visited.length > 1 ? visited.slice(0, -1) : visited));
+  };
 
   const handleAddClick = () => {
     setEditingEmployee(null);
@@ -95,10 +144,15 @@ function App() {
 
         {currentView === 'employees' ? (
           <EmployeeList
-            employees={employees}
+            employees={page.content}
             onEdit={handleEdit}
             onDelete={handleDelete}
             loading={loading}
+            pageNumber={cursors.length}
+            hasPrevious={cursors.length > 1}
+            hasNext={page.hasMore && page.nextCursor !== null}
+            onPrevious={handlePreviousPage}
+            onNext={handleNextPage}
           />
         ) : (
           <Reports />
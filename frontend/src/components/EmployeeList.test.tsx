@@ -0,0 +1,62 @@
+import { describe, it, expect, vi } from 'vitest';
+import { render, screen, fireEvent } from '@testing-library/react';
+import EmployeeList from './EmployeeList';
+import { Employee } from '../types/Employee';
+
+describe('EmployeeList', () => {
+  const employee: Employee = {
+    id: 1,
+    firstName: 'John',
+    lastName: 'Doe',
+    email: 'john.doe@example.com',
+    department: 'ENGINEERING',
+    salary: 75000,
+    hireDate: '2023-01-15',
+  };
+
+  const defaultProps = {
+    employees: [employee],
+    onEdit: vi.fn(),
+    onDelete: vi.fn(),
+    loading: false,
+    pageNumber: 1,
+    hasPrevious: false,
+    hasNext: true,
+    onPrevious: vi.fn(),
+    onNext: vi.fn(),
+  };
+
+  it('renders the rows of the current page', () => {
+    render(<EmployeeList {...defaultProps} />);
+    expect(screen.getByText('john.doe@example.com')).toBeInTheDocument();
+    expect(screen.getByText('Page 1')).toBeInTheDocument();
+  });
+
+  it('disables previous on the first page', () => {
+    render(<EmployeeList {...defaultProps} />);
+    expect(screen.getByText('Previous')).toBeDisabled();
+    expect(screen.getByText('Next')).not.toBeDisabled();
+  });
+
+  it('disables next on the last page', () => {
+    render(<EmployeeList {...defaultProps} pageNumber={3} hasPrevious={true} hasNext={false} />);
+    expect(screen.getByText('Next')).toBeDisabled();
+  });
+
+  it('calls onNext and onPrevious when the buttons are clicked', () => {
+    const onNext = vi.fn();
+    const onPrevious = vi.fn();
+    render(<EmployeeList {...defaultProps} pageNumber={2} hasPrevious={true} onNext={onNext} onPrevious={onPrevious} />);
+
+    fireEvent.click(screen.getByText('Next'));
+    fireEvent.click(screen.getByText('Previous'));
+
+    expect(onNext).toHaveBeenCalledTimes(1);
+    expect(onPrevious).toHaveBeenCalledTimes(1);
+  });
+
+  it('shows the empty state when there are no employees at all', () => {
+    render(<EmployeeList {...defaultProps} employees={[]} hasNext={false} />);
+    expect(screen.getByText('No employees found. Add your first employee!')).toBeInTheDocument();
+  });
+});
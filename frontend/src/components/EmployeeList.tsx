@@ -5,14 +5,29 @@ interface EmployeeListProps {
   onEdit: (employee: Employee) => void;
   onDelete: (id: number) => void;
   loading: boolean;
+  pageNumber: number;
+  hasPrevious: boolean;
+  hasNext: boolean;
+  onPrevious: () => void;
+  onNext: () => void;
 }
 
-function EmployeeList({ employees, onEdit, onDelete, loading }: EmployeeListProps) {
+function EmployeeList({
+  employees,
+  onEdit,
+  onDelete,
+  loading,
+  pageNumber,
+  hasPrevious,
+  hasNext,
+  onPrevious,
+  onNext,
+}: EmployeeListProps) {
   if (loading) {
     return <div className="loading">Loading employees...</div>;
   }
 
-  if (employees.length === 0) {
+  if (employees.length === 0 && !hasPrevious) {
     return (
       <div className="empty-state">
         <p>No employees found. Add your first employee!</p>
@@ -82,6 +97,15 @@ function EmployeeList({ employees, onEdit, onDelete, loading }: EmployeeListProp
           ))}
         </tbody>
       </table>
+      <div className="pagination">
+        <button className="btn btn-sm btn-secondary" onClick={onPrevious} disabled={!hasPrevious}>
+          Previous
+        </button>
+        <span>Page {pageNumber}</span>
+        <button className="btn btn-sm btn-secondary" onClick={onNext} disabled={!hasNext}>
+          Next
+        </button>
+      </div>
     </div>
   );
 }
@@ -1,6 +1,6 @@
 import { useState, useEffect } from 'react';
-import { reportsApiService } from '../services/api';
-import { HeadcountReport, SalarySummary, DepartmentStats, NewHire } from '../types/Reports';
+import { reportsApiService, subscribeToReportUpdates } from '../services/api';
+import { HeadcountReport, SalarySummary, DepartmentStats, NewHire, ReportUpdate } from '../types/Reports';
 import { formatDepartment } from '../types/Employee';
 
 function Reports() {
@@ -8,6 +8,7 @@ function Reports() {
   const [salary, setSalary] = useState<SalarySummary | null>(null);
   const [departments, setDepartments] = useState<DepartmentStats[]>([]);
   const [newHires, setNewHires] = useState<NewHire[]>([]);
+  const [unavailable, setUnavailable] = useState<string[]>([]);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState<string | null>(null);
 
@@ -15,16 +16,12 @@ function Reports() {
     const fetchReports = async () => {
       try {
         setLoading(true);
-        const [headcountData, salaryData, deptData, hiresData] = await Promise.all([
-          reportsApiService.getHeadcount(),
-          reportsApiService.getSalarySummary(),
-          reportsApiService.getDepartmentStats(),
-          reportsApiService.getNewHires(30),
-        ]);
-        setHeadcount(headcountData);
-        setSalary(salaryData);
-        setDepartments(deptData);
-        setNewHires(hiresData);
+        const dashboard = await reportsApiService.getDashboard(30);
+        setHeadcount(dashboard.headcount);
+        setSalary(dashboard.salarySummary);
+        setDepartments(dashboard.departmentStats ?? []);
+        setNewHires(dashboard.newHires ?? []);
+        setUnavailable(Object.keys(dashboard.errors ?? {}));
         setError(null);
       } catch (err) {
         setError('Failed to fetch reports. Please try again.');
@@ -37,6 +34,27 @@ function Reports() {
     fetchReports();
   }, []);
 
+  // Only the sections that changed are pushed; department stats are merged by department
+  useEffect(() => {
+    return subscribeToReportUpdates((update: ReportUpdate) => {
+      if (update.headcount) {
+        setHeadcount(update.headcount);
+      }
+      if (update.salarySummary) {
+        setSalary(update.salarySummary);
+      }
+      setDepartments((current) => {
+        if (update.full) {
+          return update.departments;
+        }
+        const changed = new Map(update.departments.map((stats) => [stats.department, stats]));
+        const merged = current.map((stats) => changed.get(stats.department) ?? stats);
+        const added = update.departments.filter((stats) => !current.some((c) => c.department === stats.department));
+        return [...merged, ...added].filter((stats) => stats.employeeCount > 0);
+      });
+    });
+  }, []);
+
   const formatCurrency = (amount: number) => {
     return new Intl.NumberFormat('en-US', {
       style: 'currency',
@@ -68,6 +86,12 @@ function Reports() {
     <div className="reports-container">
       <h2>Reports Dashboard</h2>
 
+      {unavailable.length > 0 && (
+        <div className="reports-warning">
+          Some sections could not be loaded: {unavailable.join(', ')}
+        </div>
+      )}
+
       <div className="reports-grid">
         {/* Headcount Summary */}
         <div className="report-card">
@@ -106,7 +130,10 @@ function Reports() {
             </div>
           </div>
           <div className="salary-range">
-            <span>Range: {formatCurrency(salary?.minSalary || 0)} - {formatCurrency(salary?.maxSalary || 0)}</span>
+            <span>
+              Range: {formatCurrency(salary?.minSalary || 0)} - {formatCurrency(salary?.maxSalary || 0)}
+              {' · '}Std. deviation: {formatCurrency(salary?.stdDevSalary || 0)}
+            </span>
           </div>
         </div>
       </div>
@@ -1,6 +1,6 @@
 import axios from 'axios';
-import { Employee, Department } from '../types/Employee';
-import { HeadcountReport, SalarySummary, DepartmentStats, NewHire } from '../types/Reports';
+import { Employee, EmployeeChange, Department, EmployeePage, EmployeePageParams } from '../types/Employee';
+import { HeadcountReport, SalarySummary, DepartmentStats, NewHire, DashboardReport, ReportUpdate } from '../types/Reports';
 
 const API_BASE_URL = import.meta.env.VITE_API_URL || '/api';
 const REPORTS_API_URL = import.meta.env.VITE_REPORTS_API_URL || '/api/reports';
@@ -20,6 +20,11 @@ const reportsApi = axios.create({
 });
 
 export const reportsApiService = {
+  getDashboard: async (newHireDays: number = 30): Promise<DashboardReport> => {
+    const response = await reportsApi.get<DashboardReport>('/dashboard', { params: { newHireDays } });
+    return response.data;
+  },
+
   getHeadcount: async (): Promise<HeadcountReport> => {
     const response = await reportsApi.get<HeadcountReport>('/headcount');
     return response.data;
@@ -41,9 +46,31 @@ export const reportsApiService = {
   },
 };
 
+// EventSource reconnects by itself and sends Last-Event-ID, so the server replays whatever was missed.
+// Both functions return a callback that closes the stream.
+export const subscribeToReportUpdates = (onUpdate: (update: ReportUpdate) => void): (() => void) => {
+  const source = new EventSource(`${REPORTS_API_URL}/stream`);
+  source.addEventListener('report-update', (event) => onUpdate(JSON.parse((event as MessageEvent).data)));
+  return () => source.close();
+};
+
+export const subscribeToEmployeeChanges = (
+  onChange: (change: EmployeeChange) => void,
+  onResync: () => void,
+): (() => void) => {
+  const source = new EventSource(`${API_BASE_URL}/employees/stream`);
+  source.addEventListener('employee-change', (event) => onChange(JSON.parse((event as MessageEvent).data)));
+  // The server no longer has the changes since our last event; reconnecting would only repeat this
+  source.addEventListener('resync', () => {
+    source.close();
+    onResync();
+  });
+  return () => source.close();
+};
+
 export const employeeApi = {
-  getAll: async (): Promise<Employee[]> => {
-    const response = await api.get<Employee[]>('/employees');
+  getPage: async (params: EmployeePageParams = {}): Promise<EmployeePage> => {
+    const response = await api.get<EmployeePage>('/employees', { params });
     return response.data;
   },
 
@@ -18,6 +18,31 @@ export interface Employee {
   hireDate: string;
 }
 
+export interface EmployeePage {
+  content: Employee[];
+  nextCursor: string | null;
+  hasMore: boolean;
+}
+
+export interface EmployeeChange {
+  seq: number;
+  operation: 'CREATED' | 'UPDATED' | 'DELETED';
+  employeeId: number;
+  changedAt: string;
+  employee: Employee | null;
+}
+
+export interface EmployeePageParams {
+  cursor?: string;
+  limit?: number;
+  sort?: 'id' | 'lastName';
+  department?: Department;
+  hiredFrom?: string;
+  hiredTo?: string;
+  minSalary?: number;
+  maxSalary?: number;
+}
+
 export const DEPARTMENTS: Department[] = [
   'ENGINEERING',
   'MARKETING',
@@ -14,6 +14,7 @@ export interface SalarySummary {
   minSalary: number;
   maxSalary: number;
   medianSalary: number;
+  stdDevSalary: number;
 }
 
 export interface DepartmentStats {
@@ -23,6 +24,7 @@ export interface DepartmentStats {
   averageSalary: number;
   minSalary: number;
   maxSalary: number;
+  stdDevSalary: number;
 }
 
 export interface NewHire {
@@ -34,3 +36,20 @@ export interface NewHire {
   hireDate: string;
   daysSinceHire: number;
 }
+
+export interface DashboardReport {
+  headcount: HeadcountReport | null;
+  salarySummary: SalarySummary | null;
+  departmentStats: DepartmentStats[] | null;
+  newHires: NewHire[] | null;
+  errors: Record<string, string>;
+}
+
+export interface ReportUpdate {
+  version: string;
+  builtAt: string;
+  full: boolean;
+  headcount: HeadcountReport | null;
+  salarySummary: SalarySummary | null;
+  departments: DepartmentStats[];
+}
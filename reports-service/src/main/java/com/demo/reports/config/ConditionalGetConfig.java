@@ -0,0 +1,33 @@
+package com.demo.reports.config;
+
+import com.demo.reports.controller.ConditionalGetInterceptor;
+import com.demo.reports.service.ReportsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * ETags and If-None-Match handling for the reports. Snapshot-backed reports are
+ * versioned by the snapshot they are served from, so a client never holds an ETag
+ * newer than the numbers it was given; new hires are read live and use the
+ * data_version every database they could be read from has applied. The headcount and department statistics follow whichever
+ * of the snapshot or the department rollup they are served from. The dashboard
+ * mixes both and handles its own validation.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class ConditionalGetConfig implements WebMvcConfigurer {
+
+    private final ReportsService reportsService;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ConditionalGetInterceptor(reportsService::getSnapshotVersionTag))
+                .addPathPatterns("/api/reports/salary", "/api/reports/salary/**", "/api/reports/hires/**");
+        registry.addInterceptor(new ConditionalGetInterceptor(reportsService::getDepartmentReportVersionTag))
+                .addPathPatterns("/api/reports/headcount", "/api/reports/departments", "/api/reports/departments/**");
+        registry.addInterceptor(new ConditionalGetInterceptor(reportsService::getLiveVersionTag))
+                .addPathPatterns("/api/reports/new-hires");
+    }
+}
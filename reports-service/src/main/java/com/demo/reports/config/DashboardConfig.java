@@ -0,0 +1,14 @@
+package com.demo.reports.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Dashboard sections run on Boot's applicationTaskExecutor, which is a bounded
+ * platform-thread pool (spring.task.execution.pool.*) or, in virtual-thread mode, a
+ * virtual-thread executor capped by spring.task.execution.simple.concurrency-limit.
+ */
+@Configuration
+@EnableConfigurationProperties(ReportsDashboardProperties.class)
+public class DashboardConfig {
+}
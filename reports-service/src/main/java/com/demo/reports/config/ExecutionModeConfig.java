@@ -0,0 +1,65 @@
+package com.demo.reports.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.micrometer.metrics.autoconfigure.MeterRegistryCustomizer;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Request execution mode. With {@code spring.threads.virtual.enabled=true} Boot runs
+ * Tomcat request handling, the application task executor and {@code @Scheduled}
+ * jobs on virtual threads; this config adds the JDBC guard that mode needs and tags
+ * every metric with {@code execution.mode} (virtual or platform) so the two modes
+ * can be compared side by side in Grafana. JFR pinning events are exported as
+ * jvm.threads.virtual.pinned.
+ */
+@Configuration
+public class ExecutionModeConfig {
+
+    @Bean
+    public MeterRegistryCustomizer<MeterRegistry> executionModeTag(Environment environment) {
+        String mode = Threading.VIRTUAL.isActive(environment) ? "virtual" : "platform";
+        return registry -> registry.config().commonTags("execution.mode", mode);
+    }
+
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public static BeanPostProcessor connectionLimitingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari) {
+                    return new ConnectionLimitingDataSource(hikari, hikari.getMaximumPoolSize(),
+                            Duration.ofMillis(hikari.getConnectionTimeout()));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public MeterBinder connectionLimitMetrics(ObjectProvider<DataSource> dataSource) {
+        return registry -> {
+            try {
+                DataSource candidate = dataSource.getIfUnique();
+                if (candidate != null && candidate.isWrapperFor(ConnectionLimitingDataSource.class)) {
+                    candidate.unwrap(ConnectionLimitingDataSource.class).bindTo(registry);
+                }
+            } catch (SQLException ex) {
+                throw new IllegalStateException("Could not inspect the DataSource", ex);
+            }
+        };
+    }
+}
@@ -0,0 +1,14 @@
+package com.demo.reports.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Service and repository timers are recorded by
+ * {@link com.demo.reports.metrics.HotPathMetricsAspect}; bucket and percentile
+ * settings live under management.metrics.distribution.
+ */
+@Configuration
+@EnableConfigurationProperties(MetricsProperties.class)
+public class MetricsConfig {
+}
@@ -0,0 +1,22 @@
+package com.demo.reports.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "reports.metrics")
+public class MetricsProperties {
+
+    /**
+     * Repository calls slower than this are logged as slow queries. Snapshot rebuilds
+     * scan the whole table, so the default is more generous than the backend's.
+     */
+    private Duration slowQueryThreshold = Duration.ofSeconds(1);
+
+    /**
+     * Whether slow-query log lines include the call's parameters.
+     */
+    private boolean logQueryParameters;
+}
@@ -0,0 +1,151 @@
+package com.demo.reports.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs MySQL's EXPLAIN for the SQL behind each report query at startup, logs the
+ * plans, and reports full scans of large tables. Queries that look employees
+ * up by a filter must not scan the table; queries that read every employee by
+ * design must read an index that covers them rather than the table rows. Plans
+ * are only checked against the row estimates EXPLAIN gives, so a table below
+ * {@code reports.query-plans.max-full-scan-rows} never fails the check.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QueryPlanCheck implements ApplicationRunner {
+
+    /**
+     * What a query's plan is allowed to do once the table is large.
+     */
+    enum Access {
+        /** Must use an index to find its rows. */
+        SELECTIVE,
+        /** Reads every row, but only from an index that holds every column it needs. */
+        COVERING,
+        /** Reads every row by design, such as an export; the plan is only logged. */
+        FULL
+    }
+
+    record ExplainedQuery(String name, Access access, String sql, Map<String, ?> parameters) {
+    }
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final QueryPlanCheckProperties properties;
+
+    /**
+     * The SQL each repository method runs, as Hibernate generates it for the JPQL
+     * ones, with representative parameters. These are copies kept in step with the
+     * repositories by hand, not the statements themselves, which is why a violation
+     * only warns unless {@code reports.query-plans.fail-on-violation} is set.
+     */
+    static List<ExplainedQuery> queries(LocalDate today) {
+        return List.of(
+                new ExplainedQuery("EmployeeRepository.aggregateByDepartment", Access.COVERING, """
+                        SELECT department, COUNT(*),
+                               SUM(CASE WHEN hire_date >= :startOfMonth THEN 1 ELSE 0 END),
+                               SUM(CASE WHEN hire_date >= :startOfYear THEN 1 ELSE 0 END)
+                        FROM employees GROUP BY department""",
+                        Map.of("startOfMonth", today.withDayOfMonth(1), "startOfYear", today.withDayOfYear(1))),
+                new ExplainedQuery("EmployeeRepository.findNewHiresSince", Access.SELECTIVE,
+                        "SELECT * FROM employees WHERE hire_date >= :startDate ORDER BY hire_date DESC",
+                        Map.of("startDate", today.minusDays(30))),
+                new ExplainedQuery("EmployeeRepository.findHiresBetween", Access.SELECTIVE,
+                        "SELECT * FROM employees WHERE hire_date BETWEEN :startDate AND :endDate ORDER BY hire_date DESC",
+                        Map.of("startDate", today.minusDays(30), "endDate", today)),
+                new ExplainedQuery("SalaryRepository.forEachSalary", Access.COVERING, """
+                        SELECT department, YEAR(hire_date), ROUND(salary * 100)
+                        FROM employees
+                        WHERE department IS NOT NULL AND salary IS NOT NULL""",
+                        Map.of()),
+                new ExplainedQuery("HireRepository.forEachHireDay", Access.COVERING, """
+                        SELECT department, hire_date, COUNT(*)
+                        FROM employees
+                        WHERE department IS NOT NULL AND hire_date IS NOT NULL
+                        GROUP BY department, hire_date""",
+                        Map.of()),
+                new ExplainedQuery("EmployeeColumnRepository.forEachEmployee", Access.FULL,
+                        "SELECT id, department, ROUND(salary * 100), hire_date FROM employees ORDER BY id",
+                        Map.of()),
+                new ExplainedQuery("EmployeeColumnRepository.forEachEmployee(ids)", Access.SELECTIVE,
+                        "SELECT id, department, ROUND(salary * 100), hire_date FROM employees WHERE id IN (:ids)",
+                        Map.of("ids", List.of(1L, 2L))),
+                new ExplainedQuery("EmployeeColumnRepository.findChangedEmployeeIds", Access.SELECTIVE,
+                        "SELECT DISTINCT employee_id FROM employee_changes WHERE seq > :afterSeq",
+                        Map.of("afterSeq", 0L))
+        );
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!properties.isCheckOnStartup()) {
+            return;
+        }
+        String product = jdbcTemplate.getJdbcTemplate().execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!"MySQL".equals(product)) {
+            log.info("Skipping the query plan check on {}", product);
+            return;
+        }
+
+        List<String> violations = new ArrayList<>();
+        for (ExplainedQuery query : queries(LocalDate.now())) {
+            List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + query.sql(),
+                    new MapSqlParameterSource(query.parameters()));
+            violations.addAll(check(query, plan, properties.getMaxFullScanRows()));
+        }
+        if (violations.isEmpty()) {
+            return;
+        }
+        String message = "Queries scan more than " + properties.getMaxFullScanRows() + " rows without a suitable index: "
+                + String.join("; ", violations);
+        if (properties.isFailOnViolation()) {
+            throw new IllegalStateException(message);
+        }
+        log.warn(message);
+    }
+
+    /**
+     * Logs each row of the plan and returns a description of every one that breaks
+     * the query's {@link Access}.
+     */
+    static List<String> check(ExplainedQuery query, List<Map<String, Object>> plan, long maxFullScanRows) {
+        List<String> violations = new ArrayList<>();
+        for (Map<String, Object> row : plan) {
+            String table = (String) row.get("table");
+            String type = (String) row.get("type");
+            String key = (String) row.get("key");
+            String extra = row.get("Extra") == null ? "" : (String) row.get("Extra");
+            long rows = row.get("rows") == null ? 0 : ((Number) row.get("rows")).longValue();
+            log.info("Plan for {}: table={} type={} key={} rows={} extra={}", query.name(), table, type, key, rows, extra);
+
+            if (rows <= maxFullScanRows || query.access() == Access.FULL) {
+                continue;
+            }
+            boolean coveredByIndex = Arrays.stream(extra.split(";\\s*"))
+                    .anyMatch(note -> note.startsWith("Using index") && !note.equals("Using index condition"));
+            if ("ALL".equals(type)) {
+                violations.add(query.name() + " scans " + rows + " rows of " + table);
+            } else if (query.access() == Access.SELECTIVE && "index".equals(type)) {
+                violations.add(query.name() + " scans " + rows + " rows of index " + key + " on " + table);
+            } else if (query.access() == Access.COVERING && !coveredByIndex) {
+                violations.add(query.name() + " reads " + rows + " rows of " + table + " through " + key
+                        + " without an index covering it");
+            }
+        }
+        return violations;
+    }
+}
@@ -0,0 +1,29 @@
+package com.demo.reports.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "reports.query-plans")
+public class QueryPlanCheckProperties {
+
+    /**
+     * Run EXPLAIN for the repository queries when the application starts and log
+     * each plan. Only MySQL plans are understood; on other databases the check is
+     * skipped.
+     */
+    private boolean checkOnStartup = true;
+
+    /**
+     * Estimated rows above which a full table scan (or, for queries that read every
+     * row, a scan not covered by an index) counts as a violation. Small tables are
+     * scanned whatever their indexes, so this should sit above them.
+     */
+    private long maxFullScanRows = 10_000;
+
+    /**
+     * Fail startup on a violation instead of logging it as a warning. Off by default:
+     * the checked SQL mirrors the repositories rather than being taken from them.
+     */
+    private boolean failOnViolation = false;
+}
@@ -0,0 +1,92 @@
+package com.demo.reports.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read replicas. The service never writes, so enabled, every query runs on a
+ * {@link ReplicaRoutingDataSource} over the configured replicas and only falls back
+ * to spring.datasource when all of them are down or lagging. Snapshot ETags come
+ * from the same connections, so they describe the data that was actually read.
+ * Reports read live are tagged before they are read, with the least version a
+ * replica that could serve them has applied.
+ */
+@Configuration
+@EnableConfigurationProperties(ReadReplicaProperties.class)
+public class ReadReplicaConfig {
+
+    @Configuration
+    @ConditionalOnProperty(prefix = "reports.read-replicas", name = "enabled", havingValue = "true")
+    static class Routing {
+
+        private final ReplicaRoutingDataSource router;
+
+        Routing(ReplicaRoutingDataSource router) {
+            this.router = router;
+        }
+
+        @Bean
+        @ConfigurationProperties("spring.datasource.hikari")
+        static HikariDataSource primaryDataSource(DataSourceProperties properties) {
+            return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        }
+
+        @Bean
+        @Primary
+        static ReplicaRoutingDataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                                   DataSourceProperties dataSourceProperties,
+                                                   ReadReplicaProperties properties, Environment environment) {
+            List<ReadReplicaProperties.Instance> instances = properties.getInstances();
+            if (instances.isEmpty()) {
+                throw new IllegalStateException("reports.read-replicas.enabled is set but no instances are configured");
+            }
+            Map<String, DataSource> replicas = new LinkedHashMap<>();
+            for (int i = 0; i < instances.size(); i++) {
+                String name = "replica-" + (i + 1);
+                replicas.put(name, replicaPool(name, instances.get(i), dataSourceProperties, environment));
+            }
+            // Nothing here writes, so there is no version of our own a replica must reach
+            return new ReplicaRoutingDataSource(primaryDataSource, replicas, properties.getMaxLag(), () -> 0);
+        }
+
+        @Scheduled(fixedDelayString = "${reports.read-replicas.probe-interval:1s}")
+        void probeReplicas() {
+            router.probe();
+        }
+
+        private static DataSource replicaPool(String name, ReadReplicaProperties.Instance instance,
+                                              DataSourceProperties primary, Environment environment) {
+            HikariDataSource pool = primary.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(instance.getUrl())
+                    .username(instance.getUsername() != null ? instance.getUsername() : primary.determineUsername())
+                    .password(instance.getPassword() != null ? instance.getPassword() : primary.determinePassword())
+                    .build();
+            pool.setPoolName(name);
+            pool.setReadOnly(true);
+            pool.setMaximumPoolSize(instance.getMaximumPoolSize());
+            pool.setConnectionTimeout(instance.getConnectionTimeout().toMillis());
+            // Not a bean, so the connection limiter has to be applied here
+            if (Threading.VIRTUAL.isActive(environment)) {
+                return new ConnectionLimitingDataSource(pool, instance.getMaximumPoolSize(),
+                        instance.getConnectionTimeout());
+            }
+            return pool;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.demo.reports.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "reports.read-replicas")
+public class ReadReplicaProperties {
+
+    /**
+     * Run every report query against the replicas below. Off, every connection comes
+     * from spring.datasource.
+     */
+    private boolean enabled = false;
+
+    private List<Instance> instances = new ArrayList<>();
+
+    /**
+     * Most a replica may trail the primary and still serve reports; lagging replicas
+     * are skipped, and with none left queries go to the primary.
+     */
+    private Duration maxLag = Duration.ofSeconds(30);
+
+    /**
+     * Delay between checks of each replica's lag and health.
+     */
+    private Duration probeInterval = Duration.ofSeconds(1);
+
+    @Data
+    public static class Instance {
+
+        private String url;
+
+        /**
+         * Defaults to spring.datasource.username.
+         */
+        private String username;
+
+        /**
+         * Defaults to spring.datasource.password.
+         */
+        private String password;
+
+        private int maximumPoolSize = 10;
+
+        /**
+         * How long a query waits for a replica connection; kept short so an unreachable
+         * replica is marked down quickly.
+         */
+        private Duration connectionTimeout = Duration.ofSeconds(2);
+    }
+}
@@ -0,0 +1,16 @@
+package com.demo.reports.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "reports.rollup")
+public class ReportRollupProperties {
+
+    /**
+     * Serve the headcount and department statistics from the department_rollup
+     * table the backend maintains on every write, instead of the report snapshot.
+     * Falls back to the snapshot while the table is missing or empty.
+     */
+    private boolean enabled = false;
+}
@@ -0,0 +1,60 @@
+package com.demo.reports.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "reports.snapshot")
+public class ReportSnapshotProperties {
+
+    /**
+     * Delay between background rebuilds of the report snapshot.
+     */
+    private Duration refreshInterval = Duration.ofSeconds(30);
+
+    /**
+     * Oldest snapshot a request may be served from; older snapshots are rebuilt on
+     * the request path before answering.
+     */
+    private Duration maxStaleness = Duration.ofMinutes(2);
+
+    /**
+     * Normalised rank error allowed for the salary histogram sketches (0.01 = 1%).
+     * Smaller values mean larger sketches.
+     */
+    private double sketchRankError = 0.01;
+
+    /**
+     * Where snapshots are aggregated: {@code sql} runs GROUP BY queries against the
+     * employees table on every rebuild; {@code columnar} keeps the employees in
+     * memory as primitive columns, applies the backend's change log to them, and
+     * scans them instead.
+     */
+    private Engine engine = Engine.SQL;
+
+    private Columnar columnar = new Columnar();
+
+    public enum Engine {
+        SQL,
+        COLUMNAR
+    }
+
+    @Data
+    public static class Columnar {
+
+        /**
+         * How long a change log entry must be old before the columns treat every
+         * lower sequence number as committed. Must exceed the longest backend write
+         * transaction; matches the backend's employee.changes.settle-window.
+         */
+        private Duration settleWindow = Duration.ofSeconds(5);
+
+        /**
+         * Fraction of the rows that may change between two syncs before the columns
+         * are reloaded from scratch instead of patched row by row.
+         */
+        private double maxDeltaFraction = 0.25;
+    }
+}
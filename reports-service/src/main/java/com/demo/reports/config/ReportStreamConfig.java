@@ -0,0 +1,32 @@
+package com.demo.reports.config;
+
+import com.demo.reports.stream.SseBroadcaster;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * SSE fan-out for report updates. It has its own sender threads: the
+ * applicationTaskExecutor is sized for dashboard sections and rejects work when
+ * full, which would drop subscribers whenever an update went out to many at once.
+ */
+@Configuration
+@EnableConfigurationProperties(ReportStreamProperties.class)
+public class ReportStreamConfig {
+
+    @Bean
+    public SseBroadcaster reportUpdateBroadcaster(ReportStreamProperties properties, Environment environment,
+                                                  MeterRegistry meterRegistry) {
+        ExecutorService senders = Threading.VIRTUAL.isActive(environment)
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("sse-reports-", 0).factory())
+                : Executors.newFixedThreadPool(properties.getSenderThreads(),
+                        Thread.ofPlatform().name("sse-reports-", 0).daemon().factory());
+        return new SseBroadcaster("report-updates", senders, properties.getQueueCapacity(), meterRegistry);
+    }
+}
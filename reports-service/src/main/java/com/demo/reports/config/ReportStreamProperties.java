@@ -0,0 +1,40 @@
+package com.demo.reports.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "reports.stream")
+public class ReportStreamProperties {
+
+    /**
+     * Idle subscribers are sent a comment this often so proxies keep the connection
+     * open and dead clients are noticed.
+     */
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+    /**
+     * How long one SSE connection is held before it is closed and the client
+     * reconnects.
+     */
+    private Duration timeout = Duration.ofMinutes(30);
+
+    /**
+     * Reconnect delay suggested to clients in the stream's retry field.
+     */
+    private Duration reconnectDelay = Duration.ofSeconds(3);
+
+    /**
+     * Updates buffered per subscriber before a slow one is disconnected. Each
+     * update supersedes the last, so this can stay small.
+     */
+    private int queueCapacity = 16;
+
+    /**
+     * Platform threads writing updates to subscribers. Virtual-thread mode uses a
+     * virtual thread per write instead.
+     */
+    private int senderThreads = 2;
+}
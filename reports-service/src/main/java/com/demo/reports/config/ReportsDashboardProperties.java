@@ -0,0 +1,28 @@
+package com.demo.reports.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "reports.dashboard")
+public class ReportsDashboardProperties {
+
+    /**
+     * How long the dashboard waits for a section before returning without it.
+     */
+    private Duration sectionTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Per-section overrides of the timeout, keyed by section name (headcount,
+     * salarySummary, departmentStats, newHires).
+     */
+    private Map<String, Duration> sectionTimeouts = new HashMap<>();
+
+    public Duration timeoutFor(String section) {
+        return sectionTimeouts.getOrDefault(section, sectionTimeout);
+    }
+}
@@ -0,0 +1,14 @@
+package com.demo.reports.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The schema belongs to the backend, whose migrations create it; this service only
+ * reads it. Once the application has started, {@link QueryPlanCheck} verifies the
+ * report queries use the indexes those migrations create.
+ */
+@Configuration
+@EnableConfigurationProperties(QueryPlanCheckProperties.class)
+public class SchemaConfig {
+}
@@ -0,0 +1,20 @@
+package com.demo.reports.config;
+
+import org.springframework.boot.http.converter.autoconfigure.ServerHttpMessageConvertersCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+/**
+ * Reports are JSON unless the client asks for {@code application/cbor}.
+ */
+@Configuration
+public class WireFormatConfig {
+
+    // Use Boot's CBOR mapper so spring.jackson settings apply to both encodings
+    @Bean
+    public ServerHttpMessageConvertersCustomizer cborMessageConverterCustomizer(CBORMapper cborMapper) {
+        return builder -> builder.withCborConverter(new JacksonCborHttpMessageConverter(cborMapper));
+    }
+}
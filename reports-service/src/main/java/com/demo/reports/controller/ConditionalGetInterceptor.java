@@ -0,0 +1,73 @@
+package com.demo.reports.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+
+/**
+ * Answers conditional GETs before the handler runs. The ETag combines a version tag
+ * for the data behind the report with a hash of the URL, query and the headers
+ * that select the representation, so a matching If-None-Match costs no report
+ * work at all.
+ */
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    private final Supplier<String> versionTag;
+
+    public ConditionalGetInterceptor(Supplier<String> versionTag) {
+        this.versionTag = versionTag;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod())) {
+            return true;
+        }
+        String tag = versionTag.get();
+        if (tag == null) {
+            return true;
+        }
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        // Sets the ETag header, and the 304 status when If-None-Match matches
+        return !new ServletWebRequest(request, response).checkNotModified(etag(request, tag));
+    }
+
+    static String etag(HttpServletRequest request, String versionTag) {
+        CRC32 representation = new CRC32();
+        update(representation, request.getRequestURI());
+        update(representation, request.getQueryString());
+        update(representation, request.getHeader(HttpHeaders.ACCEPT));
+        update(representation, request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        return "\"" + versionTag + "-" + Long.toHexString(representation.getValue()) + "\"";
+    }
+
+    /**
+     * Whether If-None-Match lists the given ETag, for handlers that must decide
+     * after the fact whether their response may carry one.
+     */
+    static boolean matchesIfNoneMatch(HttpServletRequest request, String etag) {
+        for (String header : Collections.list(request.getHeaders(HttpHeaders.IF_NONE_MATCH))) {
+            for (String candidate : header.split(",")) {
+                String trimmed = candidate.trim();
+                if (trimmed.equals("*") || trimmed.equals(etag) || trimmed.equals("W/" + etag)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static void update(CRC32 crc, String value) {
+        if (value != null) {
+            crc.update(value.getBytes(StandardCharsets.UTF_8));
+        }
+        crc.update(0);
+    }
+}
@@ -1,13 +1,24 @@
 package com.demo.reports.controller;
 
 import com.demo.reports.dto.*;
+import com.demo.reports.service.DashboardService;
 import com.demo.reports.service.ReportsService;
+import com.demo.reports.stream.ReportUpdateStream;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -17,6 +28,37 @@ import java.util.List;
 public class ReportsController {
 
     private final ReportsService reportsService;
+    private final DashboardService dashboardService;
+    private final ReportUpdateStream reportUpdateStream;
+
+    @GetMapping("/dashboard")
+    @Operation(summary = "Get reports dashboard", description = "Returns headcount, salary summary, department stats and new hires in one response; sections that fail or time out are listed in errors")
+    public ResponseEntity<DashboardDTO> getDashboard(@RequestParam(defaultValue = "30") int newHireDays,
+                                                     HttpServletRequest request) {
+        String liveVersion = reportsService.getLiveVersionTag();
+        String etag = liveVersion == null ? null : ConditionalGetInterceptor.etag(request,
+                reportsService.getSnapshotVersionTag() + "+" + liveVersion);
+        if (etag != null && ConditionalGetInterceptor.matchesIfNoneMatch(request, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        DashboardDTO dashboard = dashboardService.getDashboard(newHireDays);
+        // A partial dashboard gets no ETag, or clients would keep revalidating it after the failed section recovers
+        if (etag == null || !dashboard.getErrors().isEmpty()) {
+            return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(dashboard);
+        }
+        return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(dashboard);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream report updates", description = "Server-Sent Events: a report-update event with the headcount, salary summary and department stats that changed whenever the report snapshot is rebuilt from new data. The first event is a full update unless Last-Event-ID (or lastEventId) is already the current version")
+    public ResponseEntity<SseEmitter> streamReportUpdates(
+            @RequestHeader(name = "Last-Event-ID", required = false) String lastEventIdHeader,
+            @RequestParam(name = "lastEventId", required = false) String lastEventIdParam) {
+        // Tells nginx (and ingress-nginx) not to buffer the stream
+        return ResponseEntity.ok()
+                .header("X-Accel-Buffering", "no")
+                .body(reportUpdateStream.subscribe(lastEventIdHeader != null ? lastEventIdHeader : lastEventIdParam));
+    }
 
     @GetMapping("/headcount")
     @Operation(summary = "Get headcount report", description = "Returns employee count by department and new hires")
@@ -30,6 +72,25 @@ public class ReportsController {
         return ResponseEntity.ok(reportsService.getSalarySummary());
     }
 
+    @GetMapping("/salary/percentiles")
+    @Operation(summary = "Get salary percentiles", description = "Returns exact salary percentiles (default 50, 90, 99), optionally for one department")
+    public ResponseEntity<SalaryPercentilesDTO> getSalaryPercentiles(
+            @RequestParam(defaultValue = "50,90,99") List<BigDecimal> p,
+            @RequestParam(required = false) String department) {
+        return ResponseEntity.ok(reportsService.getSalaryPercentiles(p, department));
+    }
+
+    @GetMapping("/salary/histogram")
+    @Operation(summary = "Get salary histogram", description = "Returns an approximate salary histogram and quantiles, optionally for one department and range of hire years")
+    public ResponseEntity<SalaryHistogramDTO> getSalaryHistogram(
+            @RequestParam(defaultValue = "10") int buckets,
+            @RequestParam(defaultValue = "25,50,75,90,99") List<BigDecimal> p,
+            @RequestParam(required = false) String department,
+            @RequestParam(required = false) Integer hiredFromYear,
+            @RequestParam(required = false) Integer hiredToYear) {
+        return ResponseEntity.ok(reportsService.getSalaryHistogram(buckets, p, department, hiredFromYear, hiredToYear));
+    }
+
     @GetMapping("/departments")
     @Operation(summary = "Get all department stats", description = "Returns statistics for each department")
     public ResponseEntity<List<DepartmentStatsDTO>> getAllDepartmentStats() {
@@ -47,4 +108,20 @@ public class ReportsController {
     public ResponseEntity<List<NewHireDTO>> getNewHires(@RequestParam(defaultValue = "30") int days) {
         return ResponseEntity.ok(reportsService.getNewHires(days));
     }
+
+    @GetMapping("/hires/timeseries")
+    @Operation(summary = "Get hire time series", description = "Returns hires and cumulative headcount per week, month or quarter between two dates (default: the last year), optionally for one department")
+    public ResponseEntity<HireTimeseriesDTO> getHireTimeseries(
+            @RequestParam(defaultValue = "month") String bucket,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String department) {
+        return ResponseEntity.ok(reportsService.getHireTimeseries(bucket, from, to, department));
+    }
+
+    @GetMapping("/snapshot-info")
+    @Operation(summary = "Get report snapshot info", description = "Returns when the aggregate reports were last rebuilt and how old they are")
+    public ResponseEntity<SnapshotInfoDTO> getSnapshotInfo() {
+        return ResponseEntity.ok(reportsService.getSnapshotInfo());
+    }
 }
@@ -0,0 +1,22 @@
+package com.demo.reports.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardDTO {
+    private HeadcountReportDTO headcount;
+    private SalarySummaryDTO salarySummary;
+    private List<DepartmentStatsDTO> departmentStats;
+    private List<NewHireDTO> newHires;
+    /**
+     * Sections that are missing from this response (null above), with the reason.
+     */
+    private Map<String, String> errors;
+}
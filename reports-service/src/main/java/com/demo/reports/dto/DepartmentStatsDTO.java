@@ -16,4 +16,5 @@ public class DepartmentStatsDTO {
     private BigDecimal averageSalary;
     private BigDecimal minSalary;
     private BigDecimal maxSalary;
+    private BigDecimal stdDevSalary;
 }
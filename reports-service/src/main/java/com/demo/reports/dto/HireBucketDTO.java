@@ -0,0 +1,17 @@
+package com.demo.reports.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HireBucketDTO {
+    private LocalDate start;
+    private LocalDate end;
+    private Long hires;
+    private Long headcount;
+}
@@ -0,0 +1,19 @@
+package com.demo.reports.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HireTimeseriesDTO {
+    private String department;
+    private String bucket;
+    private LocalDate from;
+    private LocalDate to;
+    private List<HireBucketDTO> buckets;
+}
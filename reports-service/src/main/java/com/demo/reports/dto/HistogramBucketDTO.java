@@ -0,0 +1,16 @@
+package com.demo.reports.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HistogramBucketDTO {
+    private BigDecimal lowerBound;
+    private BigDecimal upperBound;
+    private Long count;
+}
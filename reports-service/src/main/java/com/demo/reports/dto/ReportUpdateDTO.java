@@ -0,0 +1,21 @@
+package com.demo.reports.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportUpdateDTO {
+    private String version;
+    private Instant builtAt;
+    /** True when every section is included, false when only changed sections are. */
+    private boolean full;
+    private HeadcountReportDTO headcount;
+    private SalarySummaryDTO salarySummary;
+    private List<DepartmentStatsDTO> departments;
+}
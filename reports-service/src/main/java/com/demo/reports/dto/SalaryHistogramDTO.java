@@ -0,0 +1,22 @@
+package com.demo.reports.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalaryHistogramDTO {
+    private String department;
+    private Integer hiredFromYear;
+    private Integer hiredToYear;
+    private Long employeeCount;
+    private Double rankError;
+    private Map<String, BigDecimal> quantiles;
+    private List<HistogramBucketDTO> buckets;
+}
@@ -0,0 +1,17 @@
+package com.demo.reports.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalaryPercentilesDTO {
+    private String department;
+    private Long employeeCount;
+    private Map<String, BigDecimal> percentiles;
+}
@@ -16,4 +16,5 @@ public class SalarySummaryDTO {
     private BigDecimal minSalary;
     private BigDecimal maxSalary;
     private BigDecimal medianSalary;
+    private BigDecimal stdDevSalary;
 }
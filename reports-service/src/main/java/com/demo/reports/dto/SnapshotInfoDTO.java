@@ -0,0 +1,23 @@
+package com.demo.reports.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SnapshotInfoDTO {
+    private Instant builtAt;
+    private LocalDate asOf;
+    private Long dataVersion;
+    private Long ageMillis;
+    private Boolean stale;
+    private Long refreshIntervalMillis;
+    private Long maxStalenessMillis;
+    private Long lastRefreshMillis;
+    private Long totalEmployees;
+}
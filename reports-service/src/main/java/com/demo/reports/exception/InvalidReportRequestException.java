@@ -0,0 +1,8 @@
+package com.demo.reports.exception;
+
+public class InvalidReportRequestException extends RuntimeException {
+
+    public InvalidReportRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,133 @@
+package com.demo.reports.metrics;
+
+import com.demo.reports.config.MetricsProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Times every public service method (reports.service) and every repository call
+ * (reports.repository), tagged with class, method, outcome and department. Service
+ * timers also carry a bucketed result size, and source=snapshot when the call was
+ * answered without touching the database, and source=database when it queried live
+ * data or had to rebuild an expired snapshot. Repository calls slower than
+ * reports.metrics.slow-query-threshold are logged, with their parameters only if
+ * reports.metrics.log-query-parameters is set.
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class HotPathMetricsAspect {
+
+    public static final String SERVICE_TIMER = "reports.service";
+    public static final String REPOSITORY_TIMER = "reports.repository";
+
+    private static final int MAX_LOGGED_ELEMENTS = 10;
+    private static final ThreadLocal<long[]> REPOSITORY_CALLS = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final MeterRegistry meterRegistry;
+    private final MetricsProperties properties;
+
+    @Around("execution(public * com.demo.reports.service..*(..))")
+    public Object timeServiceCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        long[] repositoryCalls = REPOSITORY_CALLS.get();
+        long callsBefore = repositoryCalls[0];
+        long start = System.nanoTime();
+        Object result = null;
+        Throwable failure = null;
+        try {
+            result = joinPoint.proceed();
+            return result;
+        } catch (Throwable ex) {
+            failure = ex;
+            throw ex;
+        } finally {
+            Signature signature = joinPoint.getSignature();
+            Timer.builder(SERVICE_TIMER)
+                    .description("Service method latency")
+                    .tag("class", signature.getDeclaringType().getSimpleName())
+                    .tag("method", signature.getName())
+                    .tag("outcome", failure == null ? "success" : "error")
+                    .tag("department", MetricTags.department(joinPoint.getArgs()))
+                    .tag("result.size", MetricTags.resultSize(result))
+                    .tag("source", repositoryCalls[0] > callsBefore ? "database" : "snapshot")
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Around("within(com.demo.reports.repository..*) || target(org.springframework.data.repository.Repository)")
+    public Object timeRepositoryCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        REPOSITORY_CALLS.get()[0]++;
+        long start = System.nanoTime();
+        Throwable failure = null;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable ex) {
+            failure = ex;
+            throw ex;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            String repository = repositoryName(joinPoint.getTarget());
+            String method = joinPoint.getSignature().getName();
+            Timer.builder(REPOSITORY_TIMER)
+                    .description("Repository call latency")
+                    .tag("repository", repository)
+                    .tag("method", method)
+                    .tag("outcome", failure == null ? "success" : "error")
+                    .tag("department", MetricTags.department(joinPoint.getArgs()))
+                    .register(meterRegistry)
+                    .record(elapsed, TimeUnit.NANOSECONDS);
+            logIfSlow(repository, method, joinPoint.getArgs(), elapsed);
+        }
+    }
+
+    private void logIfSlow(String repository, String method, Object[] args, long elapsedNanos) {
+        Duration threshold = properties.getSlowQueryThreshold();
+        if (elapsedNanos < threshold.toNanos()) {
+            return;
+        }
+        if (properties.isLogQueryParameters()) {
+            log.warn("Slow query {}.{} took {}ms (threshold {}ms), parameters {}", repository, method,
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos), threshold.toMillis(), describe(args));
+        } else {
+            log.warn("Slow query {}.{} took {}ms (threshold {}ms)", repository, method,
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos), threshold.toMillis());
+        }
+    }
+
+    private static String repositoryName(Object target) {
+        // Spring Data repositories are JDK proxies; name them after the application interface
+        for (Class<?> candidate : ClassUtils.getAllInterfaces(target)) {
+            if (candidate.getPackageName().startsWith("com.demo.")) {
+                return candidate.getSimpleName();
+            }
+        }
+        return ClassUtils.getUserClass(target).getSimpleName();
+    }
+
+    private static String describe(Object[] args) {
+        return Arrays.stream(args)
+                .map(arg -> arg instanceof Collection<?> collection && collection.size() > MAX_LOGGED_ELEMENTS
+                        ? "[" + collection.size() + " elements]"
+                        : String.valueOf(arg))
+                .collect(Collectors.joining(", ", "[", "]"));
+    }
+}
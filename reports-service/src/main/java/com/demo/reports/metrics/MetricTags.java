@@ -0,0 +1,69 @@
+package com.demo.reports.metrics;
+
+import com.demo.reports.model.Department;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.BaseStream;
+
+/**
+ * Low-cardinality tag values derived from a call's arguments and result.
+ */
+final class MetricTags {
+
+    static final String NONE = "none";
+
+    private MetricTags() {
+    }
+
+    /**
+     * The department a call is scoped to. Report endpoints pass department names as
+     * strings, so only names that match a {@link Department} are used as tag values;
+     * anything else would let callers mint new time series.
+     */
+    static String department(Object[] args) {
+        for (Object arg : args) {
+            switch (arg) {
+                case Department department -> {
+                    return department.name();
+                }
+                case String name when isDepartment(name) -> {
+                    return name.toUpperCase();
+                }
+                case null, default -> {
+                }
+            }
+        }
+        return NONE;
+    }
+
+    static String resultSize(Object result) {
+        return switch (result) {
+            case null -> NONE;
+            case BaseStream<?, ?> stream -> "stream";
+            case Collection<?> collection -> bucket(collection.size());
+            case Map<?, ?> map -> bucket(map.size());
+            case Optional<?> optional -> bucket(optional.isPresent() ? 1 : 0);
+            default -> bucket(1);
+        };
+    }
+
+    private static boolean isDepartment(String name) {
+        return Arrays.stream(Department.values()).anyMatch(d -> d.name().equalsIgnoreCase(name));
+    }
+
+    private static String bucket(long size) {
+        if (size <= 1) {
+            return Long.toString(size);
+        }
+        if (size <= 10) {
+            return "2-10";
+        }
+        if (size <= 100) {
+            return "11-100";
+        }
+        return size <= 1000 ? "101-1000" : "1000+";
+    }
+}
@@ -0,0 +1,50 @@
+package com.demo.reports.repository;
+
+import com.demo.reports.config.ReplicaRoutingDataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Reads the data_version counter the backend bumps on every employee write.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class DataVersionRepository {
+
+    public static final long UNKNOWN = -1;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * The committed version, 0 before the first write, or {@link #UNKNOWN} while the
+     * backend has not created the table yet.
+     */
+    public long currentVersion() {
+        try {
+            List<Long> versions = jdbcTemplate.queryForList("SELECT version FROM data_version WHERE id = 1", Long.class);
+            return versions.isEmpty() ? 0 : versions.getFirst();
+        } catch (BadSqlGrammarException e) {
+            log.debug("data_version is not readable yet: {}", e.getMessage());
+            return UNKNOWN;
+        }
+    }
+
+    /**
+     * A version every database the next query could be routed to has applied, for
+     * tagging data read on another connection: the current version, lowered with read
+     * replicas to the least any replica that could serve the query is known to have.
+     */
+    public long readableVersion() {
+        long version = currentVersion();
+        if (version != UNKNOWN && jdbcTemplate.getDataSource() instanceof ReplicaRoutingDataSource router) {
+            return Math.min(version, router.leastServableVersion());
+        }
+        return version;
+    }
+}
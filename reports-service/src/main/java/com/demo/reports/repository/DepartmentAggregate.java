@@ -0,0 +1,16 @@
+package com.demo.reports.repository;
+
+import com.demo.reports.model.Department;
+
+/**
+ * One row of the per-department GROUP BY used by the reports; never hydrates
+ * Employee entities. Salary figures are accumulated from the salary rows instead,
+ * in whole cents.
+ */
+public record DepartmentAggregate(
+        Department department,
+        Long employeeCount,
+        Long hiredSinceStartOfMonth,
+        Long hiredSinceStartOfYear
+) {
+}
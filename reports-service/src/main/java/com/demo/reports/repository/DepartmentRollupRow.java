@@ -0,0 +1,17 @@
+package com.demo.reports.repository;
+
+import java.math.BigInteger;
+
+/**
+ * One row of the backend's department_rollup, with the department's hires since
+ * the start of the month and year summed from department_hire_months. Salaries in
+ * whole cents.
+ */
+public record DepartmentRollupRow(
+        DepartmentAggregate aggregate,
+        long salaryTotalCents,
+        BigInteger salarySquaresCents,
+        long minSalaryCents,
+        long maxSalaryCents
+) {
+}
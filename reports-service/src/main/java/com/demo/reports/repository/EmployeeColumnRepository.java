@@ -0,0 +1,132 @@
+package com.demo.reports.repository;
+
+import com.demo.reports.model.Department;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reads the employee columns the columnar report engine keeps (department, salary
+ * in cents, hire date as an epoch day) straight off the JDBC result set, and the
+ * backend's employee_changes log that tells it which rows to re-read. The full
+ * load is streamed rather than buffered.
+ */
+@Slf4j
+@Repository
+public class EmployeeColumnRepository {
+
+    /**
+     * Returned by the change log queries while the backend has not created the
+     * employee_changes table yet.
+     */
+    public static final long UNKNOWN = -1;
+
+    private static final int IN_BATCH = 1000;
+    private static final String SELECT_COLUMNS = "SELECT id, department, ROUND(salary * 100), hire_date FROM employees";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+
+    public EmployeeColumnRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.streamingJdbcTemplate = new StreamingJdbcTemplate(jdbcTemplate.getJdbcTemplate().getDataSource());
+    }
+
+    /**
+     * Every employee in id order.
+     */
+    public void forEachEmployee(EmployeeColumnsHandler handler) {
+        streamingJdbcTemplate.query(SELECT_COLUMNS + " ORDER BY id", rowCallback(handler));
+    }
+
+    public void forEachEmployee(Set<Long> ids, EmployeeColumnsHandler handler) {
+        List<Long> remaining = new ArrayList<>(ids);
+        for (int from = 0; from < remaining.size(); from += IN_BATCH) {
+            jdbcTemplate.query(SELECT_COLUMNS + " WHERE id IN (:ids)",
+                    new MapSqlParameterSource("ids", remaining.subList(from, Math.min(remaining.size(), from + IN_BATCH))),
+                    rowCallback(handler));
+        }
+    }
+
+    /**
+     * The highest change sequence number older than {@code settleWindow}, below which
+     * every write has committed; 0 when there is none, or {@link #UNKNOWN}.
+     */
+    public long settledChangeSeq(Duration settleWindow) {
+        return queryChangeLog("""
+                        SELECT COALESCE(MAX(seq), 0) FROM employee_changes
+                        WHERE changed_at < TIMESTAMPADD(MICROSECOND, -:settleMicros, NOW(3))""",
+                new MapSqlParameterSource("settleMicros", settleWindow.toNanos() / 1000));
+    }
+
+    /**
+     * The lowest sequence number still in the log after pruning, {@link Long#MAX_VALUE}
+     * when the log is empty, or {@link #UNKNOWN}.
+     */
+    public long oldestChangeSeq() {
+        return queryChangeLog("SELECT COALESCE(MIN(seq), " + Long.MAX_VALUE + ") FROM employee_changes",
+                new MapSqlParameterSource());
+    }
+
+    public Set<Long> findChangedEmployeeIds(long afterSeq) {
+        Set<Long> ids = new HashSet<>();
+        jdbcTemplate.query("SELECT DISTINCT employee_id FROM employee_changes WHERE seq > :afterSeq",
+                new MapSqlParameterSource("afterSeq", afterSeq), rs -> {
+                    ids.add(rs.getLong(1));
+                });
+        return ids;
+    }
+
+    private long queryChangeLog(String sql, MapSqlParameterSource parameters) {
+        try {
+            return jdbcTemplate.queryForObject(sql, parameters, Long.class);
+        } catch (BadSqlGrammarException e) {
+            log.debug("employee_changes is not readable yet: {}", e.getMessage());
+            return UNKNOWN;
+        }
+    }
+
+    private static RowCallbackHandler rowCallback(EmployeeColumnsHandler handler) {
+        return rs -> {
+            String department = rs.getString(2);
+            long salaryCents = rs.getLong(3);
+            if (rs.wasNull()) {
+                salaryCents = EmployeeColumnsHandler.NO_SALARY;
+            }
+            Date hireDate = rs.getDate(4);
+            handler.accept(rs.getLong(1),
+                    department == null ? EmployeeColumnsHandler.NO_DEPARTMENT : Department.valueOf(department).ordinal(),
+                    salaryCents,
+                    hireDate == null ? EmployeeColumnsHandler.NO_HIRE_DAY : (int) hireDate.toLocalDate().toEpochDay());
+        };
+    }
+
+    /**
+     * Receives one employee's columns as primitives, with sentinels for NULLs.
+     */
+    @FunctionalInterface
+    public interface EmployeeColumnsHandler {
+
+        int NO_DEPARTMENT = -1;
+        long NO_SALARY = Long.MIN_VALUE;
+        int NO_HIRE_DAY = Integer.MIN_VALUE;
+
+        /**
+         * @param department   {@link Department} ordinal, or {@link #NO_DEPARTMENT}
+         * @param salaryCents  salary in cents, or {@link #NO_SALARY}
+         * @param hireEpochDay hire date as {@link java.time.LocalDate#toEpochDay()}, or {@link #NO_HIRE_DAY}
+         */
+        void accept(long id, int department, long salaryCents, int hireEpochDay);
+    }
+}
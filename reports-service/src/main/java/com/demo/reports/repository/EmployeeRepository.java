@@ -1,6 +1,5 @@
 package com.demo.reports.repository;
 
-import com.demo.reports.model.Department;
 import com.demo.reports.model.Employee;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -13,16 +12,19 @@ import java.util.List;
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
 
-    Long countByDepartment(Department department);
+    @Query("""
+            SELECT new com.demo.reports.repository.DepartmentAggregate(
+                e.department, COUNT(e),
+                SUM(CASE WHEN e.hireDate >= :startOfMonth THEN 1 ELSE 0 END),
+                SUM(CASE WHEN e.hireDate >= :startOfYear THEN 1 ELSE 0 END))
+            FROM Employee e
+            GROUP BY e.department""")
+    List<DepartmentAggregate> aggregateByDepartment(@Param("startOfMonth") LocalDate startOfMonth,
+                                                    @Param("startOfYear") LocalDate startOfYear);
 
     @Query("SELECT e FROM Employee e WHERE e.hireDate >= :startDate ORDER BY e.hireDate DESC")
     List<Employee> findNewHiresSince(@Param("startDate") LocalDate startDate);
 
     @Query("SELECT e FROM Employee e WHERE e.hireDate BETWEEN :startDate AND :endDate ORDER BY e.hireDate DESC")
     List<Employee> findHiresBetween(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
-
-    List<Employee> findByDepartment(Department department);
-
-    @Query("SELECT e.salary FROM Employee e ORDER BY e.salary")
-    List<java.math.BigDecimal> findAllSalariesOrdered();
 }
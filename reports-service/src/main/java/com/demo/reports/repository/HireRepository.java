@@ -0,0 +1,44 @@
+package com.demo.reports.repository;
+
+import com.demo.reports.model.Department;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+
+/**
+ * Reads hire counts per department and day, grouped in the database: one row per
+ * day someone in the department was hired, however many employees that covers.
+ * The rows are streamed rather than buffered.
+ */
+@Repository
+public class HireRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public HireRepository(DataSource dataSource) {
+        this.jdbcTemplate = new StreamingJdbcTemplate(dataSource);
+    }
+
+    public void forEachHireDay(HireDayHandler handler) {
+        jdbcTemplate.query("""
+                        SELECT department, hire_date, COUNT(*)
+                        FROM employees
+                        WHERE department IS NOT NULL AND hire_date IS NOT NULL
+                        GROUP BY department, hire_date""",
+                rs -> {
+                    handler.accept(Department.valueOf(rs.getString(1)),
+                            (int) rs.getDate(2).toLocalDate().toEpochDay(), rs.getLong(3));
+                });
+    }
+
+    @FunctionalInterface
+    public interface HireDayHandler {
+
+        /**
+         * @param hireEpochDay hire date as {@link java.time.LocalDate#toEpochDay()}
+         * @param hires        employees in the department hired that day
+         */
+        void accept(Department department, int hireEpochDay, long hires);
+    }
+}
@@ -0,0 +1,41 @@
+package com.demo.reports.repository;
+
+import com.demo.reports.model.Department;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+
+/**
+ * Reads salaries as whole cents straight off the JDBC result set, so loading the
+ * salary index and sketches allocates neither entities nor a BigDecimal per row.
+ * The rows are streamed, so neither is the whole projection held in memory.
+ */
+@Repository
+public class SalaryRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SalaryRepository(DataSource dataSource) {
+        this.jdbcTemplate = new StreamingJdbcTemplate(dataSource);
+    }
+
+    public void forEachSalary(SalaryRowHandler handler) {
+        jdbcTemplate.query("""
+                        SELECT department, YEAR(hire_date), ROUND(salary * 100)
+                        FROM employees
+                        WHERE department IS NOT NULL AND salary IS NOT NULL""",
+                rs -> {
+                    handler.accept(Department.valueOf(rs.getString(1)), rs.getInt(2), rs.getLong(3));
+                });
+    }
+
+    @FunctionalInterface
+    public interface SalaryRowHandler {
+
+        /**
+         * @param hireYear calendar year of the hire date, or 0 when it is unknown
+         */
+        void accept(Department department, int hireYear, long salaryCents);
+    }
+}
@@ -0,0 +1,29 @@
+package com.demo.reports.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * JdbcTemplate for full-table reads handed row by row to a callback. On MySQL it
+ * sets a fetch size of Integer.MIN_VALUE, which makes Connector/J stream the
+ * result set instead of buffering all of it before the first row; other databases
+ * keep their default fetch size. While a streamed result is open its connection
+ * cannot run another statement, so callbacks must not query.
+ */
+class StreamingJdbcTemplate extends JdbcTemplate {
+
+    StreamingJdbcTemplate(DataSource dataSource) {
+        super(dataSource);
+    }
+
+    @Override
+    protected void applyStatementSettings(Statement stmt) throws SQLException {
+        super.applyStatementSettings(stmt);
+        if ("MySQL".equals(stmt.getConnection().getMetaData().getDatabaseProductName())) {
+            stmt.setFetchSize(Integer.MIN_VALUE);
+        }
+    }
+}
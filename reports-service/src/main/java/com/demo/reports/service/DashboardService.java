@@ -0,0 +1,90 @@
+package com.demo.reports.service;
+
+import com.demo.reports.config.ReportsDashboardProperties;
+import com.demo.reports.dto.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Composes the reports dashboard from independent sections fetched concurrently,
+ * so its latency is that of the slowest section rather than the sum of all of them.
+ * A section that fails, times out or cannot be scheduled is left out and reported
+ * in {@link DashboardDTO#getErrors()}; the rest of the dashboard is still returned.
+ * A timed-out section keeps running on the executor until it finishes.
+ */
+@Slf4j
+@Service
+public class DashboardService {
+
+    static final String HEADCOUNT = "headcount";
+    static final String SALARY_SUMMARY = "salarySummary";
+    static final String DEPARTMENT_STATS = "departmentStats";
+    static final String NEW_HIRES = "newHires";
+
+    private final ReportsService reportsService;
+    private final AsyncTaskExecutor executor;
+    private final ReportsDashboardProperties properties;
+
+    public DashboardService(ReportsService reportsService,
+                            @Qualifier("applicationTaskExecutor") AsyncTaskExecutor executor,
+                            ReportsDashboardProperties properties) {
+        this.reportsService = reportsService;
+        this.executor = executor;
+        this.properties = properties;
+    }
+
+    public DashboardDTO getDashboard(int newHireDays) {
+        CompletableFuture<HeadcountReportDTO> headcount = section(HEADCOUNT, reportsService::getHeadcountReport);
+        CompletableFuture<SalarySummaryDTO> salarySummary = section(SALARY_SUMMARY, reportsService::getSalarySummary);
+        CompletableFuture<List<DepartmentStatsDTO>> departmentStats =
+                section(DEPARTMENT_STATS, reportsService::getDepartmentStats);
+        CompletableFuture<List<NewHireDTO>> newHires = section(NEW_HIRES, () -> reportsService.getNewHires(newHireDays));
+
+        Map<String, String> errors = new LinkedHashMap<>();
+        return new DashboardDTO(
+                await(HEADCOUNT, headcount, errors),
+                await(SALARY_SUMMARY, salarySummary, errors),
+                await(DEPARTMENT_STATS, departmentStats, errors),
+                await(NEW_HIRES, newHires, errors),
+                errors
+        );
+    }
+
+    private <T> CompletableFuture<T> section(String name, Supplier<T> supplier) {
+        try {
+            return CompletableFuture.supplyAsync(supplier, executor)
+                    .orTimeout(properties.timeoutFor(name).toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    private <T> T await(String name, CompletableFuture<T> section, Map<String, String> errors) {
+        try {
+            return section.join();
+        } catch (CompletionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof TimeoutException) {
+                errors.put(name, "Timed out after " + properties.timeoutFor(name).toMillis() + "ms");
+            } else if (cause instanceof RejectedExecutionException) {
+                errors.put(name, "Too many concurrent requests");
+            } else {
+                errors.put(name, "Failed to load");
+            }
+            log.warn("Dashboard section {} unavailable", name, cause);
+            return null;
+        }
+    }
+}
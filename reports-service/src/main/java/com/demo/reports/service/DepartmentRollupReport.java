@@ -0,0 +1,41 @@
+package com.demo.reports.service;
+
+import com.demo.reports.dto.DepartmentStatsDTO;
+import com.demo.reports.dto.HeadcountReportDTO;
+import com.demo.reports.model.Department;
+import com.demo.reports.repository.DataVersionRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The headcount and department statistics read from the backend's department
+ * rollup, which is current as of the last committed write rather than the last
+ * snapshot rebuild.
+ *
+ * @param dataVersion the data_version read in the same transaction, or
+ *                    {@link DataVersionRepository#UNKNOWN}
+ * @param asOf        the date the month/year new-hire counts are relative to
+ */
+public record DepartmentRollupReport(
+        long dataVersion,
+        LocalDate asOf,
+        HeadcountReportDTO headcount,
+        List<DepartmentStatsDTO> departmentStats,
+        Map<Department, DepartmentStatsDTO> statsByDepartment
+) {
+
+    public DepartmentStatsDTO departmentStats(Department department) {
+        DepartmentStatsDTO stats = statsByDepartment.get(department);
+        return stats == null ? ReportSnapshot.emptyDepartmentStats(department) : stats;
+    }
+
+    /**
+     * Identifies the data this report describes, for ETags, or null when the data
+     * version could not be read.
+     */
+    public String versionTag() {
+        return dataVersion == DataVersionRepository.UNKNOWN ? null : "r" + dataVersion + "." + asOf;
+    }
+}
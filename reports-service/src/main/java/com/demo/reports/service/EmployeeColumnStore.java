@@ -0,0 +1,130 @@
+package com.demo.reports.service;
+
+import com.demo.reports.config.ReportSnapshotProperties;
+import com.demo.reports.repository.DataVersionRepository;
+import com.demo.reports.repository.EmployeeColumnRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Keeps the columnar engine's {@link EmployeeColumns} in step with the employees
+ * table. The first scan loads every row; after that a scan at a new data version
+ * re-reads only the employees the backend's employee_changes log lists since the
+ * last sync, and deletes the ones that are gone. The columns are reloaded from
+ * scratch when the log is unavailable, has been pruned past the last sync, or names
+ * more than {@code reports.snapshot.columnar.max-delta-fraction} of the rows.
+ * <p>
+ * Nothing is loaded until the first scan, so the sql engine never pays for the
+ * columns.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EmployeeColumnStore {
+
+    private final EmployeeColumnRepository columnRepository;
+    private final ReportSnapshotProperties snapshotProperties;
+    private final MeterRegistry meterRegistry;
+
+    // Not a monitor: a sync holds it across JDBC calls, which would pin a virtual thread's carrier
+    private final Lock lock = new ReentrantLock();
+    private volatile EmployeeColumns columns;
+    private long syncedVersion = DataVersionRepository.UNKNOWN;
+    private long changeCursor = EmployeeColumnRepository.UNKNOWN;
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("reports.columnar.rows", this, store -> store.columns == null ? 0 : store.columns.rows())
+                .description("Employees held by the columnar report engine")
+                .register(meterRegistry);
+        Gauge.builder("reports.columnar.memory", this, store -> store.columns == null ? 0 : store.columns.memoryBytes())
+                .description("Heap held by the columnar report engine's arrays")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Brings the columns up to {@code dataVersion} and runs {@code query} against
+     * them. Inside a read-only transaction the sync reads the same consistent view
+     * as the rest of the transaction.
+     *
+     * @param dataVersion the data_version the caller read; a sync is skipped when it
+     *                    matches the last one, and always done when it is
+     *                    {@link DataVersionRepository#UNKNOWN}
+     */
+    public <T> T scan(long dataVersion, Function<EmployeeColumns, T> query) {
+        lock.lock();
+        try {
+            sync(dataVersion);
+            return query.apply(columns);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void sync(long dataVersion) {
+        if (columns != null && dataVersion != DataVersionRepository.UNKNOWN && dataVersion == syncedVersion) {
+            return;
+        }
+        if (columns == null || changeCursor == EmployeeColumnRepository.UNKNOWN || !applyChanges()) {
+            reload();
+        }
+        syncedVersion = dataVersion;
+    }
+
+    private void reload() {
+        long cursor = columnRepository.settledChangeSeq(snapshotProperties.getColumnar().getSettleWindow());
+        EmployeeColumns loaded = new EmployeeColumns(columns == null ? 0 : columns.rows());
+        columnRepository.forEachEmployee(loaded);
+        columns = loaded;
+        changeCursor = cursor;
+        countSync("full");
+        log.debug("Loaded {} employees into the report columns", loaded.rows());
+    }
+
+    /**
+     * Re-reads the employees changed since the last sync, or returns false when the
+     * change log cannot be trusted to list them all.
+     */
+    private boolean applyChanges() {
+        long settled = columnRepository.settledChangeSeq(snapshotProperties.getColumnar().getSettleWindow());
+        if (settled == EmployeeColumnRepository.UNKNOWN || columnRepository.oldestChangeSeq() > changeCursor + 1) {
+            return false;
+        }
+        // Everything after the cursor, settled or not: re-reading a row twice is harmless, missing one is not
+        Set<Long> changed = columnRepository.findChangedEmployeeIds(changeCursor);
+        if (changed.size() > snapshotProperties.getColumnar().getMaxDeltaFraction() * Math.max(1, columns.rows())) {
+            return false;
+        }
+        Set<Long> present = new HashSet<>();
+        columnRepository.forEachEmployee(changed, (id, department, salaryCents, hireEpochDay) -> {
+            columns.accept(id, department, salaryCents, hireEpochDay);
+            present.add(id);
+        });
+        changed.removeAll(present);
+        changed.forEach(columns::delete);
+        columns.compactIfSparse();
+        changeCursor = Math.max(changeCursor, settled);
+        countSync("delta");
+        return true;
+    }
+
+    private void countSync(String mode) {
+        Counter.builder("reports.columnar.syncs")
+                .description("Column syncs by whether every row was reloaded or only the changed ones")
+                .tag("mode", mode)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,124 @@
+package com.demo.reports.service;
+
+import com.demo.reports.model.Department;
+import com.demo.reports.repository.HireRepository.HireDayHandler;
+
+import java.util.Arrays;
+
+/**
+ * Hires per epoch day as sorted arrays of the days anyone was hired and the running
+ * total of hires up to each, one pair for the whole company and one per
+ * department. The hires in any date range are two binary searches, so a time
+ * series costs a couple of lookups per bucket whatever the size of the company.
+ */
+public final class HireHistogram {
+
+    private static final Days NONE = new Days(new int[0], new long[0]);
+
+    private final Days all;
+    private final Days[] byDepartment;
+
+    private HireHistogram(Days all, Days[] byDepartment) {
+        this.all = all;
+        this.byDepartment = byDepartment;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Hires from {@code fromEpochDay} to {@code toEpochDay}, both inclusive, in the
+     * department or, when it is null, the whole company.
+     */
+    public long hiredBetween(Department department, int fromEpochDay, int toEpochDay) {
+        if (fromEpochDay > toEpochDay) {
+            return 0;
+        }
+        Days days = days(department);
+        return days.hiredOnOrBefore(toEpochDay) - days.hiredOnOrBefore(fromEpochDay - 1);
+    }
+
+    /**
+     * Current employees hired on or before {@code epochDay}: the headcount that day,
+     * as far as the employees still on file tell it.
+     */
+    public long hiredOnOrBefore(Department department, int epochDay) {
+        return days(department).hiredOnOrBefore(epochDay);
+    }
+
+    private Days days(Department department) {
+        return department == null ? all : byDepartment[department.ordinal()];
+    }
+
+    private record Days(int[] epochDays, long[] cumulativeHires) {
+
+        long hiredOnOrBefore(int epochDay) {
+            int slot = Arrays.binarySearch(epochDays, epochDay);
+            int last = slot >= 0 ? slot : -slot - 2;
+            return last < 0 ? 0 : cumulativeHires[last];
+        }
+    }
+
+    /**
+     * Collects hire counts in any order, including one call per employee. Each call
+     * costs one packed long until {@link #build()} sorts and merges them.
+     */
+    public static final class Builder implements HireDayHandler {
+
+        private final long[][] packed = new long[Department.values().length][];
+        private final int[] sizes = new int[Department.values().length];
+
+        private Builder() {
+            Arrays.setAll(packed, slot -> new long[16]);
+        }
+
+        /**
+         * @param hires at most {@link Integer#MAX_VALUE} per call
+         */
+        @Override
+        public void accept(Department department, int hireEpochDay, long hires) {
+            int slot = department.ordinal();
+            if (sizes[slot] == packed[slot].length) {
+                packed[slot] = Arrays.copyOf(packed[slot], packed[slot].length * 2);
+            }
+            // Day in the high half, count in the low: sorting the longs sorts by day
+            packed[slot][sizes[slot]++] = ((long) hireEpochDay << 32) | Math.toIntExact(hires);
+        }
+
+        public HireHistogram build() {
+            Days[] byDepartment = new Days[packed.length];
+            long[] everyone = new long[Arrays.stream(sizes).sum()];
+            int offset = 0;
+            for (int slot = 0; slot < packed.length; slot++) {
+                long[] entries = Arrays.copyOf(packed[slot], sizes[slot]);
+                System.arraycopy(entries, 0, everyone, offset, entries.length);
+                offset += entries.length;
+                byDepartment[slot] = toDays(entries);
+            }
+            return new HireHistogram(toDays(everyone), byDepartment);
+        }
+
+        private static Days toDays(long[] entries) {
+            if (entries.length == 0) {
+                return NONE;
+            }
+            Arrays.sort(entries);
+            int[] epochDays = new int[entries.length];
+            long[] cumulative = new long[entries.length];
+            int distinct = 0;
+            long total = 0;
+            for (long entry : entries) {
+                int day = (int) (entry >> 32);
+                total += entry & 0xFFFF_FFFFL;
+                if (distinct > 0 && epochDays[distinct - 1] == day) {
+                    cumulative[distinct - 1] = total;
+                } else {
+                    epochDays[distinct] = day;
+                    cumulative[distinct++] = total;
+                }
+            }
+            return new Days(Arrays.copyOf(epochDays, distinct), Arrays.copyOf(cumulative, distinct));
+        }
+    }
+}
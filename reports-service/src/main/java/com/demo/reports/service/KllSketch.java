@@ -0,0 +1,250 @@
+package com.demo.reports.service;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * KLL quantile sketch over long values (Karnin, Lang, Liberty 2016). Items are
+ * kept in a stack of compactors whose capacities shrink by 2/3 per level; when
+ * the sketch is full the lowest overfull level is sorted and every other item,
+ * starting at a random offset, is promoted with double weight. Sketches with the
+ * same {@code k} merge level by level, so per-group sketches can be combined on
+ * demand.
+ * <p>
+ * Memory is O(k) and the normalised rank error of a quantile or rank query is
+ * roughly {@code 2.3 / k^0.97} (99% confidence), which is what
+ * {@link #kForRankError(double)} inverts. Not thread-safe while being updated;
+ * queries only read.
+ */
+public final class KllSketch {
+
+    private static final double CAPACITY_DECAY = 2.0 / 3.0;
+    private static final int MIN_LEVEL_CAPACITY = 8;
+    private static final int MIN_K = 8;
+    private static final int MAX_K = 65_535;
+
+    private final int k;
+    private final SplittableRandom random;
+
+    private long[][] levels = {new long[MIN_LEVEL_CAPACITY]};
+    private int[] sizes = new int[1];
+    private long n;
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+
+    public KllSketch(int k) {
+        this(k, new SplittableRandom());
+    }
+
+    KllSketch(int k, SplittableRandom random) {
+        if (k < MIN_K || k > MAX_K) {
+            throw new IllegalArgumentException("k must be between " + MIN_K + " and " + MAX_K + ": " + k);
+        }
+        this.k = k;
+        this.random = random;
+    }
+
+    /**
+     * Smallest {@code k} whose expected normalised rank error is at most
+     * {@code rankError} (for example 0.01 for 1%).
+     */
+    public static int kForRankError(double rankError) {
+        if (!(rankError > 0 && rankError < 1)) {
+            throw new IllegalArgumentException("Rank error must be between 0 and 1: " + rankError);
+        }
+        double k = Math.pow(2.296 / rankError, 1 / 0.9723);
+        return (int) Math.clamp(Math.ceil(k), MIN_K, MAX_K);
+    }
+
+    /**
+     * Normalised rank error this sketch is expected to stay within.
+     */
+    public static double rankError(int k) {
+        return 2.296 / Math.pow(k, 0.9723);
+    }
+
+    public int k() {
+        return k;
+    }
+
+    public long count() {
+        return n;
+    }
+
+    public boolean isEmpty() {
+        return n == 0;
+    }
+
+    public long min() {
+        return min;
+    }
+
+    public long max() {
+        return max;
+    }
+
+    /**
+     * Values held across all levels, which compaction keeps at O(k).
+     */
+    int retained() {
+        return retainedItems();
+    }
+
+    public void update(long value) {
+        n++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        append(0, value);
+        compress();
+    }
+
+    /**
+     * Folds {@code other} into this sketch; {@code other} is left unchanged.
+     */
+    public void merge(KllSketch other) {
+        if (other.k != k) {
+            throw new IllegalArgumentException("Cannot merge sketches with k " + k + " and " + other.k);
+        }
+        if (other.isEmpty()) {
+            return;
+        }
+        n += other.n;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        for (int level = 0; level < other.sizes.length; level++) {
+            for (int i = 0; i < other.sizes[level]; i++) {
+                append(level, other.levels[level][i]);
+            }
+        }
+        compress();
+    }
+
+    /**
+     * Approximate value at normalised rank {@code q} in [0, 1]; 0 and 1 return the
+     * exact minimum and maximum.
+     */
+    public long quantile(double q) {
+        if (isEmpty()) {
+            throw new IllegalStateException("Sketch is empty");
+        }
+        if (q <= 0) {
+            return min;
+        }
+        if (q >= 1) {
+            return max;
+        }
+        SortedView view = sortedView();
+        long target = (long) Math.ceil(q * n);
+        int index = Arrays.binarySearch(view.cumulativeWeights, target);
+        return view.values[index >= 0 ? index : -index - 1];
+    }
+
+    /**
+     * Approximate number of values less than or equal to each of the ascending
+     * {@code bounds}.
+     */
+    public long[] countsAtOrBelow(long[] bounds) {
+        long[] counts = new long[bounds.length];
+        if (isEmpty()) {
+            return counts;
+        }
+        SortedView view = sortedView();
+        int index = 0;
+        for (int b = 0; b < bounds.length; b++) {
+            while (index < view.values.length && view.values[index] <= bounds[b]) {
+                index++;
+            }
+            counts[b] = index == 0 ? 0 : view.cumulativeWeights[index - 1];
+        }
+        return counts;
+    }
+
+    private SortedView sortedView() {
+        long[][] sortedLevels = new long[sizes.length][];
+        int retained = 0;
+        for (int level = 0; level < sizes.length; level++) {
+            sortedLevels[level] = Arrays.copyOf(levels[level], sizes[level]);
+            Arrays.sort(sortedLevels[level]);
+            retained += sizes[level];
+        }
+
+        long[] values = new long[retained];
+        long[] cumulativeWeights = new long[retained];
+        int[] heads = new int[sizes.length];
+        long cumulative = 0;
+        for (int i = 0; i < retained; i++) {
+            int next = -1;
+            for (int level = 0; level < sortedLevels.length; level++) {
+                if (heads[level] < sortedLevels[level].length && (next < 0
+                        || sortedLevels[level][heads[level]] < sortedLevels[next][heads[next]])) {
+                    next = level;
+                }
+            }
+            values[i] = sortedLevels[next][heads[next]++];
+            cumulative += 1L << next;
+            cumulativeWeights[i] = cumulative;
+        }
+        return new SortedView(values, cumulativeWeights);
+    }
+
+    private void append(int level, long value) {
+        if (level >= sizes.length) {
+            int previous = sizes.length;
+            levels = Arrays.copyOf(levels, level + 1);
+            Arrays.setAll(levels, l -> l < previous ? levels[l] : new long[MIN_LEVEL_CAPACITY]);
+            sizes = Arrays.copyOf(sizes, level + 1);
+        }
+        if (sizes[level] == levels[level].length) {
+            levels[level] = Arrays.copyOf(levels[level], levels[level].length * 2);
+        }
+        levels[level][sizes[level]++] = value;
+    }
+
+    private void compress() {
+        while (retainedItems() > totalCapacity()) {
+            int level = 0;
+            while (sizes[level] < capacity(level)) {
+                level++;
+            }
+            compact(level);
+        }
+    }
+
+    private void compact(int level) {
+        long[] items = levels[level];
+        int size = sizes[level];
+        Arrays.sort(items, 0, size);
+        int pairs = size & ~1;
+        for (int i = random.nextInt(2); i < pairs; i += 2) {
+            append(level + 1, items[i]);
+        }
+        if (size != pairs) {
+            items[0] = items[size - 1];
+        }
+        sizes[level] = size - pairs;
+    }
+
+    private int capacity(int level) {
+        int depth = sizes.length - 1 - level;
+        return Math.max(MIN_LEVEL_CAPACITY, (int) Math.ceil(k * Math.pow(CAPACITY_DECAY, depth)));
+    }
+
+    private int totalCapacity() {
+        int total = 0;
+        for (int level = 0; level < sizes.length; level++) {
+            total += capacity(level);
+        }
+        return total;
+    }
+
+    private int retainedItems() {
+        int total = 0;
+        for (int size : sizes) {
+            total += size;
+        }
+        return total;
+    }
+
+    private record SortedView(long[] values, long[] cumulativeWeights) {
+    }
+}
@@ -0,0 +1,63 @@
+package com.demo.reports.service;
+
+import com.demo.reports.dto.DepartmentStatsDTO;
+import com.demo.reports.dto.HeadcountReportDTO;
+import com.demo.reports.dto.SalarySummaryDTO;
+import com.demo.reports.model.Department;
+import com.demo.reports.repository.DataVersionRepository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything the aggregate report endpoints serve, computed in one read
+ * transaction. A snapshot is never modified after it is built; refreshes swap in a
+ * new instance.
+ *
+ * @param builtAt     when the snapshot was read from the database, or last confirmed
+ *                    to still match it
+ * @param asOf        the date the month/year new-hire counts are relative to
+ * @param dataVersion the data_version the snapshot was read at, or
+ *                    {@link DataVersionRepository#UNKNOWN}
+ */
+public record ReportSnapshot(
+        Instant builtAt,
+        LocalDate asOf,
+        long dataVersion,
+        HeadcountReportDTO headcount,
+        SalarySummaryDTO salarySummary,
+        List<DepartmentStatsDTO> departmentStats,
+        Map<Department, DepartmentStatsDTO> statsByDepartment,
+        SalaryIndex salaryIndex,
+        SalaryDistribution salaryDistribution,
+        HireHistogram hireHistogram
+) {
+
+    public DepartmentStatsDTO departmentStats(Department department) {
+        DepartmentStatsDTO stats = statsByDepartment.get(department);
+        return stats == null ? emptyDepartmentStats(department) : stats;
+    }
+
+    static DepartmentStatsDTO emptyDepartmentStats(Department department) {
+        return new DepartmentStatsDTO(department.name(), 0L,
+                BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
+    }
+
+    /**
+     * Identifies the data this snapshot describes, for ETags. Falls back to the
+     * build time when the data version could not be read.
+     */
+    public String versionTag() {
+        return dataVersion == DataVersionRepository.UNKNOWN
+                ? "b" + builtAt.toEpochMilli()
+                : dataVersion + "." + asOf;
+    }
+
+    public ReportSnapshot withBuiltAt(Instant confirmedAt) {
+        return new ReportSnapshot(confirmedAt, asOf, dataVersion, headcount, salarySummary, departmentStats,
+                statsByDepartment, salaryIndex, salaryDistribution, hireHistogram);
+    }
+}
@@ -0,0 +1,189 @@
+package com.demo.reports.service;
+
+import com.demo.reports.config.ReportSnapshotProperties;
+import com.demo.reports.dto.DepartmentStatsDTO;
+import com.demo.reports.dto.HeadcountReportDTO;
+import com.demo.reports.dto.SalarySummaryDTO;
+import com.demo.reports.model.Department;
+import com.demo.reports.repository.DataVersionRepository;
+import com.demo.reports.repository.DepartmentAggregate;
+import com.demo.reports.repository.DepartmentRollupRepository;
+import com.demo.reports.repository.DepartmentRollupRow;
+import com.demo.reports.repository.EmployeeRepository;
+import com.demo.reports.repository.HireRepository;
+import com.demo.reports.repository.SalaryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+
+@Component
+@RequiredArgsConstructor
+public class ReportSnapshotBuilder {
+
+    private final EmployeeRepository employeeRepository;
+    private final SalaryRepository salaryRepository;
+    private final HireRepository hireRepository;
+    private final DataVersionRepository dataVersionRepository;
+    private final ReportSnapshotProperties snapshotProperties;
+    private final EmployeeColumnStore columnStore;
+    private final DepartmentRollupRepository rollupRepository;
+
+    /**
+     * Reads the department aggregates, salary index and salary sketches in one
+     * read-only transaction, so every section of the snapshot describes the same data.
+     * The data version is read first: InnoDB's consistent read view starts at the
+     * transaction's first read, so the rows that follow are exactly that version.
+     * Salary totals, means and spreads come from {@link SalaryAccumulator}s fed by the
+     * same pass over the salaries that builds the index and sketches.
+     * Hires per day for the time series are grouped by the database, or counted from
+     * the columns. With the columnar engine the rows come from
+     * {@link EmployeeColumnStore}, synced within the same view.
+     */
+    @Transactional(readOnly = true)
+    public ReportSnapshot build(LocalDate today) {
+        Instant builtAt = Instant.now();
+        long dataVersion = dataVersionRepository.currentVersion();
+        LocalDate startOfMonth = today.withDayOfMonth(1);
+        LocalDate startOfYear = today.withDayOfYear(1);
+        SalaryIndex.Builder salaries = SalaryIndex.builder();
+        SalaryDistribution.Builder distribution = SalaryDistribution.builder(
+                KllSketch.kForRankError(snapshotProperties.getSketchRankError()));
+        SalaryAccumulator[] salaryStats = new SalaryAccumulator[Department.values().length];
+        Arrays.setAll(salaryStats, slot -> new SalaryAccumulator());
+        HireHistogram.Builder hires = HireHistogram.builder();
+        SalaryRepository.SalaryRowHandler salaryHandler = (department, hireYear, salaryCents) -> {
+            salaries.accept(department, salaryCents);
+            distribution.accept(department, hireYear, salaryCents);
+            salaryStats[department.ordinal()].add(salaryCents);
+        };
+
+        List<DepartmentAggregate> aggregates;
+        if (snapshotProperties.getEngine() == ReportSnapshotProperties.Engine.COLUMNAR) {
+            aggregates = columnStore.scan(dataVersion, columns -> {
+                columns.forEachSalary(salaryHandler);
+                columns.forEachHire(hires);
+                return columns.aggregateByDepartment((int) startOfMonth.toEpochDay(), (int) startOfYear.toEpochDay());
+            });
+        } else {
+            aggregates = employeeRepository.aggregateByDepartment(startOfMonth, startOfYear);
+            salaryRepository.forEachSalary(salaryHandler);
+            hireRepository.forEachHireDay(hires);
+        }
+        SalaryIndex salaryIndex = salaries.build();
+
+        Map<Department, DepartmentStatsDTO> statsByDepartment = new EnumMap<>(Department.class);
+        aggregates.stream()
+                .sorted(Comparator.comparing(DepartmentAggregate::department))
+                .forEach(aggregate -> statsByDepartment.put(aggregate.department(),
+                        toDepartmentStats(aggregate, salaryStats[aggregate.department().ordinal()])));
+
+        return new ReportSnapshot(
+                builtAt,
+                today,
+                dataVersion,
+                toHeadcountReport(aggregates),
+                toSalarySummary(aggregates, salaryStats, salaryIndex),
+                List.copyOf(statsByDepartment.values()),
+                Collections.unmodifiableMap(statsByDepartment),
+                salaryIndex,
+                distribution.build(),
+                hires.build()
+        );
+    }
+
+    /**
+     * Reads the headcount and department statistics from the department rollup,
+     * with the data version first for the same reason as {@link #build}. Returns
+     * null while the backend has not created or filled the rollup.
+     */
+    @Transactional(readOnly = true)
+    public DepartmentRollupReport buildFromRollup(LocalDate today) {
+        long dataVersion = dataVersionRepository.currentVersion();
+        List<DepartmentRollupRow> rows = rollupRepository.findAll(today.withDayOfMonth(1), today.withDayOfYear(1));
+        if (rows.isEmpty()) {
+            return null;
+        }
+
+        Map<Department, DepartmentStatsDTO> statsByDepartment = new EnumMap<>(Department.class);
+        rows.stream()
+                .filter(row -> row.aggregate().employeeCount() > 0)
+                .sorted(Comparator.comparing(row -> row.aggregate().department()))
+                .forEach(row -> statsByDepartment.put(row.aggregate().department(),
+                        toDepartmentStats(row.aggregate(), SalaryAccumulator.of(row.aggregate().employeeCount(),
+                                row.salaryTotalCents(), row.minSalaryCents(), row.maxSalaryCents(),
+                                row.salarySquaresCents()))));
+
+        return new DepartmentRollupReport(
+                dataVersion,
+                today,
+                toHeadcountReport(rows.stream().map(DepartmentRollupRow::aggregate).toList()),
+                List.copyOf(statsByDepartment.values()),
+                Collections.unmodifiableMap(statsByDepartment)
+        );
+    }
+
+    private HeadcountReportDTO toHeadcountReport(List<DepartmentAggregate> aggregates) {
+        Map<String, Long> byDepartment = new LinkedHashMap<>();
+        Arrays.stream(Department.values()).forEach(dept -> byDepartment.put(dept.name(), 0L));
+        long total = 0;
+        long newHiresThisMonth = 0;
+        long newHiresThisYear = 0;
+        for (DepartmentAggregate aggregate : aggregates) {
+            byDepartment.put(aggregate.department().name(), aggregate.employeeCount());
+            total += aggregate.employeeCount();
+            newHiresThisMonth += aggregate.hiredSinceStartOfMonth();
+            newHiresThisYear += aggregate.hiredSinceStartOfYear();
+        }
+
+        return new HeadcountReportDTO(
+                total,
+                Collections.unmodifiableMap(byDepartment),
+                newHiresThisMonth,
+                newHiresThisYear
+        );
+    }
+
+    private SalarySummaryDTO toSalarySummary(List<DepartmentAggregate> aggregates, SalaryAccumulator[] salaryStats,
+                                             SalaryIndex salaryIndex) {
+        if (aggregates.isEmpty()) {
+            return new SalarySummaryDTO(0L, BigDecimal.ZERO, BigDecimal.ZERO,
+                    BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
+        }
+
+        long count = 0;
+        for (DepartmentAggregate aggregate : aggregates) {
+            count += aggregate.employeeCount();
+        }
+        SalaryAccumulator company = new SalaryAccumulator();
+        for (SalaryAccumulator department : salaryStats) {
+            company.merge(department);
+        }
+
+        return new SalarySummaryDTO(
+                count,
+                company.total(),
+                company.mean(),
+                company.min(),
+                company.max(),
+                salaryIndex.median(),
+                company.standardDeviation()
+        );
+    }
+
+    private DepartmentStatsDTO toDepartmentStats(DepartmentAggregate aggregate, SalaryAccumulator salaries) {
+        return new DepartmentStatsDTO(
+                aggregate.department().name(),
+                aggregate.employeeCount(),
+                salaries.total(),
+                salaries.mean(),
+                salaries.min(),
+                salaries.max(),
+                salaries.standardDeviation()
+        );
+    }
+}
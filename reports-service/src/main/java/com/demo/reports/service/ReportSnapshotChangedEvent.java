@@ -0,0 +1,10 @@
+package com.demo.reports.service;
+
+/**
+ * Published when a rebuilt snapshot replaces the one being served. Re-stamping an
+ * unchanged snapshot does not publish.
+ *
+ * @param previous the snapshot replaced, or null for the first one
+ */
+public record ReportSnapshotChangedEvent(ReportSnapshot previous, ReportSnapshot current) {
+}
@@ -1,156 +1,424 @@
 package com.demo.reports.service;
 
+import com.demo.reports.config.ReportRollupProperties;
+import com.demo.reports.config.ReportSnapshotProperties;
 import com.demo.reports.dto.*;
+import com.demo.reports.exception.InvalidReportRequestException;
 import com.demo.reports.model.Department;
 import com.demo.reports.model.Employee;
+import com.demo.reports.repository.DataVersionRepository;
 import com.demo.reports.repository.EmployeeRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
-import java.util.*;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
+/**
+ * Serves the aggregate reports from an immutable {@link ReportSnapshot} that a
+ * background job rebuilds every {@code reports.snapshot.refresh-interval}. Requests
+ * only read the current reference; if the background job has fallen behind by more
+ * than {@code reports.snapshot.max-staleness} (or the date has rolled over), the
+ * request rebuilds the snapshot itself before answering. A refresh first compares
+ * the data_version row with the snapshot's and only rebuilds when employees have
+ * changed (or the date has rolled over). New hires are still read live, since they
+ * list individual employees. With {@code reports.rollup.enabled} the headcount and
+ * department statistics are instead read from the backend's department rollup,
+ * which is a handful of rows and current as of the last committed write.
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class ReportsService {
 
     private final EmployeeRepository employeeRepository;
+    private final ReportSnapshotBuilder snapshotBuilder;
+    private final DataVersionRepository dataVersionRepository;
+    private final ReportSnapshotProperties snapshotProperties;
+    private final MeterRegistry meterRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EmployeeColumnStore columnStore;
+    private final ReportRollupProperties rollupProperties;
 
-    public HeadcountReportDTO getHeadcountReport() {
-        List<Employee> allEmployees = employeeRepository.findAll();
-
-        Map<String, Long> byDepartment = Arrays.stream(Department.values())
-                .collect(Collectors.toMap(
-                        Enum::name,
-                        dept -> employeeRepository.countByDepartment(dept)
-                ));
-
-        LocalDate startOfMonth = LocalDate.now().withDayOfMonth(1);
-        LocalDate startOfYear = LocalDate.now().withDayOfYear(1);
-
-        long newHiresThisMonth = allEmployees.stream()
-                .filter(e -> !e.getHireDate().isBefore(startOfMonth))
-                .count();
-
-        long newHiresThisYear = allEmployees.stream()
-                .filter(e -> !e.getHireDate().isBefore(startOfYear))
-                .count();
-
-        return new HeadcountReportDTO(
-                (long) allEmployees.size(),
-                byDepartment,
-                newHiresThisMonth,
-                newHiresThisYear
-        );
-    }
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+    private static final int MAX_HISTOGRAM_BUCKETS = 100;
+    private static final int MAX_TIMESERIES_BUCKETS = 1000;
 
-    public SalarySummaryDTO getSalarySummary() {
-        List<Employee> employees = employeeRepository.findAll();
+    private final AtomicReference<ReportSnapshot> snapshot = new AtomicReference<>();
+    private final AtomicReference<DepartmentRollupReport> rollupReport = new AtomicReference<>();
+    // Not a monitor: a rebuild holds it across JDBC calls, which would pin a virtual thread's carrier
+    private final Lock refreshLock = new ReentrantLock();
+    private volatile long lastRefreshMillis = -1;
 
-        if (employees.isEmpty()) {
-            return new SalarySummaryDTO(0L, BigDecimal.ZERO, BigDecimal.ZERO,
-                    BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
-        }
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("reports.snapshot.age", this, service -> {
+                    ReportSnapshot current = service.snapshot.get();
+                    return current == null ? Double.NaN : ageOf(current).toMillis() / 1000.0;
+                })
+                .description("Age of the report snapshot currently being served")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
 
-        BigDecimal total = employees.stream()
-                .map(Employee::getSalary)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    public HeadcountReportDTO getHeadcountReport() {
+        DepartmentRollupReport rollup = currentRollupReport();
+        return rollup != null ? rollup.headcount() : currentSnapshot().headcount();
+    }
 
-        BigDecimal avg = total.divide(BigDecimal.valueOf(employees.size()), 2, RoundingMode.HALF_UP);
+    public SalarySummaryDTO getSalarySummary() {
+        return currentSnapshot().salarySummary();
+    }
 
-        BigDecimal min = employees.stream()
-                .map(Employee::getSalary)
-                .min(BigDecimal::compareTo)
-                .orElse(BigDecimal.ZERO);
+    public List<DepartmentStatsDTO> getDepartmentStats() {
+        DepartmentRollupReport rollup = currentRollupReport();
+        return rollup != null ? rollup.departmentStats() : currentSnapshot().departmentStats();
+    }
 
-        BigDecimal max = employees.stream()
-                .map(Employee::getSalary)
-                .max(BigDecimal::compareTo)
-                .orElse(BigDecimal.ZERO);
+    public DepartmentStatsDTO getDepartmentStats(String departmentName) {
+        Department department = parseDepartment(departmentName);
+        DepartmentRollupReport rollup = currentRollupReport();
+        return rollup != null ? rollup.departmentStats(department) : currentSnapshot().departmentStats(department);
+    }
 
-        List<BigDecimal> sortedSalaries = employeeRepository.findAllSalariesOrdered();
-        BigDecimal median = calculateMedian(sortedSalaries);
+    /**
+     * Exact salary percentiles from the snapshot's salary index, company-wide or for
+     * one department when {@code departmentName} is given.
+     */
+    public SalaryPercentilesDTO getSalaryPercentiles(List<BigDecimal> percentiles, String departmentName) {
+        validatePercentiles(percentiles);
+        SalaryIndex salaryIndex = currentSnapshot().salaryIndex();
+        Department department = departmentName == null ? null : parseDepartment(departmentName);
 
-        return new SalarySummaryDTO(
-                (long) employees.size(),
-                total,
-                avg,
-                min,
-                max,
-                median
+        Map<String, BigDecimal> values = new LinkedHashMap<>();
+        for (BigDecimal p : percentiles) {
+            values.put(p.stripTrailingZeros().toPlainString(), department == null
+                    ? salaryIndex.percentile(p)
+                    : salaryIndex.percentile(department, p));
+        }
+        return new SalaryPercentilesDTO(
+                department == null ? null : department.name(),
+                (long) (department == null ? salaryIndex.size() : salaryIndex.size(department)),
+                values
         );
     }
 
-    public List<DepartmentStatsDTO> getDepartmentStats() {
-        return Arrays.stream(Department.values())
-                .map(this::calculateDepartmentStats)
-                .filter(stats -> stats.getEmployeeCount() > 0)
-                .collect(Collectors.toList());
-    }
+    /**
+     * Hires and headcount per week, month or quarter from the snapshot's hire
+     * histogram, for the company or one department. Buckets follow the calendar;
+     * the first and last are cut to {@code from} and {@code to}. Headcount counts
+     * the current employees hired by the end of each bucket, since the employees
+     * table keeps no leaving dates. Defaults to the year up to today.
+     */
+    public HireTimeseriesDTO getHireTimeseries(String bucketName, LocalDate from, LocalDate to, String departmentName) {
+        TimeBucket bucket = parseBucket(bucketName);
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusYears(1);
+        if (start.isAfter(end)) {
+            throw new InvalidReportRequestException("from must not be after to");
+        }
+        Department department = departmentName == null ? null : parseDepartment(departmentName);
+        HireHistogram histogram = currentSnapshot().hireHistogram();
 
-    public DepartmentStatsDTO getDepartmentStats(String departmentName) {
-        Department department = Department.valueOf(departmentName.toUpperCase());
-        return calculateDepartmentStats(department);
+        List<HireBucketDTO> buckets = new ArrayList<>();
+        for (LocalDate bucketStart = bucket.start(start); !bucketStart.isAfter(end); bucketStart = bucket.next(bucketStart)) {
+            if (buckets.size() == MAX_TIMESERIES_BUCKETS) {
+                throw new InvalidReportRequestException(
+                        "Time series would have more than " + MAX_TIMESERIES_BUCKETS + " buckets; use a larger bucket");
+            }
+            LocalDate first = bucketStart.isBefore(start) ? start : bucketStart;
+            LocalDate last = bucket.next(bucketStart).minusDays(1);
+            if (last.isAfter(end)) {
+                last = end;
+            }
+            buckets.add(new HireBucketDTO(
+                    first,
+                    last,
+                    histogram.hiredBetween(department, (int) first.toEpochDay(), (int) last.toEpochDay()),
+                    histogram.hiredOnOrBefore(department, (int) last.toEpochDay())
+            ));
+        }
+        return new HireTimeseriesDTO(
+                department == null ? null : department.name(),
+                bucket.name(),
+                start,
+                end,
+                buckets
+        );
     }
 
+    /**
+     * With the columnar engine the hire dates are scanned in memory and only the
+     * matching employees are read from the database. One read-only transaction keeps
+     * the version read, the column sync and the rows on the same connection, so with
+     * read replicas they all come from one replica.
+     */
+    @Transactional(readOnly = true)
     public List<NewHireDTO> getNewHires(int days) {
         LocalDate since = LocalDate.now().minusDays(days);
-        return employeeRepository.findNewHiresSince(since).stream()
+        List<Employee> hires;
+        if (snapshotProperties.getEngine() == ReportSnapshotProperties.Engine.COLUMNAR) {
+            long[] ids = columnStore.scan(dataVersionRepository.currentVersion(),
+                    columns -> columns.hiredOnOrAfter((int) since.toEpochDay()));
+            // Rows are read live, so one edited since the last sync may no longer qualify
+            hires = employeeRepository.findAllById(LongStream.of(ids).boxed().toList()).stream()
+                    .filter(employee -> employee.getHireDate() != null && !employee.getHireDate().isBefore(since))
+                    .sorted(Comparator.comparing(Employee::getHireDate).reversed().thenComparing(Employee::getId))
+                    .toList();
+        } else {
+            hires = employeeRepository.findNewHiresSince(since);
+        }
+        return hires.stream()
                 .map(this::toNewHireDTO)
                 .collect(Collectors.toList());
     }
 
-    private DepartmentStatsDTO calculateDepartmentStats(Department department) {
-        List<Employee> employees = employeeRepository.findByDepartment(department);
+    /**
+     * ETag seed for the snapshot-backed reports: changes whenever the data they are
+     * computed from does.
+     */
+    public String getSnapshotVersionTag() {
+        return currentSnapshot().versionTag();
+    }
 
-        if (employees.isEmpty()) {
-            return new DepartmentStatsDTO(department.name(), 0L,
-                    BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
+    /**
+     * ETag seed for the headcount and department statistics, which come from the
+     * department rollup when it is enabled and readable.
+     */
+    public String getDepartmentReportVersionTag() {
+        DepartmentRollupReport rollup = currentRollupReport();
+        if (rollup == null) {
+            return getSnapshotVersionTag();
         }
+        return rollup.versionTag();
+    }
 
-        BigDecimal total = employees.stream()
-                .map(Employee::getSalary)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    /**
+     * ETag seed for reports read live, or null when the data version is not
+     * available and responses cannot be validated. It is read before the report, on
+     * another connection, so it must not be newer than what any replica the report
+     * could be read from has applied.
+     */
+    public String getLiveVersionTag() {
+        long version = dataVersionRepository.readableVersion();
+        return version == DataVersionRepository.UNKNOWN ? null : version + "." + LocalDate.now();
+    }
 
-        BigDecimal avg = total.divide(BigDecimal.valueOf(employees.size()), 2, RoundingMode.HALF_UP);
+    public SnapshotInfoDTO getSnapshotInfo() {
+        ReportSnapshot current = snapshot.get();
+        return new SnapshotInfoDTO(
+                current == null ? null : current.builtAt(),
+                current == null ? null : current.asOf(),
+                current == null || current.dataVersion() == DataVersionRepository.UNKNOWN ? null : current.dataVersion(),
+                current == null ? null : ageOf(current).toMillis(),
+                current == null || isExpired(current),
+                snapshotProperties.getRefreshInterval().toMillis(),
+                snapshotProperties.getMaxStaleness().toMillis(),
+                lastRefreshMillis < 0 ? null : lastRefreshMillis,
+                current == null ? null : current.headcount().getTotalEmployees()
+        );
+    }
 
-        BigDecimal min = employees.stream()
-                .map(Employee::getSalary)
-                .min(BigDecimal::compareTo)
-                .orElse(BigDecimal.ZERO);
+    @Scheduled(fixedDelayString = "${reports.snapshot.refresh-interval:30s}")
+    public void refreshInBackground() {
+        try {
+            refreshSnapshot();
+        } catch (RuntimeException e) {
+            log.warn("Report snapshot refresh failed, still serving the previous snapshot", e);
+        }
+    }
 
-        BigDecimal max = employees.stream()
-                .map(Employee::getSalary)
-                .max(BigDecimal::compareTo)
-                .orElse(BigDecimal.ZERO);
+    /**
+     * Rebuilds the snapshot and publishes it, or re-stamps the current one when the
+     * data version shows nothing has changed. Concurrent callers are serialised so a
+     * burst of requests against an expired snapshot triggers a single rebuild.
+     */
+    public ReportSnapshot refreshSnapshot() {
+        refreshLock.lock();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            LocalDate today = LocalDate.now();
+            ReportSnapshot current = snapshot.get();
+            if (current != null && current.dataVersion() != DataVersionRepository.UNKNOWN
+                    && current.asOf().equals(today)
+                    && current.dataVersion() == dataVersionRepository.currentVersion()) {
+                ReportSnapshot confirmed = current.withBuiltAt(Instant.now());
+                snapshot.set(confirmed);
+                outcome = "unchanged";
+                return confirmed;
+            }
+            ReportSnapshot built = snapshotBuilder.build(today);
+            snapshot.set(built);
+            eventPublisher.publishEvent(new ReportSnapshotChangedEvent(current, built));
+            outcome = "success";
+            return built;
+        } finally {
+            long nanos = sample.stop(Timer.builder("reports.snapshot.refresh")
+                    .description("Time taken to rebuild the report snapshot")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+            lastRefreshMillis = Duration.ofNanos(nanos).toMillis();
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * The snapshot to serve from, rebuilt first if it has expired.
+     */
+    public ReportSnapshot currentSnapshot() {
+        ReportSnapshot current = snapshot.get();
+        if (current != null && !isExpired(current)) {
+            return current;
+        }
+        refreshLock.lock();
+        try {
+            current = snapshot.get();
+            if (current != null && !isExpired(current)) {
+                return current;
+            }
+            return refreshSnapshot();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * The rollup report to serve from, or null to fall back to the snapshot. Rows
+     * are re-read unless the data version and date match the last read.
+     */
+    private DepartmentRollupReport currentRollupReport() {
+        if (!rollupProperties.isEnabled()) {
+            return null;
+        }
+        LocalDate today = LocalDate.now();
+        DepartmentRollupReport current = rollupReport.get();
+        if (current != null && current.dataVersion() != DataVersionRepository.UNKNOWN
+                && current.asOf().equals(today)
+                && current.dataVersion() == dataVersionRepository.currentVersion()) {
+            return current;
+        }
+        DepartmentRollupReport built = snapshotBuilder.buildFromRollup(today);
+        rollupReport.set(built);
+        return built;
+    }
+
+    /**
+     * Approximate salary histogram and quantiles merged from the snapshot's
+     * per-department, per-hire-year sketches. Bucket counts and quantiles are within
+     * the reported rank error; the first and last bucket bounds are the exact
+     * minimum and maximum salary.
+     */
+    public SalaryHistogramDTO getSalaryHistogram(int buckets, List<BigDecimal> percentiles, String departmentName,
+                                                 Integer hiredFromYear, Integer hiredToYear) {
+        if (buckets < 1 || buckets > MAX_HISTOGRAM_BUCKETS) {
+            throw new InvalidReportRequestException("Buckets must be between 1 and " + MAX_HISTOGRAM_BUCKETS);
+        }
+        if (hiredFromYear != null && hiredToYear != null && hiredFromYear > hiredToYear) {
+            throw new InvalidReportRequestException("hiredFromYear must not be after hiredToYear");
+        }
+        validatePercentiles(percentiles);
+        Department department = departmentName == null ? null : parseDepartment(departmentName);
+        SalaryDistribution distribution = currentSnapshot().salaryDistribution();
+        KllSketch sketch = distribution.sketch(department, hiredFromYear, hiredToYear);
+
+        Map<String, BigDecimal> quantiles = new LinkedHashMap<>();
+        for (BigDecimal p : percentiles) {
+            quantiles.put(p.stripTrailingZeros().toPlainString(), sketch.isEmpty()
+                    ? BigDecimal.ZERO
+                    : BigDecimal.valueOf(sketch.quantile(p.movePointLeft(2).doubleValue()), 2));
+        }
 
-        return new DepartmentStatsDTO(
-                department.name(),
-                (long) employees.size(),
-                total,
-                avg,
-                min,
-                max
+        return new SalaryHistogramDTO(
+                department == null ? null : department.name(),
+                hiredFromYear,
+                hiredToYear,
+                sketch.count(),
+                distribution.rankError(),
+                quantiles,
+                sketch.isEmpty() ? List.of() : toHistogramBuckets(sketch, buckets)
         );
     }
 
-    private BigDecimal calculateMedian(List<BigDecimal> sortedValues) {
-        if (sortedValues.isEmpty()) {
-            return BigDecimal.ZERO;
+    /**
+     * Equal-width buckets from the minimum to the maximum salary. Each bucket covers
+     * [lowerBound, upperBound), except the last, which also includes the maximum.
+     */
+    private List<HistogramBucketDTO> toHistogramBuckets(KllSketch sketch, int buckets) {
+        long min = sketch.min();
+        long max = sketch.max();
+        long width = Math.max(1, Math.ceilDiv(max - min, buckets));
+        int bucketCount = (int) Math.max(1, Math.ceilDiv(max - min, width));
+        long[] inclusiveUpperBounds = new long[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            inclusiveUpperBounds[i] = i == bucketCount - 1 ? max : min + (i + 1) * width - 1;
         }
-        int size = sortedValues.size();
-        if (size % 2 == 0) {
-            return sortedValues.get(size / 2 - 1)
-                    .add(sortedValues.get(size / 2))
-                    .divide(BigDecimal.valueOf(2), 2, RoundingMode.HALF_UP);
-        } else {
-            return sortedValues.get(size / 2);
+
+        long[] atOrBelow = sketch.countsAtOrBelow(inclusiveUpperBounds);
+        List<HistogramBucketDTO> histogram = new ArrayList<>(bucketCount);
+        for (int i = 0; i < bucketCount; i++) {
+            histogram.add(new HistogramBucketDTO(
+                    BigDecimal.valueOf(min + i * width, 2),
+                    BigDecimal.valueOf(i == bucketCount - 1 ? max : min + (i + 1) * width, 2),
+                    atOrBelow[i] - (i == 0 ? 0 : atOrBelow[i - 1])
+            ));
+        }
+        return histogram;
+    }
+
+    private void validatePercentiles(List<BigDecimal> percentiles) {
+        for (BigDecimal p : percentiles) {
+            if (p.signum() < 0 || p.compareTo(HUNDRED) > 0) {
+                throw new InvalidReportRequestException("Percentiles must be between 0 and 100: " + p.toPlainString());
+            }
+        }
+    }
+
+    private TimeBucket parseBucket(String bucketName) {
+        try {
+            return TimeBucket.valueOf(bucketName.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidReportRequestException("Unknown bucket: " + bucketName + " (use week, month or quarter)");
         }
     }
 
+    private Department parseDepartment(String departmentName) {
+        try {
+            return Department.valueOf(departmentName.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidReportRequestException("Unknown department: " + departmentName);
+        }
+    }
+
+    private boolean isExpired(ReportSnapshot snapshot) {
+        return ageOf(snapshot).compareTo(snapshotProperties.getMaxStaleness()) > 0
+                || !snapshot.asOf().equals(LocalDate.now());
+    }
+
+    private Duration ageOf(ReportSnapshot snapshot) {
+        return Duration.between(snapshot.builtAt(), Instant.now());
+    }
+
     private NewHireDTO toNewHireDTO(Employee employee) {
         long daysSinceHire = java.time.temporal.ChronoUnit.DAYS.between(employee.getHireDate(), LocalDate.now());
         return new NewHireDTO(
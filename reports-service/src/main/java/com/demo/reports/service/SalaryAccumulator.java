@@ -0,0 +1,123 @@
+package com.demo.reports.service;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+/**
+ * Count, sum, min, max and sum of squares of salaries in whole cents, updated in
+ * one pass with primitive arithmetic. Sums that no longer fit a long throw
+ * {@link ArithmeticException} instead of wrapping; the sum of squares is kept as an
+ * unsigned 128-bit value, so the variance is exact.
+ * <p>
+ * Results become BigDecimal only in the accessors, with the same HALF_UP rounding
+ * to cents the reports have always used. Not thread-safe.
+ */
+public final class SalaryAccumulator {
+
+    private static final BigInteger TWO_TO_THE_64 = BigInteger.ONE.shiftLeft(Long.SIZE);
+
+    private long count;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+    private long squaresHigh;
+    private long squaresLow;
+
+    /**
+     * An accumulator holding figures totalled elsewhere, such as a row of the
+     * backend's department rollup.
+     */
+    public static SalaryAccumulator of(long count, long sum, long min, long max, BigInteger sumOfSquares) {
+        if (sumOfSquares.signum() < 0 || sumOfSquares.bitLength() >= 2 * Long.SIZE) {
+            throw new ArithmeticException("Sum of squares out of range: " + sumOfSquares);
+        }
+        SalaryAccumulator accumulator = new SalaryAccumulator();
+        accumulator.count = count;
+        accumulator.sum = sum;
+        if (count > 0) {
+            accumulator.min = min;
+            accumulator.max = max;
+        }
+        accumulator.squaresHigh = sumOfSquares.shiftRight(Long.SIZE).longValueExact();
+        accumulator.squaresLow = sumOfSquares.longValue();
+        return accumulator;
+    }
+
+    public void add(long cents) {
+        count++;
+        sum = Math.addExact(sum, cents);
+        min = Math.min(min, cents);
+        max = Math.max(max, cents);
+        addSquares(Math.multiplyHigh(cents, cents), cents * cents);
+    }
+
+    public void merge(SalaryAccumulator other) {
+        count += other.count;
+        sum = Math.addExact(sum, other.sum);
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        addSquares(other.squaresHigh, other.squaresLow);
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    public BigDecimal total() {
+        return BigDecimal.valueOf(sum, 2);
+    }
+
+    /**
+     * The mean rounded HALF_UP to cents, or zero when empty.
+     */
+    public BigDecimal mean() {
+        if (count == 0) {
+            return BigDecimal.ZERO;
+        }
+        long quotient = sum / count;
+        long remainder = Math.abs(sum % count);
+        // remainder < count, so doubling it cannot overflow for any count a long can hold
+        if (remainder >= count - remainder) {
+            quotient += Long.signum(sum);
+        }
+        return BigDecimal.valueOf(quotient, 2);
+    }
+
+    public BigDecimal min() {
+        return count == 0 ? BigDecimal.ZERO : BigDecimal.valueOf(min, 2);
+    }
+
+    public BigDecimal max() {
+        return count == 0 ? BigDecimal.ZERO : BigDecimal.valueOf(max, 2);
+    }
+
+    /**
+     * Population standard deviation rounded HALF_UP to cents, or zero when empty.
+     */
+    public BigDecimal standardDeviation() {
+        if (count == 0) {
+            return BigDecimal.ZERO;
+        }
+        BigInteger n = BigInteger.valueOf(count);
+        BigInteger s = BigInteger.valueOf(sum);
+        BigInteger squares = BigInteger.valueOf(squaresHigh).multiply(TWO_TO_THE_64)
+                .add(new BigInteger(Long.toUnsignedString(squaresLow)));
+        // n² · variance = n · Σx² - (Σx)², in cents²
+        BigDecimal variance = new BigDecimal(n.multiply(squares).subtract(s.multiply(s)))
+                .divide(new BigDecimal(n.multiply(n)), MathContext.DECIMAL128);
+        return variance.sqrt(MathContext.DECIMAL128).movePointLeft(2).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private void addSquares(long high, long low) {
+        long newLow = squaresLow + low;
+        long carry = Long.compareUnsigned(newLow, squaresLow) < 0 ? 1 : 0;
+        squaresLow = newLow;
+        squaresHigh = Math.addExact(squaresHigh, Math.addExact(high, carry));
+    }
+}
@@ -0,0 +1,85 @@
+package com.demo.reports.service;
+
+import com.demo.reports.model.Department;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Salary sketches (in cents) keyed by department and hire year. Each cohort keeps
+ * its own {@link KllSketch}; wider distributions (a whole department, a range of
+ * hire years, the whole company) are merged from the cohort sketches on demand, so
+ * a query costs O(sketch size) rather than O(headcount).
+ */
+public final class SalaryDistribution {
+
+    private final int k;
+    private final Map<Department, NavigableMap<Integer, KllSketch>> cohorts;
+
+    private SalaryDistribution(int k, Map<Department, NavigableMap<Integer, KllSketch>> cohorts) {
+        this.k = k;
+        this.cohorts = cohorts;
+    }
+
+    public static Builder builder(int k) {
+        return new Builder(k);
+    }
+
+    public double rankError() {
+        return KllSketch.rankError(k);
+    }
+
+    /**
+     * Merges the cohorts matching the filters into a new sketch.
+     *
+     * @param department   only this department, or every department when null
+     * @param fromHireYear first hire year included, or unbounded when null
+     * @param toHireYear   last hire year included, or unbounded when null
+     */
+    public KllSketch sketch(Department department, Integer fromHireYear, Integer toHireYear) {
+        KllSketch merged = new KllSketch(k);
+        Collection<NavigableMap<Integer, KllSketch>> departments = department == null
+                ? cohorts.values()
+                : Optional.ofNullable(cohorts.get(department)).map(List::of).orElse(List.of());
+        for (NavigableMap<Integer, KllSketch> byYear : departments) {
+            NavigableMap<Integer, KllSketch> selected = byYear;
+            if (fromHireYear != null) {
+                selected = selected.tailMap(fromHireYear, true);
+            }
+            if (toHireYear != null) {
+                selected = selected.headMap(toHireYear, true);
+            }
+            selected.values().forEach(merged::merge);
+        }
+        return merged;
+    }
+
+    /**
+     * Feeds (department, hire year, cents) rows into per-cohort sketches; not
+     * thread-safe.
+     */
+    public static final class Builder {
+
+        private final int k;
+        private final Map<Department, NavigableMap<Integer, KllSketch>> cohorts = new EnumMap<>(Department.class);
+
+        private Builder(int k) {
+            this.k = k;
+        }
+
+        public void accept(Department department, int hireYear, long salaryCents) {
+            cohorts.computeIfAbsent(department, d -> new TreeMap<>())
+                    .computeIfAbsent(hireYear, year -> new KllSketch(k))
+                    .update(salaryCents);
+        }
+
+        public SalaryDistribution build() {
+            return new SalaryDistribution(k, cohorts);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.demo.reports.service;
+
+import com.demo.reports.model.Department;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Salaries held as sorted arrays of cents, one for the whole company and one per
+ * department, so the snapshot keeps a primitive array instead of a boxed
+ * BigDecimal per employee and any percentile is an array lookup.
+ * <p>
+ * Percentiles interpolate linearly between the two closest ranks, which makes the
+ * 50th percentile the conventional median: the middle salary, or the mean of the
+ * two middle salaries rounded HALF_UP to cents.
+ */
+public final class SalaryIndex {
+
+    private static final BigDecimal FIFTY = BigDecimal.valueOf(50);
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+    private static final long[] NONE = new long[0];
+
+    private final long[] all;
+    private final long[][] byDepartment;
+
+    private SalaryIndex(long[] all, long[][] byDepartment) {
+        this.all = all;
+        this.byDepartment = byDepartment;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int size() {
+        return all.length;
+    }
+
+    public int size(Department department) {
+        return byDepartment[department.ordinal()].length;
+    }
+
+    public BigDecimal median() {
+        return percentile(all, FIFTY);
+    }
+
+    /**
+     * @param p percentile between 0 and 100 inclusive
+     */
+    public BigDecimal percentile(BigDecimal p) {
+        return percentile(all, p);
+    }
+
+    public BigDecimal percentile(Department department, BigDecimal p) {
+        return percentile(byDepartment[department.ordinal()], p);
+    }
+
+    private static BigDecimal percentile(long[] sortedCents, BigDecimal p) {
+        if (p.signum() < 0 || p.compareTo(HUNDRED) > 0) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100: " + p);
+        }
+        if (sortedCents.length == 0) {
+            return BigDecimal.ZERO;
+        }
+        BigDecimal rank = p.multiply(BigDecimal.valueOf(sortedCents.length - 1)).movePointLeft(2);
+        int lower = rank.intValue();
+        BigDecimal fraction = rank.subtract(BigDecimal.valueOf(lower));
+        long lowerCents = sortedCents[lower];
+        if (fraction.signum() == 0) {
+            return BigDecimal.valueOf(lowerCents, 2);
+        }
+        long upperCents = sortedCents[lower + 1];
+        return BigDecimal.valueOf(lowerCents)
+                .add(BigDecimal.valueOf(upperCents - lowerCents).multiply(fraction))
+                .movePointLeft(2)
+                .setScale(2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Collects (department, cents) pairs into growable per-department arrays; not
+     * thread-safe.
+     */
+    public static final class Builder implements ObjLongConsumer<Department> {
+
+        private final long[][] cents = new long[Department.values().length][];
+        private final int[] counts = new int[Department.values().length];
+
+        private Builder() {
+            Arrays.fill(cents, NONE);
+        }
+
+        @Override
+        public void accept(Department department, long salaryCents) {
+            int slot = department.ordinal();
+            if (counts[slot] == cents[slot].length) {
+                cents[slot] = Arrays.copyOf(cents[slot], Math.max(16, cents[slot].length * 2));
+            }
+            cents[slot][counts[slot]++] = salaryCents;
+        }
+
+        public SalaryIndex build() {
+            long[][] byDepartment = new long[cents.length][];
+            int total = 0;
+            for (int slot = 0; slot < cents.length; slot++) {
+                byDepartment[slot] = Arrays.copyOf(cents[slot], counts[slot]);
+                Arrays.sort(byDepartment[slot]);
+                total += counts[slot];
+            }
+            long[] all = new long[total];
+            int offset = 0;
+            for (long[] department : byDepartment) {
+                System.arraycopy(department, 0, all, offset, department.length);
+                offset += department.length;
+            }
+            Arrays.sort(all);
+            return new SalaryIndex(all, byDepartment);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.demo.reports.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.IsoFields;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Calendar periods a time series is bucketed by. Weeks start on Monday.
+ */
+public enum TimeBucket {
+    WEEK {
+        @Override
+        public LocalDate start(LocalDate date) {
+            return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        }
+
+        @Override
+        public LocalDate next(LocalDate start) {
+            return start.plusWeeks(1);
+        }
+    },
+    MONTH {
+        @Override
+        public LocalDate start(LocalDate date) {
+            return date.withDayOfMonth(1);
+        }
+
+        @Override
+        public LocalDate next(LocalDate start) {
+            return start.plusMonths(1);
+        }
+    },
+    QUARTER {
+        @Override
+        public LocalDate start(LocalDate date) {
+            return date.with(IsoFields.DAY_OF_QUARTER, 1);
+        }
+
+        @Override
+        public LocalDate next(LocalDate start) {
+            return start.plusMonths(3);
+        }
+    };
+
+    /**
+     * First day of the bucket {@code date} falls in.
+     */
+    public abstract LocalDate start(LocalDate date);
+
+    /**
+     * First day of the bucket after the one starting on {@code start}.
+     */
+    public abstract LocalDate next(LocalDate start);
+}
@@ -0,0 +1,120 @@
+package com.demo.reports.stream;
+
+import com.demo.reports.config.ReportStreamProperties;
+import com.demo.reports.dto.DepartmentStatsDTO;
+import com.demo.reports.dto.ReportUpdateDTO;
+import com.demo.reports.model.Department;
+import com.demo.reports.service.ReportSnapshot;
+import com.demo.reports.service.ReportSnapshotChangedEvent;
+import com.demo.reports.service.ReportsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pushes report changes to SSE subscribers. Updates come from snapshot rebuilds,
+ * which already poll the data version once per refresh interval for the whole
+ * replica, so subscribers add no database load. Each update carries only the
+ * sections that differ from the previous snapshot and is serialized once for all
+ * subscribers. Event ids are snapshot version tags: a client reconnecting with the
+ * current tag as Last-Event-ID gets nothing until the next change, any other
+ * client first gets a full update.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReportUpdateStream {
+
+    static final String UPDATE_EVENT = "report-update";
+
+    private final ReportsService reportsService;
+    private final SseBroadcaster reportUpdateBroadcaster;
+    private final JsonMapper jsonMapper;
+    private final ReportStreamProperties properties;
+    // Held while sending: a subscriber's full update and its first delta must come from consecutive snapshots
+    private final Lock broadcastLock = new ReentrantLock();
+
+    private ReportSnapshot latest;
+
+    public SseEmitter subscribe(String lastEventId) {
+        SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        SseBroadcaster.Subscriber subscriber = reportUpdateBroadcaster.open(emitter);
+        subscriber.send(SseEvent.retry(properties.getReconnectDelay()));
+
+        // Outside the lock: a rebuild here publishes to onSnapshotChanged, which takes it
+        ReportSnapshot current = reportsService.currentSnapshot();
+        broadcastLock.lock();
+        try {
+            if (latest != null) {
+                current = latest;
+            }
+            if (!current.versionTag().equals(lastEventId)) {
+                subscriber.send(toEvent(fullUpdate(current)));
+            }
+            reportUpdateBroadcaster.join(subscriber);
+        } finally {
+            broadcastLock.unlock();
+        }
+        return emitter;
+    }
+
+    @EventListener
+    public void onSnapshotChanged(ReportSnapshotChangedEvent event) {
+        broadcastLock.lock();
+        try {
+            latest = event.current();
+            if (event.previous() == null || !reportUpdateBroadcaster.hasSubscribers()) {
+                return;
+            }
+            ReportUpdateDTO update = delta(event.previous(), event.current());
+            if (update != null) {
+                reportUpdateBroadcaster.broadcast(toEvent(update));
+            }
+        } finally {
+            broadcastLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${reports.stream.heartbeat-interval:15s}")
+    public void heartbeat() {
+        reportUpdateBroadcaster.heartbeat();
+    }
+
+    static ReportUpdateDTO fullUpdate(ReportSnapshot snapshot) {
+        return new ReportUpdateDTO(snapshot.versionTag(), snapshot.builtAt(), true,
+                snapshot.headcount(), snapshot.salarySummary(), snapshot.departmentStats());
+    }
+
+    /**
+     * The sections of {@code current} that differ from {@code previous}, or null if
+     * none do.
+     */
+    static ReportUpdateDTO delta(ReportSnapshot previous, ReportSnapshot current) {
+        boolean headcountChanged = !Objects.equals(previous.headcount(), current.headcount());
+        boolean salaryChanged = !Objects.equals(previous.salarySummary(), current.salarySummary());
+        // Every department, so one that lost its last employee is sent with zero counts
+        List<DepartmentStatsDTO> departments = Arrays.stream(Department.values())
+                .filter(department -> !previous.departmentStats(department).equals(current.departmentStats(department)))
+                .map(current::departmentStats)
+                .toList();
+        if (!headcountChanged && !salaryChanged && departments.isEmpty()) {
+            return null;
+        }
+        return new ReportUpdateDTO(current.versionTag(), current.builtAt(), false,
+                headcountChanged ? current.headcount() : null,
+                salaryChanged ? current.salarySummary() : null,
+                departments);
+    }
+
+    private SseEvent toEvent(ReportUpdateDTO update) {
+        return SseEvent.of(update.getVersion(), UPDATE_EVENT, jsonMapper.writeValueAsString(update));
+    }
+}
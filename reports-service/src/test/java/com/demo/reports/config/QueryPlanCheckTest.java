@@ -0,0 +1,34 @@
+package com.demo.reports.config;
+
+import com.demo.reports.config.QueryPlanCheck.ExplainedQuery;
+import com.demo.reports.repository.EmployeeRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryPlanCheckTest {
+
+    @Test
+    void queries_CoverEveryEmployeeRepositoryQuery() {
+        assertThat(QueryPlanCheck.queries(LocalDate.now()))
+                .extracting(ExplainedQuery::name)
+                .containsAll(Arrays.stream(EmployeeRepository.class.getDeclaredMethods())
+                        .map(method -> "EmployeeRepository." + method.getName())
+                        .toList());
+    }
+
+    @Test
+    void queries_BindEveryNamedParameter() {
+        for (ExplainedQuery query : QueryPlanCheck.queries(LocalDate.now())) {
+            assertThat(query.parameters().keySet())
+                    .as(query.name())
+                    .containsAll(Pattern.compile(":(\\w+)").matcher(query.sql()).results()
+                            .map(match -> match.group(1))
+                            .toList());
+        }
+    }
+}
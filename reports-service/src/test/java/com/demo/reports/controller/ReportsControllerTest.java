@@ -0,0 +1,90 @@
+package com.demo.reports.controller;
+
+import com.demo.reports.dto.DashboardDTO;
+import com.demo.reports.dto.HeadcountReportDTO;
+import com.demo.reports.dto.SalarySummaryDTO;
+import com.demo.reports.service.DashboardService;
+import com.demo.reports.service.ReportsService;
+import com.demo.reports.stream.ReportUpdateStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class ReportsControllerTest {
+
+    @Mock
+    private ReportsService reportsService;
+
+    @Mock
+    private DashboardService dashboardService;
+
+    @Mock
+    private ReportUpdateStream reportUpdateStream;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new ReportsController(reportsService, dashboardService,
+                reportUpdateStream)).build();
+        lenient().when(reportsService.getSnapshotVersionTag()).thenReturn("5.2026-10-18");
+        lenient().when(reportsService.getLiveVersionTag()).thenReturn("5.2026-10-18");
+    }
+
+    @Test
+    void dashboard_Complete_IsTaggedAndRevalidates() throws Exception {
+        when(dashboardService.getDashboard(30)).thenReturn(dashboard(Map.of()));
+
+        String etag = mockMvc.perform(get("/api/reports/dashboard"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/reports/dashboard").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+        verify(dashboardService, times(1)).getDashboard(30);
+    }
+
+    @Test
+    void dashboard_Partial_HasNoETagAndIsNotStored() throws Exception {
+        when(dashboardService.getDashboard(30)).thenReturn(dashboard(Map.of("salarySummary", "Timed out after 2000ms")));
+
+        mockMvc.perform(get("/api/reports/dashboard"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-store"))
+                .andExpect(jsonPath("$.errors.salarySummary").value("Timed out after 2000ms"));
+    }
+
+    @Test
+    void dashboard_WithoutDataVersion_HasNoETag() throws Exception {
+        when(reportsService.getLiveVersionTag()).thenReturn(null);
+        when(dashboardService.getDashboard(30)).thenReturn(dashboard(Map.of()));
+
+        mockMvc.perform(get("/api/reports/dashboard").header(HttpHeaders.IF_NONE_MATCH, "*"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+
+    private static DashboardDTO dashboard(Map<String, String> errors) {
+        return new DashboardDTO(new HeadcountReportDTO(3L, Map.of("SALES", 3L), 0L, 1L),
+                errors.containsKey("salarySummary") ? null : new SalarySummaryDTO(),
+                List.of(), List.of(), errors);
+    }
+}
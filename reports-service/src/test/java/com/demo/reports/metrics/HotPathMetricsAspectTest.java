@@ -0,0 +1,116 @@
+package com.demo.reports.metrics;
+
+import com.demo.reports.config.MetricsConfig;
+import com.demo.reports.config.ReportRollupProperties;
+import com.demo.reports.config.ReportSnapshotProperties;
+import com.demo.reports.exception.InvalidReportRequestException;
+import com.demo.reports.repository.DataVersionRepository;
+import com.demo.reports.repository.EmployeeRepository;
+import com.demo.reports.service.EmployeeColumnStore;
+import com.demo.reports.service.ReportSnapshotBuilder;
+import com.demo.reports.service.ReportsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+@SpringJUnitConfig({HotPathMetricsAspectTest.AopConfig.class, MetricsConfig.class, HotPathMetricsAspect.class})
+class HotPathMetricsAspectTest {
+
+    @Configuration
+    @EnableAspectJAutoProxy
+    static class AopConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        DataVersionRepository dataVersionRepository() {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                    "jdbc:h2:mem:metrics-" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", ""));
+            jdbcTemplate.execute("CREATE TABLE data_version (id INT PRIMARY KEY, version BIGINT NOT NULL)");
+            jdbcTemplate.update("INSERT INTO data_version VALUES (1, 3)");
+            return new DataVersionRepository(jdbcTemplate);
+        }
+
+        @Bean
+        ReportsService reportsService(DataVersionRepository dataVersionRepository, MeterRegistry meterRegistry) {
+            return new ReportsService(mock(EmployeeRepository.class), mock(ReportSnapshotBuilder.class),
+                    dataVersionRepository, new ReportSnapshotProperties(), meterRegistry,
+                    mock(ApplicationEventPublisher.class), mock(EmployeeColumnStore.class),
+                    new ReportRollupProperties());
+        }
+    }
+
+    @Autowired
+    private ReportsService reportsService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry.clear();
+    }
+
+    @Test
+    void liveCall_IsTaggedDatabaseAndTimesTheRepository() {
+        reportsService.getLiveVersionTag();
+
+        assertThat(serviceTimer("getLiveVersionTag", "database").count()).isEqualTo(1);
+        Timer repository = meterRegistry.get(HotPathMetricsAspect.REPOSITORY_TIMER)
+                .tag("repository", "DataVersionRepository")
+                .tag("method", "readableVersion")
+                .tag("outcome", "success")
+                .timer();
+        assertThat(repository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void callAnsweredWithoutTheDatabase_IsTaggedSnapshot() {
+        reportsService.getSnapshotInfo();
+
+        assertThat(serviceTimer("getSnapshotInfo", "snapshot").count()).isEqualTo(1);
+        assertThat(meterRegistry.find(HotPathMetricsAspect.REPOSITORY_TIMER).timer()).isNull();
+    }
+
+    @Test
+    void failedCall_IsTaggedError() {
+        assertThatThrownBy(() -> reportsService.getSalaryPercentiles(List.of(new BigDecimal("101")), null))
+                .isInstanceOf(InvalidReportRequestException.class);
+
+        Timer timer = meterRegistry.get(HotPathMetricsAspect.SERVICE_TIMER)
+                .tag("method", "getSalaryPercentiles")
+                .tag("outcome", "error")
+                .timer();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+
+    private Timer serviceTimer(String method, String source) {
+        return meterRegistry.get(HotPathMetricsAspect.SERVICE_TIMER)
+                .tag("class", "ReportsService")
+                .tag("method", method)
+                .tag("outcome", "success")
+                .tag("source", source)
+                .timer();
+    }
+}
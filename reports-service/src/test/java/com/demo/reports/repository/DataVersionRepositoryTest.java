@@ -0,0 +1,58 @@
+package com.demo.reports.repository;
+
+import com.demo.reports.config.ReplicaRoutingDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DataVersionRepositoryTest {
+
+    @Test
+    void currentVersion_BeforeTheBackendCreatedTheTable_IsUnknown() {
+        DataVersionRepository repository = new DataVersionRepository(new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:no-version-" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "")));
+
+        assertThat(repository.currentVersion()).isEqualTo(DataVersionRepository.UNKNOWN);
+        assertThat(repository.readableVersion()).isEqualTo(DataVersionRepository.UNKNOWN);
+    }
+
+    @Test
+    void readableVersion_WithoutReplicas_IsTheCurrentVersion() {
+        DataVersionRepository repository = new DataVersionRepository(new JdbcTemplate(database("primary", 4)));
+
+        assertThat(repository.readableVersion()).isEqualTo(4);
+    }
+
+    @Test
+    void readableVersion_WithReplicas_IsNoNewerThanTheLaggingReplica() {
+        DataSource primary = database("primary", 3);
+        ReplicaRoutingDataSource router = new ReplicaRoutingDataSource(primary,
+                Map.of("replica-1", database("replica", 3)), Duration.ofMinutes(1), () -> 0);
+        DataVersionRepository repository = new DataVersionRepository(new JdbcTemplate(router));
+        router.probe();
+        new JdbcTemplate(primary).update("UPDATE data_version SET version = 4 WHERE id = 1");
+        // Before the next probe every query still goes to the replica
+        assertThat(repository.readableVersion()).isEqualTo(3);
+
+        router.probe();
+
+        assertThat(repository.readableVersion()).isEqualTo(3);
+        assertThat(new DataVersionRepository(new JdbcTemplate(primary)).readableVersion()).isEqualTo(4);
+    }
+
+    private static DataSource database(String name, long version) {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE data_version (id INT PRIMARY KEY, version BIGINT NOT NULL)");
+        jdbcTemplate.update("INSERT INTO data_version VALUES (1, ?)", version);
+        return dataSource;
+    }
+}
@@ -0,0 +1,79 @@
+package com.demo.reports.repository;
+
+import com.demo.reports.model.Department;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DepartmentRollupRepositoryTest {
+
+    private static final LocalDate START_OF_MONTH = LocalDate.of(2026, 10, 1);
+    private static final LocalDate START_OF_YEAR = LocalDate.of(2026, 1, 1);
+
+    @Test
+    void findAll_SumsTheHireMonthsSinceTheStartOfMonthAndYear() {
+        DataSource dataSource = database("rollup");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        createRollup(jdbcTemplate);
+        jdbcTemplate.update("""
+                INSERT INTO department_rollup VALUES
+                    ('SALES', 2, 300000, 50000000000, 100000, 200000),
+                    ('IT', 1, 150000, 22500000000, 150000, 150000),
+                    ('LEGAL', 0, 0, 0, NULL, NULL)""");
+        jdbcTemplate.update("""
+                INSERT INTO department_hire_months VALUES
+                    (DATE '2026-10-01', 'SALES', 1),
+                    (DATE '2025-05-01', 'SALES', 1),
+                    (DATE '2026-03-01', 'IT', 1)""");
+
+        List<DepartmentRollupRow> rows = new DepartmentRollupRepository(new NamedParameterJdbcTemplate(dataSource))
+                .findAll(START_OF_MONTH, START_OF_YEAR);
+
+        assertThat(rows).containsExactlyInAnyOrder(
+                new DepartmentRollupRow(new DepartmentAggregate(Department.SALES, 2L, 1L, 1L),
+                        300000, BigInteger.valueOf(50000000000L), 100000, 200000),
+                new DepartmentRollupRow(new DepartmentAggregate(Department.IT, 1L, 0L, 1L),
+                        150000, BigInteger.valueOf(22500000000L), 150000, 150000),
+                new DepartmentRollupRow(new DepartmentAggregate(Department.LEGAL, 0L, 0L, 0L),
+                        0, BigInteger.ZERO, 0, 0));
+    }
+
+    @Test
+    void findAll_BeforeTheBackendCreatedTheTables_IsEmpty() {
+        DepartmentRollupRepository repository = new DepartmentRollupRepository(
+                new NamedParameterJdbcTemplate(database("no-rollup")));
+
+        assertThat(repository.findAll(START_OF_MONTH, START_OF_YEAR)).isEmpty();
+    }
+
+    private static void createRollup(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.execute("""
+                CREATE TABLE department_rollup (
+                    department VARCHAR(32) PRIMARY KEY,
+                    employee_count BIGINT NOT NULL,
+                    salary_total_cents BIGINT NOT NULL,
+                    salary_squares_cents DECIMAL(38,0) NOT NULL,
+                    min_salary_cents BIGINT,
+                    max_salary_cents BIGINT)""");
+        jdbcTemplate.execute("""
+                CREATE TABLE department_hire_months (
+                    hire_month DATE NOT NULL,
+                    department VARCHAR(32) NOT NULL,
+                    employee_count BIGINT NOT NULL,
+                    PRIMARY KEY (hire_month, department))""");
+    }
+
+    private static DataSource database(String name) {
+        return new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+    }
+}
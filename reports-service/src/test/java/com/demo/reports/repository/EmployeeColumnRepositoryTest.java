@@ -0,0 +1,101 @@
+package com.demo.reports.repository;
+
+import com.demo.reports.model.Department;
+import com.demo.reports.repository.EmployeeColumnRepository.EmployeeColumnsHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmployeeColumnRepositoryTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private EmployeeColumnRepository columnRepository;
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:columns-" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("""
+                CREATE TABLE employees (id BIGINT AUTO_INCREMENT PRIMARY KEY, department VARCHAR(32),
+                    salary DECIMAL(10, 2), hire_date DATE)""");
+        jdbcTemplate.update("""
+                INSERT INTO employees (department, salary, hire_date) VALUES
+                    ('SALES', 65000.10, DATE '2023-01-15'),
+                    (NULL, NULL, NULL),
+                    ('IT', 70000.00, DATE '2020-02-29')""");
+        columnRepository = new EmployeeColumnRepository(new NamedParameterJdbcTemplate(dataSource));
+    }
+
+    @Test
+    void forEachEmployee_ReadsColumnsInIdOrderWithSentinelsForNulls() {
+        List<String> rows = new ArrayList<>();
+
+        columnRepository.forEachEmployee(collect(rows));
+
+        assertThat(rows).containsExactly(
+                "1/" + Department.SALES.ordinal() + "/6500010/" + LocalDate.of(2023, 1, 15).toEpochDay(),
+                "2/" + EmployeeColumnsHandler.NO_DEPARTMENT + "/" + EmployeeColumnsHandler.NO_SALARY + "/"
+                        + EmployeeColumnsHandler.NO_HIRE_DAY,
+                "3/" + Department.IT.ordinal() + "/7000000/" + LocalDate.of(2020, 2, 29).toEpochDay());
+    }
+
+    @Test
+    void forEachEmployee_ByIds_ReadsOnlyThoseThatExist() {
+        List<String> rows = new ArrayList<>();
+
+        columnRepository.forEachEmployee(Set.of(3L, 42L), collect(rows));
+
+        assertThat(rows).hasSize(1).allMatch(row -> row.startsWith("3/"));
+    }
+
+    @Test
+    void changeLogQueries_WithoutTheTable_ReturnUnknown() {
+        assertThat(columnRepository.settledChangeSeq(Duration.ofSeconds(5))).isEqualTo(EmployeeColumnRepository.UNKNOWN);
+        assertThat(columnRepository.oldestChangeSeq()).isEqualTo(EmployeeColumnRepository.UNKNOWN);
+    }
+
+    @Test
+    void settledChangeSeq_LeavesOutChangesInsideTheSettleWindow() {
+        createChangeLog();
+        assertThat(columnRepository.settledChangeSeq(Duration.ofSeconds(5))).isZero();
+        assertThat(columnRepository.oldestChangeSeq()).isEqualTo(Long.MAX_VALUE);
+
+        appendChange(1, Duration.ofMinutes(-2));
+        appendChange(3, Duration.ofMinutes(-1));
+        appendChange(1, Duration.ZERO);
+
+        assertThat(columnRepository.settledChangeSeq(Duration.ofSeconds(5))).isEqualTo(2);
+        assertThat(columnRepository.oldestChangeSeq()).isEqualTo(1);
+        assertThat(columnRepository.findChangedEmployeeIds(1)).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(columnRepository.findChangedEmployeeIds(2)).containsExactly(1L);
+    }
+
+    private void createChangeLog() {
+        jdbcTemplate.execute("""
+                CREATE TABLE employee_changes (seq BIGINT AUTO_INCREMENT PRIMARY KEY, employee_id BIGINT NOT NULL,
+                    changed_at TIMESTAMP(3) NOT NULL)""");
+    }
+
+    private void appendChange(long employeeId, Duration age) {
+        jdbcTemplate.update("INSERT INTO employee_changes (employee_id, changed_at) VALUES (?, TIMESTAMPADD(SECOND, ?, NOW(3)))",
+                employeeId, age.toSeconds());
+    }
+
+    private static EmployeeColumnsHandler collect(List<String> rows) {
+        return (id, department, salaryCents, hireEpochDay) ->
+                rows.add(id + "/" + department + "/" + salaryCents + "/" + hireEpochDay);
+    }
+}
@@ -0,0 +1,39 @@
+package com.demo.reports.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HireRepositoryTest {
+
+    @Test
+    void forEachHireDay_CountsHiresPerDepartmentAndDay() {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:hires-" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("""
+                CREATE TABLE employees (id BIGINT AUTO_INCREMENT PRIMARY KEY, department VARCHAR(32), hire_date DATE)""");
+        jdbcTemplate.update("""
+                INSERT INTO employees (department, hire_date) VALUES
+                    ('SALES', DATE '2024-03-01'),
+                    ('SALES', DATE '2024-03-01'),
+                    ('SALES', DATE '2024-03-02'),
+                    ('IT', DATE '2024-03-01'),
+                    ('IT', NULL),
+                    (NULL, DATE '2024-03-01')""");
+        List<String> rows = new ArrayList<>();
+
+        new HireRepository(dataSource).forEachHireDay((department, hireEpochDay, hires) ->
+                rows.add(department + "/" + LocalDate.ofEpochDay(hireEpochDay) + "/" + hires));
+
+        assertThat(rows).containsExactlyInAnyOrder("SALES/2024-03-01/2", "SALES/2024-03-02/1", "IT/2024-03-01/1");
+    }
+}
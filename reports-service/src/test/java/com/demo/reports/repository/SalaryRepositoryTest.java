@@ -0,0 +1,106 @@
+package com.demo.reports.repository;
+
+import com.demo.reports.model.Department;
+import com.demo.reports.service.SalaryAccumulator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SalaryRepositoryTest {
+
+    private DataSource dataSource;
+    private SalaryRepository salaryRepository;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:salaries-" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("""
+                CREATE TABLE employees (id BIGINT AUTO_INCREMENT PRIMARY KEY, department VARCHAR(32),
+                    salary DECIMAL(10, 2), hire_date DATE)""");
+        jdbcTemplate.update("""
+                INSERT INTO employees (department, salary, hire_date) VALUES
+                    ('ENGINEERING', 75000.00, DATE '2023-01-15'),
+                    ('ENGINEERING', 80000.55, DATE '2021-06-01'),
+                    ('SALES', 65000.10, NULL),
+                    ('SALES', NULL, DATE '2022-02-02'),
+                    (NULL, 50000.00, DATE '2022-02-02')""");
+        salaryRepository = new SalaryRepository(dataSource);
+    }
+
+    @Test
+    void forEachSalary_PassesCentsAndHireYearOfEveryRowWithBoth() {
+        List<String> rows = new ArrayList<>();
+
+        salaryRepository.forEachSalary((department, hireYear, salaryCents) ->
+                rows.add(department + "/" + hireYear + "/" + salaryCents));
+
+        assertThat(rows).containsExactlyInAnyOrder(
+                "ENGINEERING/2023/7500000", "ENGINEERING/2021/8000055", "SALES/0/6500010");
+    }
+
+    @Test
+    void forEachSalary_FeedsPerDepartmentAccumulators() {
+        Map<Department, SalaryAccumulator> stats = new EnumMap<>(Department.class);
+
+        salaryRepository.forEachSalary((department, hireYear, salaryCents) ->
+                stats.computeIfAbsent(department, d -> new SalaryAccumulator()).add(salaryCents));
+
+        SalaryAccumulator engineering = stats.get(Department.ENGINEERING);
+        assertThat(engineering.count()).isEqualTo(2);
+        assertThat(engineering.total()).isEqualByComparingTo("155000.55");
+        assertThat(engineering.mean()).isEqualByComparingTo("77500.28");
+        assertThat(engineering.min()).isEqualByComparingTo("75000.00");
+        assertThat(engineering.max()).isEqualByComparingTo("80000.55");
+        assertThat(engineering.standardDeviation()).isEqualByComparingTo("2500.28");
+        assertThat(stats.get(Department.SALES).total()).isEqualByComparingTo(new BigDecimal("65000.10"));
+    }
+
+    @Test
+    void streamingTemplate_OnMySql_StreamsRowByRow() throws Exception {
+        Statement statement = statementOn("MySQL");
+
+        new StreamingJdbcTemplate(dataSource).applyStatementSettings(statement);
+
+        verify(statement).setFetchSize(Integer.MIN_VALUE);
+    }
+
+    @Test
+    void streamingTemplate_OnOtherDatabases_KeepsDefaultFetchSize() throws Exception {
+        Statement statement = statementOn("H2");
+
+        new StreamingJdbcTemplate(dataSource).applyStatementSettings(statement);
+
+        verify(statement, never()).setFetchSize(anyInt());
+    }
+
+    private static Statement statementOn(String databaseProductName) throws Exception {
+        Statement statement = mock(Statement.class);
+        Connection connection = mock(Connection.class);
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        when(statement.getConnection()).thenReturn(connection);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(metaData.getDatabaseProductName()).thenReturn(databaseProductName);
+        return statement;
+    }
+}
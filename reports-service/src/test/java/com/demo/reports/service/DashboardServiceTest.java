@@ -0,0 +1,108 @@
+package com.demo.reports.service;
+
+import com.demo.reports.config.ReportsDashboardProperties;
+import com.demo.reports.dto.DashboardDTO;
+import com.demo.reports.dto.DepartmentStatsDTO;
+import com.demo.reports.dto.HeadcountReportDTO;
+import com.demo.reports.dto.NewHireDTO;
+import com.demo.reports.dto.SalarySummaryDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DashboardServiceTest {
+
+    private final ReportsService reportsService = mock(ReportsService.class);
+    private final ReportsDashboardProperties properties = new ReportsDashboardProperties();
+    private final RejectingExecutor executor = new RejectingExecutor();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private DashboardService dashboardService;
+
+    @BeforeEach
+    void setUp() {
+        dashboardService = new DashboardService(reportsService, executor, properties);
+        when(reportsService.getHeadcountReport()).thenReturn(new HeadcountReportDTO(3L, Map.of("SALES", 3L), 1L, 2L));
+        when(reportsService.getSalarySummary()).thenReturn(new SalarySummaryDTO(3L, null, null, null, null, null, null));
+        when(reportsService.getDepartmentStats()).thenReturn(List.of(new DepartmentStatsDTO()));
+        when(reportsService.getNewHires(30)).thenReturn(List.of(new NewHireDTO(1L, "John", "Doe",
+                "john.doe@example.com", "SALES", LocalDate.now(), 0)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+    }
+
+    @Test
+    void getDashboard_AllSectionsLoad_HasNoErrors() {
+        DashboardDTO dashboard = dashboardService.getDashboard(30);
+
+        assertThat(dashboard.getHeadcount().getTotalEmployees()).isEqualTo(3);
+        assertThat(dashboard.getSalarySummary()).isNotNull();
+        assertThat(dashboard.getDepartmentStats()).hasSize(1);
+        assertThat(dashboard.getNewHires()).hasSize(1);
+        assertThat(dashboard.getErrors()).isEmpty();
+    }
+
+    @Test
+    void getDashboard_SlowFailingAndRejectedSections_ReturnsTheRestWithReasons() {
+        properties.setSectionTimeouts(Map.of(DashboardService.SALARY_SUMMARY, Duration.ofMillis(50)));
+        when(reportsService.getHeadcountReport()).thenThrow(new IllegalStateException("database down"));
+        when(reportsService.getSalarySummary()).thenAnswer(invocation -> {
+            release.await();
+            return new SalarySummaryDTO();
+        });
+        executor.reject(DashboardService.DEPARTMENT_STATS);
+
+        DashboardDTO dashboard = dashboardService.getDashboard(30);
+
+        assertThat(dashboard.getHeadcount()).isNull();
+        assertThat(dashboard.getSalarySummary()).isNull();
+        assertThat(dashboard.getDepartmentStats()).isNull();
+        assertThat(dashboard.getNewHires()).hasSize(1);
+        assertThat(dashboard.getErrors()).containsExactly(
+                Map.entry(DashboardService.HEADCOUNT, "Failed to load"),
+                Map.entry(DashboardService.SALARY_SUMMARY, "Timed out after 50ms"),
+                Map.entry(DashboardService.DEPARTMENT_STATS, "Too many concurrent requests"));
+    }
+
+    /**
+     * Runs each section on its own thread, except the ones it has been told to refuse.
+     * Sections are submitted in the order getDashboard lists them.
+     */
+    private static final class RejectingExecutor extends SimpleAsyncTaskExecutor {
+
+        private static final List<String> SECTIONS = List.of(DashboardService.HEADCOUNT,
+                DashboardService.SALARY_SUMMARY, DashboardService.DEPARTMENT_STATS, DashboardService.NEW_HIRES);
+
+        private final Set<String> rejected = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger submitted = new AtomicInteger();
+
+        void reject(String section) {
+            rejected.add(section);
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            if (rejected.contains(SECTIONS.get(submitted.getAndIncrement() % SECTIONS.size()))) {
+                throw new RejectedExecutionException("Concurrency limit reached");
+            }
+            super.execute(task);
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.demo.reports.service;
+
+import com.demo.reports.config.ReportSnapshotProperties;
+import com.demo.reports.model.Department;
+import com.demo.reports.repository.DepartmentAggregate;
+import com.demo.reports.repository.EmployeeColumnRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class EmployeeColumnStoreTest {
+
+    private static final int START_OF_YEAR = (int) LocalDate.of(2024, 1, 1).toEpochDay();
+    private static final int START_OF_MONTH = (int) LocalDate.of(2024, 5, 1).toEpochDay();
+
+    private JdbcTemplate jdbcTemplate;
+    private EmployeeColumnRepository columnRepository;
+    private ReportSnapshotProperties snapshotProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private EmployeeColumnStore columnStore;
+    private List<Set<Long>> reReads;
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:column-store-" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("""
+                CREATE TABLE employees (id BIGINT AUTO_INCREMENT PRIMARY KEY, department VARCHAR(32),
+                    salary DECIMAL(10, 2), hire_date DATE)""");
+        jdbcTemplate.execute("""
+                CREATE TABLE employee_changes (seq BIGINT AUTO_INCREMENT PRIMARY KEY, employee_id BIGINT NOT NULL,
+                    changed_at TIMESTAMP(3) NOT NULL)""");
+        insert("SALES", "100.00");
+        insert("SALES", "200.00");
+        insert("IT", "300.00");
+
+        columnRepository = spy(new EmployeeColumnRepository(new NamedParameterJdbcTemplate(dataSource)));
+        // The store empties the id set once the call returns, so copy it while it is still whole
+        reReads = new ArrayList<>();
+        doAnswer(invocation -> {
+            reReads.add(Set.copyOf(invocation.<Set<Long>>getArgument(0)));
+            return invocation.callRealMethod();
+        }).when(columnRepository).forEachEmployee(anySet(), any());
+        snapshotProperties = new ReportSnapshotProperties();
+        // Three rows: let a delta touch all of them unless a test says otherwise
+        snapshotProperties.getColumnar().setMaxDeltaFraction(1.0);
+        meterRegistry = new SimpleMeterRegistry();
+        columnStore = new EmployeeColumnStore(columnRepository, snapshotProperties, meterRegistry);
+        columnStore.registerMetrics();
+    }
+
+    @Test
+    void scan_FirstScan_LoadsEveryEmployee() {
+        assertThat(aggregates(1)).containsExactly(
+                new DepartmentAggregate(Department.SALES, 2L, 2L, 2L),
+                new DepartmentAggregate(Department.IT, 1L, 1L, 1L));
+        assertThat(syncs("full")).isEqualTo(1);
+    }
+
+    @Test
+    void scan_AtSameVersion_DoesNotTouchTheDatabase() {
+        aggregates(1);
+        clearInvocations(columnRepository);
+
+        aggregates(1);
+
+        verify(columnRepository, never()).settledChangeSeq(any());
+        verify(columnRepository, never()).findChangedEmployeeIds(anyLong());
+    }
+
+    @Test
+    void scan_AfterUpdate_ReReadsOnlyTheChangedEmployee() {
+        aggregates(1);
+        jdbcTemplate.update("UPDATE employees SET department = 'IT', salary = 250.00 WHERE id = 2");
+        settledChange(2);
+
+        assertThat(aggregates(2)).containsExactly(
+                new DepartmentAggregate(Department.SALES, 1L, 1L, 1L),
+                new DepartmentAggregate(Department.IT, 2L, 2L, 2L));
+        assertThat(salaries(2)).containsExactly("SALES/10000", "IT/25000", "IT/30000");
+        assertThat(reReads).containsExactly(Set.of(2L));
+        assertThat(syncs("delta")).isEqualTo(1);
+        assertThat(syncs("full")).isEqualTo(1);
+    }
+
+    @Test
+    void scan_AfterDelete_DropsTheEmployee() {
+        aggregates(1);
+        jdbcTemplate.update("DELETE FROM employees WHERE id = 3");
+        settledChange(3);
+
+        assertThat(aggregates(2)).containsExactly(new DepartmentAggregate(Department.SALES, 2L, 2L, 2L));
+        assertThat(salaries(2)).containsExactly("SALES/10000", "SALES/20000");
+        assertThat(syncs("delta")).isEqualTo(1);
+    }
+
+    @Test
+    void scan_AfterInsert_AddsTheEmployee() {
+        aggregates(1);
+        insert("LEGAL", "400.00");
+        settledChange(4);
+
+        assertThat(aggregates(2)).contains(new DepartmentAggregate(Department.LEGAL, 1L, 1L, 1L));
+        assertThat(syncs("delta")).isEqualTo(1);
+    }
+
+    @Test
+    void scan_UnsettledChange_IsAppliedButReadAgainUntilItSettles() {
+        aggregates(1);
+        settledChange(1);
+        jdbcTemplate.update("UPDATE employees SET salary = 150.00 WHERE id = 1");
+        // Written inside the settle window: a transaction with a lower seq may still commit after it
+        jdbcTemplate.update("INSERT INTO employee_changes (employee_id, changed_at) VALUES (2, NOW(3))");
+
+        aggregates(2);
+        assertThat(salaries(2)).contains("SALES/15000");
+        verify(columnRepository).findChangedEmployeeIds(0);
+        assertThat(reReads).containsExactly(Set.of(1L, 2L));
+
+        // The high-water mark only moved to the settled change, so the unsettled one is listed again
+        aggregates(3);
+        verify(columnRepository).findChangedEmployeeIds(1);
+        assertThat(reReads).containsExactly(Set.of(1L, 2L), Set.of(2L));
+        assertThat(syncs("delta")).isEqualTo(2);
+    }
+
+    @Test
+    void scan_WhenLogWasPrunedPastTheHighWaterMark_ReloadsEverything() {
+        aggregates(1);
+        settledChange(1);
+        settledChange(2);
+        jdbcTemplate.update("DELETE FROM employee_changes WHERE seq = 1");
+
+        aggregates(2);
+
+        assertThat(syncs("full")).isEqualTo(2);
+        assertThat(syncs("delta")).isZero();
+        verify(columnRepository, times(2)).forEachEmployee(any());
+    }
+
+    @Test
+    void scan_WhenMoreThanMaxDeltaFractionChanged_ReloadsEverything() {
+        snapshotProperties.getColumnar().setMaxDeltaFraction(0.5);
+        aggregates(1);
+        settledChange(1);
+        settledChange(2);
+
+        aggregates(2);
+
+        assertThat(syncs("full")).isEqualTo(2);
+        assertThat(reReads).isEmpty();
+    }
+
+    private List<DepartmentAggregate> aggregates(long dataVersion) {
+        return columnStore.scan(dataVersion, columns -> columns.aggregateByDepartment(START_OF_MONTH, START_OF_YEAR));
+    }
+
+    private List<String> salaries(long dataVersion) {
+        List<String> salaries = new ArrayList<>();
+        columnStore.scan(dataVersion, columns -> {
+            columns.forEachSalary((department, hireYear, salaryCents) -> salaries.add(department + "/" + salaryCents));
+            return null;
+        });
+        return salaries;
+    }
+
+    private double syncs(String mode) {
+        var counter = meterRegistry.find("reports.columnar.syncs").tag("mode", mode).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private void insert(String department, String salary) {
+        jdbcTemplate.update("INSERT INTO employees (department, salary, hire_date) VALUES (?, ?, DATE '2024-05-10')",
+                department, new java.math.BigDecimal(salary));
+    }
+
+    private void settledChange(long employeeId) {
+        jdbcTemplate.update("INSERT INTO employee_changes (employee_id, changed_at) VALUES (?, TIMESTAMPADD(MINUTE, -1, NOW(3)))",
+                employeeId);
+    }
+}
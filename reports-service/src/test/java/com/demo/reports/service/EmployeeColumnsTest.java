@@ -0,0 +1,112 @@
+package com.demo.reports.service;
+
+import com.demo.reports.model.Department;
+import com.demo.reports.repository.DepartmentAggregate;
+import com.demo.reports.repository.EmployeeColumnRepository.EmployeeColumnsHandler;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmployeeColumnsTest {
+
+    private static final int START_OF_YEAR = (int) LocalDate.of(2024, 1, 1).toEpochDay();
+    private static final int START_OF_MONTH = (int) LocalDate.of(2024, 5, 1).toEpochDay();
+
+    @Test
+    void aggregateByDepartment_CountsHeadcountAndHiresSkippingUnassigned() {
+        EmployeeColumns columns = new EmployeeColumns(0);
+        columns.accept(1, Department.SALES.ordinal(), 100, day(2024, 5, 3));
+        columns.accept(2, Department.SALES.ordinal(), 200, day(2024, 2, 1));
+        columns.accept(3, Department.SALES.ordinal(), 300, day(2019, 7, 7));
+        columns.accept(4, Department.IT.ordinal(), 400, EmployeeColumnsHandler.NO_HIRE_DAY);
+        columns.accept(5, EmployeeColumnsHandler.NO_DEPARTMENT, 500, day(2024, 5, 3));
+
+        assertThat(columns.aggregateByDepartment(START_OF_MONTH, START_OF_YEAR)).containsExactly(
+                new DepartmentAggregate(Department.SALES, 3L, 1L, 2L),
+                new DepartmentAggregate(Department.IT, 1L, 0L, 0L));
+    }
+
+    @Test
+    void accept_OutOfOrderIdsAndUpdates_KeepOneRowPerIdInIdOrder() {
+        EmployeeColumns columns = new EmployeeColumns(0);
+        for (long id = 40; id >= 1; id--) {
+            columns.accept(id, Department.IT.ordinal(), id, day(2024, 5, 3));
+        }
+        columns.accept(7, Department.LEGAL.ordinal(), 7000, day(2024, 5, 3));
+
+        assertThat(columns.rows()).isEqualTo(40);
+        assertThat(columns.hiredOnOrAfter(START_OF_MONTH)).hasSize(40).isSorted();
+        assertThat(salaries(columns)).contains("LEGAL/7000").doesNotContain("IT/7");
+    }
+
+    @Test
+    void delete_RemovesRowFromEveryQueryAndCanBeUndone() {
+        EmployeeColumns columns = new EmployeeColumns(0);
+        columns.accept(1, Department.SALES.ordinal(), 100, day(2024, 5, 3));
+        columns.accept(2, Department.SALES.ordinal(), 200, day(2024, 5, 4));
+
+        columns.delete(2);
+        columns.delete(2);
+        columns.delete(99);
+
+        assertThat(columns.rows()).isEqualTo(1);
+        assertThat(columns.aggregateByDepartment(START_OF_MONTH, START_OF_YEAR))
+                .containsExactly(new DepartmentAggregate(Department.SALES, 1L, 1L, 1L));
+        assertThat(columns.hiredOnOrAfter(START_OF_MONTH)).containsExactly(1L);
+        assertThat(salaries(columns)).containsExactly("SALES/100");
+
+        columns.accept(2, Department.IT.ordinal(), 250, day(2024, 5, 4));
+        assertThat(columns.rows()).isEqualTo(2);
+        assertThat(salaries(columns)).containsExactly("SALES/100", "IT/250");
+    }
+
+    @Test
+    void compactIfSparse_DropsTombstonesOnlyPastAQuarter() {
+        EmployeeColumns columns = new EmployeeColumns(0);
+        for (long id = 1; id <= 8; id++) {
+            columns.accept(id, Department.IT.ordinal(), id, day(2024, 5, 3));
+        }
+        columns.delete(1);
+        columns.delete(2);
+        columns.compactIfSparse();
+        List<Long> beforeCompaction = hired(columns);
+
+        columns.delete(3);
+        columns.compactIfSparse();
+
+        assertThat(beforeCompaction).containsExactly(3L, 4L, 5L, 6L, 7L, 8L);
+        assertThat(columns.rows()).isEqualTo(5);
+        assertThat(hired(columns)).containsExactly(4L, 5L, 6L, 7L, 8L);
+        columns.accept(2, Department.IT.ordinal(), 2, day(2024, 5, 3));
+        assertThat(hired(columns)).containsExactly(2L, 4L, 5L, 6L, 7L, 8L);
+    }
+
+    @Test
+    void yearOfEpochDay_MatchesLocalDate() {
+        for (int epochDay = -800_000; epochDay <= 800_000; epochDay += 97) {
+            assertThat(EmployeeColumns.yearOfEpochDay(epochDay)).isEqualTo(LocalDate.ofEpochDay(epochDay).getYear());
+        }
+    }
+
+    private static List<String> salaries(EmployeeColumns columns) {
+        List<String> salaries = new ArrayList<>();
+        columns.forEachSalary((department, hireYear, salaryCents) -> salaries.add(department + "/" + salaryCents));
+        return salaries;
+    }
+
+    private static List<Long> hired(EmployeeColumns columns) {
+        List<Long> ids = new ArrayList<>();
+        for (long id : columns.hiredOnOrAfter(Integer.MIN_VALUE + 1)) {
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    private static int day(int year, int month, int dayOfMonth) {
+        return (int) LocalDate.of(year, month, dayOfMonth).toEpochDay();
+    }
+}
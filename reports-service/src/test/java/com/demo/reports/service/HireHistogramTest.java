@@ -0,0 +1,80 @@
+package com.demo.reports.service;
+
+import com.demo.reports.model.Department;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HireHistogramTest {
+
+    private static final int MARCH_1 = day(2024, 3, 1);
+    private static final int MARCH_5 = day(2024, 3, 5);
+    private static final int MARCH_9 = day(2024, 3, 9);
+
+    @Test
+    void hiredBetween_IncludesBothEnds() {
+        HireHistogram histogram = histogram();
+
+        assertThat(histogram.hiredBetween(Department.SALES, MARCH_1, MARCH_5)).isEqualTo(5);
+        assertThat(histogram.hiredBetween(Department.SALES, MARCH_5, MARCH_5)).isEqualTo(2);
+        assertThat(histogram.hiredBetween(Department.SALES, MARCH_1 + 1, MARCH_5 - 1)).isZero();
+        assertThat(histogram.hiredBetween(Department.SALES, MARCH_5 + 1, MARCH_9)).isEqualTo(1);
+    }
+
+    @Test
+    void hiredBetween_ForTheCompany_AddsEveryDepartment() {
+        HireHistogram histogram = histogram();
+
+        assertThat(histogram.hiredBetween(null, MARCH_1, MARCH_1)).isEqualTo(7);
+        assertThat(histogram.hiredBetween(null, MARCH_1, MARCH_9)).isEqualTo(10);
+        assertThat(histogram.hiredBetween(Department.IT, MARCH_1, MARCH_9)).isEqualTo(4);
+    }
+
+    @Test
+    void hiredBetween_EmptyOrInvertedRange_IsZero() {
+        HireHistogram histogram = histogram();
+
+        assertThat(histogram.hiredBetween(Department.SALES, MARCH_9 + 1, MARCH_9 + 30)).isZero();
+        assertThat(histogram.hiredBetween(Department.SALES, MARCH_1 - 30, MARCH_1 - 1)).isZero();
+        assertThat(histogram.hiredBetween(Department.SALES, MARCH_9, MARCH_1)).isZero();
+        assertThat(histogram.hiredBetween(Department.LEGAL, MARCH_1, MARCH_9)).isZero();
+    }
+
+    @Test
+    void hiredOnOrBefore_IsTheRunningTotal() {
+        HireHistogram histogram = histogram();
+
+        assertThat(histogram.hiredOnOrBefore(Department.SALES, MARCH_1 - 1)).isZero();
+        assertThat(histogram.hiredOnOrBefore(Department.SALES, MARCH_1)).isEqualTo(3);
+        assertThat(histogram.hiredOnOrBefore(Department.SALES, MARCH_9 - 1)).isEqualTo(5);
+        assertThat(histogram.hiredOnOrBefore(null, Integer.MAX_VALUE)).isEqualTo(10);
+    }
+
+    @Test
+    void build_WithNoHires_CountsNothing() {
+        HireHistogram histogram = HireHistogram.builder().build();
+
+        assertThat(histogram.hiredBetween(null, MARCH_1, MARCH_9)).isZero();
+        assertThat(histogram.hiredOnOrBefore(Department.SALES, MARCH_9)).isZero();
+    }
+
+    /**
+     * SALES: 3 on March 1st (one day row plus one per employee), 2 on the 5th, 1 on
+     * the 9th. IT: 4 on March 1st, fed in before the earlier SALES days.
+     */
+    private static HireHistogram histogram() {
+        HireHistogram.Builder builder = HireHistogram.builder();
+        builder.accept(Department.SALES, MARCH_9, 1);
+        builder.accept(Department.SALES, MARCH_5, 2);
+        builder.accept(Department.IT, MARCH_1, 4);
+        builder.accept(Department.SALES, MARCH_1, 2);
+        builder.accept(Department.SALES, MARCH_1, 1);
+        return builder.build();
+    }
+
+    private static int day(int year, int month, int dayOfMonth) {
+        return (int) LocalDate.of(year, month, dayOfMonth).toEpochDay();
+    }
+}
@@ -0,0 +1,206 @@
+package com.demo.reports.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.offset;
+
+class KllSketchTest {
+
+    private static final int K = 200;
+    private static final double[] QUANTILES = {0.001, 0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99, 0.999};
+
+    @Test
+    void quantile_StaysWithinRankErrorOfExactPercentiles() {
+        long[] values = salaries(100_000, 1);
+        KllSketch sketch = sketchOf(values, 2);
+
+        assertWithinRankError(sketch, values);
+        assertThat(sketch.quantile(0)).isEqualTo(values[0]);
+        assertThat(sketch.quantile(1)).isEqualTo(values[values.length - 1]);
+    }
+
+    @Test
+    void countsAtOrBelow_StayWithinRankErrorOfExactCounts() {
+        long[] values = salaries(100_000, 3);
+        KllSketch sketch = sketchOf(values, 4);
+        long[] bounds = {4_000_000, 6_000_000, 8_000_000, 10_000_000, 15_000_000};
+
+        long[] counts = sketch.countsAtOrBelow(bounds);
+
+        double allowed = KllSketch.rankError(K) * values.length;
+        for (int b = 0; b < bounds.length; b++) {
+            assertThat((double) counts[b]).isCloseTo(exactCountAtOrBelow(values, bounds[b]),
+                    offset(allowed));
+        }
+    }
+
+    @Test
+    void update_BelowCapacity_KeepsEveryValueExactly() {
+        long[] values = salaries(K, 5);
+        KllSketch sketch = sketchOf(values, 6);
+
+        for (int i = 1; i <= values.length; i++) {
+            // Mid-rank, so rounding in q * n cannot tip the ceiling over to the next value
+            assertThat(sketch.quantile((i - 0.5) / values.length)).isEqualTo(values[i - 1]);
+        }
+    }
+
+    @Test
+    void update_PastCapacity_CompactsToBoundedSizeWithoutLosingWeight() {
+        long[] values = salaries(1_000_000, 7);
+        KllSketch sketch = sketchOf(values, 8);
+
+        assertThat(sketch.count()).isEqualTo(values.length);
+        assertThat(sketch.retained()).isLessThan(4 * K);
+        assertThat(sketch.countsAtOrBelow(new long[]{sketch.max()})).containsExactly(values.length);
+        assertThat(sketch.countsAtOrBelow(new long[]{sketch.min() - 1})).containsExactly(0);
+    }
+
+    @Test
+    void merge_MatchesOneSketchOverTheUnion() {
+        long[] low = salaries(60_000, 9);
+        long[] high = Arrays.stream(salaries(40_000, 10)).map(cents -> cents + 5_000_000).toArray();
+        KllSketch merged = sketchOf(low, 11);
+        KllSketch other = sketchOf(high, 12);
+
+        merged.merge(other);
+
+        long[] union = new long[low.length + high.length];
+        System.arraycopy(low, 0, union, 0, low.length);
+        System.arraycopy(high, 0, union, low.length, high.length);
+        Arrays.sort(union);
+        assertThat(merged.count()).isEqualTo(union.length);
+        assertThat(merged.min()).isEqualTo(union[0]);
+        assertThat(merged.max()).isEqualTo(union[union.length - 1]);
+        assertThat(merged.retained()).isLessThan(4 * K);
+        assertWithinRankError(merged, union);
+        assertThat(other.count()).isEqualTo(high.length);
+        assertWithinRankError(other, high);
+    }
+
+    @Test
+    void merge_EmptySketch_ChangesNothing() {
+        KllSketch sketch = new KllSketch(K, new SplittableRandom(13));
+        sketch.update(42);
+
+        sketch.merge(new KllSketch(K));
+
+        assertThat(sketch.count()).isOne();
+        assertThat(sketch.quantile(0.5)).isEqualTo(42);
+    }
+
+    @Test
+    void merge_IntoEmptySketch_TakesTheOtherOver() {
+        long[] values = salaries(K / 2, 14);
+        KllSketch sketch = new KllSketch(K);
+
+        sketch.merge(sketchOf(values, 15));
+
+        assertThat(sketch.count()).isEqualTo(values.length);
+        assertThat(sketch.min()).isEqualTo(values[0]);
+        assertThat(sketch.quantile(0.5)).isEqualTo(values[values.length / 2 - 1]);
+    }
+
+    @Test
+    void merge_DifferentK_Throws() {
+        assertThatThrownBy(() -> new KllSketch(K).merge(new KllSketch(K * 2)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void emptySketch_HasNoQuantilesAndZeroCounts() {
+        KllSketch sketch = new KllSketch(K);
+
+        assertThat(sketch.isEmpty()).isTrue();
+        assertThat(sketch.count()).isZero();
+        assertThat(sketch.countsAtOrBelow(new long[]{0, Long.MAX_VALUE})).containsExactly(0, 0);
+        assertThatThrownBy(() -> sketch.quantile(0.5)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void singleValue_IsEveryQuantile() {
+        KllSketch sketch = new KllSketch(K);
+        sketch.update(5_000_000);
+
+        for (double q : new double[]{0, 0.001, 0.5, 0.999, 1}) {
+            assertThat(sketch.quantile(q)).isEqualTo(5_000_000);
+        }
+        assertThat(sketch.min()).isEqualTo(5_000_000);
+        assertThat(sketch.max()).isEqualTo(5_000_000);
+        assertThat(sketch.countsAtOrBelow(new long[]{4_999_999, 5_000_000})).containsExactly(0, 1);
+    }
+
+    @Test
+    void kForRankError_GivesASketchWithinThatError() {
+        for (double rankError : new double[]{0.05, 0.01, 0.001}) {
+            int k = KllSketch.kForRankError(rankError);
+            assertThat(KllSketch.rankError(k)).isLessThanOrEqualTo(rankError);
+            assertThat(KllSketch.rankError(k - 1)).isGreaterThan(rankError);
+        }
+        assertThatThrownBy(() -> KllSketch.kForRankError(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new KllSketch(4)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void assertWithinRankError(KllSketch sketch, long[] sortedValues) {
+        double allowed = KllSketch.rankError(K);
+        for (double q : QUANTILES) {
+            long value = sketch.quantile(q);
+            // The exact ranks the returned value occupies; any of them answers q
+            double lowestRank = (double) exactCountBelow(sortedValues, value) / sortedValues.length;
+            double highestRank = (double) exactCountAtOrBelow(sortedValues, value) / sortedValues.length;
+            double error = Math.max(0, Math.max(lowestRank - q, q - highestRank));
+            assertThat(error).as("rank error at q=%s", q).isLessThanOrEqualTo(allowed);
+        }
+    }
+
+    private static KllSketch sketchOf(long[] values, long seed) {
+        long[] shuffled = values.clone();
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = shuffled.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            long swap = shuffled[i];
+            shuffled[i] = shuffled[j];
+            shuffled[j] = swap;
+        }
+        KllSketch sketch = new KllSketch(K, random);
+        for (long value : shuffled) {
+            sketch.update(value);
+        }
+        return sketch;
+    }
+
+    /**
+     * Sorted salaries in cents, log-normally spread around 70,000.00 so the tail
+     * percentiles are far apart.
+     */
+    private static long[] salaries(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        long[] cents = new long[count];
+        for (int i = 0; i < count; i++) {
+            double gaussian = Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+            cents[i] = Math.round(7_000_000 * Math.exp(0.35 * gaussian));
+        }
+        Arrays.sort(cents);
+        return cents;
+    }
+
+    private static long exactCountBelow(long[] sortedValues, long value) {
+        int index = Arrays.binarySearch(sortedValues, value);
+        if (index < 0) {
+            return -index - 1;
+        }
+        while (index > 0 && sortedValues[index - 1] == value) {
+            index--;
+        }
+        return index;
+    }
+
+    private static long exactCountAtOrBelow(long[] sortedValues, long value) {
+        return exactCountBelow(sortedValues, value + 1);
+    }
+}
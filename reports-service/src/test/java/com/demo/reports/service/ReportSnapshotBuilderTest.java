@@ -0,0 +1,94 @@
+package com.demo.reports.service;
+
+import com.demo.reports.config.ReportSnapshotProperties;
+import com.demo.reports.dto.DepartmentStatsDTO;
+import com.demo.reports.model.Department;
+import com.demo.reports.repository.DataVersionRepository;
+import com.demo.reports.repository.DepartmentRollupRepository;
+import com.demo.reports.repository.EmployeeRepository;
+import com.demo.reports.repository.HireRepository;
+import com.demo.reports.repository.SalaryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class ReportSnapshotBuilderTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 18);
+
+    private JdbcTemplate jdbcTemplate;
+    private ReportSnapshotBuilder builder;
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:snapshot-" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE data_version (id INT PRIMARY KEY, version BIGINT NOT NULL)");
+        jdbcTemplate.update("INSERT INTO data_version VALUES (1, 7)");
+        jdbcTemplate.execute("""
+                CREATE TABLE department_rollup (
+                    department VARCHAR(32) PRIMARY KEY,
+                    employee_count BIGINT NOT NULL,
+                    salary_total_cents BIGINT NOT NULL,
+                    salary_squares_cents DECIMAL(38,0) NOT NULL,
+                    min_salary_cents BIGINT,
+                    max_salary_cents BIGINT)""");
+        jdbcTemplate.execute("""
+                CREATE TABLE department_hire_months (
+                    hire_month DATE NOT NULL,
+                    department VARCHAR(32) NOT NULL,
+                    employee_count BIGINT NOT NULL,
+                    PRIMARY KEY (hire_month, department))""");
+        builder = new ReportSnapshotBuilder(mock(EmployeeRepository.class), mock(SalaryRepository.class),
+                mock(HireRepository.class), new DataVersionRepository(jdbcTemplate), new ReportSnapshotProperties(),
+                mock(EmployeeColumnStore.class),
+                new DepartmentRollupRepository(new NamedParameterJdbcTemplate(dataSource)));
+    }
+
+    @Test
+    void buildFromRollup_MatchesStatisticsComputedFromEverySalary() {
+        jdbcTemplate.update("""
+                INSERT INTO department_rollup VALUES
+                    ('SALES', 2, 300000, 50000000000, 100000, 200000),
+                    ('IT', 1, 150000, 22500000000, 150000, 150000),
+                    ('LEGAL', 0, 0, 0, NULL, NULL)""");
+        jdbcTemplate.update("""
+                INSERT INTO department_hire_months VALUES
+                    (DATE '2026-10-01', 'SALES', 1),
+                    (DATE '2025-05-01', 'SALES', 1),
+                    (DATE '2026-03-01', 'IT', 1)""");
+        SalaryAccumulator sales = new SalaryAccumulator();
+        sales.add(100000);
+        sales.add(200000);
+
+        DepartmentRollupReport report = builder.buildFromRollup(TODAY);
+
+        assertThat(report.versionTag()).isEqualTo("r7.2026-10-18");
+        assertThat(report.headcount().getTotalEmployees()).isEqualTo(3);
+        assertThat(report.headcount().getByDepartment())
+                .containsEntry("SALES", 2L).containsEntry("IT", 1L).containsEntry("LEGAL", 0L)
+                .hasSize(Department.values().length);
+        assertThat(report.headcount().getNewHiresThisMonth()).isEqualTo(1);
+        assertThat(report.headcount().getNewHiresThisYear()).isEqualTo(2);
+        assertThat(report.departmentStats()).extracting(DepartmentStatsDTO::getDepartment)
+                .containsExactly("SALES", "IT");
+        assertThat(report.departmentStats(Department.SALES)).isEqualTo(new DepartmentStatsDTO("SALES", 2L,
+                sales.total(), sales.mean(), sales.min(), sales.max(), sales.standardDeviation()));
+        assertThat(report.departmentStats(Department.LEGAL).getEmployeeCount()).isZero();
+    }
+
+    @Test
+    void buildFromRollup_BeforeTheBackendFilledTheRollup_IsNull() {
+        assertThat(builder.buildFromRollup(TODAY)).isNull();
+    }
+}
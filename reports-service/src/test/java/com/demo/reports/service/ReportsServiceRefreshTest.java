@@ -0,0 +1,176 @@
+package com.demo.reports.service;
+
+import com.demo.reports.config.ReportRollupProperties;
+import com.demo.reports.config.ReportSnapshotProperties;
+import com.demo.reports.repository.DataVersionRepository;
+import com.demo.reports.repository.EmployeeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ReportsServiceRefreshTest {
+
+    private final ReportSnapshotBuilder snapshotBuilder = mock(ReportSnapshotBuilder.class);
+    private final DataVersionRepository dataVersionRepository = mock(DataVersionRepository.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicLong dataVersion = new AtomicLong(1);
+    // When the next snapshot claims to have been built, and for which day
+    private final AtomicReference<Instant> builtAt = new AtomicReference<>();
+    private final AtomicReference<LocalDate> asOf = new AtomicReference<>();
+    private ReportsService reportsService;
+
+    @BeforeEach
+    void setUp() {
+        when(dataVersionRepository.currentVersion()).thenAnswer(invocation -> dataVersion.get());
+        when(snapshotBuilder.build(any())).thenAnswer(invocation -> snapshot(
+                builtAt.get() != null ? builtAt.get() : Instant.now(),
+                asOf.get() != null ? asOf.get() : invocation.getArgument(0),
+                dataVersion.get()));
+        reportsService = new ReportsService(mock(EmployeeRepository.class), snapshotBuilder, dataVersionRepository,
+                new ReportSnapshotProperties(), registry, eventPublisher, mock(EmployeeColumnStore.class),
+                new ReportRollupProperties());
+    }
+
+    @Test
+    void currentSnapshot_WhileFresh_IsBuiltOnce() {
+        ReportSnapshot first = reportsService.currentSnapshot();
+
+        assertThat(reportsService.currentSnapshot()).isSameAs(first);
+        verify(snapshotBuilder, times(1)).build(LocalDate.now());
+        verify(eventPublisher).publishEvent(new ReportSnapshotChangedEvent(null, first));
+        assertThat(refreshes("success")).isEqualTo(1);
+    }
+
+    @Test
+    void currentSnapshot_OlderThanMaxStalenessWithSameVersion_IsReStamped() {
+        builtAt.set(Instant.now().minus(Duration.ofMinutes(3)));
+        ReportSnapshot stale = reportsService.currentSnapshot();
+
+        ReportSnapshot confirmed = reportsService.currentSnapshot();
+
+        assertThat(confirmed).isNotSameAs(stale);
+        assertThat(confirmed.builtAt()).isAfter(stale.builtAt());
+        assertThat(confirmed.versionTag()).isEqualTo(stale.versionTag());
+        assertThat(confirmed.dataVersion()).isEqualTo(1);
+        verify(snapshotBuilder, times(1)).build(any());
+        verify(eventPublisher, times(1)).publishEvent(any(Object.class));
+        assertThat(refreshes("unchanged")).isEqualTo(1);
+        assertThat(reportsService.currentSnapshot()).isSameAs(confirmed);
+    }
+
+    @Test
+    void currentSnapshot_OlderThanMaxStalenessWithNewVersion_IsRebuilt() {
+        builtAt.set(Instant.now().minus(Duration.ofMinutes(3)));
+        ReportSnapshot stale = reportsService.currentSnapshot();
+        builtAt.set(null);
+        dataVersion.set(2);
+
+        ReportSnapshot rebuilt = reportsService.currentSnapshot();
+
+        assertThat(rebuilt.dataVersion()).isEqualTo(2);
+        verify(eventPublisher).publishEvent(new ReportSnapshotChangedEvent(stale, rebuilt));
+        assertThat(refreshes("success")).isEqualTo(2);
+    }
+
+    @Test
+    void currentSnapshot_AfterDateRollover_IsRebuiltEvenWithSameVersion() {
+        asOf.set(LocalDate.now().minusDays(1));
+        ReportSnapshot yesterday = reportsService.currentSnapshot();
+        asOf.set(null);
+
+        ReportSnapshot today = reportsService.currentSnapshot();
+
+        assertThat(yesterday.builtAt()).isAfter(Instant.now().minusSeconds(60));
+        assertThat(today.asOf()).isEqualTo(LocalDate.now());
+        verify(snapshotBuilder, times(2)).build(LocalDate.now());
+        assertThat(refreshes("unchanged")).isZero();
+    }
+
+    @Test
+    void refreshSnapshot_WhenVersionUnknown_AlwaysRebuilds() {
+        dataVersion.set(DataVersionRepository.UNKNOWN);
+
+        reportsService.refreshSnapshot();
+        reportsService.refreshSnapshot();
+
+        verify(snapshotBuilder, times(2)).build(any());
+        assertThat(refreshes("unchanged")).isZero();
+    }
+
+    @Test
+    void refreshInBackground_WhenBuildFails_KeepsServingThePreviousSnapshot() {
+        ReportSnapshot previous = reportsService.refreshSnapshot();
+        dataVersion.set(2);
+        when(snapshotBuilder.build(any())).thenThrow(new IllegalStateException("database down"));
+
+        reportsService.refreshInBackground();
+
+        assertThat(reportsService.currentSnapshot()).isSameAs(previous);
+        assertThat(refreshes("failure")).isEqualTo(1);
+    }
+
+    @Test
+    void currentSnapshot_ConcurrentRequestsWithoutSnapshot_RebuildOnce() throws Exception {
+        int requests = 8;
+        CountDownLatch building = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(snapshotBuilder.build(any())).thenAnswer(invocation -> {
+            building.countDown();
+            release.await();
+            return snapshot(Instant.now(), invocation.getArgument(0), dataVersion.get());
+        });
+        CyclicBarrier start = new CyclicBarrier(requests);
+        ExecutorService executor = Executors.newFixedThreadPool(requests);
+        try {
+            List<Future<ReportSnapshot>> served = new ArrayList<>();
+            for (int i = 0; i < requests; i++) {
+                served.add(executor.submit(() -> {
+                    start.await();
+                    return reportsService.currentSnapshot();
+                }));
+            }
+            assertThat(building.await(5, TimeUnit.SECONDS)).isTrue();
+            release.countDown();
+
+            ReportSnapshot first = served.getFirst().get(5, TimeUnit.SECONDS);
+            for (Future<ReportSnapshot> snapshot : served) {
+                assertThat(snapshot.get(5, TimeUnit.SECONDS)).isSameAs(first);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(snapshotBuilder, times(1)).build(any());
+    }
+
+    private double refreshes(String outcome) {
+        var timer = registry.find("reports.snapshot.refresh").tag("outcome", outcome).timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private static ReportSnapshot snapshot(Instant builtAt, LocalDate asOf, long dataVersion) {
+        return new ReportSnapshot(builtAt, asOf, dataVersion, null, null, List.of(), Map.of(),
+                SalaryIndex.builder().build(), SalaryDistribution.builder(200).build(),
+                HireHistogram.builder().build());
+    }
+}
@@ -0,0 +1,131 @@
+package com.demo.reports.service;
+
+import com.demo.reports.config.ReportRollupProperties;
+import com.demo.reports.config.ReportSnapshotProperties;
+import com.demo.reports.dto.HireBucketDTO;
+import com.demo.reports.dto.HireTimeseriesDTO;
+import com.demo.reports.exception.InvalidReportRequestException;
+import com.demo.reports.model.Department;
+import com.demo.reports.repository.DataVersionRepository;
+import com.demo.reports.repository.EmployeeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReportsServiceTimeseriesTest {
+
+    private final HireHistogram.Builder hires = HireHistogram.builder();
+    private ReportsService reportsService;
+
+    @BeforeEach
+    void setUp() {
+        ReportSnapshotBuilder snapshotBuilder = mock(ReportSnapshotBuilder.class);
+        when(snapshotBuilder.build(any())).thenAnswer(invocation -> new ReportSnapshot(Instant.now(),
+                invocation.getArgument(0), DataVersionRepository.UNKNOWN, null, null, List.of(), Map.of(),
+                SalaryIndex.builder().build(), SalaryDistribution.builder(200).build(), hires.build()));
+        reportsService = new ReportsService(mock(EmployeeRepository.class), snapshotBuilder,
+                mock(DataVersionRepository.class), new ReportSnapshotProperties(), new SimpleMeterRegistry(),
+                mock(ApplicationEventPublisher.class), mock(EmployeeColumnStore.class), new ReportRollupProperties());
+    }
+
+    @Test
+    void weeks_AreCutToTheRangeAndRollOverTheYear() {
+        hire(Department.SALES, LocalDate.of(2024, 12, 29), 1);
+        hire(Department.SALES, LocalDate.of(2024, 12, 30), 2);
+        hire(Department.SALES, LocalDate.of(2025, 1, 5), 3);
+        hire(Department.SALES, LocalDate.of(2025, 1, 6), 4);
+
+        // Tuesday 2024-12-31 to Tuesday 2025-01-07
+        HireTimeseriesDTO series = reportsService.getHireTimeseries("week",
+                LocalDate.of(2024, 12, 31), LocalDate.of(2025, 1, 7), null);
+
+        assertThat(series.getBucket()).isEqualTo("WEEK");
+        assertThat(series.getBuckets()).containsExactly(
+                bucket("2024-12-31", "2025-01-05", 3, 6),
+                bucket("2025-01-06", "2025-01-07", 4, 10));
+    }
+
+    @Test
+    void months_EndOnTheirLastDayIncludingLeapFebruary() {
+        hire(Department.IT, LocalDate.of(2024, 1, 31), 1);
+        hire(Department.IT, LocalDate.of(2024, 2, 1), 2);
+        hire(Department.IT, LocalDate.of(2024, 2, 29), 3);
+        hire(Department.IT, LocalDate.of(2024, 3, 1), 4);
+        hire(Department.SALES, LocalDate.of(2024, 2, 15), 100);
+
+        HireTimeseriesDTO series = reportsService.getHireTimeseries("month",
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 3, 31), "it");
+
+        assertThat(series.getDepartment()).isEqualTo("IT");
+        assertThat(series.getBuckets()).containsExactly(
+                bucket("2024-01-01", "2024-01-31", 1, 1),
+                bucket("2024-02-01", "2024-02-29", 5, 6),
+                bucket("2024-03-01", "2024-03-31", 4, 10));
+    }
+
+    @Test
+    void months_RollOverTheYear() {
+        hire(Department.IT, LocalDate.of(2024, 12, 31), 1);
+        hire(Department.IT, LocalDate.of(2025, 1, 1), 2);
+
+        HireTimeseriesDTO series = reportsService.getHireTimeseries("MONTH",
+                LocalDate.of(2024, 12, 15), LocalDate.of(2025, 1, 15), null);
+
+        assertThat(series.getBuckets()).containsExactly(
+                bucket("2024-12-15", "2024-12-31", 1, 1),
+                bucket("2025-01-01", "2025-01-15", 2, 3));
+    }
+
+    @Test
+    void rangeWithNoHires_HasZeroBucketsButTheHeadcountSoFar() {
+        hire(Department.SALES, LocalDate.of(2020, 6, 1), 5);
+
+        HireTimeseriesDTO series = reportsService.getHireTimeseries("quarter",
+                LocalDate.of(2024, 2, 10), LocalDate.of(2024, 4, 10), null);
+
+        assertThat(series.getBuckets()).containsExactly(
+                bucket("2024-02-10", "2024-03-31", 0, 5),
+                bucket("2024-04-01", "2024-04-10", 0, 5));
+    }
+
+    @Test
+    void singleDay_IsOneBucket() {
+        HireTimeseriesDTO series = reportsService.getHireTimeseries("week",
+                LocalDate.of(2024, 5, 8), LocalDate.of(2024, 5, 8), null);
+
+        assertThat(series.getBuckets()).containsExactly(bucket("2024-05-08", "2024-05-08", 0, 0));
+    }
+
+    @Test
+    void invalidRequests_AreRejected() {
+        assertThatThrownBy(() -> reportsService.getHireTimeseries("week",
+                LocalDate.of(2024, 5, 9), LocalDate.of(2024, 5, 8), null))
+                .isInstanceOf(InvalidReportRequestException.class);
+        assertThatThrownBy(() -> reportsService.getHireTimeseries("day", null, null, null))
+                .isInstanceOf(InvalidReportRequestException.class);
+        assertThatThrownBy(() -> reportsService.getHireTimeseries("week",
+                LocalDate.of(2000, 1, 1), LocalDate.of(2024, 1, 1), null))
+                .isInstanceOf(InvalidReportRequestException.class)
+                .hasMessageContaining("more than 1000 buckets");
+    }
+
+    private void hire(Department department, LocalDate day, long count) {
+        hires.accept(department, (int) day.toEpochDay(), count);
+    }
+
+    private static HireBucketDTO bucket(String start, String end, long hires, long headcount) {
+        return new HireBucketDTO(LocalDate.parse(start), LocalDate.parse(end), hires, headcount);
+    }
+}
@@ -0,0 +1,123 @@
+package com.demo.reports.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SalaryAccumulatorTest {
+
+    @Test
+    void add_MatchesBigDecimalArithmetic() {
+        long[] cents = new SplittableRandom(1).longs(10_001, 3_000_000, 20_000_000).toArray();
+        SalaryAccumulator accumulator = new SalaryAccumulator();
+        for (long salary : cents) {
+            accumulator.add(salary);
+        }
+
+        BigDecimal total = BigDecimal.ZERO;
+        for (long salary : cents) {
+            total = total.add(BigDecimal.valueOf(salary, 2));
+        }
+        BigDecimal n = BigDecimal.valueOf(cents.length);
+        BigDecimal mean = total.divide(n, MathContext.DECIMAL128);
+        BigDecimal squaredDeviations = BigDecimal.ZERO;
+        for (long salary : cents) {
+            BigDecimal deviation = BigDecimal.valueOf(salary, 2).subtract(mean);
+            squaredDeviations = squaredDeviations.add(deviation.multiply(deviation));
+        }
+        BigDecimal standardDeviation = squaredDeviations.divide(n, MathContext.DECIMAL128).sqrt(MathContext.DECIMAL128);
+
+        assertThat(accumulator.count()).isEqualTo(cents.length);
+        assertThat(accumulator.total()).isEqualTo(total);
+        assertThat(accumulator.mean()).isEqualTo(mean.setScale(2, RoundingMode.HALF_UP));
+        assertThat(accumulator.standardDeviation()).isEqualTo(standardDeviation.setScale(2, RoundingMode.HALF_UP));
+    }
+
+    @Test
+    void mean_RoundsHalfUpToCents() {
+        assertThat(meanOf(1, 2)).isEqualTo(new BigDecimal("0.02"));
+        assertThat(meanOf(1, 1, 2)).isEqualTo(new BigDecimal("0.01"));
+        assertThat(meanOf(-1, -2)).isEqualTo(new BigDecimal("-0.02"));
+    }
+
+    @Test
+    void merge_MatchesAddingEverySalary() {
+        SalaryAccumulator left = new SalaryAccumulator();
+        SalaryAccumulator right = new SalaryAccumulator();
+        SalaryAccumulator all = new SalaryAccumulator();
+        long[] cents = {5_000_000, 7_250_050, 6_100_000, 12_000_001, 4_999_999};
+        for (int i = 0; i < cents.length; i++) {
+            (i % 2 == 0 ? left : right).add(cents[i]);
+            all.add(cents[i]);
+        }
+
+        left.merge(right);
+        left.merge(new SalaryAccumulator());
+
+        assertThat(left.count()).isEqualTo(all.count());
+        assertThat(left.total()).isEqualTo(all.total());
+        assertThat(left.min()).isEqualTo(new BigDecimal("49999.99"));
+        assertThat(left.max()).isEqualTo(new BigDecimal("120000.01"));
+        assertThat(left.standardDeviation()).isEqualTo(all.standardDeviation());
+    }
+
+    @Test
+    void emptyAccumulator_ReportsZeros() {
+        SalaryAccumulator accumulator = new SalaryAccumulator();
+
+        assertThat(accumulator.isEmpty()).isTrue();
+        assertThat(accumulator.mean()).isEqualTo(BigDecimal.ZERO);
+        assertThat(accumulator.min()).isEqualTo(BigDecimal.ZERO);
+        assertThat(accumulator.max()).isEqualTo(BigDecimal.ZERO);
+        assertThat(accumulator.standardDeviation()).isEqualTo(BigDecimal.ZERO);
+    }
+
+    @Test
+    void singleSalary_HasNoDeviation() {
+        SalaryAccumulator accumulator = new SalaryAccumulator();
+        accumulator.add(6_543_210);
+
+        assertThat(accumulator.mean()).isEqualTo(new BigDecimal("65432.10"));
+        assertThat(accumulator.min()).isEqualTo(accumulator.max());
+        assertThat(accumulator.standardDeviation()).isEqualTo(new BigDecimal("0.00"));
+    }
+
+    @Test
+    void of_RestoresFiguresTotalledElsewhere() {
+        SalaryAccumulator added = new SalaryAccumulator();
+        added.add(Long.MAX_VALUE / 4);
+        added.add(Long.MAX_VALUE / 4);
+        BigInteger quarter = BigInteger.valueOf(Long.MAX_VALUE / 4);
+
+        SalaryAccumulator restored = SalaryAccumulator.of(2, Long.MAX_VALUE / 4 * 2,
+                Long.MAX_VALUE / 4, Long.MAX_VALUE / 4, quarter.multiply(quarter).shiftLeft(1));
+
+        assertThat(restored.mean()).isEqualTo(added.mean());
+        assertThat(restored.standardDeviation()).isEqualTo(added.standardDeviation());
+        assertThatThrownBy(() -> SalaryAccumulator.of(1, 1, 1, 1, BigInteger.ONE.shiftLeft(128)))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void add_PastLongRange_Throws() {
+        SalaryAccumulator accumulator = new SalaryAccumulator();
+        accumulator.add(Long.MAX_VALUE);
+
+        assertThatThrownBy(() -> accumulator.add(1)).isInstanceOf(ArithmeticException.class);
+    }
+
+    private static BigDecimal meanOf(long... cents) {
+        SalaryAccumulator accumulator = new SalaryAccumulator();
+        for (long salary : cents) {
+            accumulator.add(salary);
+        }
+        return accumulator.mean();
+    }
+}
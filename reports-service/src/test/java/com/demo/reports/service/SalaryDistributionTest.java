@@ -0,0 +1,75 @@
+package com.demo.reports.service;
+
+import com.demo.reports.model.Department;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SalaryDistributionTest {
+
+    private static final int K = 200;
+
+    private final SalaryDistribution distribution = distribution();
+
+    @Test
+    void sketch_WithoutFilters_MergesEveryCohort() {
+        KllSketch sketch = distribution.sketch(null, null, null);
+
+        assertThat(sketch.count()).isEqualTo(600);
+        assertThat(sketch.min()).isEqualTo(1_000_000);
+        assertThat(sketch.max()).isEqualTo(3_000_099);
+    }
+
+    @Test
+    void sketch_ForOneDepartment_MergesOnlyItsYears() {
+        KllSketch sketch = distribution.sketch(Department.SALES, null, null);
+
+        assertThat(sketch.count()).isEqualTo(300);
+        assertThat(sketch.min()).isEqualTo(1_000_000);
+        assertThat(sketch.max()).isEqualTo(3_000_099);
+    }
+
+    @Test
+    void sketch_HireYearBounds_AreInclusive() {
+        assertThat(distribution.sketch(Department.SALES, 2021, 2021).count()).isEqualTo(100);
+        assertThat(distribution.sketch(null, 2021, null).count()).isEqualTo(400);
+        assertThat(distribution.sketch(null, null, 2020).count()).isEqualTo(200);
+
+        KllSketch recent = distribution.sketch(Department.SALES, 2022, null);
+        assertThat(recent.min()).isEqualTo(3_000_000);
+        // Every cohort is under k, so its quantiles are exact
+        assertThat(recent.quantile(0.5)).isEqualTo(3_000_049);
+    }
+
+    @Test
+    void sketch_NoMatchingCohort_IsEmpty() {
+        assertThat(distribution.sketch(Department.LEGAL, null, null).isEmpty()).isTrue();
+        assertThat(distribution.sketch(Department.SALES, 2030, null).isEmpty()).isTrue();
+        assertThat(distribution.sketch(Department.IT, 2022, 2022).isEmpty()).isTrue();
+    }
+
+    @Test
+    void sketch_LeavesTheCohortsUnchanged() {
+        distribution.sketch(null, null, null);
+
+        assertThat(distribution.sketch(Department.SALES, 2020, 2020).count()).isEqualTo(100);
+        assertThat(distribution.rankError()).isEqualTo(KllSketch.rankError(K));
+    }
+
+    /**
+     * SALES hired in 2020, 2021 and 2022, IT in 2020, 2021 and 2023; 100 salaries
+     * per cohort, each cohort a million cents above the previous one.
+     */
+    private static SalaryDistribution distribution() {
+        SalaryDistribution.Builder builder = SalaryDistribution.builder(K);
+        int[] salesYears = {2020, 2021, 2022};
+        int[] itYears = {2020, 2021, 2023};
+        for (int cohort = 0; cohort < 3; cohort++) {
+            for (int i = 0; i < 100; i++) {
+                builder.accept(Department.SALES, salesYears[cohort], (cohort + 1) * 1_000_000L + i);
+                builder.accept(Department.IT, itYears[cohort], (cohort + 1) * 1_000_000L + i);
+            }
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,137 @@
+package com.demo.reports.service;
+
+import com.demo.reports.model.Department;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SalaryIndexTest {
+
+    @Test
+    void median_MatchesTheOldInMemoryMedian() {
+        for (int size = 1; size <= 9; size++) {
+            List<BigDecimal> salaries = salaries(size, size);
+
+            assertThat(indexOf(Department.SALES, salaries).median())
+                    .as("%d salaries", size)
+                    .isEqualTo(oldMedian(salaries));
+        }
+    }
+
+    @Test
+    void percentile_MatchesInMemoryLinearInterpolation() {
+        List<BigDecimal> salaries = salaries(1_001, 42);
+        SalaryIndex index = indexOf(Department.IT, salaries);
+
+        for (int tenths = 0; tenths <= 1_000; tenths++) {
+            BigDecimal p = BigDecimal.valueOf(tenths, 1);
+            assertThat(index.percentile(p)).as("p%s", p).isEqualTo(oldPercentile(salaries, p));
+        }
+    }
+
+    @Test
+    void percentile_ForOneDepartment_IgnoresTheOthers() {
+        List<BigDecimal> sales = salaries(10, 1);
+        List<BigDecimal> legal = salaries(7, 2);
+        SalaryIndex.Builder builder = SalaryIndex.builder();
+        sales.forEach(salary -> builder.accept(Department.SALES, cents(salary)));
+        legal.forEach(salary -> builder.accept(Department.LEGAL, cents(salary)));
+        SalaryIndex index = builder.build();
+
+        List<BigDecimal> all = new ArrayList<>(sales);
+        all.addAll(legal);
+        BigDecimal p90 = BigDecimal.valueOf(90);
+        assertThat(index.size()).isEqualTo(17);
+        assertThat(index.size(Department.LEGAL)).isEqualTo(7);
+        assertThat(index.percentile(Department.SALES, p90)).isEqualTo(oldPercentile(sales, p90));
+        assertThat(index.percentile(Department.LEGAL, p90)).isEqualTo(oldPercentile(legal, p90));
+        assertThat(index.percentile(p90)).isEqualTo(oldPercentile(all, p90));
+    }
+
+    @Test
+    void percentile_EmptyIndex_IsZero() {
+        SalaryIndex index = SalaryIndex.builder().build();
+
+        assertThat(index.size()).isZero();
+        assertThat(index.median()).isEqualTo(BigDecimal.ZERO);
+        assertThat(index.percentile(Department.IT, BigDecimal.TEN)).isEqualTo(BigDecimal.ZERO);
+    }
+
+    @Test
+    void percentile_SingleSalary_IsEveryPercentile() {
+        SalaryIndex index = indexOf(Department.FINANCE, List.of(new BigDecimal("65000.10")));
+
+        assertThat(index.percentile(BigDecimal.ZERO)).isEqualTo(new BigDecimal("65000.10"));
+        assertThat(index.median()).isEqualTo(new BigDecimal("65000.10"));
+        assertThat(index.percentile(BigDecimal.valueOf(100))).isEqualTo(new BigDecimal("65000.10"));
+    }
+
+    @Test
+    void percentile_OutOfRange_Throws() {
+        SalaryIndex index = indexOf(Department.IT, salaries(3, 3));
+
+        assertThatThrownBy(() -> index.percentile(new BigDecimal("-0.1"))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> index.percentile(new BigDecimal("100.1"))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static SalaryIndex indexOf(Department department, List<BigDecimal> salaries) {
+        SalaryIndex.Builder builder = SalaryIndex.builder();
+        salaries.forEach(salary -> builder.accept(department, cents(salary)));
+        return builder.build();
+    }
+
+    private static long cents(BigDecimal salary) {
+        return salary.movePointRight(2).longValueExact();
+    }
+
+    private static List<BigDecimal> salaries(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<BigDecimal> salaries = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            salaries.add(BigDecimal.valueOf(random.nextLong(3_000_000, 20_000_000), 2));
+        }
+        return salaries;
+    }
+
+    /**
+     * The median the reports computed before the index, over a sorted list of
+     * BigDecimal salaries.
+     */
+    private static BigDecimal oldMedian(List<BigDecimal> salaries) {
+        List<BigDecimal> sorted = new ArrayList<>(salaries);
+        Collections.sort(sorted);
+        int size = sorted.size();
+        if (size % 2 == 0) {
+            return sorted.get(size / 2 - 1)
+                    .add(sorted.get(size / 2))
+                    .divide(BigDecimal.valueOf(2), 2, RoundingMode.HALF_UP);
+        }
+        return sorted.get(size / 2);
+    }
+
+    /**
+     * Linear interpolation between the closest ranks over a sorted list of
+     * BigDecimal salaries, the in-memory way.
+     */
+    private static BigDecimal oldPercentile(List<BigDecimal> salaries, BigDecimal p) {
+        List<BigDecimal> sorted = new ArrayList<>(salaries);
+        Collections.sort(sorted);
+        BigDecimal rank = p.multiply(BigDecimal.valueOf(sorted.size() - 1)).divide(BigDecimal.valueOf(100));
+        int lower = rank.setScale(0, RoundingMode.FLOOR).intValueExact();
+        BigDecimal fraction = rank.subtract(BigDecimal.valueOf(lower));
+        if (fraction.signum() == 0) {
+            return sorted.get(lower);
+        }
+        BigDecimal lowerSalary = sorted.get(lower);
+        return lowerSalary.add(sorted.get(lower + 1).subtract(lowerSalary).multiply(fraction))
+                .setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,35 @@
+package com.demo.reports.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimeBucketTest {
+
+    @Test
+    void week_StartsOnMondayAndRollsOverTheYear() {
+        // 2024-12-30 is a Monday, 2025-01-01 a Wednesday
+        assertThat(TimeBucket.WEEK.start(LocalDate.of(2025, 1, 1))).isEqualTo(LocalDate.of(2024, 12, 30));
+        assertThat(TimeBucket.WEEK.start(LocalDate.of(2024, 12, 30))).isEqualTo(LocalDate.of(2024, 12, 30));
+        assertThat(TimeBucket.WEEK.start(LocalDate.of(2025, 1, 5))).isEqualTo(LocalDate.of(2024, 12, 30));
+        assertThat(TimeBucket.WEEK.next(LocalDate.of(2024, 12, 30))).isEqualTo(LocalDate.of(2025, 1, 6));
+    }
+
+    @Test
+    void month_StartsOnTheFirstAndRollsOverShortMonths() {
+        assertThat(TimeBucket.MONTH.start(LocalDate.of(2024, 1, 31))).isEqualTo(LocalDate.of(2024, 1, 1));
+        assertThat(TimeBucket.MONTH.start(LocalDate.of(2024, 2, 29))).isEqualTo(LocalDate.of(2024, 2, 1));
+        assertThat(TimeBucket.MONTH.next(LocalDate.of(2024, 1, 1))).isEqualTo(LocalDate.of(2024, 2, 1));
+        assertThat(TimeBucket.MONTH.next(LocalDate.of(2024, 12, 1))).isEqualTo(LocalDate.of(2025, 1, 1));
+    }
+
+    @Test
+    void quarter_StartsOnTheFirstDayOfTheQuarter() {
+        assertThat(TimeBucket.QUARTER.start(LocalDate.of(2024, 3, 31))).isEqualTo(LocalDate.of(2024, 1, 1));
+        assertThat(TimeBucket.QUARTER.start(LocalDate.of(2024, 4, 1))).isEqualTo(LocalDate.of(2024, 4, 1));
+        assertThat(TimeBucket.QUARTER.start(LocalDate.of(2024, 12, 31))).isEqualTo(LocalDate.of(2024, 10, 1));
+        assertThat(TimeBucket.QUARTER.next(LocalDate.of(2024, 10, 1))).isEqualTo(LocalDate.of(2025, 1, 1));
+    }
+}
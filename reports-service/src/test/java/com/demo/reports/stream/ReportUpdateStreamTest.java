@@ -0,0 +1,173 @@
+package com.demo.reports.stream;
+
+import com.demo.reports.config.ReportStreamProperties;
+import com.demo.reports.controller.ReportsController;
+import com.demo.reports.dto.DepartmentStatsDTO;
+import com.demo.reports.dto.HeadcountReportDTO;
+import com.demo.reports.dto.ReportUpdateDTO;
+import com.demo.reports.dto.SalarySummaryDTO;
+import com.demo.reports.model.Department;
+import com.demo.reports.service.DashboardService;
+import com.demo.reports.service.HireHistogram;
+import com.demo.reports.service.ReportSnapshot;
+import com.demo.reports.service.ReportSnapshotChangedEvent;
+import com.demo.reports.service.ReportsService;
+import com.demo.reports.service.SalaryDistribution;
+import com.demo.reports.service.SalaryIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+class ReportUpdateStreamTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 18);
+
+    private final ReportsService reportsService = mock(ReportsService.class);
+    private final SseBroadcaster broadcaster = new SseBroadcaster("reports", Runnable::run, 16,
+            new SimpleMeterRegistry());
+    private ReportUpdateStream stream;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        stream = new ReportUpdateStream(reportsService, broadcaster, JsonMapper.builder().build(),
+                new ReportStreamProperties());
+        mockMvc = MockMvcBuilders.standaloneSetup(new ReportsController(reportsService, mock(DashboardService.class),
+                stream)).build();
+    }
+
+    @Test
+    void delta_SendsOnlyTheChangedSections() {
+        ReportSnapshot previous = snapshot(1, 3, stats(Department.SALES, 2, "100000"), stats(Department.IT, 1, "90000"));
+        ReportSnapshot current = snapshot(2, 3, stats(Department.SALES, 2, "100000"), stats(Department.IT, 1, "95000"));
+
+        ReportUpdateDTO update = ReportUpdateStream.delta(previous, current);
+
+        assertThat(update.getVersion()).isEqualTo("2." + TODAY);
+        assertThat(update.isFull()).isFalse();
+        assertThat(update.getHeadcount()).isNull();
+        assertThat(update.getSalarySummary()).isEqualTo(current.salarySummary());
+        assertThat(update.getDepartments()).containsExactly(stats(Department.IT, 1, "95000"));
+    }
+
+    @Test
+    void delta_DepartmentThatLostItsLastEmployee_IsSentWithZeroCounts() {
+        ReportSnapshot previous = snapshot(1, 3, stats(Department.SALES, 2, "100000"), stats(Department.IT, 1, "90000"));
+        ReportSnapshot current = snapshot(2, 2, stats(Department.SALES, 2, "100000"));
+
+        ReportUpdateDTO update = ReportUpdateStream.delta(previous, current);
+
+        assertThat(update.getHeadcount()).isEqualTo(current.headcount());
+        assertThat(update.getDepartments()).singleElement().satisfies(department -> {
+            assertThat(department.getDepartment()).isEqualTo("IT");
+            assertThat(department.getEmployeeCount()).isZero();
+        });
+    }
+
+    @Test
+    void delta_NothingChanged_IsNull() {
+        ReportSnapshot previous = snapshot(1, 3, stats(Department.SALES, 3, "100000"));
+
+        assertThat(ReportUpdateStream.delta(previous, snapshot(2, 3, stats(Department.SALES, 3, "100000")))).isNull();
+    }
+
+    @Test
+    void fullUpdate_IncludesEverySection() {
+        ReportSnapshot snapshot = snapshot(4, 3, stats(Department.SALES, 2, "100000"), stats(Department.IT, 1, "90000"));
+
+        ReportUpdateDTO update = ReportUpdateStream.fullUpdate(snapshot);
+
+        assertThat(update.isFull()).isTrue();
+        assertThat(update.getVersion()).isEqualTo("4." + TODAY);
+        assertThat(update.getHeadcount()).isEqualTo(snapshot.headcount());
+        assertThat(update.getSalarySummary()).isEqualTo(snapshot.salarySummary());
+        assertThat(update.getDepartments()).isEqualTo(snapshot.departmentStats());
+    }
+
+    @Test
+    void subscribe_WithoutLastEventId_StartsWithAFullUpdate() throws Exception {
+        when(reportsService.currentSnapshot()).thenReturn(snapshot(4, 3, stats(Department.SALES, 3, "100000")));
+
+        String frames = open(null).getContentAsString();
+
+        assertThat(frames).startsWith("retry:3000\n:connected\n\n");
+        assertThat(frames).contains("id:4." + TODAY + "\nevent:report-update\ndata:{\"version\":\"4." + TODAY
+                + "\"", "\"full\":true");
+    }
+
+    @Test
+    void subscribe_WithCurrentLastEventId_WaitsForTheNextChange() throws Exception {
+        ReportSnapshot current = snapshot(4, 3, stats(Department.SALES, 3, "100000"));
+        when(reportsService.currentSnapshot()).thenReturn(current);
+
+        MockHttpServletResponse response = open(current.versionTag());
+        assertThat(response.getContentAsString()).isEqualTo("retry:3000\n:connected\n\n");
+
+        stream.onSnapshotChanged(new ReportSnapshotChangedEvent(current,
+                snapshot(5, 4, stats(Department.SALES, 3, "100000"), stats(Department.IT, 1, "90000"))));
+
+        String update = response.getContentAsString().substring("retry:3000\n:connected\n\n".length());
+        assertThat(update).startsWith("id:5." + TODAY + "\nevent:report-update\n");
+        assertThat(update).contains("\"full\":false", "\"department\":\"IT\"").doesNotContain("\"SALES\"");
+    }
+
+    @Test
+    void subscribe_WithOlderLastEventId_GetsTheLatestPublishedSnapshotInFull() throws Exception {
+        ReportSnapshot previous = snapshot(4, 3, stats(Department.SALES, 3, "100000"));
+        when(reportsService.currentSnapshot()).thenReturn(previous);
+        stream.onSnapshotChanged(new ReportSnapshotChangedEvent(previous,
+                snapshot(5, 4, stats(Department.SALES, 4, "100000"))));
+
+        String frames = open(previous.versionTag()).getContentAsString();
+
+        assertThat(frames).contains("id:5." + TODAY + "\n", "\"full\":true");
+    }
+
+    private MockHttpServletResponse open(String lastEventId) throws Exception {
+        var subscribe = get("/api/reports/stream");
+        if (lastEventId != null) {
+            subscribe.header("Last-Event-ID", lastEventId);
+        }
+        return mockMvc.perform(subscribe)
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+    }
+
+    private static ReportSnapshot snapshot(long dataVersion, long headcount, DepartmentStatsDTO... departments) {
+        Map<Department, DepartmentStatsDTO> statsByDepartment = new EnumMap<>(Department.class);
+        for (DepartmentStatsDTO stats : departments) {
+            statsByDepartment.put(Department.valueOf(stats.getDepartment()), stats);
+        }
+        BigDecimal total = statsByDepartment.values().stream()
+                .map(DepartmentStatsDTO::getTotalSalary)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return new ReportSnapshot(Instant.parse("2026-10-18T09:00:00Z"), TODAY, dataVersion,
+                new HeadcountReportDTO(headcount, Map.of(), 0L, 0L),
+                new SalarySummaryDTO(headcount, total, null, null, null, null, null),
+                List.copyOf(statsByDepartment.values()), statsByDepartment,
+                SalaryIndex.builder().build(), SalaryDistribution.builder(200).build(),
+                HireHistogram.builder().build());
+    }
+
+    private static DepartmentStatsDTO stats(Department department, long employees, String totalSalary) {
+        BigDecimal total = new BigDecimal(totalSalary);
+        return new DepartmentStatsDTO(department.name(), employees, total, null, null, null, null);
+    }
+}
@@ -0,0 +1,101 @@
+package com.demo.reports.stream;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SseBroadcasterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void broadcast_WritesEachEventToEveryJoinedSubscriber() {
+        SseBroadcaster broadcaster = new SseBroadcaster("test", Runnable::run, 8, meterRegistry);
+        RecordingEmitter first = new RecordingEmitter();
+        RecordingEmitter second = new RecordingEmitter();
+        RecordingEmitter notJoined = new RecordingEmitter();
+        broadcaster.join(broadcaster.open(first));
+        broadcaster.join(broadcaster.open(second));
+        broadcaster.open(notJoined);
+
+        broadcaster.broadcast(SseEvent.of("1", "change", "{\"id\":1}"));
+
+        assertThat(first.frames).containsExactly("id:1\nevent:change\ndata:{\"id\":1}\n\n");
+        assertThat(second.frames).isEqualTo(first.frames);
+        assertThat(notJoined.frames).isEmpty();
+        assertThat(meterRegistry.get("sse.subscribers").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void broadcast_WhenSubscriberQueueIsFull_DisconnectsOnlyThatSubscriber() {
+        List<Runnable> pendingSends = new ArrayList<>();
+        SseBroadcaster broadcaster = new SseBroadcaster("test", pendingSends::add, 2, meterRegistry);
+        RecordingEmitter slow = new RecordingEmitter();
+        broadcaster.join(broadcaster.open(slow));
+
+        broadcaster.broadcast(SseEvent.of("1", "change", "{}"));
+        broadcaster.broadcast(SseEvent.of("2", "change", "{}"));
+        assertThat(broadcaster.subscriberCount()).isEqualTo(1);
+        broadcaster.broadcast(SseEvent.of("3", "change", "{}"));
+
+        assertThat(broadcaster.subscriberCount()).isZero();
+        assertThat(slow.completed).isTrue();
+        assertThat(meterRegistry.get("sse.overflows").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void heartbeat_SkipsSubscribersWithQueuedEvents() {
+        List<Runnable> pendingSends = new ArrayList<>();
+        SseBroadcaster broadcaster = new SseBroadcaster("test", pendingSends::add, 4, meterRegistry);
+        RecordingEmitter busy = new RecordingEmitter();
+        RecordingEmitter idle = new RecordingEmitter();
+        SseBroadcaster.Subscriber busySubscriber = broadcaster.open(busy);
+        broadcaster.join(busySubscriber);
+        busySubscriber.send(SseEvent.of("1", "change", "{}"));
+        broadcaster.join(broadcaster.open(idle));
+
+        broadcaster.heartbeat();
+        pendingSends.forEach(Runnable::run);
+
+        assertThat(busy.frames).containsExactly("id:1\nevent:change\ndata:{}\n\n");
+        assertThat(idle.frames).containsExactly(":heartbeat\n\n");
+    }
+
+    @Test
+    void close_CompletesAfterQueuedEventsAreWritten() {
+        SseBroadcaster broadcaster = new SseBroadcaster("test", Runnable::run, 4, meterRegistry);
+        RecordingEmitter emitter = new RecordingEmitter();
+        SseBroadcaster.Subscriber subscriber = broadcaster.open(emitter);
+
+        subscriber.send(SseEvent.of(null, "resync", "{}"));
+        subscriber.close();
+
+        assertThat(emitter.frames).containsExactly("event:resync\ndata:{}\n\n");
+        assertThat(emitter.completed).isTrue();
+        assertThat(subscriber.send(SseEvent.of("2", "change", "{}"))).isFalse();
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<String> frames = new ArrayList<>();
+        private boolean completed;
+
+        @Override
+        public void send(Set<ResponseBodyEmitter.DataWithMediaType> items) {
+            frames.add(items.stream().map(item -> item.getData().toString()).collect(Collectors.joining()));
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+}